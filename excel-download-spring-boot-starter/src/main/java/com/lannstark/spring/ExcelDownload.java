@@ -0,0 +1,123 @@
+package com.lannstark.spring;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.csv.CsvExcelFile;
+import com.lannstark.excel.encrypt.ExcelPasswordEncryptor;
+import com.lannstark.excel.estimate.ExcelEngine;
+import com.lannstark.excel.io.NonClosingOutputStream;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 컨트롤러에서 반환하는 엑셀 다운로드 응답입니다.
+ * ExcelFile은 요청 스레드가 아니라 MVC 비동기 실행기에서 만들고 바로 응답 스트림에 쓰므로,
+ * 렌더링과 출력 동안 요청 스레드를 점유하지 않고 파일 전체를 메모리에 모으지 않습니다.
+ *
+ * <pre>
+ * &#64;GetMapping("/sales.xlsx")
+ * public ExcelDownload download() {
+ *     return ExcelDownload.oneSheet("매출.xlsx", salesService.findAll(), SalesDto.class);
+ * }
+ * </pre>
+ *
+ * 자동 설정을 사용하지 않는 경우 {@link #toResponseEntity()}를 반환합니다.
+ */
+public class ExcelDownload {
+
+	private final String fileName;
+	private final Supplier<? extends ExcelFile<?>> excelFileSupplier;
+	private String contentType;
+	private String password;
+
+	private ExcelDownload(String fileName, String contentType, Supplier<? extends ExcelFile<?>> excelFileSupplier) {
+		if (fileName == null || fileName.isBlank()) {
+			throw new IllegalArgumentException("File name should not be empty");
+		}
+		this.fileName = fileName;
+		this.contentType = contentType;
+		this.excelFileSupplier = excelFileSupplier;
+	}
+
+	/**
+	 * @param fileName 다운로드 파일 이름
+	 * @param excelFileSupplier 비동기 실행기에서 호출되어 ExcelFile을 만드는 함수
+	 */
+	public static ExcelDownload of(String fileName, Supplier<? extends ExcelFile<?>> excelFileSupplier) {
+		return new ExcelDownload(fileName, ExcelEngine.ONE_SHEET.getContentType(), excelFileSupplier);
+	}
+
+	public static <T> ExcelDownload oneSheet(String fileName, List<T> data, Class<T> type) {
+		return of(fileName, () -> new OneSheetExcelFile<>(data, type));
+	}
+
+	public static <T> ExcelDownload csv(String fileName, List<T> data, Class<T> type) {
+		return new ExcelDownload(fileName, ExcelEngine.CSV.getContentType(), () -> new CsvExcelFile<>(data, type));
+	}
+
+	public ExcelDownload contentType(String contentType) {
+		this.contentType = contentType;
+		return this;
+	}
+
+	/**
+	 * 출력 파일을 비밀번호로 암호화합니다. xlsx에만 사용할 수 있습니다.
+	 */
+	public ExcelDownload password(String password) {
+		if (ExcelEngine.CSV.getContentType().equals(contentType)) {
+			throw new IllegalStateException("CSV download does not support password");
+		}
+		this.password = password;
+		return this;
+	}
+
+	public String getFileName() {
+		return fileName;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * Content-Type과 Content-Disposition(attachment, UTF-8 파일 이름) 헤더
+	 */
+	public HttpHeaders headers() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.CONTENT_TYPE, contentType);
+		headers.setContentDisposition(ContentDisposition.attachment()
+				.filename(fileName, StandardCharsets.UTF_8)
+				.build());
+		return headers;
+	}
+
+	/**
+	 * ExcelFile을 만들어 응답 스트림에 씁니다. 응답 스트림은 닫지 않습니다.
+	 * 클라이언트 연결이 끊겨 쓰기에 실패하면 ExcelFile.write가 임시 파일을 정리하고 예외를 그대로 던집니다.
+	 */
+	public StreamingResponseBody body() {
+		return out -> {
+			ExcelFile<?> excelFile = excelFileSupplier.get();
+			OutputStream stream = new NonClosingOutputStream(out);
+			if (password != null) {
+				new ExcelPasswordEncryptor(password).write(excelFile, stream);
+			} else {
+				excelFile.write(stream);
+			}
+		};
+	}
+
+	public ResponseEntity<StreamingResponseBody> toResponseEntity() {
+		return ResponseEntity.ok()
+				.headers(headers())
+				.body(body());
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.lannstark.spring;
+
+import com.lannstark.excel.ExcelFile;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * 서블릿 웹 애플리케이션에 {@link ExcelDownloadReturnValueHandler}를 등록합니다.
+ * 렌더링과 출력은 Spring MVC 비동기 실행기(spring.mvc.async.request-timeout, spring.task.execution)를 사용합니다.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass({DispatcherServlet.class, ExcelFile.class})
+public class ExcelDownloadAutoConfiguration implements WebMvcConfigurer {
+
+	@Override
+	public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+		handlers.add(new ExcelDownloadReturnValueHandler());
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.lannstark.spring;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBodyReturnValueHandler;
+
+/**
+ * 컨트롤러가 반환한 {@link ExcelDownload}를 헤더를 설정한 StreamingResponseBody로 바꿔 비동기로 처리합니다.
+ * 비동기 반환값 처리기는 다른 처리기보다 먼저 선택되므로 &#64;RestController에서도 JSON으로 변환되지 않습니다.
+ */
+public class ExcelDownloadReturnValueHandler implements AsyncHandlerMethodReturnValueHandler {
+
+	private final StreamingResponseBodyReturnValueHandler delegate = new StreamingResponseBodyReturnValueHandler();
+
+	@Override
+	public boolean supportsReturnType(MethodParameter returnType) {
+		return ExcelDownload.class.isAssignableFrom(returnType.getParameterType());
+	}
+
+	@Override
+	public boolean isAsyncReturnValue(Object returnValue, MethodParameter returnType) {
+		return returnValue instanceof ExcelDownload;
+	}
+
+	@Override
+	public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+								  NativeWebRequest webRequest) throws Exception {
+		if (returnValue == null) {
+			mavContainer.setRequestHandled(true);
+			return;
+		}
+		delegate.handleReturnValue(((ExcelDownload) returnValue).toResponseEntity(), returnType, mavContainer, webRequest);
+	}
+
+}
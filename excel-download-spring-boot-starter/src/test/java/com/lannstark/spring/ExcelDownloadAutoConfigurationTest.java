@@ -0,0 +1,37 @@
+package com.lannstark.spring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelDownloadAutoConfigurationTest {
+
+    @Test
+    @DisplayName("서블릿 웹 애플리케이션이면 ExcelDownload 반환 값 핸들러를 등록")
+    public void servletApplicationTest() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(WebMvcAutoConfiguration.class,
+                        HttpMessageConvertersAutoConfiguration.class, ExcelDownloadAutoConfiguration.class))
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ExcelDownloadAutoConfiguration.class);
+                    assertThat(context.getBean(RequestMappingHandlerAdapter.class).getCustomReturnValueHandlers())
+                            .hasAtLeastOneElementOfType(ExcelDownloadReturnValueHandler.class);
+                });
+    }
+
+    @Test
+    @DisplayName("웹 애플리케이션이 아니면 등록하지 않음")
+    public void nonWebApplicationTest() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ExcelDownloadAutoConfiguration.class))
+                .run(context -> assertThat(context).doesNotHaveBean(ExcelDownloadAutoConfiguration.class));
+    }
+
+}
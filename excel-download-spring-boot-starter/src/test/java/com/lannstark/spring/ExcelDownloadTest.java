@@ -0,0 +1,135 @@
+package com.lannstark.spring;
+
+import com.lannstark.ExcelColumn;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.DefaultTempFileCreationStrategy;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ExcelDownloadTest {
+
+    private static final List<SalesDto> DATA = IntStream.range(0, 2_000)
+            .mapToObj(i -> new SalesDto("담당자" + i, i * 10L))
+            .toList();
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new SalesController())
+            .setCustomReturnValueHandlers(new ExcelDownloadReturnValueHandler())
+            .build();
+
+    @Test
+    @DisplayName("@RestController가 반환한 ExcelDownload를 비동기로 렌더링하고 헤더와 함께 스트리밍")
+    public void asyncDownloadTest() throws Exception {
+        // given
+        MvcResult asyncResult = mockMvc.perform(get("/sales"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // when
+        asyncResult.getAsyncResult();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE,
+                        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"))
+                .andReturn();
+
+        // then
+        assertThat(result.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION))
+                .startsWith("attachment;")
+                .contains("filename*=UTF-8''%EB%A7%A4%EC%B6%9C.xlsx");
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(DATA.size());
+            assertThat(sheet.getRow(2_000).getCell(0).getStringCellValue()).isEqualTo("담당자1999");
+            assertThat(sheet.getRow(2_000).getCell(1).getNumericCellValue()).isEqualTo(19_990.0);
+        }
+    }
+
+    @Test
+    @DisplayName("쓰는 중에 클라이언트 연결이 끊기면 예외를 전달하고 임시 파일을 정리")
+    public void clientAbortTest() throws Exception {
+        // given
+        Path tempDirectory = Files.createTempDirectory("excel-download-test");
+        TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy(tempDirectory.toFile()));
+        OutputStream abortedStream = new OutputStream() {
+            private long written;
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                written += len;
+                if (written > 1024) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        try {
+            // when, then
+            assertThatThrownBy(() -> ExcelDownload.oneSheet("매출.xlsx", DATA, SalesDto.class).body().writeTo(abortedStream))
+                    .isInstanceOf(IOException.class);
+            try (Stream<Path> files = Files.walk(tempDirectory)) {
+                assertThat(files.filter(Files::isRegularFile).count()).isZero();
+            }
+        } finally {
+            // SXSSF 임시 파일 위치는 JVM 전역 설정이므로 다른 테스트에 영향을 주지 않도록 되돌림
+            TempFile.setTempFileCreationStrategy(new DefaultTempFileCreationStrategy());
+            try (Stream<Path> files = Files.walk(tempDirectory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @RestController
+    static class SalesController {
+
+        @GetMapping("/sales")
+        public ExcelDownload sales() {
+            return ExcelDownload.oneSheet("매출.xlsx", DATA, SalesDto.class);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class SalesDto {
+        @ExcelColumn(headerName = "담당자")
+        private String name;
+        @ExcelColumn(headerName = "매출")
+        private long amount;
+    }
+
+}
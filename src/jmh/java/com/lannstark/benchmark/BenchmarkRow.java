@@ -0,0 +1,57 @@
+package com.lannstark.benchmark;
+
+import com.lannstark.ExcelColumn;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 DTO
+ * 실제 다운로드 데이터와 비슷하게 한글 문자열, 코드, 정수, 소수를 섞어서 생성합니다.
+ */
+public class BenchmarkRow {
+
+    private static final String[] NAMES = {"김민준", "이서연", "박지호", "최수아", "정도윤", "David", "Emma"};
+    private static final String[] DEPTS = {"전산실", "인사팀", "영업1팀", "영업2팀", "재무팀"};
+
+    @ExcelColumn(headerName = "번호")
+    private long id;
+    @ExcelColumn(headerName = "이름")
+    private String name;
+    @ExcelColumn(headerName = "부서")
+    private String deptName;
+    @ExcelColumn(headerName = "부서 코드")
+    private String deptCode;
+    @ExcelColumn(headerName = "매출")
+    private long amount;
+    @ExcelColumn(headerName = "달성률")
+    private double rate;
+
+    public BenchmarkRow(long id, String name, String deptName, String deptCode, long amount, double rate) {
+        this.id = id;
+        this.name = name;
+        this.deptName = deptName;
+        this.deptCode = deptCode;
+        this.amount = amount;
+        this.rate = rate;
+    }
+
+    public static List<BenchmarkRow> generate(int rows) {
+        Random random = new Random(42);
+        List<BenchmarkRow> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            int dept = random.nextInt(DEPTS.length);
+            data.add(new BenchmarkRow(
+                    i,
+                    NAMES[random.nextInt(NAMES.length)],
+                    DEPTS[dept],
+                    String.format("DEPT-%04d", dept),
+                    random.nextInt(100_000_000),
+                    Math.round(random.nextDouble() * 10000) / 100.0
+            ));
+        }
+        return data;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.lannstark.benchmark;
+
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.excel.xml.XmlNumberFormat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 셀 값 인코딩 방식별 시간과 할당량을 비교합니다. 값 1024개를 한 번에 인코딩합니다.
+ *  - number: Double.toString + ASCII 복사 vs XmlNumberFormat
+ *  - text: writeEscaped + UTF-8 OutputStreamWriter vs putEscaped (한글 위주 문자열)
+ * ./gradlew jmh -Pjmh.includes=CellEncodingBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CellEncodingBenchmark {
+
+    private static final String[] WORDS = {"김민준", "전산실", "(주)에스알피인포텍", "영업1팀", "서울특별시 강남구", "David", "R&D"};
+
+    private final double[] numbers = new double[1024];
+    private final String[] texts = new String[1024];
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(256 * 1024);
+    private final byte[] numberBytes = new byte[XmlNumberFormat.MAX_LENGTH];
+    private Writer writer;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+        Random random = new Random(42);
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = i % 2 == 0 ? random.nextInt(100_000_000) : Math.round(random.nextDouble() * 10000) / 100.0;
+            texts[i] = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        }
+        writer = new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public int numberToString() {
+        buffer.clear();
+        for (double number : numbers) {
+            String text = Double.toString(number);
+            for (int i = 0; i < text.length(); i++) {
+                buffer.put((byte) text.charAt(i));
+            }
+        }
+        return buffer.position();
+    }
+
+    @Benchmark
+    public int numberXmlFormat() {
+        buffer.clear();
+        for (double number : numbers) {
+            buffer.put(numberBytes, 0, XmlNumberFormat.format(number, numberBytes, 0));
+        }
+        return buffer.position();
+    }
+
+    @Benchmark
+    public void textWriter() throws IOException {
+        for (String text : texts) {
+            SheetRowXmlWriter.writeEscaped(writer, text);
+        }
+        writer.flush();
+    }
+
+    @Benchmark
+    public int textByteBuffer() {
+        buffer.clear();
+        for (String text : texts) {
+            SheetRowXmlWriter.putEscaped(buffer, text);
+        }
+        return buffer.position();
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.lannstark.benchmark;
+
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 압축 레벨과 병렬 압축 스레드 수에 따른 쓰기 시간과 결과 파일 크기를 비교합니다.
+ * 렌더링은 측정에서 제외하고 write 호출(압축 + 출력)만 측정합니다.
+ * 결과 파일 크기는 보조 카운터 "outputBytes"로 JMH 결과에 함께 기록됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CompressionLevelBenchmark {
+
+    @Param({"store", "0", "1", "6", "9"})
+    public String level;
+
+    @Param({"1", "4"})
+    public int parallelism;
+
+    @Param({"300000"})
+    public int rows;
+
+    private List<BenchmarkRow> data;
+    private OneSheetExcelFile<BenchmarkRow> excelFile;
+
+    /**
+     * 한 번의 write로 출력한 바이트 수, 측정마다 한 번 호출하므로 누적하지 않고 덮어씀
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OutputSize {
+        public long outputBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            outputBytes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void prepareData() {
+        data = BenchmarkRow.generate(rows);
+    }
+
+    @Setup(Level.Invocation)
+    public void render() {
+        excelFile = new OneSheetExcelFile<>(data, BenchmarkRow.class);
+        ExcelCompressionOptions options = ExcelCompressionOptions.defaults().parallelism(parallelism);
+        excelFile.setCompressionOptions("store".equals(level) ? options.store() : options.level(Integer.parseInt(level)));
+    }
+
+    @Benchmark
+    public long write(OutputSize outputSize) throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        excelFile.write(out);
+        outputSize.outputBytes = out.count;
+        return out.count;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.lannstark.benchmark;
+
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import com.lannstark.excel.xml.OffHeapRowBuffer;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 행 렌더링 방식별 행당 힙 할당량을 비교합니다. 출력은 버리고 렌더링만 측정합니다.
+ *  - sxssf: OneSheetExcelFile.addRows (SXSSFRow/SXSSFCell 생성, 임시 파일 쓰기 포함)
+ *  - writer: SheetRowXmlWriter + BufferedWriter(UTF-8)
+ *  - offHeap: SheetRowXmlWriter + OffHeapRowBuffer (direct ByteBuffer)
+ * 할당량은 GC 프로파일러로 확인합니다. gc.alloc.rate.norm을 rows로 나누면 행당 할당 바이트입니다.
+ * ./gradlew jmh -Pjmh.includes=RowStagingAllocationBenchmark -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RowStagingAllocationBenchmark {
+
+    private static final List<String> LEAF_FIELD_PATHS = List.of("id", "name", "deptName", "deptCode", "amount", "rate");
+
+    @Param({"sxssf", "writer", "offHeap"})
+    public String mode;
+
+    @Param({"100000"})
+    public int rows;
+
+    private List<BenchmarkRow> data;
+    private SheetRowXmlWriter rowWriter;
+
+    @Setup(Level.Trial)
+    public void prepareData() {
+        data = BenchmarkRow.generate(rows);
+        rowWriter = new SheetRowXmlWriter(BenchmarkRow.class, LEAF_FIELD_PATHS, 0, new int[]{1, 2, 2, 2, 3, 4}, ", ");
+    }
+
+    @Benchmark
+    public long render() throws IOException {
+        return switch (mode) {
+            case "sxssf" -> renderSXSSF();
+            case "writer" -> renderWriter();
+            default -> renderOffHeap();
+        };
+    }
+
+    private long renderSXSSF() throws IOException {
+        OneSheetExcelFile<BenchmarkRow> excelFile = new OneSheetExcelFile<>(BenchmarkRow.class);
+        excelFile.addRows(data);
+        excelFile.write(OutputStream.nullOutputStream());
+        return rows;
+    }
+
+    private long renderWriter() throws IOException {
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(OutputStream.nullOutputStream(), StandardCharsets.UTF_8), 64 * 1024)) {
+            for (int i = 0; i < data.size(); i++) {
+                rowWriter.writeRow(writer, i + 1, data.get(i));
+            }
+        }
+        return rows;
+    }
+
+    private long renderOffHeap() throws IOException {
+        try (OffHeapRowBuffer rowBuffer = new OffHeapRowBuffer(rowWriter, new NullChannel())) {
+            for (int i = 0; i < data.size(); i++) {
+                rowBuffer.writeRow(i + 1, data.get(i));
+            }
+            rowBuffer.flush();
+            return rowBuffer.getBytesWritten();
+        }
+    }
+
+    private static class NullChannel implements WritableByteChannel {
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
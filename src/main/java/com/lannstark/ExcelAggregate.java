@@ -0,0 +1,29 @@
+package com.lannstark;
+
+/**
+ * 시트 마지막 행(footer)에 표시할 열 집계 방식입니다.
+ * 값은 렌더링하면서 계산하여 셀 값으로 쓰므로, 수식과 달리 파일을 열 때 재계산하지 않습니다.
+ *  - SUM, AVERAGE, MIN, MAX: 숫자 값만 집계
+ *  - COUNT: null이 아닌 값의 개수
+ */
+public enum ExcelAggregate {
+
+	NONE(null),
+	SUM(null),
+	AVERAGE(double.class),
+	MIN(null),
+	MAX(null),
+	COUNT(long.class);
+
+	// 집계 결과의 데이터 포맷을 정할 타입, null인 경우 필드 타입을 사용
+	private final Class<?> resultType;
+
+	ExcelAggregate(Class<?> resultType) {
+		this.resultType = resultType;
+	}
+
+	public Class<?> getResultType() {
+		return resultType;
+	}
+
+}
@@ -16,4 +16,14 @@ public @interface ExcelColumn {
 	ExcelColumnStyle headerStyle() default @ExcelColumnStyle(excelCellStyleClass = NoExcelCellStyle.class);
 	ExcelColumnStyle bodyStyle() default @ExcelColumnStyle(excelCellStyleClass = NoExcelCellStyle.class);
 
+	/**
+	 * footer 행에 표시할 집계 방식, 말단 필드에만 적용됩니다.
+	 */
+	ExcelAggregate aggregate() default ExcelAggregate.NONE;
+
+	/**
+	 * footer 셀 스타일, 지정하지 않으면 body 스타일을 사용합니다.
+	 */
+	ExcelColumnStyle footerStyle() default @ExcelColumnStyle(excelCellStyleClass = NoExcelCellStyle.class);
+
 }
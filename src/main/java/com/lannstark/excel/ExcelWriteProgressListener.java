@@ -0,0 +1,14 @@
+package com.lannstark.excel;
+
+/**
+ * 엑셀 파일을 쓰는 동안 지금까지 출력된 바이트 수를 전달받는 리스너입니다.
+ * 쓰기를 수행하는 스레드에서 호출되므로 오래 걸리는 작업을 하지 않아야 합니다.
+ */
+@FunctionalInterface
+public interface ExcelWriteProgressListener {
+
+	ExcelWriteProgressListener NONE = bytesWritten -> { };
+
+	void onProgress(long bytesWritten);
+
+}
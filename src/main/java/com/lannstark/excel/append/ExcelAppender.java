@@ -0,0 +1,342 @@
+package com.lannstark.excel.append;
+
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ParallelDeflateZipOutputStream;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.excel.xml.SheetXml;
+import com.lannstark.excel.xml.XmlPartScanner;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelRenderLocation;
+import com.lannstark.resource.ExcelRenderResource;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.ExcelRenderTemplate;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 이 라이브러리로 만든 엑셀 파일에 다시 렌더링하지 않고 행을 이어 붙입니다.
+ *
+ * 바뀌지 않는 파트(앞쪽 시트, styles.xml 등)는 압축을 풀지 않고 raw zip 엔트리로 그대로 복사하고,
+ * 마지막 시트 파트만 바이트 그대로 복사하면서 마지막 행 뒤에 새 행을 씁니다.
+ * 시트의 최대 행 수를 넘으면 MultiSheetExcelFile과 같이 헤더가 있는 새 시트를 추가하고,
+ * 메타데이터(dimension, 시트 목록, docProps 수정 시각)만 다시 씁니다.
+ *
+ * 새 행은 기존 마지막 본문 행과 같은 셀 스타일을 사용하며 열 너비는 다시 계산하지 않습니다.
+ * footer(집계)나 소계 행이 있는 파일은 새 행이 집계 행 아래에 붙고 집계 값이 맞지 않게 되므로 이어 붙일 수 없습니다.
+ * (모든 열을 집계하는 footer는 본문 행과 구분할 수 없으므로 호출하는 쪽에서 피해야 합니다.)
+ *
+ * @param <T> 이어 붙일 데이터 타입, 원본 파일을 만들 때 사용한 타입과 같아야 합니다.
+ */
+public class ExcelAppender<T> {
+
+    private static final int DEFAULT_MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+    private static final int COLUMN_START_INDEX = 0;
+    private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+    private static final Pattern NUMBERED_SHEET_NAME = Pattern.compile("(.*?)(\\d+)");
+
+    private final Class<T> type;
+    private final ExcelRenderTemplate template;
+    private final DataFormatDecider dataFormatDecider;
+
+    private String listSeparator = ", ";
+    private int maxRowsPerSheet = DEFAULT_MAX_ROWS_PER_SHEET;
+    private ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults();
+    private Instant fixedTimestamp;
+
+    public ExcelAppender(Class<T> type) {
+        this(type, new DefaultDataFormatDecider());
+    }
+
+    /**
+     * @param type 이어 붙일 데이터 타입
+     * @param dataFormatDecider 원본 파일을 만들 때 사용한 DataFormatDecider, 원본에 본문 행이 없을 때 스타일을 찾는 데 사용
+     */
+    public ExcelAppender(Class<T> type, DataFormatDecider dataFormatDecider) {
+        this.type = type;
+        this.template = ExcelRenderResourceFactory.getTemplate(type);
+        this.dataFormatDecider = dataFormatDecider;
+    }
+
+    /**
+     * List 값을 문자열로 변환할 때 사용할 구분자를 설정합니다.
+     */
+    public void setListSeparator(String separator) {
+        this.listSeparator = separator != null ? separator : ", ";
+    }
+
+    /**
+     * 시트당 최대 행 수(헤더 포함)를 설정합니다. 기본값은 MultiSheetExcelFile과 같습니다.
+     */
+    public void setMaxRowsPerSheet(int maxRowsPerSheet) {
+        if (maxRowsPerSheet <= template.getHeaderHeight() || maxRowsPerSheet > DEFAULT_MAX_ROWS_PER_SHEET) {
+            throw new IllegalArgumentException(String.format("maxRowsPerSheet must be between %s and %s",
+                    template.getHeaderHeight() + 1, DEFAULT_MAX_ROWS_PER_SHEET));
+        }
+        this.maxRowsPerSheet = maxRowsPerSheet;
+    }
+
+    public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+        this.compressionOptions = compressionOptions;
+    }
+
+    /**
+     * 다시 쓰는 파트의 zip 엔트리 시간과 docProps 수정 시각을 고정합니다.
+     */
+    public void setFixedTimestamp(Instant fixedTimestamp) {
+        this.fixedTimestamp = fixedTimestamp;
+    }
+
+    /**
+     * 파일에 행을 이어 붙입니다. 같은 디렉토리의 임시 파일에 쓴 뒤 원본을 교체합니다.
+     *
+     * @param workbook 이 라이브러리로 만든 엑셀 파일, footer나 소계 행이 없어야 함
+     * @param rows 이어 붙일 데이터
+     */
+    public void append(Path workbook, List<T> rows) throws IOException {
+        Path tempFile = Files.createTempFile(workbook.toAbsolutePath().getParent(), "append-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                append(workbook.toFile(), rows, out);
+            }
+            Files.move(tempFile, workbook, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * 원본 파일에 행을 이어 붙인 결과를 출력 스트림에 씁니다. 출력 스트림은 닫지 않습니다.
+     *
+     * @param source 이 라이브러리로 만든 엑셀 파일
+     * @param rows 이어 붙일 데이터
+     * @param out 출력 스트림
+     */
+    public void append(File source, List<T> rows, OutputStream out) throws IOException {
+        try (ZipFile zipFile = ZipFile.builder().setFile(source).get()) {
+            WorkbookParts parts = WorkbookParts.read(zipFile);
+            WorkbookParts.SheetEntry lastSheet = parts.getLastSheet();
+            ZipArchiveEntry lastSheetEntry = zipFile.getEntry(lastSheet.entryName());
+            if (lastSheetEntry == null) {
+                throw new ExcelInternalException(String.format("Sheet part %s does not exist", lastSheet.entryName()), null);
+            }
+
+            int headerHeight = template.getHeaderHeight();
+            LastRowScanner lastRow = scanLastRow(zipFile, lastSheetEntry);
+            if (lastRow.hasSummaryRows()) {
+                throw new ExcelInternalException(String.format(
+                        "Can not append to %s because sheet %s has footer or subtotal rows", source, lastSheet.name()), null);
+            }
+            int[] styleIndexes = decideStyleIndexes(lastRow);
+            SheetRowXmlWriter rowWriter = new SheetRowXmlWriter(type, template.getLeafFieldPaths(),
+                    COLUMN_START_INDEX, styleIndexes, listSeparator);
+
+            // 마지막 시트에 들어갈 행 수와 새로 만들 시트
+            int lastRowIndex = Math.max(lastRow.getLastRowIndex(), headerHeight - 1);
+            int rowsInLastSheet = (int) Math.min(rows.size(), Math.max(0, maxRowsPerSheet - 1 - lastRowIndex));
+            int bodyRowsPerSheet = maxRowsPerSheet - headerHeight;
+            int newSheetCount = (rows.size() - rowsInLastSheet + bodyRowsPerSheet - 1) / bodyRowsPerSheet;
+            List<WorkbookParts.SheetEntry> newSheets = addSheets(parts, lastSheet.name(), newSheetCount);
+
+            Instant modified = fixedTimestamp != null ? fixedTimestamp : Instant.now();
+            Map<String, byte[]> rewrittenParts = parts.rewrittenParts(modified);
+
+            // 출력 스트림을 닫지 않도록 close 없이 finish만 호출
+            ParallelDeflateZipOutputStream zip = new ParallelDeflateZipOutputStream(out, compressionOptions);
+            if (fixedTimestamp != null) {
+                zip.setFixedEntryTime(fixedTimestamp.toEpochMilli());
+            }
+
+            Iterator<T> rowIterator = rows.iterator();
+            int remainingRows = rows.size() - rowsInLastSheet;
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                String entryName = entry.getName();
+                if (entryName.equals(lastSheet.entryName())) {
+                    SheetTemplate sheetTemplate = appendToLastSheet(zipFile, entry, zip, rowWriter, rowIterator,
+                            lastRowIndex, rowsInLastSheet);
+                    for (WorkbookParts.SheetEntry newSheet : newSheets) {
+                        int rowCount = Math.min(bodyRowsPerSheet, remainingRows);
+                        writeNewSheet(zip, newSheet, sheetTemplate, rowWriter, rowIterator, rowCount);
+                        remainingRows -= rowCount;
+                    }
+                } else if (rewrittenParts.containsKey(entryName)) {
+                    zip.putArchiveEntry(new ZipArchiveEntry(entryName));
+                    zip.write(rewrittenParts.get(entryName));
+                    zip.closeArchiveEntry();
+                } else {
+                    try (InputStream rawStream = zipFile.getRawInputStream(entry)) {
+                        zip.addRawArchiveEntry(entry, rawStream);
+                    }
+                }
+            }
+            zip.finish();
+            out.flush();
+        }
+    }
+
+    /**
+     * 마지막 시트 파트를 복사하면서 sheetData 끝에 행을 추가하고 dimension을 바꿉니다.
+     * 복사하면서 얻은 앞부분, 헤더 행, 뒷부분은 새 시트를 만드는 데 사용합니다.
+     */
+    private SheetTemplate appendToLastSheet(ZipFile zipFile, ZipArchiveEntry entry, ParallelDeflateZipOutputStream zip,
+                                            SheetRowXmlWriter rowWriter, Iterator<T> rows,
+                                            int lastRowIndex, int rowCount) throws IOException {
+        zip.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+        try (InputStream sheetStream = zipFile.getInputStream(entry)) {
+            XmlPartScanner scanner = new XmlPartScanner(sheetStream);
+
+            ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+            if (!scanner.copyUntil(SheetXml.SHEET_DATA_START, prefix)) {
+                throw new ExcelInternalException(String.format("%s has no sheetData", entry.getName()), null);
+            }
+            String prefixXml = prefix.toString(StandardCharsets.UTF_8);
+            zip.write(replaceDimension(prefixXml, lastRowIndex + rowCount).getBytes(StandardCharsets.UTF_8));
+            zip.write(SheetXml.SHEET_DATA_START);
+
+            ByteArrayOutputStream headerRows = new ByteArrayOutputStream();
+            for (int rowDepth = 0; rowDepth < template.getHeaderHeight(); rowDepth++) {
+                if (!scanner.copyUntil(SheetXml.ROW_END, headerRows)) {
+                    throw new ExcelInternalException(
+                            String.format("%s was not written by this library", entry.getName()), null);
+                }
+                headerRows.write(SheetXml.ROW_END);
+            }
+            headerRows.writeTo(zip);
+
+            scanner.copyUntil(SheetXml.SHEET_DATA_END, zip);
+            writeRows(zip, rowWriter, rows, lastRowIndex + 1, rowCount);
+            zip.write(SheetXml.SHEET_DATA_END);
+
+            ByteArrayOutputStream suffix = new ByteArrayOutputStream();
+            scanner.copyRemaining(suffix);
+            suffix.writeTo(zip);
+            zip.closeArchiveEntry();
+
+            String newSheetPrefix = SheetXml.removeTabSelected(prefixXml);
+            return new SheetTemplate(newSheetPrefix, headerRows.toByteArray(), suffix.toByteArray());
+        }
+    }
+
+    private void writeNewSheet(ParallelDeflateZipOutputStream zip, WorkbookParts.SheetEntry sheet,
+                               SheetTemplate sheetTemplate, SheetRowXmlWriter rowWriter, Iterator<T> rows,
+                               int rowCount) throws IOException {
+        int headerHeight = template.getHeaderHeight();
+        zip.putArchiveEntry(new ZipArchiveEntry(sheet.entryName()));
+        zip.write(replaceDimension(sheetTemplate.prefix(), headerHeight - 1 + rowCount).getBytes(StandardCharsets.UTF_8));
+        zip.write(SheetXml.SHEET_DATA_START);
+        zip.write(sheetTemplate.headerRows());
+        writeRows(zip, rowWriter, rows, headerHeight, rowCount);
+        zip.write(SheetXml.SHEET_DATA_END);
+        zip.write(sheetTemplate.suffix());
+        zip.closeArchiveEntry();
+    }
+
+    private void writeRows(OutputStream out, SheetRowXmlWriter rowWriter, Iterator<T> rows,
+                           int startRowIndex, int rowCount) throws IOException {
+        // zip 엔트리를 닫지 않도록 writer는 flush만 호출
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+        for (int i = 0; i < rowCount && rows.hasNext(); i++) {
+            rowWriter.writeRow(writer, startRowIndex + i, rows.next());
+        }
+        writer.flush();
+    }
+
+    private String replaceDimension(String prefixXml, int lastRowIndex) {
+        return SheetXml.replaceDimension(prefixXml, COLUMN_START_INDEX + template.getLeafFieldPaths().size() - 1,
+                lastRowIndex);
+    }
+
+    private List<WorkbookParts.SheetEntry> addSheets(WorkbookParts parts, String lastSheetName, int count) {
+        Matcher matcher = NUMBERED_SHEET_NAME.matcher(lastSheetName);
+        String baseSheetName = matcher.matches() ? matcher.group(1) : lastSheetName;
+        int sheetIndex = matcher.matches() ? Integer.parseInt(matcher.group(2)) + 1 : 2;
+
+        List<WorkbookParts.SheetEntry> newSheets = new ArrayList<>();
+        while (newSheets.size() < count) {
+            String sheetName = baseSheetName + sheetIndex++;
+            if (!parts.containsSheetName(sheetName)) {
+                newSheets.add(parts.addSheet(sheetName));
+            }
+        }
+        return newSheets;
+    }
+
+    private LastRowScanner scanLastRow(ZipFile zipFile, ZipArchiveEntry entry) throws IOException {
+        LastRowScanner scanner = new LastRowScanner(template.getLeafFieldPaths().size(), template.getHeaderHeight());
+        try (InputStream sheetStream = zipFile.getInputStream(entry)) {
+            XMLReader reader = XMLHelper.newXMLReader();
+            reader.setContentHandler(scanner);
+            reader.parse(new InputSource(sheetStream));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+        return scanner;
+    }
+
+    /**
+     * 이어 쓸 행의 열별 스타일 인덱스를 결정합니다.
+     * 마지막 시트의 마지막 본문 행 스타일을 사용하고, 본문 행이 없으면 템플릿으로 계산한 인덱스를 사용합니다.
+     * (스타일은 템플릿 순서대로 생성되므로 같은 타입과 DataFormatDecider면 인덱스가 같음)
+     */
+    private int[] decideStyleIndexes(LastRowScanner lastRow) throws IOException {
+        int[] observedStyles = lastRow.getLastBodyRowStyles();
+        int[] styleIndexes = new int[template.getLeafFieldPaths().size()];
+        boolean complete = observedStyles != null;
+        for (int i = 0; complete && i < styleIndexes.length; i++) {
+            styleIndexes[i] = observedStyles[i];
+            complete = observedStyles[i] >= 0;
+        }
+        if (complete) {
+            return styleIndexes;
+        }
+
+        try (XSSFWorkbook scratchWorkbook = new XSSFWorkbook()) {
+            ExcelRenderResource resource = template.materialize(scratchWorkbook, dataFormatDecider);
+            for (int i = 0; i < styleIndexes.length; i++) {
+                if (observedStyles == null || observedStyles[i] < 0) {
+                    styleIndexes[i] = resource.getCellStyle(template.getLeafFieldPaths().get(i), ExcelRenderLocation.BODY)
+                            .getIndex();
+                }
+            }
+        }
+        return styleIndexes;
+    }
+
+    /**
+     * 새 시트를 만들 때 사용하는 마지막 시트의 앞부분(sheetData 이전), 헤더 행, 뒷부분(sheetData 이후)
+     */
+    private record SheetTemplate(String prefix, byte[] headerRows, byte[] suffix) {
+    }
+
+}
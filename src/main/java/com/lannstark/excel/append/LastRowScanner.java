@@ -0,0 +1,91 @@
+package com.lannstark.excel.append;
+
+import org.apache.poi.ss.util.CellReference;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.Arrays;
+
+/**
+ * 시트 파트를 SAX로 훑어서 마지막 행 인덱스와 마지막 본문 행의 열별 셀 스타일 인덱스를 찾습니다.
+ * 이어 쓰는 행은 기존 본문 행과 같은 스타일 인덱스를 사용합니다.
+ *
+ * 본문 행은 모든 열에 셀이 있으므로, 헤더 아래에서 일부 열에만 셀이 있는 행은 footer나 소계 행으로 봅니다.
+ * outline level이 지정된 행은 소계로 묶인 본문 행입니다.
+ */
+class LastRowScanner extends DefaultHandler {
+
+    private final int columnCount;
+    private final int bodyStartRowIndex;
+
+    private int lastRowIndex = -1;
+    private int[] currentRowStyles;
+    private int[] lastBodyRowStyles;
+    private int currentRowCellCount;
+    private boolean currentRowOutlined;
+    private boolean summaryRowFound;
+
+    LastRowScanner(int columnCount, int bodyStartRowIndex) {
+        this.columnCount = columnCount;
+        this.bodyStartRowIndex = bodyStartRowIndex;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        if ("row".equals(localName)) {
+            String rowNumber = attributes.getValue("r");
+            lastRowIndex = rowNumber == null ? lastRowIndex + 1 : Integer.parseInt(rowNumber) - 1;
+            currentRowStyles = new int[columnCount];
+            Arrays.fill(currentRowStyles, -1);
+            currentRowCellCount = 0;
+            currentRowOutlined = attributes.getValue("outlineLevel") != null;
+        } else if ("c".equals(localName) && currentRowStyles != null) {
+            String reference = attributes.getValue("r");
+            if (reference == null) {
+                return;
+            }
+            int columnIndex = new CellReference(reference).getCol();
+            if (columnIndex < columnCount) {
+                currentRowCellCount++;
+                String style = attributes.getValue("s");
+                currentRowStyles[columnIndex] = style == null ? 0 : Integer.parseInt(style);
+            }
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        if ("row".equals(localName)) {
+            if (lastRowIndex >= bodyStartRowIndex) {
+                if (currentRowCellCount < columnCount || currentRowOutlined) {
+                    summaryRowFound = true;
+                } else {
+                    lastBodyRowStyles = currentRowStyles;
+                }
+            }
+            currentRowStyles = null;
+        }
+    }
+
+    /**
+     * @return 마지막 행 인덱스, 행이 없으면 -1
+     */
+    int getLastRowIndex() {
+        return lastRowIndex;
+    }
+
+    /**
+     * @return footer나 소계 행, 소계로 묶인 본문 행이 있으면 true
+     */
+    boolean hasSummaryRows() {
+        return summaryRowFound;
+    }
+
+    /**
+     * @return 마지막 본문 행의 열별 스타일 인덱스 (셀이 없는 열은 -1), 본문 행이 없으면 null
+     */
+    int[] getLastBodyRowStyles() {
+        return lastBodyRowStyles;
+    }
+
+}
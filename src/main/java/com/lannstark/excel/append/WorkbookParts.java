@@ -0,0 +1,224 @@
+package com.lannstark.excel.append;
+
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 워크북의 시트 목록과, 시트를 추가할 때 함께 바뀌는 메타데이터 파트를 다룹니다.
+ *  - [Content_Types].xml, xl/workbook.xml, xl/_rels/workbook.xml.rels: 시트가 추가된 경우에만 다시 씀
+ *  - docProps/core.xml: 수정 시각만 바꿈
+ * 메타데이터 파트는 작기 때문에 문자열로 읽어서 필요한 요소만 추가합니다.
+ */
+final class WorkbookParts {
+
+    static final String CONTENT_TYPES = "[Content_Types].xml";
+    static final String WORKBOOK = "xl/workbook.xml";
+    static final String WORKBOOK_RELS = "xl/_rels/workbook.xml.rels";
+    static final String CORE_PROPERTIES = "docProps/core.xml";
+
+    private static final String WORKSHEET_CONTENT_TYPE =
+            "application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml";
+    private static final String WORKSHEET_RELATIONSHIP_TYPE =
+            "http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet";
+
+    private static final Pattern SHEET_ELEMENT = Pattern.compile("<sheet\\s[^>]*>");
+    private static final Pattern RELATIONSHIP_ELEMENT = Pattern.compile("<Relationship\\s[^>]*>");
+    private static final Pattern ATTRIBUTE = Pattern.compile("([\\w:]+)=\"([^\"]*)\"");
+    private static final Pattern RELATIONSHIP_ID = Pattern.compile("rId(\\d+)");
+    private static final Pattern WORKSHEET_ENTRY = Pattern.compile("xl/worksheets/sheet(\\d+)\\.xml");
+    private static final Pattern MODIFIED_ELEMENT =
+            Pattern.compile("(<dcterms:modified[^>]*>)[^<]*(</dcterms:modified>)");
+
+    private final String contentTypes;
+    private final String workbook;
+    private final String workbookRels;
+    private final String coreProperties;
+
+    private final List<SheetEntry> sheets = new ArrayList<>();
+    private final Set<String> sheetNames = new HashSet<>();
+    private final List<SheetEntry> addedSheets = new ArrayList<>();
+    private String relationshipIdAttribute = "r:id";
+    private int nextSheetId = 1;
+    private int nextRelationshipId = 1;
+    private int nextPartNumber = 1;
+
+    private WorkbookParts(ZipFile zipFile) throws IOException {
+        this.contentTypes = readPart(zipFile, CONTENT_TYPES);
+        this.workbook = readPart(zipFile, WORKBOOK);
+        this.workbookRels = readPart(zipFile, WORKBOOK_RELS);
+        this.coreProperties = zipFile.getEntry(CORE_PROPERTIES) == null ? null : readPart(zipFile, CORE_PROPERTIES);
+
+        Map<String, String> relationshipTargets = new HashMap<>();
+        Matcher relationshipMatcher = RELATIONSHIP_ELEMENT.matcher(workbookRels);
+        while (relationshipMatcher.find()) {
+            Map<String, String> attributes = attributes(relationshipMatcher.group());
+            String id = attributes.get("Id");
+            relationshipTargets.put(id, attributes.get("Target"));
+            Matcher idMatcher = RELATIONSHIP_ID.matcher(id);
+            if (idMatcher.matches()) {
+                nextRelationshipId = Math.max(nextRelationshipId, Integer.parseInt(idMatcher.group(1)) + 1);
+            }
+        }
+
+        Matcher sheetMatcher = SHEET_ELEMENT.matcher(workbook);
+        while (sheetMatcher.find()) {
+            Map<String, String> attributes = attributes(sheetMatcher.group());
+            String relationshipId = null;
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                if (attribute.getKey().endsWith(":id")) {
+                    relationshipIdAttribute = attribute.getKey();
+                    relationshipId = attribute.getValue();
+                }
+            }
+            String target = relationshipTargets.get(relationshipId);
+            if (target == null) {
+                throw new ExcelInternalException(String.format("Sheet relationship %s does not exist", relationshipId), null);
+            }
+            String name = unescape(attributes.get("name"));
+            sheets.add(new SheetEntry(name, toEntryName(target)));
+            sheetNames.add(name);
+            nextSheetId = Math.max(nextSheetId, Integer.parseInt(attributes.get("sheetId")) + 1);
+        }
+        if (sheets.isEmpty()) {
+            throw new ExcelInternalException("Workbook has no sheet", null);
+        }
+
+        for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+            Matcher entryMatcher = WORKSHEET_ENTRY.matcher(entry.getName());
+            if (entryMatcher.matches()) {
+                nextPartNumber = Math.max(nextPartNumber, Integer.parseInt(entryMatcher.group(1)) + 1);
+            }
+        }
+    }
+
+    static WorkbookParts read(ZipFile zipFile) throws IOException {
+        return new WorkbookParts(zipFile);
+    }
+
+    List<SheetEntry> getSheets() {
+        return Collections.unmodifiableList(sheets);
+    }
+
+    SheetEntry getLastSheet() {
+        return sheets.get(sheets.size() - 1);
+    }
+
+    boolean containsSheetName(String name) {
+        return sheetNames.contains(name);
+    }
+
+    /**
+     * 마지막 시트 뒤에 새 시트를 추가합니다. 파트 내용은 호출한 쪽에서 씁니다.
+     */
+    SheetEntry addSheet(String name) {
+        SheetEntry sheet = new SheetEntry(name, String.format("xl/worksheets/sheet%d.xml", nextPartNumber++));
+        sheets.add(sheet);
+        sheetNames.add(name);
+        addedSheets.add(sheet);
+        return sheet;
+    }
+
+    /**
+     * 다시 써야 하는 메타데이터 파트를 반환합니다.
+     *
+     * @param modified docProps의 수정 시각
+     * @return 엔트리 이름과 새 내용
+     */
+    Map<String, byte[]> rewrittenParts(Instant modified) {
+        Map<String, byte[]> parts = new LinkedHashMap<>();
+        if (coreProperties != null) {
+            String modifiedValue = modified.truncatedTo(ChronoUnit.SECONDS).toString();
+            parts.put(CORE_PROPERTIES, utf8(MODIFIED_ELEMENT.matcher(coreProperties)
+                    .replaceFirst("$1" + Matcher.quoteReplacement(modifiedValue) + "$2")));
+        }
+        if (addedSheets.isEmpty()) {
+            return parts;
+        }
+
+        StringBuilder overrides = new StringBuilder();
+        StringBuilder sheetElements = new StringBuilder();
+        StringBuilder relationships = new StringBuilder();
+        int sheetId = nextSheetId;
+        int relationshipId = nextRelationshipId;
+        for (SheetEntry sheet : addedSheets) {
+            overrides.append(String.format("<Override PartName=\"/%s\" ContentType=\"%s\"/>",
+                    sheet.entryName(), WORKSHEET_CONTENT_TYPE));
+            sheetElements.append(String.format("<sheet name=\"%s\" sheetId=\"%d\" %s=\"rId%d\"/>",
+                    escape(sheet.name()), sheetId++, relationshipIdAttribute, relationshipId));
+            relationships.append(String.format("<Relationship Id=\"rId%d\" Target=\"%s\" Type=\"%s\"/>",
+                    relationshipId++, sheet.entryName().substring("xl/".length()), WORKSHEET_RELATIONSHIP_TYPE));
+        }
+        parts.put(CONTENT_TYPES, utf8(insertBefore(contentTypes, "</Types>", overrides)));
+        parts.put(WORKBOOK, utf8(insertBefore(workbook, "</sheets>", sheetElements)));
+        parts.put(WORKBOOK_RELS, utf8(insertBefore(workbookRels, "</Relationships>", relationships)));
+        return parts;
+    }
+
+    private static String insertBefore(String xml, String closingTag, CharSequence content) {
+        int index = xml.lastIndexOf(closingTag);
+        if (index < 0) {
+            throw new ExcelInternalException(String.format("%s does not exist", closingTag), null);
+        }
+        return xml.substring(0, index) + content + xml.substring(index);
+    }
+
+    private static String toEntryName(String target) {
+        return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+    }
+
+    private static Map<String, String> attributes(String element) {
+        Map<String, String> attributes = new LinkedHashMap<>();
+        Matcher matcher = ATTRIBUTE.matcher(element);
+        while (matcher.find()) {
+            attributes.put(matcher.group(1), matcher.group(2));
+        }
+        return attributes;
+    }
+
+    private static String readPart(ZipFile zipFile, String entryName) throws IOException {
+        ZipArchiveEntry entry = zipFile.getEntry(entryName);
+        if (entry == null) {
+            throw new ExcelInternalException(String.format("Part %s does not exist", entryName), null);
+        }
+        try (InputStream stream = zipFile.getInputStream(entry)) {
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    /**
+     * 시트 이름과 시트 파트의 zip 엔트리 이름
+     */
+    record SheetEntry(String name, String entryName) {
+    }
+
+}
@@ -0,0 +1,286 @@
+package com.lannstark.excel.cache;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.sxssf.SXSSFExcelFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 렌더링한 엑셀 파일을 로컬 디스크에 보관하는 캐시입니다.
+ *  - 키: ExcelExportKey (DTO 타입 + 조회 조건 + 데이터 버전)
+ *  - 전체 크기(maxBytes)를 넘으면 가장 오래 사용하지 않은 파일부터 삭제 (LRU)
+ *  - 생성 후 ttl이 지난 파일은 사용하지 않고 삭제
+ *  - 캐시된 파일은 다시 렌더링하지 않고 그대로 스트리밍
+ *
+ * SXSSFExcelFile은 고정 시각(DETERMINISTIC_TIMESTAMP)으로 쓰기 때문에
+ * 같은 키로 다시 렌더링해도 캐시된 파일과 같은 바이트가 됩니다.
+ * 애플리케이션 재시작 시 디렉토리에 남아 있는 파일을 수정 시각 순으로 다시 등록합니다.
+ */
+public class ExcelExportCache {
+
+	public static final Instant DETERMINISTIC_TIMESTAMP = Instant.parse("2000-01-01T00:00:00Z");
+
+	private static final String FILE_SUFFIX = ".xlsx";
+	private static final String TEMP_FILE_PREFIX = "render-";
+
+	private final Path directory;
+	private final long maxBytes;
+	private final Duration ttl;
+	private final Clock clock;
+
+	// accessOrder = true, 가장 오래 사용하지 않은 항목이 맨 앞
+	private final LinkedHashMap<String, CachedFile> cachedFiles = new LinkedHashMap<>(16, 0.75f, true);
+	private long totalBytes;
+
+	public ExcelExportCache(Path directory, long maxBytes, Duration ttl) throws IOException {
+		this(directory, maxBytes, ttl, Clock.systemUTC());
+	}
+
+	public ExcelExportCache(Path directory, long maxBytes, Duration ttl, Clock clock) throws IOException {
+		this.directory = Files.createDirectories(directory);
+		this.maxBytes = maxBytes;
+		this.ttl = ttl;
+		this.clock = clock;
+		loadExistingFiles();
+	}
+
+	/**
+	 * 캐시된 파일이 있으면 출력 스트림으로 보냅니다. 출력 스트림은 닫지 않습니다.
+	 *
+	 * @return 캐시된 파일을 보낸 경우 true, 캐시에 없거나 만료된 경우 false
+	 */
+	public boolean write(ExcelExportKey key, OutputStream out) throws IOException {
+		InputStream cached = open(key);
+		if (cached == null) {
+			return false;
+		}
+		try (cached) {
+			cached.transferTo(out);
+		}
+		out.flush();
+		return true;
+	}
+
+	/**
+	 * 캐시된 파일이 있으면 보내고, 없으면 렌더링하여 캐시에 저장한 뒤 보냅니다. 출력 스트림은 닫지 않습니다.
+	 * 렌더링한 파일이 maxBytes보다 크면 캐시에 저장하지 않고 임시 파일에서 바로 보냅니다.
+	 *
+	 * @param key 캐시 키
+	 * @param renderer 캐시에 없을 때 호출할 ExcelFile 생성 함수
+	 * @param out 출력 스트림
+	 */
+	public void write(ExcelExportKey key, Supplier<? extends ExcelFile<?>> renderer, OutputStream out)
+			throws IOException {
+		if (write(key, out)) {
+			return;
+		}
+		Path tempFile = renderToTempFile(renderer);
+		try {
+			// 저장 직후 다른 요청이 파일을 밀어내도 열린 스트림은 끝까지 읽을 수 있음
+			try (InputStream rendered = commit(key, tempFile, true)) {
+				rendered.transferTo(out);
+			}
+			out.flush();
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * 캐시된 파일을 엽니다. 스트림을 연 뒤에 파일이 삭제되어도 열린 스트림은 끝까지 읽을 수 있습니다.
+	 *
+	 * @return 캐시된 파일의 InputStream, 캐시에 없거나 만료된 경우 null
+	 */
+	public InputStream open(ExcelExportKey key) throws IOException {
+		synchronized (cachedFiles) {
+			CachedFile cachedFile = cachedFiles.get(key.getFingerprint());
+			if (cachedFile == null) {
+				return null;
+			}
+			if (isExpired(cachedFile)) {
+				remove(key.getFingerprint());
+				return null;
+			}
+			return Files.newInputStream(resolve(key.getFingerprint()));
+		}
+	}
+
+	/**
+	 * 렌더링 결과를 캐시에 저장합니다. 임시 파일에 모두 쓴 뒤 이동하므로 쓰는 도중의 파일은 노출되지 않습니다.
+	 * 렌더링한 파일이 maxBytes보다 크면 저장하지 않습니다.
+	 */
+	public void render(ExcelExportKey key, Supplier<? extends ExcelFile<?>> renderer) throws IOException {
+		Path tempFile = renderToTempFile(renderer);
+		try {
+			commit(key, tempFile, false);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * 이미 렌더링된 파일을 복사하여 캐시에 저장합니다. 원본 파일은 그대로 둡니다.
+	 */
+	public void store(ExcelExportKey key, Path renderedFile) throws IOException {
+		Path tempFile = Files.createTempFile(directory, TEMP_FILE_PREFIX, ".tmp");
+		try {
+			Files.copy(renderedFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+			commit(key, tempFile, false);
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	public void invalidate(ExcelExportKey key) throws IOException {
+		synchronized (cachedFiles) {
+			remove(key.getFingerprint());
+		}
+	}
+
+	public long getTotalBytes() {
+		synchronized (cachedFiles) {
+			return totalBytes;
+		}
+	}
+
+	private Path renderToTempFile(Supplier<? extends ExcelFile<?>> renderer) throws IOException {
+		Path tempFile = Files.createTempFile(directory, TEMP_FILE_PREFIX, ".tmp");
+		try {
+			ExcelFile<?> excelFile = renderer.get();
+			if (excelFile instanceof SXSSFExcelFile<?> sxssfExcelFile) {
+				sxssfExcelFile.setFixedTimestamp(DETERMINISTIC_TIMESTAMP);
+			}
+			excelFile.write(Files.newOutputStream(tempFile));
+			return tempFile;
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(tempFile);
+			throw e;
+		}
+	}
+
+	/**
+	 * 임시 파일을 캐시 파일로 옮겨 등록합니다. maxBytes보다 큰 파일은 등록하지 않고 임시 파일 그대로 둡니다.
+	 *
+	 * @param open true인 경우 저장한 파일(등록하지 않은 경우 임시 파일)을 밀어내기 전에 열어서 반환
+	 * @return open이 true인 경우 파일의 InputStream, 아니면 null
+	 */
+	private InputStream commit(ExcelExportKey key, Path tempFile, boolean open) throws IOException {
+		long size = Files.size(tempFile);
+		if (size > maxBytes) {
+			return open ? Files.newInputStream(tempFile) : null;
+		}
+		synchronized (cachedFiles) {
+			Path cachedFile = resolve(key.getFingerprint());
+			Files.move(tempFile, cachedFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			register(key.getFingerprint(), new CachedFile(size, clock.instant()));
+			InputStream opened = open ? Files.newInputStream(cachedFile) : null;
+			try {
+				evict();
+			} catch (IOException e) {
+				if (opened != null) {
+					opened.close();
+				}
+				throw e;
+			}
+			return opened;
+		}
+	}
+
+	private void loadExistingFiles() throws IOException {
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path file : stream) {
+				String fileName = file.getFileName().toString();
+				if (fileName.startsWith(TEMP_FILE_PREFIX)) {
+					// 이전 실행에서 렌더링 도중 중단된 파일
+					Files.deleteIfExists(file);
+				} else if (fileName.endsWith(FILE_SUFFIX)) {
+					files.add(file);
+				}
+			}
+		}
+
+		files.sort(Comparator.comparing(this::lastModifiedTime));
+		synchronized (cachedFiles) {
+			for (Path file : files) {
+				String fileName = file.getFileName().toString();
+				register(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()),
+						new CachedFile(Files.size(file), lastModifiedTime(file).toInstant()));
+			}
+			evict();
+		}
+	}
+
+	private void register(String fingerprint, CachedFile cachedFile) {
+		CachedFile previous = cachedFiles.put(fingerprint, cachedFile);
+		if (previous != null) {
+			totalBytes -= previous.size;
+		}
+		totalBytes += cachedFile.size;
+	}
+
+	private void evict() throws IOException {
+		Iterator<Map.Entry<String, CachedFile>> iterator = cachedFiles.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<String, CachedFile> eldest = iterator.next();
+			if (totalBytes <= maxBytes && !isExpired(eldest.getValue())) {
+				continue;
+			}
+			iterator.remove();
+			totalBytes -= eldest.getValue().size;
+			Files.deleteIfExists(resolve(eldest.getKey()));
+		}
+	}
+
+	private void remove(String fingerprint) throws IOException {
+		CachedFile removed = cachedFiles.remove(fingerprint);
+		if (removed != null) {
+			totalBytes -= removed.size;
+		}
+		Files.deleteIfExists(resolve(fingerprint));
+	}
+
+	private boolean isExpired(CachedFile cachedFile) {
+		return cachedFile.createdAt.plus(ttl).isBefore(clock.instant());
+	}
+
+	private Path resolve(String fingerprint) {
+		return directory.resolve(fingerprint + FILE_SUFFIX);
+	}
+
+	private FileTime lastModifiedTime(Path file) {
+		try {
+			return Files.getLastModifiedTime(file);
+		} catch (IOException e) {
+			return FileTime.fromMillis(0);
+		}
+	}
+
+	private static final class CachedFile {
+		private final long size;
+		private final Instant createdAt;
+
+		private CachedFile(long size, Instant createdAt) {
+			this.size = size;
+			this.createdAt = createdAt;
+		}
+	}
+
+}
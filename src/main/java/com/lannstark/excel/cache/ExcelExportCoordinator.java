@@ -0,0 +1,317 @@
+package com.lannstark.excel.cache;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.sxssf.SXSSFExcelFile;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 엑셀 다운로드가 동시에 요청되면 한 번만 렌더링하고 결과를 함께 받도록 조정합니다. (single-flight)
+ *
+ * 처음 요청이 렌더링을 시작하면 결과를 공유 spill 파일에 쓰고,
+ * 렌더링 중에 들어온 같은 키의 요청은 새로 렌더링하지 않고 같은 spill 파일을 쓰여지는 대로 따라 읽습니다.
+ * 모든 요청이 읽기를 마치면 spill 파일은 삭제됩니다.
+ * ExcelExportCache를 함께 사용하면 캐시를 먼저 확인하고, 렌더링이 끝난 결과를 캐시에 저장합니다.
+ */
+public class ExcelExportCoordinator implements AutoCloseable {
+
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+	private final Path spillDirectory;
+	private final ExcelExportCache cache;
+	private final Executor renderExecutor;
+	private final boolean ownsExecutor;
+
+	private final Map<ExcelExportKey, InFlightExport> inFlightExports = new HashMap<>();
+	private boolean closed;
+
+	public ExcelExportCoordinator(Path spillDirectory) throws IOException {
+		this(spillDirectory, null);
+	}
+
+	public ExcelExportCoordinator(Path spillDirectory, ExcelExportCache cache) throws IOException {
+		this(spillDirectory, cache, Executors.newCachedThreadPool(ExcelExportCoordinator::newRenderThread), true);
+	}
+
+	/**
+	 * @param renderExecutor 렌더링을 실행할 Executor, close()에서 종료하지 않음
+	 */
+	public ExcelExportCoordinator(Path spillDirectory, ExcelExportCache cache, Executor renderExecutor)
+			throws IOException {
+		this(spillDirectory, cache, renderExecutor, false);
+	}
+
+	private ExcelExportCoordinator(Path spillDirectory, ExcelExportCache cache, Executor renderExecutor,
+								   boolean ownsExecutor) throws IOException {
+		this.spillDirectory = Files.createDirectories(spillDirectory);
+		this.cache = cache;
+		this.renderExecutor = renderExecutor;
+		this.ownsExecutor = ownsExecutor;
+	}
+
+	/**
+	 * 엑셀 파일을 출력 스트림으로 보냅니다. 출력 스트림은 닫지 않습니다.
+	 * 같은 키로 진행 중인 렌더링이 있으면 그 결과를 함께 받고, 없으면 새로 렌더링을 시작합니다.
+	 *
+	 * @param key 다운로드를 식별하는 키
+	 * @param renderer 렌더링이 필요할 때 한 번만 호출되는 ExcelFile 생성 함수
+	 * @param out 출력 스트림
+	 */
+	public void write(ExcelExportKey key, Supplier<? extends ExcelFile<?>> renderer, OutputStream out)
+			throws IOException {
+		if (cache != null && cache.write(key, out)) {
+			return;
+		}
+
+		InFlightExport export;
+		FileChannel spillChannel;
+		boolean leader = false;
+		synchronized (inFlightExports) {
+			if (closed) {
+				throw new IllegalStateException("Export coordinator is closed");
+			}
+			export = inFlightExports.get(key);
+			if (export == null) {
+				export = new InFlightExport(Files.createTempFile(spillDirectory, "export-", ".xlsx"));
+				inFlightExports.put(key, export);
+				leader = true;
+			}
+			// 렌더링이 끝나 spill 파일이 삭제되기 전에 열어두기 위해 등록과 함께 엶
+			spillChannel = FileChannel.open(export.spillFile, StandardOpenOption.READ);
+			export.retain();
+			export.joinedRequests++;
+		}
+
+		try (spillChannel) {
+			if (leader) {
+				startRender(key, renderer, export);
+			}
+			follow(export, spillChannel, out);
+		} finally {
+			export.release();
+		}
+	}
+
+	/**
+	 * 진행 중인 렌더링 수
+	 */
+	public int getInFlightCount() {
+		synchronized (inFlightExports) {
+			return inFlightExports.size();
+		}
+	}
+
+	/**
+	 * 같은 키로 진행 중인 렌더링에 합류한 요청 수 (처음 요청 포함), 진행 중인 렌더링이 없으면 0
+	 */
+	public int getJoinedRequestCount(ExcelExportKey key) {
+		synchronized (inFlightExports) {
+			InFlightExport export = inFlightExports.get(key);
+			return export != null ? export.joinedRequests : 0;
+		}
+	}
+
+	/**
+	 * 새 요청을 받지 않고, 생성자에서 만든 렌더링 실행기는 종료합니다. 진행 중인 렌더링은 끝까지 실행됩니다.
+	 */
+	@Override
+	public void close() {
+		synchronized (inFlightExports) {
+			closed = true;
+		}
+		if (ownsExecutor) {
+			((ExecutorService) renderExecutor).shutdown();
+		}
+	}
+
+	/**
+	 * 렌더링 작업을 실행기에 넘깁니다. close()와 경합하여 실행기가 거절하면 합류한 요청이 기다리지 않도록 실패로 끝냅니다.
+	 */
+	private void startRender(ExcelExportKey key, Supplier<? extends ExcelFile<?>> renderer, InFlightExport export) {
+		export.retain();
+		try {
+			renderExecutor.execute(() -> render(key, renderer, export));
+		} catch (RejectedExecutionException e) {
+			export.complete(e);
+			synchronized (inFlightExports) {
+				inFlightExports.remove(key, export);
+			}
+			export.release();
+			throw e;
+		}
+	}
+
+	private void render(ExcelExportKey key, Supplier<? extends ExcelFile<?>> renderer, InFlightExport export) {
+		try {
+			ExcelFile<?> excelFile = renderer.get();
+			if (cache != null && excelFile instanceof SXSSFExcelFile<?> sxssfExcelFile) {
+				sxssfExcelFile.setFixedTimestamp(ExcelExportCache.DETERMINISTIC_TIMESTAMP);
+			}
+			OutputStream spillStream = new BufferedOutputStream(
+					new ProgressNotifyingOutputStream(Files.newOutputStream(export.spillFile), export),
+					STREAM_BUFFER_SIZE);
+			excelFile.write(spillStream);
+			export.complete(null);
+			storeInCache(key, export.spillFile);
+		} catch (Throwable e) {
+			export.complete(e);
+		} finally {
+			synchronized (inFlightExports) {
+				inFlightExports.remove(key, export);
+			}
+			export.release();
+		}
+	}
+
+	/**
+	 * 렌더링이 끝난 spill 파일을 캐시에 저장합니다.
+	 * 요청에는 이미 온전한 결과가 전달되므로 저장에 실패하면 다음 요청에서 다시 렌더링하도록 무시합니다.
+	 */
+	private void storeInCache(ExcelExportKey key, Path spillFile) {
+		if (cache == null) {
+			return;
+		}
+		try {
+			cache.store(key, spillFile);
+		} catch (IOException | RuntimeException e) {
+			// 캐시 디렉터리가 가득 찬 경우 등
+		}
+	}
+
+	/**
+	 * spill 파일을 쓰여지는 대로 따라 읽어서 출력 스트림으로 보냅니다.
+	 */
+	private void follow(InFlightExport export, FileChannel spillChannel, OutputStream out) throws IOException {
+		WritableByteChannel target = Channels.newChannel(out);
+		long position = 0;
+		while (true) {
+			long available = export.awaitAvailable(position);
+			if (available <= position) {
+				break;
+			}
+			while (position < available) {
+				position += spillChannel.transferTo(position, available - position, target);
+			}
+		}
+		out.flush();
+	}
+
+	private static Thread newRenderThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, "excel-export-render");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	/**
+	 * 진행 중인 렌더링 하나의 상태
+	 *  - written: spill 파일에 쓰여진 바이트 수
+	 *  - references: spill 파일을 사용 중인 요청 수 (렌더링 작업 포함), 0이 되면 spill 파일 삭제
+	 */
+	private static final class InFlightExport {
+
+		private final Path spillFile;
+		// inFlightExports 잠금 안에서만 변경
+		private int joinedRequests;
+		private long written;
+		private boolean completed;
+		private Throwable failure;
+		private int references;
+
+		private InFlightExport(Path spillFile) {
+			this.spillFile = spillFile;
+		}
+
+		synchronized void advance(long length) {
+			written += length;
+			notifyAll();
+		}
+
+		/**
+		 * 처음 호출된 결과만 반영합니다.
+		 */
+		synchronized void complete(Throwable failure) {
+			if (completed) {
+				return;
+			}
+			this.completed = true;
+			this.failure = failure;
+			notifyAll();
+		}
+
+		/**
+		 * position 이후의 데이터가 쓰여지거나 렌더링이 끝날 때까지 기다립니다.
+		 * @return 현재까지 쓰여진 바이트 수, position과 같으면 더 읽을 데이터가 없음
+		 */
+		synchronized long awaitAvailable(long position) throws IOException {
+			try {
+				while (written <= position && !completed) {
+					wait();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException(e.getMessage());
+			}
+			if (failure != null) {
+				throw new IOException("Shared export rendering failed", failure);
+			}
+			return written;
+		}
+
+		synchronized void retain() {
+			references++;
+		}
+
+		void release() {
+			boolean unused;
+			synchronized (this) {
+				unused = --references == 0;
+			}
+			if (unused) {
+				spillFile.toFile().delete();
+			}
+		}
+	}
+
+	/**
+	 * spill 파일에 쓴 만큼 따라 읽는 요청에 알려주는 OutputStream
+	 */
+	private static final class ProgressNotifyingOutputStream extends FilterOutputStream {
+
+		private final InFlightExport export;
+
+		private ProgressNotifyingOutputStream(OutputStream out, InFlightExport export) {
+			super(out);
+			this.export = export;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			export.advance(1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			export.advance(len);
+		}
+	}
+
+}
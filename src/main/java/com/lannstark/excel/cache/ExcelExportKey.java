@@ -0,0 +1,106 @@
+package com.lannstark.excel.cache;
+
+import com.lannstark.exception.ExcelInternalException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 엑셀 다운로드 결과를 식별하는 키입니다.
+ * DTO 타입, 조회 조건(파라미터), 데이터 버전을 조합한 SHA-256 fingerprint로 비교합니다.
+ * 파라미터는 이름 순으로 정렬되므로 추가 순서와 관계없이 같은 조건이면 같은 키가 됩니다.
+ */
+public final class ExcelExportKey {
+
+	private final String fingerprint;
+
+	private ExcelExportKey(String fingerprint) {
+		this.fingerprint = fingerprint;
+	}
+
+	public static Builder builder(Class<?> type) {
+		return new Builder(type);
+	}
+
+	public String getFingerprint() {
+		return fingerprint;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		ExcelExportKey that = (ExcelExportKey) o;
+		return Objects.equals(fingerprint, that.fingerprint);
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(fingerprint);
+	}
+
+	@Override
+	public String toString() {
+		return fingerprint;
+	}
+
+	public static final class Builder {
+
+		private final Class<?> type;
+		private final Map<String, String> parameters = new TreeMap<>();
+		private String dataVersion = "";
+
+		private Builder(Class<?> type) {
+			this.type = type;
+		}
+
+		public Builder param(String name, Object value) {
+			parameters.put(name, String.valueOf(value));
+			return this;
+		}
+
+		public Builder params(Map<String, ?> parameters) {
+			parameters.forEach(this::param);
+			return this;
+		}
+
+		/**
+		 * 데이터 버전 (예: 마지막 수정 시각, 배치 실행 번호). 데이터가 바뀌면 다른 키가 됩니다.
+		 */
+		public Builder dataVersion(Object dataVersion) {
+			this.dataVersion = String.valueOf(dataVersion);
+			return this;
+		}
+
+		public ExcelExportKey build() {
+			StringBuilder source = new StringBuilder();
+			append(source, type.getName());
+			parameters.forEach((name, value) -> {
+				append(source, name);
+				append(source, value);
+			});
+			append(source, dataVersion);
+			return new ExcelExportKey(sha256(source.toString()));
+		}
+
+		// 구분자가 값에 포함되어도 모호하지 않도록 길이를 앞에 붙임
+		private static void append(StringBuilder source, String value) {
+			source.append(value.length()).append(':').append(value).append(';');
+		}
+
+		private static String sha256(String source) {
+			try {
+				MessageDigest digest = MessageDigest.getInstance("SHA-256");
+				return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+			} catch (NoSuchAlgorithmException e) {
+				throw new ExcelInternalException(e.getMessage(), e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,199 @@
+package com.lannstark.excel.checkpoint;
+
+import com.lannstark.exception.ExcelInternalException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 이어서 내보내기 위한 진행 상태입니다. 확정된 시트 조각과 그 다음 페이지의 커서만 기록하므로,
+ * 이 상태로 다시 시작하면 기록 이후에 렌더링하던 행만 다시 렌더링합니다.
+ *  - sheetIndex, rowIndex: MultiSheetExcelFile의 sheetIndex, currentRowIndex와 같은 의미 (rowIndex는 헤더 높이 포함)
+ *  - parts: 확정된 조각 파일 (시트 번호, 파일 이름, 행 수), 조각 파일은 기록 전에 디스크에 반영됨
+ */
+final class ExcelCheckpoint {
+
+	static final String FILE_NAME = "checkpoint.properties";
+	private static final int VERSION = 1;
+
+	private String typeName;
+	private String sheetName;
+	private int maxRowsPerSheet;
+	private long createdAt;
+	private String cursor;
+	private boolean finished;
+	private long committedRows;
+	private int sheetIndex = 1;
+	private int rowIndex;
+	private int nextPartNumber = 1;
+	private final List<Part> parts = new ArrayList<>();
+
+	/**
+	 * 확정된 시트 조각
+	 */
+	record Part(int sheetIndex, String fileName, int rowCount) {
+	}
+
+	static ExcelCheckpoint start(String typeName, String sheetName, int maxRowsPerSheet, int headerHeight, long createdAt) {
+		ExcelCheckpoint checkpoint = new ExcelCheckpoint();
+		checkpoint.typeName = typeName;
+		checkpoint.sheetName = sheetName;
+		checkpoint.maxRowsPerSheet = maxRowsPerSheet;
+		checkpoint.createdAt = createdAt;
+		checkpoint.rowIndex = headerHeight;
+		return checkpoint;
+	}
+
+	/**
+	 * @return 저장된 체크포인트, 없으면 null
+	 */
+	static ExcelCheckpoint load(Path directory) throws IOException {
+		Path file = directory.resolve(FILE_NAME);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		try {
+			int version = Integer.parseInt(properties.getProperty("version"));
+			if (version != VERSION) {
+				throw new ExcelInternalException(String.format("Unsupported checkpoint version %s of %s", version, file), null);
+			}
+			ExcelCheckpoint checkpoint = new ExcelCheckpoint();
+			checkpoint.typeName = properties.getProperty("type");
+			checkpoint.sheetName = properties.getProperty("sheetName");
+			checkpoint.maxRowsPerSheet = Integer.parseInt(properties.getProperty("maxRowsPerSheet"));
+			checkpoint.createdAt = Long.parseLong(properties.getProperty("createdAt"));
+			checkpoint.cursor = properties.getProperty("cursor");
+			checkpoint.finished = Boolean.parseBoolean(properties.getProperty("finished"));
+			checkpoint.committedRows = Long.parseLong(properties.getProperty("committedRows"));
+			checkpoint.sheetIndex = Integer.parseInt(properties.getProperty("sheetIndex"));
+			checkpoint.rowIndex = Integer.parseInt(properties.getProperty("rowIndex"));
+			checkpoint.nextPartNumber = Integer.parseInt(properties.getProperty("nextPartNumber"));
+			String parts = properties.getProperty("parts", "");
+			if (!parts.isEmpty()) {
+				for (String part : parts.split(",")) {
+					String[] fields = part.split(":");
+					checkpoint.parts.add(new Part(Integer.parseInt(fields[0]), fields[1], Integer.parseInt(fields[2])));
+				}
+			}
+			return checkpoint;
+		} catch (RuntimeException e) {
+			if (e instanceof ExcelInternalException) {
+				throw e;
+			}
+			throw new ExcelInternalException(String.format("Checkpoint %s is corrupted", file), e);
+		}
+	}
+
+	/**
+	 * 임시 파일에 쓰고 디스크에 반영한 뒤 원자적으로 교체하므로, 저장 중 프로세스가 죽어도 이전 체크포인트가 남습니다.
+	 */
+	void save(Path directory) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("version", Integer.toString(VERSION));
+		properties.setProperty("type", typeName);
+		properties.setProperty("sheetName", sheetName);
+		properties.setProperty("maxRowsPerSheet", Integer.toString(maxRowsPerSheet));
+		properties.setProperty("createdAt", Long.toString(createdAt));
+		if (cursor != null) {
+			properties.setProperty("cursor", cursor);
+		}
+		properties.setProperty("finished", Boolean.toString(finished));
+		properties.setProperty("committedRows", Long.toString(committedRows));
+		properties.setProperty("sheetIndex", Integer.toString(sheetIndex));
+		properties.setProperty("rowIndex", Integer.toString(rowIndex));
+		properties.setProperty("nextPartNumber", Integer.toString(nextPartNumber));
+		List<String> encodedParts = new ArrayList<>();
+		for (Part part : parts) {
+			encodedParts.add(part.sheetIndex() + ":" + part.fileName() + ":" + part.rowCount());
+		}
+		properties.setProperty("parts", String.join(",", encodedParts));
+
+		Path file = directory.resolve(FILE_NAME);
+		Path temporary = directory.resolve(FILE_NAME + ".tmp");
+		try (OutputStream out = Files.newOutputStream(temporary)) {
+			properties.store(out, null);
+		}
+		force(temporary);
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	static void force(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * 확정된 조각을 더하고 진행 상태를 옮깁니다.
+	 */
+	void commit(List<Part> newParts, int nextPartNumber, String cursor, boolean finished, int sheetIndex, int rowIndex) {
+		for (Part part : newParts) {
+			parts.add(part);
+			committedRows += part.rowCount();
+		}
+		this.nextPartNumber = nextPartNumber;
+		this.cursor = cursor;
+		this.finished = finished;
+		this.sheetIndex = sheetIndex;
+		this.rowIndex = rowIndex;
+	}
+
+	String getTypeName() {
+		return typeName;
+	}
+
+	String getSheetName() {
+		return sheetName;
+	}
+
+	int getMaxRowsPerSheet() {
+		return maxRowsPerSheet;
+	}
+
+	long getCreatedAt() {
+		return createdAt;
+	}
+
+	String getCursor() {
+		return cursor;
+	}
+
+	boolean isFinished() {
+		return finished;
+	}
+
+	long getCommittedRows() {
+		return committedRows;
+	}
+
+	int getSheetIndex() {
+		return sheetIndex;
+	}
+
+	int getRowIndex() {
+		return rowIndex;
+	}
+
+	int getNextPartNumber() {
+		return nextPartNumber;
+	}
+
+	List<Part> getParts() {
+		return Collections.unmodifiableList(parts);
+	}
+
+}
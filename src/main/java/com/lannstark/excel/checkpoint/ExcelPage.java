@@ -0,0 +1,22 @@
+package com.lannstark.excel.checkpoint;
+
+import java.util.List;
+
+/**
+ * 데이터 소스에서 읽은 한 페이지의 행과 다음 페이지를 읽을 커서
+ *
+ * @param rows 페이지의 행
+ * @param nextCursor 다음 페이지의 커서, 마지막 페이지면 null
+ * @param <T> 행 타입
+ */
+public record ExcelPage<T>(List<T> rows, String nextCursor) {
+
+	public static <T> ExcelPage<T> last(List<T> rows) {
+		return new ExcelPage<>(rows, null);
+	}
+
+	public boolean isLast() {
+		return nextCursor == null;
+	}
+
+}
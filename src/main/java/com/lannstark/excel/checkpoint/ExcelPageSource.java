@@ -0,0 +1,42 @@
+package com.lannstark.excel.checkpoint;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * 커서로 페이지를 이어서 읽는 데이터 소스입니다.
+ * 커서는 체크포인트에 문자열로 저장되므로, 다시 시작한 프로세스에서도 같은 커서로 같은 페이지를 읽을 수 있어야 합니다.
+ * (예: 마지막으로 읽은 키, offset)
+ *
+ * @param <T> 행 타입
+ */
+@FunctionalInterface
+public interface ExcelPageSource<T> {
+
+	/**
+	 * @param cursor 읽을 페이지의 커서, 첫 페이지면 null
+	 * @return 페이지의 행과 다음 커서
+	 */
+	ExcelPage<T> fetch(String cursor);
+
+	/**
+	 * offset/limit 조회로 페이지를 읽는 데이터 소스를 만듭니다. 커서는 다음 offset이며,
+	 * 조회 결과가 pageSize보다 적으면 마지막 페이지로 봅니다.
+	 *
+	 * @param pageSize 페이지 크기
+	 * @param query (offset, limit)으로 행을 조회하는 함수
+	 */
+	static <T> ExcelPageSource<T> ofOffset(int pageSize, BiFunction<Long, Integer, List<T>> query) {
+		if (pageSize <= 0) {
+			throw new IllegalArgumentException("Page size should be positive");
+		}
+		return cursor -> {
+			long offset = cursor == null ? 0 : Long.parseLong(cursor);
+			List<T> rows = query.apply(offset, pageSize);
+			return rows.size() < pageSize
+					? ExcelPage.last(rows)
+					: new ExcelPage<>(rows, Long.toString(offset + rows.size()));
+		};
+	}
+
+}
@@ -0,0 +1,297 @@
+package com.lannstark.excel.checkpoint;
+
+import com.lannstark.excel.shard.ExcelSheetPartMerger;
+import com.lannstark.excel.shard.ExcelSheetPartWriter;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import org.apache.poi.ss.SpreadsheetVersion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 체크포인트를 남기며 여러 시트로 내보내고, 중간에 프로세스가 죽으면 마지막 체크포인트부터 이어서 내보냅니다.
+ *
+ * 행은 시트마다 {@link ExcelSheetPartWriter}로 시트 조각 파일에 렌더링하고, 페이지를 다 쓴 뒤
+ * 확정되지 않은 행이 체크포인트 간격 이상이면 조각을 디스크에 반영하고 다음 페이지의 커서와 함께 체크포인트를 저장합니다.
+ * 모든 페이지를 쓰면 {@link ExcelSheetPartMerger}로 조각을 합쳐 워크북을 쓰고 체크포인트 디렉터리를 정리합니다.
+ *
+ * 워크북의 타임스탬프는 처음 시작한 시각으로 고정하므로, 데이터 소스가 같은 커서에 같은 행을 돌려주면
+ * 중간에 다시 시작해도 한 번에 내보낸 것과 같은 파일이 만들어집니다.
+ * 시트 이름은 MultiSheetExcelFile과 같이 기본 시트 이름 뒤에 1부터 번호를 붙입니다.
+ *
+ * @param <T> Excel에 렌더링할 데이터의 제네릭 타입
+ */
+public class ResumableExcelExport<T> {
+
+	private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	private static final int DEFAULT_CHECKPOINT_INTERVAL = 10_000;
+	private static final String PARTS_DIRECTORY = "parts";
+	private static final String PART_FILE_FORMAT = "part-%06d.xlsp";
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final Class<T> type;
+	private final Path checkpointDirectory;
+	private final DataFormatDecider dataFormatDecider;
+	private final int headerHeight;
+
+	private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+	private int maxRowsPerSheet;
+	private String sheetName = "Sheet";
+	private ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults();
+	private Instant fixedTimestamp;
+
+	public ResumableExcelExport(Class<T> type, Path checkpointDirectory) {
+		this(type, checkpointDirectory, new DefaultDataFormatDecider());
+	}
+
+	/**
+	 * @param type 렌더링할 DTO 타입
+	 * @param checkpointDirectory 체크포인트와 시트 조각을 저장할 디렉터리, 다시 시작할 때 같은 디렉터리를 사용해야 함
+	 * @param dataFormatDecider 데이터 포맷 결정
+	 */
+	public ResumableExcelExport(Class<T> type, Path checkpointDirectory, DataFormatDecider dataFormatDecider) {
+		this.type = type;
+		this.checkpointDirectory = checkpointDirectory;
+		this.dataFormatDecider = dataFormatDecider;
+		this.headerHeight = ExcelRenderResourceFactory.getTemplate(type).getHeaderHeight();
+		this.maxRowsPerSheet = maxAllowedRowsPerSheet();
+	}
+
+	/**
+	 * 체크포인트를 저장할 최소 행 수를 설정합니다. 체크포인트는 페이지 경계에서만 저장합니다.
+	 */
+	public void setCheckpointInterval(int checkpointInterval) {
+		if (checkpointInterval <= 0) {
+			throw new IllegalArgumentException("Checkpoint interval should be positive");
+		}
+		this.checkpointInterval = checkpointInterval;
+	}
+
+	/**
+	 * 시트당 본문 행 수를 설정합니다. 기본값이자 최댓값은 시트의 마지막 행을 비워 둔 행 수입니다.
+	 * 다시 시작할 때 같은 값이어야 합니다.
+	 */
+	public void setMaxRowsPerSheet(int maxRowsPerSheet) {
+		if (maxRowsPerSheet <= 0 || maxRowsPerSheet > maxAllowedRowsPerSheet()) {
+			throw new IllegalArgumentException(String.format("Max rows per sheet should be between 1 and %s",
+					maxAllowedRowsPerSheet()));
+		}
+		this.maxRowsPerSheet = maxRowsPerSheet;
+	}
+
+	// MultiSheetExcelFile과 같이 시트의 마지막 행은 비워 둠
+	private int maxAllowedRowsPerSheet() {
+		return MAX_ROWS - 1 - headerHeight;
+	}
+
+	/**
+	 * 기본 시트 이름을 설정합니다. 다시 시작할 때 같은 값이어야 합니다.
+	 */
+	public void setSheetName(String sheetName) {
+		if (sheetName != null && !sheetName.isEmpty()) {
+			this.sheetName = sheetName;
+		}
+	}
+
+	public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+		this.compressionOptions = compressionOptions != null ? compressionOptions : ExcelCompressionOptions.defaults();
+	}
+
+	/**
+	 * 워크북의 타임스탬프를 설정합니다. 설정하지 않으면 처음 시작한 시각을 사용합니다.
+	 */
+	public void setFixedTimestamp(Instant fixedTimestamp) {
+		this.fixedTimestamp = fixedTimestamp;
+	}
+
+	/**
+	 * 체크포인트가 있으면 이어서, 없으면 처음부터 내보냅니다.
+	 * 실패하면 마지막 체크포인트가 남으므로 같은 디렉터리로 다시 호출하면 이어서 내보냅니다.
+	 *
+	 * @param source 페이지를 읽을 데이터 소스, 체크포인트의 커서부터 읽음
+	 * @param stream 워크북을 쓸 OutputStream 객체, 쓰기 후 닫음
+	 */
+	public void export(ExcelPageSource<T> source, OutputStream stream) throws IOException {
+		Path partsDirectory = checkpointDirectory.resolve(PARTS_DIRECTORY);
+		Files.createDirectories(partsDirectory);
+		ExcelCheckpoint checkpoint = loadCheckpoint();
+		deleteUncommittedParts(partsDirectory, checkpoint);
+
+		if (!checkpoint.isFinished()) {
+			new Run(checkpoint, partsDirectory).renderPages(source);
+		}
+
+		ExcelSheetPartMerger<T> merger = new ExcelSheetPartMerger<>(type, dataFormatDecider);
+		merger.setCompressionOptions(compressionOptions);
+		merger.setFixedTimestamp(fixedTimestamp != null ? fixedTimestamp : Instant.ofEpochMilli(checkpoint.getCreatedAt()));
+		merger.merge(sheetParts(checkpoint, partsDirectory), stream);
+		deleteCheckpoint(partsDirectory);
+	}
+
+	private ExcelCheckpoint loadCheckpoint() throws IOException {
+		ExcelCheckpoint checkpoint = ExcelCheckpoint.load(checkpointDirectory);
+		if (checkpoint == null) {
+			checkpoint = ExcelCheckpoint.start(type.getName(), sheetName, maxRowsPerSheet, headerHeight,
+					System.currentTimeMillis());
+			checkpoint.save(checkpointDirectory);
+			return checkpoint;
+		}
+		if (!checkpoint.getTypeName().equals(type.getName()) || !checkpoint.getSheetName().equals(sheetName)
+				|| checkpoint.getMaxRowsPerSheet() != maxRowsPerSheet) {
+			throw new IllegalStateException(String.format(
+					"Checkpoint in %s was saved by another export (type: %s, sheet name: %s, max rows per sheet: %s)",
+					checkpointDirectory, checkpoint.getTypeName(), checkpoint.getSheetName(), checkpoint.getMaxRowsPerSheet()));
+		}
+		return checkpoint;
+	}
+
+	/**
+	 * 마지막 체크포인트 이후에 쓴 조각 파일은 다시 렌더링하므로 지웁니다.
+	 */
+	private void deleteUncommittedParts(Path partsDirectory, ExcelCheckpoint checkpoint) throws IOException {
+		Set<String> committed = new HashSet<>();
+		for (ExcelCheckpoint.Part part : checkpoint.getParts()) {
+			committed.add(part.fileName());
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(partsDirectory)) {
+			for (Path file : files) {
+				if (!committed.contains(file.getFileName().toString())) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	private Map<String, List<Path>> sheetParts(ExcelCheckpoint checkpoint, Path partsDirectory) {
+		Map<String, List<Path>> sheets = new LinkedHashMap<>();
+		for (int i = 1; i <= checkpoint.getSheetIndex(); i++) {
+			sheets.put(sheetName + i, new ArrayList<>());
+		}
+		for (ExcelCheckpoint.Part part : checkpoint.getParts()) {
+			sheets.get(sheetName + part.sheetIndex()).add(partsDirectory.resolve(part.fileName()));
+		}
+		return sheets;
+	}
+
+	private void deleteCheckpoint(Path partsDirectory) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(partsDirectory)) {
+			for (Path file : files) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(partsDirectory);
+		Files.delete(checkpointDirectory.resolve(ExcelCheckpoint.FILE_NAME));
+	}
+
+	/**
+	 * 체크포인트부터 페이지를 렌더링하는 한 번의 실행 상태
+	 */
+	private class Run {
+
+		private final ExcelCheckpoint checkpoint;
+		private final Path partsDirectory;
+		// 체크포인트에 기록되지 않은 진행 상태
+		private final List<ExcelCheckpoint.Part> pendingParts = new ArrayList<>();
+		private int nextPartNumber;
+		private int sheetIndex;
+		private int rowIndex;
+		private int uncommittedRows;
+		private ExcelSheetPartWriter<T> segment;
+
+		Run(ExcelCheckpoint checkpoint, Path partsDirectory) {
+			this.checkpoint = checkpoint;
+			this.partsDirectory = partsDirectory;
+			this.nextPartNumber = checkpoint.getNextPartNumber();
+			this.sheetIndex = checkpoint.getSheetIndex();
+			this.rowIndex = checkpoint.getRowIndex();
+		}
+
+		void renderPages(ExcelPageSource<T> source) throws IOException {
+			try {
+				String cursor = checkpoint.getCursor();
+				while (true) {
+					ExcelPage<T> page = source.fetch(cursor);
+					addRows(page.rows());
+					cursor = page.nextCursor();
+					if (page.isLast() || uncommittedRows >= checkpointInterval) {
+						commit(cursor, page.isLast());
+					}
+					if (page.isLast()) {
+						return;
+					}
+				}
+			} finally {
+				if (segment != null) {
+					segment.discard();
+				}
+			}
+		}
+
+		/**
+		 * 시트의 남은 행 수만큼 나누어 현재 조각에 추가하고, 시트가 차면 조각을 끝내고 다음 시트로 넘어갑니다.
+		 */
+		private void addRows(List<T> rows) throws IOException {
+			int from = 0;
+			while (from < rows.size()) {
+				int remaining = headerHeight + maxRowsPerSheet - rowIndex;
+				if (remaining == 0) {
+					finishSegment();
+					sheetIndex++;
+					rowIndex = headerHeight;
+					continue;
+				}
+				int to = Math.min(rows.size(), from + remaining);
+				if (segment == null) {
+					segment = new ExcelSheetPartWriter<>(Collections.emptyList(), type, dataFormatDecider);
+				}
+				segment.addRows(rows.subList(from, to));
+				rowIndex += to - from;
+				uncommittedRows += to - from;
+				from = to;
+			}
+		}
+
+		/**
+		 * 현재 조각을 임시 파일에 쓰고 디스크에 반영한 뒤 조각 이름으로 옮깁니다.
+		 */
+		private void finishSegment() throws IOException {
+			if (segment == null) {
+				return;
+			}
+			int rowCount = segment.getRowCount();
+			String fileName = String.format(PART_FILE_FORMAT, nextPartNumber++);
+			Path part = partsDirectory.resolve(fileName);
+			Path temporary = partsDirectory.resolve(fileName + TEMPORARY_SUFFIX);
+			ExcelSheetPartWriter<T> finished = segment;
+			segment = null;
+			finished.write(Files.newOutputStream(temporary));
+			ExcelCheckpoint.force(temporary);
+			Files.move(temporary, part, StandardCopyOption.ATOMIC_MOVE);
+			pendingParts.add(new ExcelCheckpoint.Part(sheetIndex, fileName, rowCount));
+		}
+
+		private void commit(String cursor, boolean finished) throws IOException {
+			finishSegment();
+			checkpoint.commit(pendingParts, nextPartNumber, cursor, finished, sheetIndex, rowIndex);
+			checkpoint.save(checkpointDirectory);
+			pendingParts.clear();
+			uncommittedRows = 0;
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+package com.lannstark.excel.csv;
+
+import com.lannstark.ExcelColumn;
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.xml.XmlNumberFormat;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.lannstark.utils.SuperClassReflectionUtils.getValue;
+import static com.lannstark.utils.SuperClassReflectionUtils.resolveFieldChain;
+
+/**
+ * 엑셀 파일 대신 CSV(RFC 4180, UTF-8 BOM)로 씁니다. 행 수나 임시 디스크 제한으로 xlsx를 만들 수 없을 때 사용합니다.
+ * 추가한 데이터는 참조만 보관하고 write 시점에 바로 스트림으로 쓰므로 임시 파일과 시트 행 수 제한이 없습니다.
+ * 열은 @ExcelColumn 말단 필드 순서이며, 중첩 필드의 헤더는 상위 헤더 이름과 "/"로 연결합니다. 스타일과 집계는 쓰지 않습니다.
+ * 정수와 BigDecimal은 값 그대로(BigDecimal은 지수 표기 없이) 쓰고, double과 float만 xlsx와 같은 최단 표기로 씁니다.
+ * 수식으로 실행될 수 있는 문자열 값은 앞에 '를 붙여 씁니다.
+ *
+ * @param <T> 렌더링할 데이터의 제네릭 타입
+ */
+public class CsvExcelFile<T> implements ExcelFile<T> {
+
+	// Excel이 UTF-8로 인식하도록 붙이는 BOM
+	private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+	private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+	// Excel이 수식으로 해석하는 첫 글자
+	private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+	private final Field[][] fieldChains;
+	private final List<String> headerNames = new ArrayList<>();
+	private final List<List<T>> chunks = new ArrayList<>();
+	private final byte[] numberBytes = new byte[XmlNumberFormat.MAX_LENGTH];
+	private final char[] numberChars = new char[XmlNumberFormat.MAX_LENGTH];
+	private String listSeparator = ", ";
+
+	public CsvExcelFile(Class<T> type) {
+		this(Collections.emptyList(), type);
+	}
+
+	public CsvExcelFile(List<T> data, Class<T> type) {
+		List<String> leafFieldPaths = ExcelRenderResourceFactory.getTemplate(type).getLeafFieldPaths();
+		this.fieldChains = new Field[leafFieldPaths.size()][];
+		for (int i = 0; i < leafFieldPaths.size(); i++) {
+			fieldChains[i] = resolveFieldChain(type, leafFieldPaths.get(i));
+			headerNames.add(headerName(fieldChains[i]));
+		}
+		addRows(data);
+	}
+
+	public void setListSeparator(String separator) {
+		this.listSeparator = separator != null ? separator : ", ";
+	}
+
+	@Override
+	public void addRows(List<T> data) {
+		if (!data.isEmpty()) {
+			chunks.add(data);
+		}
+	}
+
+	/**
+	 * @param stream CSV를 쓸 OutputStream 객체, 쓰기 후 닫음
+	 */
+	@Override
+	public void write(OutputStream stream) throws IOException {
+		try (stream) {
+			stream.write(UTF8_BOM);
+			Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+			for (int i = 0; i < headerNames.size(); i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writeText(writer, headerNames.get(i));
+			}
+			writer.write("\r\n");
+			for (List<T> chunk : chunks) {
+				for (T row : chunk) {
+					writeRow(writer, row);
+				}
+			}
+			writer.flush();
+		}
+	}
+
+	private void writeRow(Writer writer, Object data) throws IOException {
+		for (int i = 0; i < fieldChains.length; i++) {
+			if (i > 0) {
+				writer.write(',');
+			}
+			Object cellValue = getValue(data, fieldChains[i]);
+			if (cellValue instanceof BigDecimal decimalValue) {
+				writer.write(decimalValue.toPlainString());
+			} else if (cellValue instanceof Double || cellValue instanceof Float) {
+				int length = XmlNumberFormat.format(((Number) cellValue).doubleValue(), numberBytes, 0);
+				for (int j = 0; j < length; j++) {
+					numberChars[j] = (char) numberBytes[j];
+				}
+				writer.write(numberChars, 0, length);
+			} else if (cellValue instanceof Number) {
+				// long이나 BigInteger를 double로 바꾸면 2^53보다 큰 값의 자릿수가 바뀌므로 그대로 씀
+				writer.write(cellValue.toString());
+			} else if (cellValue instanceof List<?> listValue) {
+				writeCellText(writer, listValue.stream()
+						.map(item -> item == null ? "" : item.toString())
+						.collect(Collectors.joining(listSeparator)));
+			} else if (cellValue != null) {
+				writeCellText(writer, cellValue.toString());
+			}
+		}
+		writer.write("\r\n");
+	}
+
+	/**
+	 * xlsx는 inline string으로 써서 수식으로 해석되지 않지만, CSV는 =, +, -, @, 탭, CR로 시작하는 값을 Excel이 수식으로 실행합니다.
+	 * (CSV injection) 이런 값은 앞에 '를 붙이고 따옴표로 감싸 문자열로 읽히도록 합니다.
+	 */
+	private static void writeCellText(Writer writer, String text) throws IOException {
+		if (!text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0) {
+			writer.write("\"'");
+			writer.write(text.replace("\"", "\"\""));
+			writer.write('"');
+			return;
+		}
+		writeText(writer, text);
+	}
+
+	/**
+	 * 구분자, 따옴표, 줄바꿈이 있으면 따옴표로 감싸고 따옴표는 두 번 씁니다.
+	 */
+	private static void writeText(Writer writer, String text) throws IOException {
+		boolean quote = false;
+		for (int i = 0; i < text.length() && !quote; i++) {
+			char c = text.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			writer.write(text);
+			return;
+		}
+		writer.write('"');
+		writer.write(text.replace("\"", "\"\""));
+		writer.write('"');
+	}
+
+	private static String headerName(Field[] fieldChain) {
+		List<String> names = new ArrayList<>();
+		for (Field field : fieldChain) {
+			names.add(field.getAnnotation(ExcelColumn.class).headerName());
+		}
+		return String.join("/", names);
+	}
+
+}
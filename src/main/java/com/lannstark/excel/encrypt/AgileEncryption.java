@@ -0,0 +1,227 @@
+package com.lannstark.excel.encrypt;
+
+import com.lannstark.exception.ExcelInternalException;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * MS-OFFCRYPTO Agile 암호화(AES-256, CBC, SHA-512) 키와 EncryptionInfo를 만듭니다.
+ *  - 비밀번호에서 spinCount번 해시한 키로 임의의 패키지 키(secretKey)를 암호화하여 EncryptionInfo에 기록합니다.
+ *  - 패키지는 4096바이트 세그먼트마다 H(keyData salt + 세그먼트 번호)를 IV로 하여 패키지 키로 암호화합니다.
+ *  - dataIntegrity에는 EncryptedPackage 스트림 전체(크기 8바이트 포함)의 HMAC을 암호화하여 기록합니다.
+ */
+final class AgileEncryption {
+
+	static final int SEGMENT_SIZE = 4096;
+	private static final int BLOCK_SIZE = 16;
+	private static final int KEY_BYTES = 32;
+	private static final int SALT_SIZE = 16;
+	private static final int HASH_SIZE = 64;
+	private static final String HASH_ALGORITHM = "SHA-512";
+	private static final String HMAC_ALGORITHM = "HmacSHA512";
+	private static final String CIPHER = "AES/CBC/NoPadding";
+
+	private static final byte[] VERIFIER_HASH_INPUT_BLOCK = {(byte) 0xfe, (byte) 0xa7, (byte) 0xd2, 0x76, 0x3b, 0x4b, (byte) 0x9e, 0x79};
+	private static final byte[] VERIFIER_HASH_VALUE_BLOCK = {(byte) 0xd7, (byte) 0xaa, 0x0f, 0x6d, 0x30, 0x61, 0x34, 0x4e};
+	private static final byte[] KEY_VALUE_BLOCK = {0x14, 0x6e, 0x0b, (byte) 0xe7, (byte) 0xab, (byte) 0xac, (byte) 0xd0, (byte) 0xd6};
+	private static final byte[] INTEGRITY_KEY_BLOCK = {0x5f, (byte) 0xb2, (byte) 0xad, 0x01, 0x0c, (byte) 0xb9, (byte) 0xe1, (byte) 0xf6};
+	private static final byte[] INTEGRITY_VALUE_BLOCK = {(byte) 0xa0, 0x67, 0x7f, 0x02, (byte) 0xb2, 0x2c, (byte) 0x84, 0x33};
+
+	private final int spinCount;
+	private final byte[] secretKey;
+	private final byte[] keyDataSalt;
+	private final byte[] passwordSalt;
+	private final byte[] encryptedVerifierHashInput;
+	private final byte[] encryptedVerifierHashValue;
+	private final byte[] encryptedKeyValue;
+	private final byte[] integrityKey;
+
+	private AgileEncryption(int spinCount, byte[] secretKey, byte[] keyDataSalt, byte[] passwordSalt,
+							byte[] encryptedVerifierHashInput, byte[] encryptedVerifierHashValue,
+							byte[] encryptedKeyValue, byte[] integrityKey) {
+		this.spinCount = spinCount;
+		this.secretKey = secretKey;
+		this.keyDataSalt = keyDataSalt;
+		this.passwordSalt = passwordSalt;
+		this.encryptedVerifierHashInput = encryptedVerifierHashInput;
+		this.encryptedVerifierHashValue = encryptedVerifierHashValue;
+		this.encryptedKeyValue = encryptedKeyValue;
+		this.integrityKey = integrityKey;
+	}
+
+	static AgileEncryption create(String password, int spinCount, SecureRandom random) {
+		try {
+			byte[] secretKey = randomBytes(random, KEY_BYTES);
+			byte[] keyDataSalt = randomBytes(random, SALT_SIZE);
+			byte[] passwordSalt = randomBytes(random, SALT_SIZE);
+			byte[] verifierHashInput = randomBytes(random, SALT_SIZE);
+
+			byte[] passwordHash = hashPassword(password, passwordSalt, spinCount);
+			byte[] verifierHashValue = MessageDigest.getInstance(HASH_ALGORITHM).digest(verifierHashInput);
+			return new AgileEncryption(spinCount, secretKey, keyDataSalt, passwordSalt,
+					encrypt(deriveKey(passwordHash, VERIFIER_HASH_INPUT_BLOCK), passwordSalt, verifierHashInput),
+					encrypt(deriveKey(passwordHash, VERIFIER_HASH_VALUE_BLOCK), passwordSalt, verifierHashValue),
+					encrypt(deriveKey(passwordHash, KEY_VALUE_BLOCK), passwordSalt, secretKey),
+					randomBytes(random, HASH_SIZE));
+		} catch (GeneralSecurityException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 세그먼트 암호화에 사용할 Cipher와 IV 계산용 MessageDigest, 스레드마다 하나씩 사용합니다.
+	 */
+	SegmentCipher newSegmentCipher() {
+		try {
+			return new SegmentCipher(Cipher.getInstance(CIPHER), MessageDigest.getInstance(HASH_ALGORITHM));
+		} catch (GeneralSecurityException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * EncryptedPackage 스트림의 무결성 HMAC
+	 */
+	Mac newIntegrityMac() {
+		try {
+			Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+			mac.init(new SecretKeySpec(integrityKey, HMAC_ALGORITHM));
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * EncryptionInfo 스트림 (버전 4.4, Agile XML), 길이는 hmacValue와 관계없이 항상 같습니다.
+	 *
+	 * @param hmacValue EncryptedPackage 스트림의 HMAC
+	 */
+	byte[] encryptionInfo(byte[] hmacValue) {
+		try {
+			byte[] encryptedHmacKey = encrypt(secretKey, blockIv(INTEGRITY_KEY_BLOCK), integrityKey);
+			byte[] encryptedHmacValue = encrypt(secretKey, blockIv(INTEGRITY_VALUE_BLOCK), hmacValue);
+			String cipherAttributes = String.format("saltSize=\"%d\" blockSize=\"%d\" keyBits=\"%d\" hashSize=\"%d\" "
+							+ "cipherAlgorithm=\"AES\" cipherChaining=\"ChainingModeCBC\" hashAlgorithm=\"SHA512\"",
+					SALT_SIZE, BLOCK_SIZE, KEY_BYTES * 8, HASH_SIZE);
+			String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\r\n"
+					+ "<encryption xmlns=\"http://schemas.microsoft.com/office/2006/encryption\""
+					+ " xmlns:p=\"http://schemas.microsoft.com/office/2006/keyEncryptor/password\">"
+					+ "<keyData " + cipherAttributes + " saltValue=\"" + base64(keyDataSalt) + "\"/>"
+					+ "<dataIntegrity encryptedHmacKey=\"" + base64(encryptedHmacKey)
+					+ "\" encryptedHmacValue=\"" + base64(encryptedHmacValue) + "\"/>"
+					+ "<keyEncryptors><keyEncryptor uri=\"http://schemas.microsoft.com/office/2006/keyEncryptor/password\">"
+					+ "<p:encryptedKey spinCount=\"" + spinCount + "\" " + cipherAttributes
+					+ " saltValue=\"" + base64(passwordSalt)
+					+ "\" encryptedVerifierHashInput=\"" + base64(encryptedVerifierHashInput)
+					+ "\" encryptedVerifierHashValue=\"" + base64(encryptedVerifierHashValue)
+					+ "\" encryptedKeyValue=\"" + base64(encryptedKeyValue) + "\"/>"
+					+ "</keyEncryptor></keyEncryptors></encryption>";
+			byte[] xmlBytes = xml.getBytes(StandardCharsets.UTF_8);
+			ByteBuffer info = ByteBuffer.allocate(8 + xmlBytes.length).order(ByteOrder.LITTLE_ENDIAN);
+			// 버전 4.4, 예약 플래그 0x40
+			info.putShort((short) 4).putShort((short) 4).putInt(0x40).put(xmlBytes);
+			return info.array();
+		} catch (GeneralSecurityException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 세그먼트 단위로 패키지를 암호화합니다. 스레드에 안전하지 않습니다.
+	 */
+	final class SegmentCipher {
+
+		private final Cipher cipher;
+		private final MessageDigest digest;
+		private final SecretKeySpec key;
+		private final byte[] segmentIndexBytes = new byte[4];
+
+		private SegmentCipher(Cipher cipher, MessageDigest digest) {
+			this.cipher = cipher;
+			this.digest = digest;
+			this.key = new SecretKeySpec(secretKey, "AES");
+		}
+
+		/**
+		 * @param segment 평문, length를 블록 크기의 배수로 채울 수 있도록 여유가 있어야 함 (길이 SEGMENT_SIZE)
+		 * @param length 평문 길이, 마지막 세그먼트가 아니면 SEGMENT_SIZE
+		 * @param output 암호문 출력
+		 * @return 암호문 길이 (블록 크기의 배수)
+		 */
+		int encrypt(byte[] segment, int length, int segmentIndex, byte[] output) {
+			int paddedLength = (length + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE;
+			Arrays.fill(segment, length, paddedLength, (byte) 0);
+			ByteBuffer.wrap(segmentIndexBytes).order(ByteOrder.LITTLE_ENDIAN).putInt(0, segmentIndex);
+			digest.update(keyDataSalt);
+			digest.update(segmentIndexBytes);
+			byte[] iv = Arrays.copyOf(digest.digest(), BLOCK_SIZE);
+			try {
+				cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+				return cipher.doFinal(segment, 0, paddedLength, output, 0);
+			} catch (GeneralSecurityException e) {
+				throw new ExcelInternalException(e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * H0 = H(salt + password), Hn = H(n + Hn-1)을 spinCount번 반복합니다.
+	 */
+	private static byte[] hashPassword(String password, byte[] salt, int spinCount) throws GeneralSecurityException {
+		MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		digest.update(salt);
+		byte[] hash = digest.digest(password.getBytes(StandardCharsets.UTF_16LE));
+		byte[] iterator = new byte[4];
+		for (int i = 0; i < spinCount; i++) {
+			ByteBuffer.wrap(iterator).order(ByteOrder.LITTLE_ENDIAN).putInt(0, i);
+			digest.update(iterator);
+			digest.update(hash);
+			digest.digest(hash, 0, HASH_SIZE);
+		}
+		return hash;
+	}
+
+	private static byte[] deriveKey(byte[] passwordHash, byte[] blockKey) throws GeneralSecurityException {
+		MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		digest.update(passwordHash);
+		return Arrays.copyOf(digest.digest(blockKey), KEY_BYTES);
+	}
+
+	private byte[] blockIv(byte[] blockKey) throws GeneralSecurityException {
+		MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+		digest.update(keyDataSalt);
+		return Arrays.copyOf(digest.digest(blockKey), BLOCK_SIZE);
+	}
+
+	/**
+	 * AES-CBC로 암호화합니다. 평문은 블록 크기의 배수가 되도록 0으로 채웁니다.
+	 */
+	private static byte[] encrypt(byte[] key, byte[] iv, byte[] plain) throws GeneralSecurityException {
+		Cipher cipher = Cipher.getInstance(CIPHER);
+		cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new IvParameterSpec(iv));
+		return cipher.doFinal(Arrays.copyOf(plain, (plain.length + BLOCK_SIZE - 1) / BLOCK_SIZE * BLOCK_SIZE));
+	}
+
+	private static byte[] randomBytes(SecureRandom random, int length) {
+		byte[] bytes = new byte[length];
+		random.nextBytes(bytes);
+		return bytes;
+	}
+
+	private static String base64(byte[] bytes) {
+		return Base64.getEncoder().encodeToString(bytes);
+	}
+
+}
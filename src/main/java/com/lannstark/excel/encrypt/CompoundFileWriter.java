@@ -0,0 +1,391 @@
+package com.lannstark.excel.encrypt;
+
+import com.lannstark.exception.ExcelInternalException;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 스트림 내용을 메모리에 모으지 않고 Compound File Binary(MS-CFB, 버전 3) 파일을 앞에서부터 순서대로 씁니다.
+ * 스트림 크기를 미리 알면 모든 섹터 위치를 계산할 수 있으므로 헤더를 먼저 쓰고, 파일 순서는 다음과 같습니다.
+ *  - 헤더, 큰 스트림(4096바이트 이상)들, 미니 스트림, 디렉토리, 미니 FAT, FAT, DIFAT
+ * 큰 스트림의 내용은 추가한 순서대로 쓴 뒤에 미니 스트림에 들어갈 작은 스트림의 내용을 요청합니다.
+ */
+final class CompoundFileWriter {
+
+	private static final int SECTOR_SIZE = 512;
+	private static final int MINI_SECTOR_SIZE = 64;
+	private static final int MINI_STREAM_CUTOFF = 4096;
+	private static final int DIRECTORY_ENTRY_SIZE = 128;
+	private static final int HEADER_DIFAT_COUNT = 109;
+	private static final int IDS_PER_SECTOR = SECTOR_SIZE / 4;
+	private static final int MAX_NAME_LENGTH = 31;
+	private static final long MAX_STREAM_SIZE = 0x7FFFFFFFL;
+
+	private static final int DIFSECT = 0xFFFFFFFC;
+	private static final int FATSECT = 0xFFFFFFFD;
+	private static final int ENDOFCHAIN = 0xFFFFFFFE;
+	private static final int FREESECT = 0xFFFFFFFF;
+	private static final int NOSTREAM = 0xFFFFFFFF;
+
+	private static final byte TYPE_STORAGE = 1;
+	private static final byte TYPE_STREAM = 2;
+	private static final byte TYPE_ROOT = 5;
+	private static final byte COLOR_BLACK = 1;
+
+	private static final byte[] SIGNATURE = {(byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1};
+
+	/**
+	 * 스트림 내용, 추가할 때 알려준 크기만큼 정확히 써야 합니다.
+	 */
+	@FunctionalInterface
+	interface StreamContent {
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	private final Entry root = new Entry("Root Entry", TYPE_ROOT, 0, null);
+	private final List<Entry> streams = new ArrayList<>();
+
+	/**
+	 * @param path '/'로 구분한 스트림 경로, 중간 저장소(storage)는 자동으로 만듦
+	 * @param size 스트림 크기
+	 * @param content 스트림 내용
+	 */
+	void addStream(String path, long size, StreamContent content) {
+		if (size < 0 || size > MAX_STREAM_SIZE) {
+			throw new ExcelInternalException(String.format("Stream %s does not support size %s", path, size), null);
+		}
+		String[] names = path.split("/");
+		Entry parent = root;
+		for (int i = 0; i < names.length - 1; i++) {
+			parent = parent.child(names[i], TYPE_STORAGE);
+		}
+		if (parent.find(names[names.length - 1]) != null) {
+			throw new ExcelInternalException(String.format("Stream %s is already added", path), null);
+		}
+		Entry stream = new Entry(names[names.length - 1], TYPE_STREAM, size, content);
+		parent.children.add(stream);
+		streams.add(stream);
+	}
+
+	/**
+	 * 파일을 씁니다. out은 flush만 하고 닫지 않습니다.
+	 */
+	void write(OutputStream target) throws IOException {
+		List<Entry> entries = new ArrayList<>();
+		assignIds(root, entries);
+		buildTree(root);
+
+		// 섹터 배치
+		int sectorCount = 0;
+		int miniSectorCount = 0;
+		List<Entry> largeStreams = new ArrayList<>();
+		List<Entry> miniStreams = new ArrayList<>();
+		for (Entry stream : streams) {
+			if (stream.size == 0) {
+				stream.startSector = ENDOFCHAIN;
+			} else if (stream.size >= MINI_STREAM_CUTOFF) {
+				stream.startSector = sectorCount;
+				sectorCount += sectors(stream.size, SECTOR_SIZE);
+				largeStreams.add(stream);
+			} else {
+				stream.startSector = miniSectorCount;
+				miniSectorCount += sectors(stream.size, MINI_SECTOR_SIZE);
+				miniStreams.add(stream);
+			}
+		}
+		root.size = (long) miniSectorCount * MINI_SECTOR_SIZE;
+		int miniStreamSectors = sectors(root.size, SECTOR_SIZE);
+		root.startSector = miniStreamSectors > 0 ? sectorCount : ENDOFCHAIN;
+		sectorCount += miniStreamSectors;
+
+		int directoryStart = sectorCount;
+		int directorySectors = sectors((long) entries.size() * DIRECTORY_ENTRY_SIZE, SECTOR_SIZE);
+		sectorCount += directorySectors;
+		int miniFatStart = sectorCount;
+		int miniFatSectors = sectors(miniSectorCount * 4L, SECTOR_SIZE);
+		sectorCount += miniFatSectors;
+
+		// FAT와 DIFAT 섹터도 FAT에 기록되므로 개수가 더 늘지 않을 때까지 다시 계산
+		int fatSectors = 0;
+		int difatSectors = 0;
+		while (true) {
+			int total = sectorCount + fatSectors + difatSectors;
+			int neededFat = sectors(total, IDS_PER_SECTOR);
+			int neededDifat = neededFat > HEADER_DIFAT_COUNT ? sectors(neededFat - HEADER_DIFAT_COUNT, IDS_PER_SECTOR - 1) : 0;
+			if (neededFat == fatSectors && neededDifat == difatSectors) {
+				break;
+			}
+			fatSectors = neededFat;
+			difatSectors = neededDifat;
+		}
+		int fatStart = sectorCount;
+		int difatStart = fatStart + fatSectors;
+
+		SectorOutputStream out = new SectorOutputStream(new BufferedOutputStream(target, 64 * 1024));
+		writeHeader(out, fatSectors, directoryStart, miniFatSectors > 0 ? miniFatStart : ENDOFCHAIN, miniFatSectors,
+				difatSectors > 0 ? difatStart : ENDOFCHAIN, difatSectors, fatStart);
+
+		for (Entry stream : largeStreams) {
+			writeContent(stream, out);
+			out.pad(SECTOR_SIZE);
+		}
+		for (Entry stream : miniStreams) {
+			ByteArrayOutputStream content = new ByteArrayOutputStream((int) stream.size);
+			writeContent(stream, content);
+			content.writeTo(out);
+			out.pad(MINI_SECTOR_SIZE);
+		}
+		out.pad(SECTOR_SIZE);
+
+		for (Entry entry : entries) {
+			out.write(entry.toBytes());
+		}
+		for (int i = entries.size(); i < directorySectors * SECTOR_SIZE / DIRECTORY_ENTRY_SIZE; i++) {
+			out.write(Entry.unused());
+		}
+
+		ByteBuffer ids = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+		for (Entry stream : miniStreams) {
+			writeChain(out, ids, (int) stream.startSector, sectors(stream.size, MINI_SECTOR_SIZE));
+		}
+		out.pad(SECTOR_SIZE, FREESECT);
+
+		for (Entry stream : largeStreams) {
+			writeChain(out, ids, (int) stream.startSector, sectors(stream.size, SECTOR_SIZE));
+		}
+		writeChain(out, ids, (int) root.startSector, miniStreamSectors);
+		writeChain(out, ids, directoryStart, directorySectors);
+		writeChain(out, ids, miniFatStart, miniFatSectors);
+		for (int i = 0; i < fatSectors; i++) {
+			writeId(out, ids, FATSECT);
+		}
+		for (int i = 0; i < difatSectors; i++) {
+			writeId(out, ids, DIFSECT);
+		}
+		out.pad(SECTOR_SIZE, FREESECT);
+
+		for (int i = 0; i < difatSectors; i++) {
+			for (int j = 0; j < IDS_PER_SECTOR - 1; j++) {
+				int fatIndex = HEADER_DIFAT_COUNT + i * (IDS_PER_SECTOR - 1) + j;
+				writeId(out, ids, fatIndex < fatSectors ? fatStart + fatIndex : FREESECT);
+			}
+			writeId(out, ids, i + 1 < difatSectors ? difatStart + i + 1 : ENDOFCHAIN);
+		}
+		out.flush();
+	}
+
+	private void writeHeader(OutputStream out, int fatSectors, int directoryStart, int miniFatStart, int miniFatSectors,
+							 int difatStart, int difatSectors, int fatStart) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(SECTOR_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		header.put(SIGNATURE);
+		header.position(24);
+		header.putShort((short) 0x003E).putShort((short) 3).putShort((short) 0xFFFE);
+		header.putShort((short) 9).putShort((short) 6);
+		header.position(44);
+		header.putInt(fatSectors).putInt(directoryStart).putInt(0).putInt(MINI_STREAM_CUTOFF);
+		header.putInt(miniFatStart).putInt(miniFatSectors).putInt(difatStart).putInt(difatSectors);
+		for (int i = 0; i < HEADER_DIFAT_COUNT; i++) {
+			header.putInt(i < fatSectors ? fatStart + i : FREESECT);
+		}
+		out.write(header.array());
+	}
+
+	private static void writeContent(Entry stream, OutputStream out) throws IOException {
+		CountingOutputStream counting = new CountingOutputStream(out);
+		stream.content.writeTo(counting);
+		if (counting.count != stream.size) {
+			throw new ExcelInternalException(String.format("Stream %s should be %s bytes, but was %s",
+					stream.name, stream.size, counting.count), null);
+		}
+	}
+
+	private static void writeChain(OutputStream out, ByteBuffer ids, int start, int count) throws IOException {
+		for (int i = 0; i < count; i++) {
+			writeId(out, ids, i + 1 < count ? start + i + 1 : ENDOFCHAIN);
+		}
+	}
+
+	private static void writeId(OutputStream out, ByteBuffer ids, int id) throws IOException {
+		ids.putInt(0, id);
+		out.write(ids.array());
+	}
+
+	private static int sectors(long size, int sectorSize) {
+		return (int) ((size + sectorSize - 1) / sectorSize);
+	}
+
+	private static void assignIds(Entry entry, List<Entry> entries) {
+		entry.id = entries.size();
+		entries.add(entry);
+		for (Entry child : entry.children) {
+			assignIds(child, entries);
+		}
+	}
+
+	/**
+	 * 형제 항목을 이름 순(길이, 대문자 변환한 문자)으로 정렬하여 균형 이진 트리로 연결합니다.
+	 * 모든 노드를 검은색으로 표시하며, 읽는 쪽은 색을 검사하지 않습니다.
+	 */
+	private static void buildTree(Entry storage) {
+		List<Entry> children = new ArrayList<>(storage.children);
+		children.sort(Comparator.<Entry>comparingInt(entry -> entry.name.length())
+				.thenComparing(entry -> entry.name.toUpperCase(Locale.ROOT)));
+		storage.childId = link(children, 0, children.size());
+		for (Entry child : children) {
+			buildTree(child);
+		}
+	}
+
+	private static int link(List<Entry> sorted, int from, int to) {
+		if (from >= to) {
+			return NOSTREAM;
+		}
+		int middle = (from + to) >>> 1;
+		Entry entry = sorted.get(middle);
+		entry.leftId = link(sorted, from, middle);
+		entry.rightId = link(sorted, middle + 1, to);
+		return entry.id;
+	}
+
+	private static final class Entry {
+
+		private final String name;
+		private final byte type;
+		private final StreamContent content;
+		private final List<Entry> children = new ArrayList<>();
+		private long size;
+		private long startSector;
+		private int id;
+		private int leftId = NOSTREAM;
+		private int rightId = NOSTREAM;
+		private int childId = NOSTREAM;
+
+		private Entry(String name, byte type, long size, StreamContent content) {
+			if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+				throw new ExcelInternalException(String.format("Wrong compound file entry name(%s)", name), null);
+			}
+			this.name = name;
+			this.type = type;
+			this.size = size;
+			this.content = content;
+		}
+
+		private Entry find(String childName) {
+			for (Entry child : children) {
+				if (child.name.equalsIgnoreCase(childName)) {
+					return child;
+				}
+			}
+			return null;
+		}
+
+		private Entry child(String childName, byte childType) {
+			Entry child = find(childName);
+			if (child == null) {
+				child = new Entry(childName, childType, 0, null);
+				children.add(child);
+			} else if (child.type != childType) {
+				throw new ExcelInternalException(String.format("Compound file entry %s is not a storage", childName), null);
+			}
+			return child;
+		}
+
+		/**
+		 * 빈 디렉토리 항목, 형제와 자식 번호만 NOSTREAM
+		 */
+		private static byte[] unused() {
+			ByteBuffer entry = ByteBuffer.allocate(DIRECTORY_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			entry.position(68);
+			entry.putInt(NOSTREAM).putInt(NOSTREAM).putInt(NOSTREAM);
+			return entry.array();
+		}
+
+		private byte[] toBytes() {
+			ByteBuffer entry = ByteBuffer.allocate(DIRECTORY_ENTRY_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+			byte[] nameBytes = name.getBytes(StandardCharsets.UTF_16LE);
+			entry.put(nameBytes);
+			entry.position(64);
+			entry.putShort((short) (nameBytes.length + 2));
+			entry.put(type).put(COLOR_BLACK);
+			entry.putInt(leftId).putInt(rightId).putInt(childId);
+			entry.position(116);
+			entry.putInt(type == TYPE_STORAGE ? 0 : (int) startSector);
+			entry.putLong(size);
+			return entry.array();
+		}
+	}
+
+	/**
+	 * 쓴 바이트 수를 세어 섹터 경계까지 채웁니다.
+	 */
+	private static final class SectorOutputStream extends FilterOutputStream {
+
+		private long position;
+
+		private SectorOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			position++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			position += len;
+		}
+
+		private void pad(int boundary) throws IOException {
+			int remainder = (int) (position % boundary);
+			if (remainder > 0) {
+				write(new byte[boundary - remainder]);
+			}
+		}
+
+		/**
+		 * 4바이트 섹터 번호 value로 경계까지 채웁니다.
+		 */
+		private void pad(int boundary, int value) throws IOException {
+			ByteBuffer ids = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value);
+			while (position % boundary != 0) {
+				write(ids.array());
+			}
+		}
+	}
+
+	private static final class CountingOutputStream extends FilterOutputStream {
+
+		private long count;
+
+		private CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			count += len;
+		}
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.lannstark.excel.encrypt;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 암호화된 OOXML 파일의 \006DataSpaces 저장소(MS-OFFCRYPTO 2.1.x)에 들어갈 스트림들입니다.
+ * EncryptedPackage 스트림에 StrongEncryptionTransform이 적용되었음을 나타냅니다.
+ */
+final class DataSpaces {
+
+	static final String STORAGE = "\u0006DataSpaces";
+	static final String VERSION = STORAGE + "/Version";
+	static final String DATA_SPACE_MAP = STORAGE + "/DataSpaceMap";
+	static final String DATA_SPACE_DEFINITION = STORAGE + "/DataSpaceInfo/StrongEncryptionDataSpace";
+	static final String TRANSFORM_PRIMARY = STORAGE + "/TransformInfo/StrongEncryptionTransform/\u0006Primary";
+
+	private static final String DATA_SPACE_NAME = "StrongEncryptionDataSpace";
+	private static final String TRANSFORM_NAME = "StrongEncryptionTransform";
+	private static final String ENCRYPTION_TRANSFORM_ID = "{FF9A3F03-56EF-4613-BDD5-5A41C1D07246}";
+
+	private DataSpaces() {
+	}
+
+	/**
+	 * DataSpaceVersionInfo
+	 */
+	static byte[] version() {
+		Builder builder = new Builder();
+		builder.string("Microsoft.Container.DataSpaces");
+		builder.versions();
+		return builder.toBytes();
+	}
+
+	/**
+	 * EncryptedPackage 스트림 하나를 StrongEncryptionDataSpace에 연결합니다.
+	 */
+	static byte[] dataSpaceMap() {
+		Builder entry = new Builder();
+		entry.integer(1);
+		entry.integer(0);
+		entry.string(ExcelPasswordEncryptor.ENCRYPTED_PACKAGE);
+		entry.string(DATA_SPACE_NAME);
+		byte[] entryBytes = entry.toBytes();
+
+		Builder builder = new Builder();
+		builder.integer(8);
+		builder.integer(1);
+		builder.integer(entryBytes.length + 4);
+		builder.bytes(entryBytes);
+		return builder.toBytes();
+	}
+
+	/**
+	 * StrongEncryptionDataSpace는 StrongEncryptionTransform 하나로 이루어집니다.
+	 */
+	static byte[] dataSpaceDefinition() {
+		Builder builder = new Builder();
+		builder.integer(8);
+		builder.integer(1);
+		builder.string(TRANSFORM_NAME);
+		return builder.toBytes();
+	}
+
+	/**
+	 * TransformInfoHeader와 빈 EncryptionTransformInfo
+	 */
+	static byte[] transformPrimary() {
+		Builder id = new Builder();
+		id.string(ENCRYPTION_TRANSFORM_ID);
+		byte[] idBytes = id.toBytes();
+
+		Builder builder = new Builder();
+		builder.integer(8 + idBytes.length);
+		builder.integer(1);
+		builder.bytes(idBytes);
+		builder.string("Microsoft.Container.EncryptionTransform");
+		builder.versions();
+		// EncryptionName(빈 UTF-8-LP-P4), EncryptionBlockSize, CipherMode, Reserved
+		builder.integer(0);
+		builder.integer(0);
+		builder.integer(0);
+		builder.integer(4);
+		return builder.toBytes();
+	}
+
+	private static final class Builder {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+		private void integer(int value) {
+			bytes(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(value).array());
+		}
+
+		/**
+		 * UNICODE-LP-P4: 바이트 길이, UTF-16LE 문자열, 4바이트 경계까지 채움
+		 */
+		private void string(String value) {
+			byte[] chars = value.getBytes(StandardCharsets.UTF_16LE);
+			integer(chars.length);
+			bytes(chars);
+			bytes(new byte[(4 - chars.length % 4) % 4]);
+		}
+
+		/**
+		 * Reader, Updater, Writer 버전 모두 1.0
+		 */
+		private void versions() {
+			for (int i = 0; i < 3; i++) {
+				bytes(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putShort((short) 1).putShort((short) 0).array());
+			}
+		}
+
+		private void bytes(byte[] value) {
+			bytes.writeBytes(value);
+		}
+
+		private byte[] toBytes() {
+			return bytes.toByteArray();
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.lannstark.excel.encrypt;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 평문 OOXML 패키지를 4096바이트 세그먼트마다 암호화하여 감싼 스트림에 씁니다.
+ * 메모리에는 세그먼트 하나만 두며, 마지막 세그먼트는 닫을 때 블록 크기의 배수로 채워 암호화합니다.
+ * EncryptedPackage 스트림 앞의 평문 크기(8바이트)는 쓰지 않으므로 {@link #getSize()}로 따로 기록해야 합니다.
+ */
+final class EncryptedPackageOutputStream extends OutputStream {
+
+	private final AgileEncryption.SegmentCipher cipher;
+	private final OutputStream out;
+	private final byte[] segment = new byte[AgileEncryption.SEGMENT_SIZE];
+	private final byte[] encrypted = new byte[AgileEncryption.SEGMENT_SIZE];
+	private int segmentLength;
+	private int segmentIndex;
+	private long size;
+	private boolean closed;
+
+	/**
+	 * @param encryption 패키지 키
+	 * @param out 암호문을 쓸 스트림, 닫을 때 함께 닫음
+	 */
+	EncryptedPackageOutputStream(AgileEncryption encryption, OutputStream out) {
+		this.cipher = encryption.newSegmentCipher();
+		this.out = out;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[]{(byte) b}, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		while (len > 0) {
+			int length = Math.min(len, segment.length - segmentLength);
+			System.arraycopy(b, off, segment, segmentLength, length);
+			segmentLength += length;
+			size += length;
+			off += length;
+			len -= length;
+			if (segmentLength == segment.length) {
+				writeSegment();
+			}
+		}
+	}
+
+	/**
+	 * @return 지금까지 쓴 평문 크기
+	 */
+	long getSize() {
+		return size;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			if (segmentLength > 0) {
+				writeSegment();
+			}
+		} finally {
+			out.close();
+		}
+	}
+
+	private void writeSegment() throws IOException {
+		out.write(encrypted, 0, cipher.encrypt(segment, segmentLength, segmentIndex++, encrypted));
+		segmentLength = 0;
+	}
+
+}
@@ -0,0 +1,169 @@
+package com.lannstark.excel.encrypt;
+
+import com.lannstark.excel.ExcelFile;
+
+import javax.crypto.Mac;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+
+/**
+ * xlsx를 비밀번호로 암호화하여 씁니다. (MS-OFFCRYPTO Agile 암호화: AES-256, SHA-512)
+ *
+ * POI의 Encryptor는 평문 파일을 모두 쓴 뒤 암호화한 패키지를 메모리의 POIFS에 담아 출력하므로
+ * 파일 크기만큼 메모리가 필요합니다. 여기서는 워크북이 출력하는 평문을 4096바이트 세그먼트마다 바로 암호화하여
+ * 임시 파일에 쓰고, Compound File 컨테이너를 출력하면서 임시 파일을 한 번 복사합니다.
+ * HMAC은 복사하는 동안 계산하므로 평문은 디스크에 남지 않고, 메모리 사용량은 파일 크기와 관계없습니다.
+ */
+public class ExcelPasswordEncryptor {
+
+	static final String ENCRYPTED_PACKAGE = "EncryptedPackage";
+	static final String ENCRYPTION_INFO = "EncryptionInfo";
+
+	private static final int DEFAULT_SPIN_COUNT = 100_000;
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	private final String password;
+	private int spinCount = DEFAULT_SPIN_COUNT;
+	private Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+	/**
+	 * @param password 파일을 열 때 입력할 비밀번호
+	 */
+	public ExcelPasswordEncryptor(String password) {
+		if (password == null || password.isEmpty()) {
+			throw new IllegalArgumentException("Password should not be empty");
+		}
+		this.password = password;
+	}
+
+	/**
+	 * 비밀번호 해시 반복 횟수, 클수록 비밀번호 추측이 어렵지만 파일을 열 때도 느려집니다. (기본값: 100,000)
+	 */
+	public ExcelPasswordEncryptor spinCount(int spinCount) {
+		if (spinCount < 1 || spinCount > 10_000_000) {
+			throw new IllegalArgumentException(String.format("Wrong spin count(%s)", spinCount));
+		}
+		this.spinCount = spinCount;
+		return this;
+	}
+
+	/**
+	 * 암호화한 패키지를 쓸 임시 파일 디렉토리
+	 */
+	public ExcelPasswordEncryptor tempDirectory(Path tempDirectory) {
+		this.tempDirectory = tempDirectory;
+		return this;
+	}
+
+	/**
+	 * ExcelFile을 암호화하여 씁니다.
+	 *
+	 * @param excelFile 암호화할 ExcelFile
+	 * @param stream 암호화한 파일을 쓸 OutputStream 객체, 쓰기 후 닫음
+	 */
+	public void write(ExcelFile<?> excelFile, OutputStream stream) throws IOException {
+		try {
+			encrypt(excelFile::write, stream);
+		} finally {
+			stream.close();
+		}
+	}
+
+	/**
+	 * packageWriter가 쓰는 평문 OOXML 패키지를 암호화하여 씁니다.
+	 *
+	 * @param packageWriter 평문 패키지(xlsx)를 주어진 스트림에 쓰는 함수, 스트림을 닫아도 됨
+	 * @param stream 암호화한 파일을 쓸 OutputStream 객체, flush만 하고 닫지 않음
+	 */
+	public void encrypt(PackageWriter packageWriter, OutputStream stream) throws IOException {
+		AgileEncryption encryption = AgileEncryption.create(password, spinCount, RANDOM);
+		Path packageFile = Files.createTempFile(tempDirectory, "excel-encrypted-", ".tmp");
+		try {
+			EncryptedPackageOutputStream packageStream = new EncryptedPackageOutputStream(encryption,
+					new BufferedOutputStream(Files.newOutputStream(packageFile), COPY_BUFFER_SIZE));
+			try (packageStream) {
+				packageWriter.writeTo(packageStream);
+			}
+
+			EncryptedPackageContent packageContent = new EncryptedPackageContent(packageFile, packageStream.getSize(),
+					encryption.newIntegrityMac());
+			CompoundFileWriter compoundFile = new CompoundFileWriter();
+			compoundFile.addStream(ENCRYPTED_PACKAGE, Long.BYTES + Files.size(packageFile), packageContent);
+			// 큰 스트림을 먼저 쓰므로 EncryptionInfo를 요청할 때는 HMAC이 계산되어 있음, 길이는 HMAC 값과 관계없음
+			compoundFile.addStream(ENCRYPTION_INFO, encryption.encryptionInfo(new byte[packageContent.mac.getMacLength()]).length,
+					out -> out.write(encryption.encryptionInfo(packageContent.hmacValue())));
+			addStream(compoundFile, DataSpaces.VERSION, DataSpaces.version());
+			addStream(compoundFile, DataSpaces.DATA_SPACE_MAP, DataSpaces.dataSpaceMap());
+			addStream(compoundFile, DataSpaces.DATA_SPACE_DEFINITION, DataSpaces.dataSpaceDefinition());
+			addStream(compoundFile, DataSpaces.TRANSFORM_PRIMARY, DataSpaces.transformPrimary());
+			compoundFile.write(stream);
+		} finally {
+			Files.deleteIfExists(packageFile);
+		}
+	}
+
+	private static void addStream(CompoundFileWriter compoundFile, String path, byte[] content) {
+		compoundFile.addStream(path, content.length, out -> out.write(content));
+	}
+
+	/**
+	 * 평문 OOXML 패키지를 쓰는 함수
+	 */
+	@FunctionalInterface
+	public interface PackageWriter {
+		void writeTo(OutputStream stream) throws IOException;
+	}
+
+	/**
+	 * EncryptedPackage 스트림(평문 크기 + 암호문)을 쓰면서 HMAC을 계산합니다.
+	 */
+	private static final class EncryptedPackageContent implements CompoundFileWriter.StreamContent {
+
+		private final Path packageFile;
+		private final long size;
+		private final Mac mac;
+		private byte[] hmacValue;
+
+		private EncryptedPackageContent(Path packageFile, long size, Mac mac) {
+			this.packageFile = packageFile;
+			this.size = size;
+			this.mac = mac;
+		}
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			OutputStream macOut = new FilterOutputStream(out) {
+				@Override
+				public void write(int b) throws IOException {
+					mac.update((byte) b);
+					out.write(b);
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					mac.update(b, off, len);
+					out.write(b, off, len);
+				}
+			};
+			macOut.write(ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).putLong(size).array());
+			Files.copy(packageFile, macOut);
+			hmacValue = mac.doFinal();
+		}
+
+		private byte[] hmacValue() {
+			if (hmacValue == null) {
+				throw new IllegalStateException("EncryptedPackage should be written before EncryptionInfo");
+			}
+			return hmacValue;
+		}
+	}
+
+}
@@ -0,0 +1,93 @@
+package com.lannstark.excel.estimate;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.Deflater;
+
+/**
+ * 출력 방식을 자동으로 정하는 기준입니다.
+ *  - maxBytesPerFile: xlsx 한 파일의 최대 크기, 넘으면 나눈 파일들을 ZIP으로 보냄
+ *  - maxSheets: 최대 시트 수, 넘으면 CSV로 보냄
+ *  - maxTempDiskBytes: SXSSF 임시 파일의 최대 크기, 넘으면 CSV로 보냄 (기본값: 임시 디렉토리 여유 공간의 절반)
+ *  - maxSpooledBytes: 이 크기 이하의 xlsx는 임시 파일에 먼저 쓰고 Content-Length와 함께 보냄
+ *  - compressionLevel: DEFLATE 압축 레벨
+ *  - tempDirectory: 임시 파일 디렉토리
+ */
+@Getter
+public class ExcelAutoExportOptions {
+
+	private long maxBytesPerFile = Long.MAX_VALUE;
+	private int maxSheets = 16;
+	private long maxTempDiskBytes = -1;
+	private long maxSpooledBytes = 32L * 1024 * 1024;
+	private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+	private Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+	public static ExcelAutoExportOptions defaults() {
+		return new ExcelAutoExportOptions();
+	}
+
+	public ExcelAutoExportOptions maxBytesPerFile(long maxBytesPerFile) {
+		if (maxBytesPerFile < 1) {
+			throw new IllegalArgumentException("maxBytesPerFile should be at least 1");
+		}
+		this.maxBytesPerFile = maxBytesPerFile;
+		return this;
+	}
+
+	public ExcelAutoExportOptions maxSheets(int maxSheets) {
+		if (maxSheets < 1) {
+			throw new IllegalArgumentException("maxSheets should be at least 1");
+		}
+		this.maxSheets = maxSheets;
+		return this;
+	}
+
+	public ExcelAutoExportOptions maxTempDiskBytes(long maxTempDiskBytes) {
+		if (maxTempDiskBytes < 0) {
+			throw new IllegalArgumentException("maxTempDiskBytes should not be negative");
+		}
+		this.maxTempDiskBytes = maxTempDiskBytes;
+		return this;
+	}
+
+	public ExcelAutoExportOptions maxSpooledBytes(long maxSpooledBytes) {
+		if (maxSpooledBytes < 0) {
+			throw new IllegalArgumentException("maxSpooledBytes should not be negative");
+		}
+		this.maxSpooledBytes = maxSpooledBytes;
+		return this;
+	}
+
+	public ExcelAutoExportOptions compressionLevel(int compressionLevel) {
+		if (compressionLevel != Deflater.DEFAULT_COMPRESSION
+				&& (compressionLevel < Deflater.NO_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION)) {
+			throw new IllegalArgumentException(String.format("Wrong compression level(%s)", compressionLevel));
+		}
+		this.compressionLevel = compressionLevel;
+		return this;
+	}
+
+	public ExcelAutoExportOptions tempDirectory(Path tempDirectory) {
+		this.tempDirectory = tempDirectory;
+		return this;
+	}
+
+	/**
+	 * @return 임시 파일의 최대 크기, 지정하지 않았으면 임시 디렉토리 여유 공간의 절반
+	 */
+	public long getMaxTempDiskBytes() {
+		if (maxTempDiskBytes >= 0) {
+			return maxTempDiskBytes;
+		}
+		try {
+			return Files.getFileStore(tempDirectory).getUsableSpace() / 2;
+		} catch (IOException e) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+}
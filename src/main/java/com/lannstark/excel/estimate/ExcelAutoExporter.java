@@ -0,0 +1,161 @@
+package com.lannstark.excel.estimate;
+
+import com.lannstark.excel.csv.CsvExcelFile;
+import com.lannstark.excel.io.NonClosingOutputStream;
+import com.lannstark.excel.split.ExcelSplitOptions;
+import com.lannstark.excel.split.SplitExcelExporter;
+import com.lannstark.excel.sxssf.SXSSFExcelFile;
+import com.lannstark.excel.sxssf.multiplesheet.MultiSheetExcelFile;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.zip.Deflater;
+
+/**
+ * 예상치({@link ExcelExportEstimator})로 출력 방식과 설정을 정해서 내보냅니다.
+ *  1. 시트 수가 maxSheets를 넘거나 SXSSF 임시 파일이 maxTempDiskBytes를 넘으면 CSV
+ *  2. 파일 크기가 maxBytesPerFile을 넘으면 시트 한 개 크기 이하로 나눈 파일들의 ZIP
+ *  3. 시트 한 개의 행 수 제한을 넘으면 MultiSheetExcelFile, 아니면 OneSheetExcelFile
+ * 작은 파일은 병렬 압축 스레드를 쓰지 않고, 렌더링이 오래 걸리는 큰 파일은 가장 빠른 압축 레벨을 사용합니다.
+ * 예상 크기가 maxSpooledBytes 이하면 임시 파일에 먼저 쓰고 보내므로 Content-Length를 설정할 수 있습니다.
+ *
+ * <pre>
+ * ExcelExportPlan plan = exporter.plan(data);
+ * response.setContentType(plan.engine().getContentType());
+ * exporter.write(plan, data, response.getOutputStream(), response::setContentLengthLong);
+ * </pre>
+ *
+ * @param <T> 렌더링할 데이터 타입
+ */
+public class ExcelAutoExporter<T> {
+
+	// 이보다 작은 파일은 병렬 압축의 스레드 비용이 더 큼
+	private static final long PARALLEL_COMPRESSION_MIN_BYTES = 4L * 1024 * 1024;
+	// 이보다 오래 걸릴 것으로 예상되면 압축률보다 속도를 우선함
+	private static final Duration FAST_COMPRESSION_MIN_RENDER_TIME = Duration.ofMinutes(1);
+
+	private final Class<T> type;
+	private final ExcelAutoExportOptions options;
+
+	public ExcelAutoExporter(Class<T> type) {
+		this(type, ExcelAutoExportOptions.defaults());
+	}
+
+	public ExcelAutoExporter(Class<T> type, ExcelAutoExportOptions options) {
+		this.type = type;
+		this.options = options;
+	}
+
+	/**
+	 * 전체 데이터로 출력 방식을 정합니다. 예상치는 데이터에서 고르게 뽑은 샘플로 계산합니다.
+	 */
+	public ExcelExportPlan plan(List<T> data) {
+		return plan(data.size(), data);
+	}
+
+	/**
+	 * 데이터를 모두 읽기 전에 예상 행 수와 샘플로 출력 방식을 정합니다.
+	 *
+	 * @param expectedRows 예상 본문 행 수
+	 * @param sample 데이터 샘플
+	 */
+	public ExcelExportPlan plan(long expectedRows, List<T> sample) {
+		ExcelExportEstimate estimate = ExcelExportEstimator.estimate(type, expectedRows, sample,
+				options.getCompressionLevel(), ", ");
+		ExcelEngine engine;
+		ExcelSplitOptions splitOptions = null;
+		if (estimate.sheets() > options.getMaxSheets() || estimate.tempDiskBytes() > options.getMaxTempDiskBytes()) {
+			engine = ExcelEngine.CSV;
+		} else if (estimate.compressedBytes() > options.getMaxBytesPerFile()) {
+			engine = ExcelEngine.SPLIT_ZIP;
+			long rowsPerSheet = ExcelExportEstimator.rowsPerSheet(ExcelRenderResourceFactory.getTemplate(type).getHeaderHeight());
+			splitOptions = ExcelSplitOptions.defaults()
+					.maxBytesPerFile(options.getMaxBytesPerFile())
+					.maxRowsPerFile((int) rowsPerSheet)
+					.tempDirectory(options.getTempDirectory());
+		} else {
+			engine = estimate.sheets() > 1 ? ExcelEngine.MULTI_SHEET : ExcelEngine.ONE_SHEET;
+		}
+		boolean spooled = engine != ExcelEngine.CSV && estimate.compressedBytes() <= options.getMaxSpooledBytes();
+		return new ExcelExportPlan(engine, estimate, compressionOptions(estimate), splitOptions, spooled);
+	}
+
+	private ExcelCompressionOptions compressionOptions(ExcelExportEstimate estimate) {
+		ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults().level(options.getCompressionLevel());
+		if (estimate.compressedBytes() < PARALLEL_COMPRESSION_MIN_BYTES) {
+			compressionOptions.parallelism(1);
+		}
+		if (options.getCompressionLevel() == Deflater.DEFAULT_COMPRESSION
+				&& estimate.renderTime().compareTo(FAST_COMPRESSION_MIN_RENDER_TIME) > 0) {
+			compressionOptions.level(Deflater.BEST_SPEED);
+		}
+		return compressionOptions;
+	}
+
+	/**
+	 * 정한 방식으로 내보냅니다. 출력 스트림은 닫지 않습니다.
+	 */
+	public void write(ExcelExportPlan plan, List<T> data, OutputStream out) throws IOException {
+		write(plan, data, out, contentLength -> { });
+	}
+
+	/**
+	 * 정한 방식으로 내보냅니다. 출력 스트림은 닫지 않습니다.
+	 *
+	 * @param contentLength 임시 파일에 먼저 쓰는 경우(plan.spooled()) 보내기 전에 전체 바이트 수로 호출됨
+	 */
+	public void write(ExcelExportPlan plan, List<T> data, OutputStream out, LongConsumer contentLength)
+			throws IOException {
+		if (!plan.spooled()) {
+			render(plan, data, new NonClosingOutputStream(out));
+			out.flush();
+			return;
+		}
+		Path spoolFile = Files.createTempFile(options.getTempDirectory(), "auto-export-", "." + plan.engine().getFileExtension());
+		try {
+			render(plan, data, Files.newOutputStream(spoolFile));
+			contentLength.accept(Files.size(spoolFile));
+			Files.copy(spoolFile, out);
+			out.flush();
+		} finally {
+			Files.deleteIfExists(spoolFile);
+		}
+	}
+
+	/**
+	 * @param stream 쓰기 후 닫음
+	 */
+	private void render(ExcelExportPlan plan, List<T> data, OutputStream stream) throws IOException {
+		switch (plan.engine()) {
+			case ONE_SHEET -> writeExcelFile(new OneSheetExcelFile<>(data, type), plan, stream);
+			case MULTI_SHEET -> writeExcelFile(new MultiSheetExcelFile<>(data, type), plan, stream);
+			case SPLIT_ZIP -> {
+				SplitExcelExporter<T> exporter = new SplitExcelExporter<>(type, chunk -> {
+					MultiSheetExcelFile<T> excelFile = new MultiSheetExcelFile<>(chunk, type);
+					excelFile.setCompressionOptions(plan.compressionOptions());
+					return excelFile;
+				});
+				exporter.setSplitOptions(plan.splitOptions());
+				try (stream) {
+					exporter.writeZip(data, type.getSimpleName(), stream);
+				}
+			}
+			case CSV -> new CsvExcelFile<>(data, type).write(stream);
+		}
+	}
+
+	private void writeExcelFile(SXSSFExcelFile<T> excelFile, ExcelExportPlan plan, OutputStream stream)
+			throws IOException {
+		excelFile.setCompressionOptions(plan.compressionOptions());
+		excelFile.write(stream);
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.lannstark.excel.estimate;
+
+import lombok.Getter;
+
+/**
+ * 자동 선택되는 출력 방식
+ *  - ONE_SHEET: OneSheetExcelFile, 한 시트에 들어가는 경우
+ *  - MULTI_SHEET: MultiSheetExcelFile, 시트 한 개의 행 수 제한을 넘는 경우
+ *  - SPLIT_ZIP: SplitExcelExporter로 나눈 엑셀 파일들을 ZIP으로, 파일당 크기 제한을 넘는 경우
+ *  - CSV: CsvExcelFile, 시트 수나 임시 디스크 제한을 넘어 xlsx로 만들 수 없는 경우
+ */
+@Getter
+public enum ExcelEngine {
+
+	ONE_SHEET("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+	MULTI_SHEET("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+	SPLIT_ZIP("zip", "application/zip"),
+	CSV("csv", "text/csv; charset=UTF-8");
+
+	private final String fileExtension;
+	private final String contentType;
+
+	ExcelEngine(String fileExtension, String contentType) {
+		this.fileExtension = fileExtension;
+		this.contentType = contentType;
+	}
+
+}
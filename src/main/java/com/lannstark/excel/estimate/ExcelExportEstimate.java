@@ -0,0 +1,19 @@
+package com.lannstark.excel.estimate;
+
+import java.time.Duration;
+
+/**
+ * xlsx로 내보낼 때의 예상치
+ *
+ * @param rows 예상 본문 행 수
+ * @param columns 열 수
+ * @param sheets MultiSheetExcelFile 기준 시트 수
+ * @param compressedBytes 파일 크기
+ * @param tempDiskBytes SXSSF가 시트 XML을 압축하지 않고 쓰는 임시 파일 크기
+ * @param renderTime 렌더링과 쓰기 시간
+ * @param compressedBytesPerRow 샘플에서 측정한 행당 압축 후 바이트 수
+ * @param uncompressedBytesPerRow 샘플에서 측정한 행당 시트 XML 바이트 수
+ */
+public record ExcelExportEstimate(long rows, int columns, int sheets, long compressedBytes, long tempDiskBytes,
+								  Duration renderTime, double compressedBytesPerRow, double uncompressedBytesPerRow) {
+}
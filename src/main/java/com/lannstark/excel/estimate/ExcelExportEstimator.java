@@ -0,0 +1,65 @@
+package com.lannstark.excel.estimate;
+
+import com.lannstark.excel.split.ExcelRowSizeEstimator;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.ExcelRenderTemplate;
+import org.apache.poi.ss.SpreadsheetVersion;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * DTO 스키마, 예상 행 수, 데이터 샘플로 xlsx의 크기, 임시 디스크 사용량, 렌더링 시간을 예상합니다.
+ * 샘플 행을 시트 XML로 쓰고 압축하여 행당 값을 측정한 뒤 행 수를 곱합니다.
+ * 렌더링 시간은 POI 셀 모델을 거치는 비용을 배수로 반영한 대략적인 값이므로 엔진 선택의 기준으로만 사용합니다.
+ */
+public final class ExcelExportEstimator {
+
+	private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	// 시트마다 고정으로 들어가는 파트(styles.xml, 헤더, 메타데이터 등)의 예상 크기
+	private static final long FILE_OVERHEAD_BYTES = 8 * 1024;
+	private static final long SHEET_OVERHEAD_BYTES = 2 * 1024;
+	// SXSSF 셀 객체 생성, 스타일 조회, 임시 파일 쓰기와 다시 읽기를 포함한 시간 / 시트 XML 직접 쓰기 시간
+	private static final double POI_CELL_MODEL_FACTOR = 4.0;
+
+	private ExcelExportEstimator() {
+	}
+
+	public static ExcelExportEstimate estimate(Class<?> type, long expectedRows, List<?> sample) {
+		return estimate(type, expectedRows, sample, Deflater.DEFAULT_COMPRESSION, ", ");
+	}
+
+	/**
+	 * @param type 렌더링할 DTO 타입
+	 * @param expectedRows 예상 본문 행 수
+	 * @param sample 데이터 샘플, 전체 데이터를 넘기면 고르게 뽑아 사용
+	 * @param compressionLevel 실제 파일에 사용할 DEFLATE 압축 레벨
+	 * @param listSeparator List 값 구분자
+	 */
+	public static ExcelExportEstimate estimate(Class<?> type, long expectedRows, List<?> sample, int compressionLevel,
+											   String listSeparator) {
+		if (expectedRows < 0) {
+			throw new IllegalArgumentException("Expected rows should not be negative");
+		}
+		ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(type);
+		ExcelRowSizeEstimator.RowSize rowSize = ExcelRowSizeEstimator.measure(type, sample, compressionLevel, listSeparator);
+
+		long rowsPerSheet = rowsPerSheet(template.getHeaderHeight());
+		int sheets = (int) Math.max(1, (expectedRows + rowsPerSheet - 1) / rowsPerSheet);
+		long compressedBytes = FILE_OVERHEAD_BYTES + sheets * SHEET_OVERHEAD_BYTES
+				+ (long) Math.ceil(expectedRows * rowSize.compressedBytesPerRow());
+		long tempDiskBytes = (long) Math.ceil(expectedRows * rowSize.uncompressedBytesPerRow());
+		Duration renderTime = Duration.ofNanos((long) (expectedRows * rowSize.writeNanosPerRow() * POI_CELL_MODEL_FACTOR));
+		return new ExcelExportEstimate(expectedRows, template.getLeafFieldPaths().size(), sheets, compressedBytes,
+				tempDiskBytes, renderTime, rowSize.compressedBytesPerRow(), rowSize.uncompressedBytesPerRow());
+	}
+
+	/**
+	 * MultiSheetExcelFile과 같이 시트의 마지막 행을 비워 둔 시트당 본문 행 수
+	 */
+	static long rowsPerSheet(int headerHeight) {
+		return MAX_ROWS - 1 - headerHeight;
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.lannstark.excel.estimate;
+
+import com.lannstark.excel.split.ExcelSplitOptions;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+
+/**
+ * 예상치로 정한 출력 방식과 설정
+ *
+ * @param engine 출력 방식
+ * @param estimate xlsx 예상치
+ * @param compressionOptions xlsx 압축 설정
+ * @param splitOptions SPLIT_ZIP인 경우 나누는 기준, 그 외에는 null
+ * @param spooled 임시 파일에 먼저 쓰고 보내는지 여부, true면 쓰기 전에 Content-Length를 알 수 있음
+ */
+public record ExcelExportPlan(ExcelEngine engine, ExcelExportEstimate estimate, ExcelCompressionOptions compressionOptions,
+							  ExcelSplitOptions splitOptions, boolean spooled) {
+}
@@ -0,0 +1,103 @@
+package com.lannstark.excel.io;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * AsynchronousFileChannel에 순차적으로 쓰는 OutputStream입니다.
+ * 두 개의 버퍼를 번갈아 사용하여, 한 버퍼가 채널에 쓰이는 동안 다음 버퍼를 채웁니다.
+ * close()는 진행 중인 쓰기가 끝날 때까지 기다리며, 채널은 닫지 않습니다.
+ */
+public class AsynchronousFileChannelOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final AsynchronousFileChannel channel;
+    private long position;
+
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private ByteBuffer pendingBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private Future<Integer> pendingWrite;
+
+    public AsynchronousFileChannelOutputStream(AsynchronousFileChannel channel, long position) {
+        this.channel = channel;
+        this.position = position;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flushBuffer();
+        }
+        buffer.put((byte) b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!buffer.hasRemaining()) {
+                flushBuffer();
+            }
+            int chunk = Math.min(len, buffer.remaining());
+            buffer.put(b, off, chunk);
+            off += chunk;
+            len -= chunk;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        awaitPendingWrite();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        // 이전 쓰기가 끝난 버퍼와 교체 후 비동기로 쓰기 시작
+        awaitPendingWrite();
+        ByteBuffer writing = buffer;
+        buffer = pendingBuffer;
+        pendingBuffer = writing;
+
+        writing.flip();
+        pendingWrite = channel.write(writing, position);
+    }
+
+    private void awaitPendingWrite() throws IOException {
+        if (pendingWrite == null) {
+            return;
+        }
+        try {
+            // 한 번에 모두 쓰지 못한 경우 남은 부분을 이어서 씀
+            while (true) {
+                int written = pendingWrite.get();
+                position += written;
+                if (!pendingBuffer.hasRemaining()) {
+                    break;
+                }
+                pendingWrite = channel.write(pendingBuffer, position);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException(e.getMessage());
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        } finally {
+            pendingBuffer.clear();
+        }
+        pendingWrite = null;
+    }
+
+}
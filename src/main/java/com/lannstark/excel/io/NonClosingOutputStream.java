@@ -0,0 +1,26 @@
+package com.lannstark.excel.io;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * ExcelFile.write가 스트림을 닫아도 호출한 쪽의 출력 스트림은 열어두도록, close()에서 버퍼만 비우는 OutputStream입니다.
+ */
+public class NonClosingOutputStream extends FilterOutputStream {
+
+    public NonClosingOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.lannstark.excel.io;
+
+import com.lannstark.excel.ExcelWriteProgressListener;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 출력한 바이트 수를 세어 ExcelWriteProgressListener로 전달하는 OutputStream입니다.
+ * close()는 버퍼를 비우기만 하고 감싼 스트림은 닫지 않습니다. 대상 스트림/채널은 호출한 쪽이 관리합니다.
+ */
+public class ProgressOutputStream extends FilterOutputStream {
+
+    // 리스너 호출 간격 (바이트)
+    private static final long NOTIFY_INTERVAL = 1024 * 1024;
+
+    private final ExcelWriteProgressListener listener;
+    private long bytesWritten;
+    private long lastNotified;
+
+    public ProgressOutputStream(OutputStream out, ExcelWriteProgressListener listener) {
+        super(out);
+        this.listener = listener;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        count(1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        count(len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.flush();
+        listener.onProgress(bytesWritten);
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    private void count(int len) {
+        bytesWritten += len;
+        if (bytesWritten - lastNotified >= NOTIFY_INTERVAL) {
+            lastNotified = bytesWritten;
+            listener.onProgress(bytesWritten);
+        }
+    }
+
+}
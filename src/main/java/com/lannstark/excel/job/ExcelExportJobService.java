@@ -0,0 +1,445 @@
+package com.lannstark.excel.job;
+
+import com.lannstark.excel.ExcelFile;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 내보내기 작업을 받아 작업 ID를 돌려주고, 로컬 저장소에 결과 파일을 렌더링하는 프로세스 내 작업 서비스입니다.
+ * 요청 스레드는 작업 ID로 상태, 진행 바이트 수, 완료된 결과 파일을 조회합니다.
+ *
+ * 스케줄링
+ *  - 동시 실행 수는 maxConcurrency로 제한합니다.
+ *  - 우선순위가 높은 분류부터 실행합니다. 분류마다 "그 분류 이하의 작업이 동시에 실행될 수 있는 수"를 두어,
+ *    낮은 분류의 작업이 모든 자리를 차지하지 않도록 합니다.
+ *    기본값은 INTERACTIVE = maxConcurrency, NORMAL = maxConcurrency - 1, BULK = maxConcurrency / 2 (최소 1)이므로,
+ *    maxConcurrency가 2 이상이면 대량 작업이 실행 중이어도 작은 작업은 대기하지 않습니다.
+ *  - 같은 분류 안에서는 실행 중인 작업이 가장 적은 tenant의 작업을 먼저, 같으면 가장 오래전에 실행한 tenant의 작업을 먼저 실행하고,
+ *    한 tenant의 작업은 요청 순서대로 실행합니다.
+ *
+ * 대기 중인 작업은 바로 취소되고, 실행 중인 작업은 다음 출력 시점에 중단됩니다.
+ * (렌더링 함수가 ExcelFile을 만드는 동안에는 중단되지 않음)
+ *
+ * 끝난 작업과 결과 파일은 remove()를 호출할 때까지 남습니다.
+ * 호출하는 쪽에서 삭제하지 않는다면 setRetention으로 보관 기간을 지정해야 합니다.
+ */
+public class ExcelExportJobService implements AutoCloseable {
+
+	private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+	private static final String RESULT_SUFFIX = ".xlsx";
+	private static final String TEMPORARY_SUFFIX = ".tmp";
+
+	private final Path storageDirectory;
+	private final int maxConcurrency;
+	private final ExecutorService executor;
+	private final boolean ownsExecutor;
+
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+	// 아래 스케줄링 상태는 this로 동기화
+	private final Map<ExcelExportPriority, Map<String, ArrayDeque<Job>>> queues = new EnumMap<>(ExcelExportPriority.class);
+	private final int[] concurrencyLimits = new int[ExcelExportPriority.values().length];
+	private final int[] runningByPriority = new int[ExcelExportPriority.values().length];
+	private final Map<String, Integer> runningByTenant = new HashMap<>();
+	private final Map<String, Long> lastStartedByTenant = new HashMap<>();
+	private long startSequence;
+	private boolean closed;
+	private Duration retention;
+
+	public ExcelExportJobService(Path storageDirectory, int maxConcurrency) throws IOException {
+		this(storageDirectory, maxConcurrency, Executors.newCachedThreadPool(ExcelExportJobService::newJobThread), true);
+	}
+
+	/**
+	 * @param storageDirectory 결과 파일을 저장할 디렉터리
+	 * @param maxConcurrency 동시에 실행할 최대 작업 수
+	 * @param executor 작업을 실행할 ExecutorService, 동시 실행 수는 이 서비스가 제한함. close()에서 종료하지 않음
+	 */
+	public ExcelExportJobService(Path storageDirectory, int maxConcurrency, ExecutorService executor) throws IOException {
+		this(storageDirectory, maxConcurrency, executor, false);
+	}
+
+	private ExcelExportJobService(Path storageDirectory, int maxConcurrency, ExecutorService executor,
+								  boolean ownsExecutor) throws IOException {
+		if (maxConcurrency <= 0) {
+			throw new IllegalArgumentException("Max concurrency should be positive");
+		}
+		this.storageDirectory = Files.createDirectories(storageDirectory);
+		this.maxConcurrency = maxConcurrency;
+		this.executor = executor;
+		this.ownsExecutor = ownsExecutor;
+		for (ExcelExportPriority priority : ExcelExportPriority.values()) {
+			queues.put(priority, new LinkedHashMap<>());
+		}
+		concurrencyLimits[ExcelExportPriority.INTERACTIVE.ordinal()] = maxConcurrency;
+		concurrencyLimits[ExcelExportPriority.NORMAL.ordinal()] = Math.max(1, maxConcurrency - 1);
+		concurrencyLimits[ExcelExportPriority.BULK.ordinal()] = Math.max(1, maxConcurrency / 2);
+	}
+
+	/**
+	 * 주어진 우선순위 이하(같거나 낮은)의 작업이 동시에 실행될 수 있는 수를 설정합니다.
+	 */
+	public synchronized void setConcurrencyLimit(ExcelExportPriority priority, int limit) {
+		if (limit <= 0 || limit > maxConcurrency) {
+			throw new IllegalArgumentException(String.format("Concurrency limit should be between 1 and %s", maxConcurrency));
+		}
+		concurrencyLimits[priority.ordinal()] = limit;
+		dispatch();
+	}
+
+	/**
+	 * 끝난 작업을 보관할 기간을 설정합니다. 기간이 지난 작업과 결과 파일은 다음 작업을 등록할 때 삭제합니다.
+	 * null이면 remove()를 호출할 때까지 보관합니다.
+	 */
+	public synchronized void setRetention(Duration retention) {
+		if (retention != null && retention.isNegative()) {
+			throw new IllegalArgumentException("Retention should not be negative");
+		}
+		this.retention = retention;
+	}
+
+	/**
+	 * 작업을 등록합니다. 실행할 자리가 있으면 바로 실행합니다.
+	 *
+	 * @return 작업 ID
+	 */
+	public synchronized String submit(ExcelExportSpec spec) {
+		if (closed) {
+			throw new IllegalStateException("Export job service is closed");
+		}
+		removeExpiredJobs();
+		Job job = new Job(UUID.randomUUID().toString(), spec);
+		jobs.put(job.id, job);
+		queues.get(spec.getPriority()).computeIfAbsent(spec.getTenant(), tenant -> new ArrayDeque<>()).add(job);
+		dispatch();
+		return job.id;
+	}
+
+	public ExcelExportJobStatus getStatus(String jobId) {
+		return getJob(jobId).status();
+	}
+
+	/**
+	 * @return 완료된 작업의 결과 파일
+	 */
+	public Path getResultFile(String jobId) {
+		Job job = getJob(jobId);
+		if (job.state != ExcelExportJobState.COMPLETED) {
+			throw new IllegalStateException(String.format("Export job %s is %s", jobId, job.state));
+		}
+		return job.resultFile;
+	}
+
+	/**
+	 * 완료된 작업의 결과 파일을 출력 스트림으로 보냅니다. 출력 스트림은 닫지 않습니다.
+	 */
+	public void transferResult(String jobId, OutputStream out) throws IOException {
+		Files.copy(getResultFile(jobId), out);
+		out.flush();
+	}
+
+	/**
+	 * 작업을 취소합니다. 이미 끝난 작업이면 아무것도 하지 않습니다.
+	 */
+	public synchronized void cancel(String jobId) {
+		Job job = getJob(jobId);
+		if (job.state == ExcelExportJobState.QUEUED) {
+			Map<String, ArrayDeque<Job>> tenantQueues = queues.get(job.spec.getPriority());
+			ArrayDeque<Job> queue = tenantQueues.get(job.spec.getTenant());
+			queue.remove(job);
+			if (queue.isEmpty()) {
+				tenantQueues.remove(job.spec.getTenant());
+			}
+			job.finish(ExcelExportJobState.CANCELLED, null);
+		} else if (job.state == ExcelExportJobState.RUNNING) {
+			job.cancelRequested = true;
+		}
+	}
+
+	/**
+	 * 끝난 작업과 결과 파일을 삭제합니다. 보관 기간을 설정하지 않았다면 끝난 작업마다 호출해야 합니다.
+	 */
+	public void remove(String jobId) throws IOException {
+		Job job = getJob(jobId);
+		if (!job.state.isFinished()) {
+			throw new IllegalStateException(String.format("Export job %s is %s", jobId, job.state));
+		}
+		jobs.remove(jobId);
+		Files.deleteIfExists(job.resultFile);
+	}
+
+	/**
+	 * 대기 중인 작업을 취소하고, 서비스가 만든 실행기는 종료합니다.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			closed = true;
+			for (Map<String, ArrayDeque<Job>> tenantQueues : queues.values()) {
+				for (ArrayDeque<Job> queue : tenantQueues.values()) {
+					for (Job job : queue) {
+						job.finish(ExcelExportJobState.CANCELLED, null);
+					}
+				}
+				tenantQueues.clear();
+			}
+			for (Job job : jobs.values()) {
+				if (job.state == ExcelExportJobState.RUNNING) {
+					job.cancelRequested = true;
+				}
+			}
+		}
+		if (ownsExecutor) {
+			executor.shutdown();
+		}
+	}
+
+	private void removeExpiredJobs() {
+		if (retention == null) {
+			return;
+		}
+		Instant expiredBefore = Instant.now().minus(retention);
+		for (Job job : jobs.values()) {
+			if (job.state.isFinished() && !job.finishedAt.isAfter(expiredBefore)) {
+				jobs.remove(job.id);
+				job.resultFile.toFile().delete();
+			}
+		}
+	}
+
+	private Job getJob(String jobId) {
+		Job job = jobs.get(jobId);
+		if (job == null) {
+			throw new IllegalArgumentException(String.format("Unknown export job %s", jobId));
+		}
+		return job;
+	}
+
+	/**
+	 * 자리가 있는 동안 우선순위가 높은 분류부터 공정하게 고른 작업을 실행합니다.
+	 */
+	private void dispatch() {
+		int running = 0;
+		for (int count : runningByPriority) {
+			running += count;
+		}
+		while (running < maxConcurrency) {
+			Job next = null;
+			for (ExcelExportPriority priority : ExcelExportPriority.values()) {
+				if (runningAtOrBelow(priority) < concurrencyLimits[priority.ordinal()]) {
+					next = pollFairly(queues.get(priority));
+					if (next != null) {
+						break;
+					}
+				}
+			}
+			if (next == null) {
+				return;
+			}
+			if (start(next)) {
+				running++;
+			}
+		}
+	}
+
+	private int runningAtOrBelow(ExcelExportPriority priority) {
+		int running = 0;
+		for (int i = priority.ordinal(); i < runningByPriority.length; i++) {
+			running += runningByPriority[i];
+		}
+		return running;
+	}
+
+	/**
+	 * 실행 중인 작업이 가장 적고, 같으면 가장 오래전에 실행한 tenant의 첫 작업을 꺼냅니다.
+	 */
+	private Job pollFairly(Map<String, ArrayDeque<Job>> tenantQueues) {
+		String selected = null;
+		int selectedRunning = Integer.MAX_VALUE;
+		long selectedLastStarted = Long.MAX_VALUE;
+		for (String tenant : tenantQueues.keySet()) {
+			int tenantRunning = runningByTenant.getOrDefault(tenant, 0);
+			long lastStarted = lastStartedByTenant.getOrDefault(tenant, -1L);
+			if (tenantRunning < selectedRunning || tenantRunning == selectedRunning && lastStarted < selectedLastStarted) {
+				selected = tenant;
+				selectedRunning = tenantRunning;
+				selectedLastStarted = lastStarted;
+			}
+		}
+		if (selected == null) {
+			return null;
+		}
+		ArrayDeque<Job> queue = tenantQueues.get(selected);
+		Job job = queue.poll();
+		if (queue.isEmpty()) {
+			tenantQueues.remove(selected);
+		}
+		return job;
+	}
+
+	private boolean start(Job job) {
+		String tenant = job.spec.getTenant();
+		runningByPriority[job.spec.getPriority().ordinal()]++;
+		runningByTenant.merge(tenant, 1, Integer::sum);
+		lastStartedByTenant.put(tenant, startSequence++);
+		job.state = ExcelExportJobState.RUNNING;
+		job.startedAt = Instant.now();
+		try {
+			executor.execute(() -> run(job));
+			return true;
+		} catch (RejectedExecutionException e) {
+			release(job);
+			job.finish(ExcelExportJobState.FAILED, e);
+			return false;
+		}
+	}
+
+	private void run(Job job) {
+		Path temporary = storageDirectory.resolve(job.id + RESULT_SUFFIX + TEMPORARY_SUFFIX);
+		ExcelExportJobState state = ExcelExportJobState.COMPLETED;
+		Throwable failure = null;
+		try {
+			ExcelFile<?> excelFile = job.spec.getRenderer().get();
+			if (job.cancelRequested) {
+				discard(excelFile);
+				job.checkCancelled();
+			}
+			OutputStream out = new BufferedOutputStream(new JobOutputStream(Files.newOutputStream(temporary), job),
+					STREAM_BUFFER_SIZE);
+			try (out) {
+				excelFile.write(out);
+			}
+			Files.move(temporary, job.resultFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (Throwable e) {
+			state = job.cancelRequested ? ExcelExportJobState.CANCELLED : ExcelExportJobState.FAILED;
+			failure = job.cancelRequested ? null : e;
+			temporary.toFile().delete();
+		} finally {
+			synchronized (this) {
+				release(job);
+				job.finish(state, failure);
+				if (!closed) {
+					dispatch();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 쓰지 않을 ExcelFile의 임시 파일을 정리합니다.
+	 * ExcelFile에는 정리 메서드가 없으므로 바로 실패하는 스트림에 써서 write가 실패 경로로 정리하게 합니다.
+	 */
+	private static void discard(ExcelFile<?> excelFile) {
+		try {
+			excelFile.write(new OutputStream() {
+				@Override
+				public void write(int b) throws IOException {
+					throw new InterruptedIOException("Export job was cancelled");
+				}
+			});
+		} catch (IOException e) {
+			// 취소한 작업이므로 무시
+		}
+	}
+
+	private void release(Job job) {
+		String tenant = job.spec.getTenant();
+		runningByPriority[job.spec.getPriority().ordinal()]--;
+		if (runningByTenant.merge(tenant, -1, Integer::sum) == 0) {
+			runningByTenant.remove(tenant);
+		}
+	}
+
+	private static Thread newJobThread(Runnable runnable) {
+		Thread thread = new Thread(runnable, "excel-export-job");
+		thread.setDaemon(true);
+		return thread;
+	}
+
+	/**
+	 * 작업 하나의 상태, 상태 변경은 서비스의 락 안에서 하고 조회는 락 없이 함
+	 */
+	private final class Job {
+
+		private final String id;
+		private final ExcelExportSpec spec;
+		private final Path resultFile;
+		private final Instant submittedAt = Instant.now();
+		private volatile ExcelExportJobState state = ExcelExportJobState.QUEUED;
+		private volatile long bytesWritten;
+		private volatile Instant startedAt;
+		private volatile Instant finishedAt;
+		private volatile String failureMessage;
+		private volatile boolean cancelRequested;
+
+		private Job(String id, ExcelExportSpec spec) {
+			this.id = id;
+			this.spec = spec;
+			this.resultFile = storageDirectory.resolve(id + RESULT_SUFFIX);
+		}
+
+		void checkCancelled() throws IOException {
+			if (cancelRequested) {
+				throw new InterruptedIOException(String.format("Export job %s was cancelled", id));
+			}
+		}
+
+		void finish(ExcelExportJobState state, Throwable failure) {
+			this.finishedAt = Instant.now();
+			this.failureMessage = failure != null ? String.valueOf(failure.getMessage()) : null;
+			this.state = state;
+		}
+
+		ExcelExportJobStatus status() {
+			return new ExcelExportJobStatus(id, spec.getTenant(), spec.getPriority(), state, bytesWritten, submittedAt,
+					startedAt, finishedAt, failureMessage);
+		}
+	}
+
+	/**
+	 * 쓴 바이트 수를 작업에 기록하고, 취소 요청이 있으면 중단하는 OutputStream
+	 */
+	private static final class JobOutputStream extends FilterOutputStream {
+
+		private final Job job;
+
+		private JobOutputStream(OutputStream out, Job job) {
+			super(out);
+			this.job = job;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			job.checkCancelled();
+			out.write(b);
+			job.bytesWritten++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			job.checkCancelled();
+			out.write(b, off, len);
+			job.bytesWritten += len;
+		}
+	}
+
+}
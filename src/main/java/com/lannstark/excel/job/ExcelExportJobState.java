@@ -0,0 +1,15 @@
+package com.lannstark.excel.job;
+
+public enum ExcelExportJobState {
+
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	FAILED,
+	CANCELLED;
+
+	public boolean isFinished() {
+		return this == COMPLETED || this == FAILED || this == CANCELLED;
+	}
+
+}
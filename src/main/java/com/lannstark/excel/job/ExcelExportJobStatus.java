@@ -0,0 +1,16 @@
+package com.lannstark.excel.job;
+
+import java.time.Instant;
+
+/**
+ * 조회 시점의 작업 상태
+ *
+ * @param bytesWritten 지금까지 결과 파일에 쓴 바이트 수
+ * @param startedAt 실행을 시작한 시각, 대기 중이면 null
+ * @param finishedAt 끝난 시각, 끝나지 않았으면 null
+ * @param failureMessage 실패한 경우 원인, 그 외에는 null
+ */
+public record ExcelExportJobStatus(String jobId, String tenant, ExcelExportPriority priority, ExcelExportJobState state,
+								   long bytesWritten, Instant submittedAt, Instant startedAt, Instant finishedAt,
+								   String failureMessage) {
+}
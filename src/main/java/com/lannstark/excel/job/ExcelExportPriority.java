@@ -0,0 +1,33 @@
+package com.lannstark.excel.job;
+
+/**
+ * 내보내기 작업의 우선순위 분류, 선언 순서가 높은 우선순위부터입니다.
+ */
+public enum ExcelExportPriority {
+
+	/**
+	 * 사용자가 기다리는 작은 내보내기
+	 */
+	INTERACTIVE,
+
+	NORMAL,
+
+	/**
+	 * 수백만 행 이상의 대량 내보내기
+	 */
+	BULK;
+
+	private static final long INTERACTIVE_MAX_ROWS = 10_000;
+	private static final long BULK_MIN_ROWS = 1_000_000;
+
+	/**
+	 * 예상 행 수로 우선순위를 정합니다.
+	 */
+	public static ExcelExportPriority ofEstimatedRows(long estimatedRows) {
+		if (estimatedRows <= INTERACTIVE_MAX_ROWS) {
+			return INTERACTIVE;
+		}
+		return estimatedRows >= BULK_MIN_ROWS ? BULK : NORMAL;
+	}
+
+}
@@ -0,0 +1,85 @@
+package com.lannstark.excel.job;
+
+import com.lannstark.excel.ExcelFile;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * 내보내기 작업의 명세입니다.
+ *  - renderer: 작업이 실행될 때 한 번 호출되어 렌더링할 ExcelFile을 만드는 함수
+ *  - tenant: 공정 분배 단위 (예: 고객사, 사용자), 기본값 "default"
+ *  - priority: 지정하지 않으면 예상 행 수로 정하고, 예상 행 수도 없으면 NORMAL
+ */
+public final class ExcelExportSpec {
+
+	private static final String DEFAULT_TENANT = "default";
+
+	private final Supplier<? extends ExcelFile<?>> renderer;
+	private final String tenant;
+	private final ExcelExportPriority priority;
+
+	private ExcelExportSpec(Supplier<? extends ExcelFile<?>> renderer, String tenant, ExcelExportPriority priority) {
+		this.renderer = renderer;
+		this.tenant = tenant;
+		this.priority = priority;
+	}
+
+	public static Builder builder(Supplier<? extends ExcelFile<?>> renderer) {
+		return new Builder(renderer);
+	}
+
+	public Supplier<? extends ExcelFile<?>> getRenderer() {
+		return renderer;
+	}
+
+	public String getTenant() {
+		return tenant;
+	}
+
+	public ExcelExportPriority getPriority() {
+		return priority;
+	}
+
+	public static final class Builder {
+
+		private final Supplier<? extends ExcelFile<?>> renderer;
+		private String tenant = DEFAULT_TENANT;
+		private ExcelExportPriority priority;
+		private long estimatedRows = -1;
+
+		private Builder(Supplier<? extends ExcelFile<?>> renderer) {
+			this.renderer = Objects.requireNonNull(renderer, "renderer");
+		}
+
+		public Builder tenant(String tenant) {
+			this.tenant = Objects.requireNonNull(tenant, "tenant");
+			return this;
+		}
+
+		public Builder priority(ExcelExportPriority priority) {
+			this.priority = priority;
+			return this;
+		}
+
+		/**
+		 * 우선순위를 지정하지 않은 경우 예상 행 수로 우선순위를 정합니다.
+		 */
+		public Builder estimatedRows(long estimatedRows) {
+			if (estimatedRows < 0) {
+				throw new IllegalArgumentException("Estimated rows should not be negative");
+			}
+			this.estimatedRows = estimatedRows;
+			return this;
+		}
+
+		public ExcelExportSpec build() {
+			ExcelExportPriority resolved = priority;
+			if (resolved == null) {
+				resolved = estimatedRows >= 0 ? ExcelExportPriority.ofEstimatedRows(estimatedRows) : ExcelExportPriority.NORMAL;
+			}
+			return new ExcelExportSpec(renderer, tenant, resolved);
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package com.lannstark.excel.reader;
+
+import com.lannstark.exception.UnSupportedExcelTypeException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 시트에서 읽은 셀 값(Double, String, Boolean, LocalDateTime)을 DTO 필드 타입으로 변환합니다.
+ * SXSSFExcelFile이 값을 기록하는 방식(숫자는 double, 그 외는 toString, List는 구분자로 연결)을 역으로 적용합니다.
+ */
+public class ExcelCellValueConverter {
+
+    private final String listSeparator;
+
+    public ExcelCellValueConverter(String listSeparator) {
+        this.listSeparator = listSeparator;
+    }
+
+    /**
+     * 셀 값을 대상 타입으로 변환합니다.
+     *
+     * @param cellValue 셀 값. Double, String, Boolean, LocalDateTime 중 하나이거나 null
+     * @param targetType 변환할 필드 타입
+     * @return 변환된 값, 빈 셀인 경우 null
+     * @throws UnSupportedExcelTypeException 변환할 수 없는 타입인 경우
+     */
+    public Object convert(Object cellValue, Class<?> targetType) {
+        if (cellValue == null) {
+            return null;
+        }
+
+        if (targetType == String.class) {
+            return toText(cellValue);
+        }
+
+        String text = toText(cellValue).trim();
+        if (text.isEmpty() && !List.class.isAssignableFrom(targetType)) {
+            return null;
+        }
+
+        if (targetType == int.class || targetType == Integer.class) {
+            return toBigDecimal(cellValue, text).intValue();
+        }
+        if (targetType == long.class || targetType == Long.class) {
+            return toBigDecimal(cellValue, text).longValue();
+        }
+        if (targetType == short.class || targetType == Short.class) {
+            return toBigDecimal(cellValue, text).shortValue();
+        }
+        if (targetType == byte.class || targetType == Byte.class) {
+            return toBigDecimal(cellValue, text).byteValue();
+        }
+        if (targetType == double.class || targetType == Double.class) {
+            return cellValue instanceof Double doubleValue ? doubleValue : toBigDecimal(cellValue, text).doubleValue();
+        }
+        if (targetType == float.class || targetType == Float.class) {
+            return toBigDecimal(cellValue, text).floatValue();
+        }
+        if (targetType == BigDecimal.class) {
+            return toBigDecimal(cellValue, text);
+        }
+        if (targetType == BigInteger.class) {
+            return toBigDecimal(cellValue, text).toBigInteger();
+        }
+        if (targetType == boolean.class || targetType == Boolean.class) {
+            return cellValue instanceof Boolean booleanValue ? booleanValue : Boolean.parseBoolean(text);
+        }
+        if (targetType == LocalDate.class) {
+            return cellValue instanceof LocalDateTime dateTime ? dateTime.toLocalDate() : LocalDate.parse(text);
+        }
+        if (targetType == LocalDateTime.class) {
+            return cellValue instanceof LocalDateTime dateTime ? dateTime : LocalDateTime.parse(text);
+        }
+        if (targetType.isEnum()) {
+            return toEnum(targetType, text);
+        }
+        if (List.class.isAssignableFrom(targetType)) {
+            return text.isEmpty() ? List.of() : Arrays.asList(text.split(Pattern.quote(listSeparator), -1));
+        }
+
+        throw new UnSupportedExcelTypeException(String.format("Type %s is not supported to read", targetType));
+    }
+
+    private String toText(Object cellValue) {
+        if (cellValue instanceof Double doubleValue) {
+            // 정수로 기록된 숫자는 ".0" 없이 문자열로 변환
+            return BigDecimal.valueOf(doubleValue).stripTrailingZeros().toPlainString();
+        }
+        return cellValue.toString();
+    }
+
+    private BigDecimal toBigDecimal(Object cellValue, String text) {
+        if (cellValue instanceof Double doubleValue) {
+            return BigDecimal.valueOf(doubleValue);
+        }
+        // 서식이 적용된 숫자 문자열(예: 1,234)도 허용
+        return new BigDecimal(text.replace(",", ""));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object toEnum(Class<?> enumType, String text) {
+        return Enum.valueOf((Class<Enum>) enumType, text);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.lannstark.excel.reader;
+
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * SAXExcelReader의 읽기 범위를 지정합니다.
+ *  - fieldPaths: 읽을 필드 경로(@ExcelColumn 필드 경로, 예: "deptInfo,deptName"). 중간 경로를 지정하면 하위 말단 필드를 모두 읽음
+ *  - sheetIndex / sheetName: 읽을 시트. 지정하지 않으면 모든 시트
+ *  - firstRowIndex / lastRowIndex: 읽을 행 범위(시트 기준 0부터 시작, 양 끝 포함). 마지막 행 이후는 파싱하지 않음
+ *
+ * 지정하지 않은 열의 셀은 문자열 조회와 타입 변환을 하지 않습니다.
+ */
+@Getter
+public class ExcelReadOptions {
+
+    private List<String> fieldPaths = List.of();
+    private Integer sheetIndex;
+    private String sheetName;
+    private int firstRowIndex = 0;
+    private int lastRowIndex = Integer.MAX_VALUE;
+
+    public ExcelReadOptions fieldPaths(String... fieldPaths) {
+        this.fieldPaths = Arrays.asList(fieldPaths);
+        return this;
+    }
+
+    public ExcelReadOptions sheetIndex(int sheetIndex) {
+        this.sheetIndex = sheetIndex;
+        return this;
+    }
+
+    public ExcelReadOptions sheetName(String sheetName) {
+        this.sheetName = sheetName;
+        return this;
+    }
+
+    public ExcelReadOptions rowRange(int firstRowIndex, int lastRowIndex) {
+        if (firstRowIndex < 0 || lastRowIndex < firstRowIndex) {
+            throw new IllegalArgumentException(
+                    String.format("Wrong row range(%s ~ %s)", firstRowIndex, lastRowIndex));
+        }
+        this.firstRowIndex = firstRowIndex;
+        this.lastRowIndex = lastRowIndex;
+        return this;
+    }
+
+    boolean isTargetSheet(ExcelSheetPart sheetPart) {
+        if (sheetIndex != null && sheetIndex != sheetPart.getIndex()) {
+            return false;
+        }
+        return sheetName == null || sheetName.equals(sheetPart.getName());
+    }
+
+}
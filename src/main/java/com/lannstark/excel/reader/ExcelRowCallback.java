@@ -0,0 +1,15 @@
+package com.lannstark.excel.reader;
+
+/**
+ * 시트를 읽으면서 변환된 행을 하나씩 전달받는 콜백입니다.
+ * 서로 다른 시트의 행은 여러 스레드에서 동시에 전달될 수 있으며,
+ * 같은 시트의 행은 항상 시트 내 순서대로 하나의 스레드에서 전달됩니다.
+ *
+ * @param <T> 변환된 행 데이터 타입
+ */
+@FunctionalInterface
+public interface ExcelRowCallback<T> {
+
+    void onRow(ExcelSheetPart sheet, int rowIndex, T row);
+
+}
@@ -0,0 +1,84 @@
+package com.lannstark.excel.reader;
+
+import com.lannstark.exception.ExcelInternalException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.lannstark.utils.SuperClassReflectionUtils.resolveFieldChain;
+
+/**
+ * 시트의 한 행(열 순서대로 정렬된 셀 값 배열)을 DTO 객체로 변환합니다.
+ * 말단 필드 경로(leafFieldPaths) 순서가 곧 열 순서이며, 중첩 DTO는 기본 생성자로 생성하여 채웁니다.
+ * 필드 경로별 Field 체인은 생성 시점에 한 번만 계산하여 행마다 리플렉션 탐색을 반복하지 않습니다.
+ *
+ * @param <T> 변환할 DTO 타입
+ */
+class ExcelRowMapper<T> {
+
+    private final Class<T> type;
+    private final List<Field[]> fieldChains = new ArrayList<>();
+    private final ExcelCellValueConverter converter;
+
+    ExcelRowMapper(Class<T> type, List<String> leafFieldPaths, ExcelCellValueConverter converter) {
+        this.type = type;
+        this.converter = converter;
+        for (String leafFieldPath : leafFieldPaths) {
+            fieldChains.add(resolveFieldChain(type, leafFieldPath));
+        }
+    }
+
+    int getColumnCount() {
+        return fieldChains.size();
+    }
+
+    /**
+     * 셀 값 배열을 DTO로 변환합니다.
+     *
+     * @param values 열 인덱스 순서의 셀 값 배열. 값이 없는 열은 null
+     * @return 변환된 DTO
+     */
+    T map(Object[] values) {
+        try {
+            T result = newInstance(type);
+            for (int columnIndex = 0; columnIndex < fieldChains.size(); columnIndex++) {
+                Object value = values[columnIndex];
+                if (value != null) {
+                    setValue(result, fieldChains.get(columnIndex), value);
+                }
+            }
+            return result;
+        } catch (ReflectiveOperationException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+    }
+
+    private void setValue(Object root, Field[] fieldChain, Object cellValue) throws ReflectiveOperationException {
+        Object target = root;
+        for (int depth = 0; depth < fieldChain.length - 1; depth++) {
+            Field field = fieldChain[depth];
+            Object child = field.get(target);
+            if (child == null) {
+                child = newInstance(field.getType());
+                field.set(target, child);
+            }
+            target = child;
+        }
+
+        Field leafField = fieldChain[fieldChain.length - 1];
+        Object convertedValue = converter.convert(cellValue, leafField.getType());
+        // primitive 필드는 빈 셀인 경우 기본값 유지
+        if (convertedValue != null || !leafField.getType().isPrimitive()) {
+            leafField.set(target, convertedValue);
+        }
+    }
+
+    private static <R> R newInstance(Class<R> clazz) throws ReflectiveOperationException {
+        Constructor<R> constructor = clazz.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.lannstark.excel.reader;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 워크북 안의 시트 하나를 가리키는 정보입니다.
+ * 시트 순서(index), 시트 이름, 그리고 xlsx(zip) 안에서 시트 XML이 저장된 엔트리 이름을 가집니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ExcelSheetPart {
+
+    // 워크북 내 시트 순서 (0부터 시작)
+    private int index;
+    // 시트 이름
+    private String name;
+    // zip 엔트리 이름 (예: xl/worksheets/sheet1.xml)
+    private String entryName;
+}
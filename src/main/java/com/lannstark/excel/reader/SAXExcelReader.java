@@ -0,0 +1,299 @@
+package com.lannstark.excel.reader;
+
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.ExcelRenderTemplate;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * SAXExcelReader 클래스는 SXSSFExcelFile로 생성한 xlsx 파일을 다시 DTO 목록으로 읽어들입니다.
+ *  - 시트마다 zip 엔트리를 독립적으로 열어 시트 단위 SAX 파이프라인을 병렬로 실행
+ *  - 공유 문자열 테이블과 스타일(날짜 서식) 정보는 한 번만 파싱하여 모든 시트가 공유
+ *  - 결과는 시트 순서대로 병합하거나, 콜백으로 시트별로 바로 전달
+ *  - ExcelReadOptions로 필요한 열, 시트, 행 범위만 읽기 가능
+ *
+ * 열 순서는 ExcelRenderResource의 말단 필드 경로 순서와 같고, 헤더 높이만큼의 행은 건너뜁니다.
+ *
+ * @param <T> 읽어들일 DTO 타입. 기본 생성자가 필요합니다.
+ */
+public class SAXExcelReader<T> {
+
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    // 읽기에는 열 순서와 헤더 높이만 필요하므로 워크북 없이 클래스별 템플릿을 사용
+    private final ExcelRenderTemplate template;
+    private final Class<T> type;
+
+    private int parallelism = DEFAULT_PARALLELISM;
+    private String listSeparator = ", ";
+
+    public SAXExcelReader(Class<T> type) {
+        this.type = type;
+        this.template = ExcelRenderResourceFactory.getTemplate(type);
+    }
+
+    /**
+     * 동시에 파싱할 최대 시트 수를 설정합니다.
+     * @param parallelism 1 이상의 값, 1인 경우 시트를 순서대로 하나씩 읽음
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * List 필드를 읽을 때 사용할 구분자를 설정합니다. 쓰기에 사용한 구분자와 같아야 합니다.
+     * @param separator 구분자 (예: ", ", "; ", "\n" 등)
+     */
+    public void setListSeparator(String separator) {
+        this.listSeparator = separator != null ? separator : ", ";
+    }
+
+    /**
+     * 모든 시트를 읽어 시트 순서대로 병합한 결과를 반환합니다.
+     *
+     * @param file 읽을 xlsx 파일
+     * @return 전체 행 목록
+     */
+    public List<T> read(File file) {
+        return read(file, new ExcelReadOptions());
+    }
+
+    /**
+     * 지정한 범위만 읽어 시트 순서대로 병합한 결과를 반환합니다.
+     * 읽지 않은 필드는 DTO의 기본값으로 남습니다.
+     *
+     * @param file 읽을 xlsx 파일
+     * @param options 읽을 열, 시트, 행 범위
+     * @return 범위 내 행 목록
+     */
+    public List<T> read(File file, ExcelReadOptions options) {
+        List<T> result = new ArrayList<>();
+        for (List<T> sheetRows : readSheets(file, options, null, true)) {
+            result.addAll(sheetRows);
+        }
+        return result;
+    }
+
+    /**
+     * 모든 시트를 읽으면서 행을 콜백으로 전달합니다. 결과를 메모리에 모아두지 않습니다.
+     *
+     * @param file 읽을 xlsx 파일
+     * @param callback 행을 전달받을 콜백, 서로 다른 시트의 행이 동시에 전달될 수 있음
+     */
+    public void read(File file, ExcelRowCallback<T> callback) {
+        read(file, new ExcelReadOptions(), callback);
+    }
+
+    /**
+     * 지정한 범위만 읽으면서 행을 콜백으로 전달합니다.
+     *
+     * @param file 읽을 xlsx 파일
+     * @param options 읽을 열, 시트, 행 범위
+     * @param callback 행을 전달받을 콜백
+     */
+    public void read(File file, ExcelReadOptions options, ExcelRowCallback<T> callback) {
+        readSheets(file, options, callback, false);
+    }
+
+    private List<List<T>> readSheets(File file, ExcelReadOptions options, ExcelRowCallback<T> callback,
+                                     boolean collect) {
+        int[] columnSlots = resolveColumnSlots(options.getFieldPaths());
+        OPCPackage pkg = null;
+        try (ZipFile zipFile = new ZipFile(file)) {
+            pkg = OPCPackage.open(file, PackageAccess.READ);
+            XSSFReader xssfReader = new XSSFReader(pkg);
+
+            // 공유 리소스는 한 번만 파싱
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            boolean[] dateStyles = resolveDateStyles(xssfReader.getStylesTable());
+            List<ExcelSheetPart> sheetParts = resolveSheetParts(xssfReader);
+
+            // 대상 시트의 zip 엔트리만 열어서 파싱
+            List<Callable<List<T>>> tasks = new ArrayList<>();
+            for (ExcelSheetPart sheetPart : sheetParts) {
+                if (options.isTargetSheet(sheetPart)) {
+                    tasks.add(() -> parseSheet(zipFile, sheetPart, sharedStrings, dateStyles, columnSlots, options,
+                            callback, collect));
+                }
+            }
+            return runInParallel(tasks);
+        } catch (ExcelInternalException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        } finally {
+            if (pkg != null) {
+                // 읽기 전용 패키지는 저장하지 않고 닫음
+                pkg.revert();
+            }
+        }
+    }
+
+    private List<List<T>> runInParallel(List<Callable<List<T>>> tasks) throws InterruptedException {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()));
+        try {
+            List<Future<List<T>>> futures = new ArrayList<>();
+            for (Callable<List<T>> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+
+            // 시트 순서대로 결과 수집
+            List<List<T>> results = new ArrayList<>();
+            for (Future<List<T>> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ExcelInternalException internalException) {
+                throw internalException;
+            }
+            throw new ExcelInternalException(cause.getMessage(), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 시트 하나를 SAX로 파싱합니다. 시트마다 별도의 스레드에서 실행됩니다.
+     */
+    private List<T> parseSheet(ZipFile zipFile, ExcelSheetPart sheetPart, ReadOnlySharedStringsTable sharedStrings,
+                               boolean[] dateStyles, int[] columnSlots, ExcelReadOptions options,
+                               ExcelRowCallback<T> callback, boolean collect) throws Exception {
+        ExcelRowMapper<T> rowMapper = new ExcelRowMapper<>(type, projectLeafFieldPaths(columnSlots),
+                new ExcelCellValueConverter(listSeparator));
+        int bodyStartRowIndex = template.getHeaderHeight();
+        List<T> rows = new ArrayList<>();
+
+        SheetRowHandler handler = new SheetRowHandler(sharedStrings, dateStyles, columnSlots,
+                rowMapper.getColumnCount(), Math.max(bodyStartRowIndex, options.getFirstRowIndex()),
+                options.getLastRowIndex(), (rowIndex, values) -> {
+                    if (isEmptyRow(values)) {
+                        return;
+                    }
+                    T row = rowMapper.map(values);
+                    if (callback != null) {
+                        callback.onRow(sheetPart, rowIndex, row);
+                    }
+                    if (collect) {
+                        rows.add(row);
+                    }
+                });
+
+        ZipEntry entry = zipFile.getEntry(sheetPart.getEntryName());
+        if (entry == null) {
+            throw new ExcelInternalException(String.format("Sheet part %s does not exist", sheetPart.getEntryName()), null);
+        }
+        try (InputStream sheetStream = zipFile.getInputStream(entry)) {
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(sheetStream));
+        } catch (SheetRowHandler.StopParsingException e) {
+            // 요청한 행 범위를 모두 읽은 경우 나머지는 파싱하지 않음
+        }
+        return rows;
+    }
+
+    /**
+     * 열 인덱스별로 값 배열의 위치를 계산합니다. 읽지 않는 열은 -1 입니다.
+     * 필드 경로를 지정하지 않으면 모든 열을 읽습니다.
+     */
+    private int[] resolveColumnSlots(List<String> fieldPaths) {
+        List<String> leafFieldPaths = template.getLeafFieldPaths();
+        for (String fieldPath : fieldPaths) {
+            if (!template.getFieldPaths().contains(fieldPath)) {
+                throw new IllegalArgumentException(
+                        String.format("Field path %s is not @ExcelColumn of %s", fieldPath, type));
+            }
+        }
+
+        int[] columnSlots = new int[leafFieldPaths.size()];
+        int slot = 0;
+        for (int columnIndex = 0; columnIndex < leafFieldPaths.size(); columnIndex++) {
+            String leafFieldPath = leafFieldPaths.get(columnIndex);
+            boolean selected = fieldPaths.isEmpty() || fieldPaths.stream()
+                    .anyMatch(fieldPath -> leafFieldPath.equals(fieldPath) || leafFieldPath.startsWith(fieldPath + ","));
+            columnSlots[columnIndex] = selected ? slot++ : -1;
+        }
+        return columnSlots;
+    }
+
+    private List<String> projectLeafFieldPaths(int[] columnSlots) {
+        List<String> projectedFieldPaths = new ArrayList<>();
+        for (int columnIndex = 0; columnIndex < columnSlots.length; columnIndex++) {
+            if (columnSlots[columnIndex] >= 0) {
+                projectedFieldPaths.add(template.getLeafFieldPaths().get(columnIndex));
+            }
+        }
+        return projectedFieldPaths;
+    }
+
+    private static List<ExcelSheetPart> resolveSheetParts(XSSFReader xssfReader) throws Exception {
+        List<ExcelSheetPart> sheetParts = new ArrayList<>();
+        XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        int sheetIndex = 0;
+        while (sheetIterator.hasNext()) {
+            // 시트 데이터는 각 작업 스레드에서 zip 엔트리로 직접 열기 때문에 여기서는 바로 닫음
+            try (InputStream ignored = sheetIterator.next()) {
+                String partName = sheetIterator.getSheetPart().getPartName().getName();
+                sheetParts.add(new ExcelSheetPart(sheetIndex++, sheetIterator.getSheetName(), partName.substring(1)));
+            }
+        }
+        return sheetParts;
+    }
+
+    /**
+     * 스타일 인덱스별 날짜 서식 여부를 미리 계산합니다.
+     * 작업 스레드에서는 StylesTable 대신 이 배열만 참조합니다.
+     */
+    private static boolean[] resolveDateStyles(StylesTable stylesTable) {
+        if (stylesTable == null) {
+            return new boolean[0];
+        }
+        boolean[] dateStyles = new boolean[stylesTable.getNumCellStyles()];
+        for (int styleIndex = 0; styleIndex < dateStyles.length; styleIndex++) {
+            XSSFCellStyle cellStyle = stylesTable.getStyleAt(styleIndex);
+            dateStyles[styleIndex] = cellStyle != null
+                    && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+        }
+        return dateStyles;
+    }
+
+    private static boolean isEmptyRow(Object[] values) {
+        for (Object value : values) {
+            if (value != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.lannstark.excel.reader;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.util.Arrays;
+
+/**
+ * 시트 XML 하나를 SAX로 파싱하여 행 단위로 셀 값을 전달하는 핸들러입니다.
+ * 시트마다 하나의 인스턴스를 사용하며, 공유 문자열 테이블과 날짜 스타일 정보는 여러 시트가 함께 사용합니다.
+ * 읽을 열(columnSlots)과 행 범위 밖의 셀은 텍스트를 모으거나 해석하지 않고, 마지막 행 이후에는 파싱을 중단합니다.
+ *
+ * 셀 값은 다음과 같이 해석됩니다.
+ * - 공유 문자열(s), 인라인 문자열(inlineStr), 수식 문자열(str): String
+ * - 논리값(b): Boolean
+ * - 숫자: Double, 날짜 서식이 적용된 경우 LocalDateTime
+ * - 오류(e): null
+ */
+class SheetRowHandler extends DefaultHandler {
+
+    /**
+     * 파싱이 끝난 행을 전달받는 리스너
+     */
+    interface RowListener {
+        void onRow(int rowIndex, Object[] values);
+    }
+
+    /**
+     * 행 범위의 끝에 도달하여 파싱을 중단할 때 사용
+     */
+    static class StopParsingException extends SAXException {
+        StopParsingException() {
+            super("Requested row range has been read");
+        }
+    }
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final boolean[] dateStyles;
+    private final RowListener rowListener;
+    // 열 인덱스별 값 배열 위치, 읽지 않는 열은 -1
+    private final int[] columnSlots;
+    private final int firstRowIndex;
+    private final int lastRowIndex;
+
+    private final Object[] rowValues;
+    private final StringBuilder text = new StringBuilder();
+
+    private int rowIndex = -1;
+    private int columnIndex = -1;
+    private String cellType;
+    private int styleIndex;
+    private int slot = -1;
+    private boolean inRowRange;
+
+    private boolean inValue;
+    private boolean inInlineString;
+    private boolean inPhonetic;
+
+    SheetRowHandler(ReadOnlySharedStringsTable sharedStrings, boolean[] dateStyles, int[] columnSlots, int slotCount,
+                    int firstRowIndex, int lastRowIndex, RowListener rowListener) {
+        this.sharedStrings = sharedStrings;
+        this.dateStyles = dateStyles;
+        this.columnSlots = columnSlots;
+        this.firstRowIndex = firstRowIndex;
+        this.lastRowIndex = lastRowIndex;
+        this.rowListener = rowListener;
+        this.rowValues = new Object[slotCount];
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+        switch (localName) {
+            case "row" -> {
+                String rowRef = attributes.getValue("r");
+                rowIndex = rowRef == null ? rowIndex + 1 : Integer.parseInt(rowRef) - 1;
+                if (rowIndex > lastRowIndex) {
+                    throw new StopParsingException();
+                }
+                inRowRange = rowIndex >= firstRowIndex;
+                columnIndex = -1;
+                Arrays.fill(rowValues, null);
+            }
+            case "c" -> {
+                String cellRef = attributes.getValue("r");
+                columnIndex = cellRef == null ? columnIndex + 1 : toColumnIndex(cellRef);
+                slot = inRowRange && columnIndex < columnSlots.length ? columnSlots[columnIndex] : -1;
+                if (slot < 0) {
+                    return;
+                }
+                cellType = attributes.getValue("t");
+                String styleRef = attributes.getValue("s");
+                styleIndex = styleRef == null ? 0 : Integer.parseInt(styleRef);
+                text.setLength(0);
+            }
+            case "v" -> inValue = true;
+            case "is" -> inInlineString = true;
+            case "rPh" -> inPhonetic = true;
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        switch (localName) {
+            case "v" -> inValue = false;
+            case "is" -> inInlineString = false;
+            case "rPh" -> inPhonetic = false;
+            case "c" -> {
+                if (slot >= 0) {
+                    rowValues[slot] = decodeCellValue();
+                    slot = -1;
+                }
+            }
+            case "row" -> {
+                if (inRowRange) {
+                    rowListener.onRow(rowIndex, rowValues);
+                }
+                if (rowIndex >= lastRowIndex) {
+                    throw new StopParsingException();
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        // 읽지 않는 셀은 텍스트를 모으지 않고, 인라인 문자열의 윗주(rPh) 텍스트는 제외
+        if (slot >= 0 && (inValue || (inInlineString && !inPhonetic))) {
+            text.append(ch, start, length);
+        }
+    }
+
+    private Object decodeCellValue() {
+        if (cellType == null || "n".equals(cellType)) {
+            if (text.isEmpty()) {
+                return null;
+            }
+            double numericValue = Double.parseDouble(text.toString());
+            if (styleIndex < dateStyles.length && dateStyles[styleIndex]) {
+                return DateUtil.getLocalDateTime(numericValue);
+            }
+            return numericValue;
+        }
+
+        return switch (cellType) {
+            case "s" -> sharedStrings.getItemAt(Integer.parseInt(text.toString())).getString();
+            case "b" -> "1".contentEquals(text);
+            case "e" -> null;
+            default -> text.toString();
+        };
+    }
+
+    /**
+     * 셀 참조(예: AB12)에서 0부터 시작하는 열 인덱스를 계산합니다.
+     */
+    private static int toColumnIndex(String cellRef) {
+        int column = 0;
+        for (int i = 0; i < cellRef.length(); i++) {
+            char ch = cellRef.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                break;
+            }
+            column = column * 26 + (ch - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+}
@@ -0,0 +1,182 @@
+package com.lannstark.excel.shard;
+
+import com.lannstark.excel.sxssf.ExcelHeaderRenderer;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ExcelSXSSFWorkbook;
+import com.lannstark.excel.xml.RowRenumberingOutputStream;
+import com.lannstark.excel.xml.SheetBodySplicer;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelRenderResource;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.collection.CellStylePool;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link ExcelSheetPartWriter}로 만든 시트 조각들을 순서대로 이어 붙여 xlsx를 씁니다.
+ *
+ * 헤더와 스타일은 SXSSF 워크북에 만들고, 조각의 본문은 POI를 거치지 않고 압축을 풀면서
+ * 행 번호에 (헤더 높이 + 앞 조각들의 행 수)를 더해 SheetBodySplicer로 시트 파트에 바로 씁니다.
+ * 조각의 레이아웃(타입, 열 순서, 본문 셀 스타일 인덱스)이 이 워크북과 다르면 합치지 않습니다.
+ *
+ * @param <T> 조각을 렌더링한 데이터의 제네릭 타입
+ */
+public class ExcelSheetPartMerger<T> {
+
+	private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	private static final int COLUMN_START_INDEX = 0;
+	private static final int COLUMN_WIDTH_PADDING = 512;
+	private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
+	private final Class<T> type;
+	private final DataFormatDecider dataFormatDecider;
+	private String sheetName = "Sheet1";
+	private ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults();
+	private Instant fixedTimestamp;
+
+	public ExcelSheetPartMerger(Class<T> type) {
+		this(type, new DefaultDataFormatDecider());
+	}
+
+	/**
+	 * @param type 조각을 렌더링한 DTO 타입
+	 * @param dataFormatDecider 데이터 포맷 결정, 조각을 만든 쪽과 같아야 함
+	 */
+	public ExcelSheetPartMerger(Class<T> type, DataFormatDecider dataFormatDecider) {
+		this.type = type;
+		this.dataFormatDecider = dataFormatDecider;
+	}
+
+	public void setSheetName(String sheetName) {
+		this.sheetName = sheetName;
+	}
+
+	public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+		this.compressionOptions = compressionOptions != null ? compressionOptions : ExcelCompressionOptions.defaults();
+	}
+
+	public void setFixedTimestamp(Instant fixedTimestamp) {
+		this.fixedTimestamp = fixedTimestamp;
+	}
+
+	/**
+	 * 조각들을 주어진 순서대로 합쳐 워크북을 씁니다.
+	 *
+	 * @param parts 조각 파일, 이 순서대로 행이 배치됨
+	 * @param stream 워크북을 쓸 OutputStream 객체, 쓰기 후 닫음
+	 */
+	public void merge(List<Path> parts, OutputStream stream) throws IOException {
+		Map<String, List<Path>> sheets = new LinkedHashMap<>();
+		sheets.put(sheetName, parts);
+		merge(sheets, stream);
+	}
+
+	/**
+	 * 시트마다 조각들을 합쳐 여러 시트의 워크북을 씁니다. 조각이 없는 시트는 헤더만 씁니다.
+	 *
+	 * @param sheets 시트 이름별 조각 파일, 이 순서대로 시트와 행이 배치됨
+	 * @param stream 워크북을 쓸 OutputStream 객체, 쓰기 후 닫음
+	 */
+	public void merge(Map<String, List<Path>> sheets, OutputStream stream) throws IOException {
+		ExcelSXSSFWorkbook wb = new ExcelSXSSFWorkbook();
+		try {
+			wb.setFixedTimestamp(fixedTimestamp);
+			ExcelRenderResource resource = ExcelRenderResourceFactory.getTemplate(type)
+					.materialize(new CellStylePool(wb), dataFormatDecider);
+			SheetPartFormat.Layout layout = SheetPartFormat.Layout.of(type, resource);
+			int headerHeight = resource.getExcelHeader().getHeaderHeight();
+			ExcelHeaderRenderer headerRenderer = new ExcelHeaderRenderer(wb);
+
+			List<MergedBody> bodies = new ArrayList<>();
+			for (Map.Entry<String, List<Path>> entry : sheets.entrySet()) {
+				List<SheetPartFormat.PartInfo> partInfos = new ArrayList<>();
+				long totalRows = 0;
+				int[] maxDisplayWidths = new int[layout.columnCount()];
+				for (Path part : entry.getValue()) {
+					SheetPartFormat.PartInfo partInfo = SheetPartFormat.read(part);
+					if (!partInfo.layout().equals(layout)) {
+						throw new ExcelInternalException(String.format(
+								"Sheet part %s was rendered with a different layout (%s) from %s", part,
+								partInfo.layout(), layout), null);
+					}
+					partInfos.add(partInfo);
+					totalRows += partInfo.rowCount();
+					for (int i = 0; i < maxDisplayWidths.length; i++) {
+						maxDisplayWidths[i] = Math.max(maxDisplayWidths[i], partInfo.maxDisplayWidths()[i]);
+					}
+				}
+				if (totalRows > MAX_ROWS - headerHeight) {
+					throw new IllegalArgumentException(String.format("Sheet %s does not support over %s rows, but was %s",
+							entry.getKey(), MAX_ROWS - headerHeight, totalRows));
+				}
+
+				Sheet sheet = wb.createSheet(entry.getKey());
+				headerRenderer.render(sheet, resource, 0, COLUMN_START_INDEX);
+				applyColumnWidths(sheet, resource, maxDisplayWidths);
+				bodies.add(new MergedBody(partInfos, headerHeight, COLUMN_START_INDEX + layout.columnCount() - 1,
+						(int) (headerHeight + totalRows - 1)));
+			}
+			new SheetBodySplicer(compressionOptions, fixedTimestamp).write(wb, bodies, stream);
+		} finally {
+			wb.dispose();
+			wb.close();
+			stream.close();
+		}
+	}
+
+	private void applyColumnWidths(Sheet sheet, ExcelRenderResource resource, int[] maxDisplayWidths) {
+		List<String> leafFieldPaths = resource.getLeafFieldPaths();
+		for (int i = 0; i < leafFieldPaths.size(); i++) {
+			String headerName = resource.getExcelHeader().getExcelHeaderCell(leafFieldPaths.get(i)).getHeaderName();
+			int width = Math.max(SheetRowXmlWriter.displayWidth(headerName), maxDisplayWidths[i]);
+			((SXSSFSheet) sheet).setColumnWidth(COLUMN_START_INDEX + i,
+					Math.min(MAX_COLUMN_WIDTH, width * 256 + COLUMN_WIDTH_PADDING));
+		}
+	}
+
+	/**
+	 * 조각들의 본문을 순서대로 풀면서 행 번호를 바꿔 씁니다.
+	 */
+	private record MergedBody(List<SheetPartFormat.PartInfo> parts, int headerHeight, int lastColumnIndex,
+							  int lastRowIndex) implements SheetBodySplicer.SheetBody {
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			long rowOffset = headerHeight;
+			for (SheetPartFormat.PartInfo part : parts) {
+				if (part.rowCount() == 0) {
+					continue;
+				}
+				Inflater inflater = new Inflater(true);
+				try (FileChannel channel = FileChannel.open(part.file());
+					 InputStream body = new InflaterInputStream(Channels.newInputStream(channel.position(part.bodyStart())),
+							 inflater)) {
+					// 바꾼 행 번호는 바로 out에 쓰므로 flush하지 않음
+					body.transferTo(new RowRenumberingOutputStream(out, rowOffset));
+				} finally {
+					inflater.end();
+				}
+				rowOffset += part.rowCount();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,185 @@
+package com.lannstark.excel.shard;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.sxssf.zip.ExcelSXSSFWorkbook;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelRenderResource;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.collection.CellStylePool;
+import org.apache.poi.ss.SpreadsheetVersion;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 전체 행 중 한 구간(shard)을 시트 조각(sheet part) 파일로 렌더링합니다.
+ * 여러 스레드나 JVM이 구간을 나누어 조각을 만들고, {@link ExcelSheetPartMerger}가 조각들을 하나의 시트로 합칩니다.
+ *
+ * 조각에는 워크북 없이 SheetRowXmlWriter로 쓴 row 요소 XML이 1행부터 번호가 매겨져 압축되어 들어가며,
+ * 열 순서와 본문 셀 스타일 인덱스는 합치는 쪽과 같은 방식으로 계산하여 레이아웃으로 함께 기록합니다.
+ * 본문은 렌더링하면서 임시 파일에 압축하여 쓰고, write 시점에 조각 파일 형식으로 출력합니다.
+ *
+ * @param <T> Excel에 렌더링할 데이터의 제네릭 타입
+ */
+public class ExcelSheetPartWriter<T> implements ExcelFile<T> {
+
+	private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	private static final int COLUMN_START_INDEX = 0;
+	private static final int WRITER_BUFFER_SIZE = 64 * 1024;
+
+	private final Class<T> type;
+	private final SheetPartFormat.Layout layout;
+	private String listSeparator = ", ";
+
+	private Path bodyFile;
+	private Deflater deflater;
+	private Writer bodyWriter;
+	private SheetRowXmlWriter rowWriter;
+	private int rowCount;
+
+	public ExcelSheetPartWriter(Class<T> type) {
+		this(Collections.emptyList(), type, new DefaultDataFormatDecider());
+	}
+
+	public ExcelSheetPartWriter(List<T> data, Class<T> type) {
+		this(data, type, new DefaultDataFormatDecider());
+	}
+
+	/**
+	 * @param data 렌더링할 구간의 데이터
+	 * @param type 렌더링할 DTO 타입
+	 * @param dataFormatDecider 데이터 포맷 결정, 합치는 쪽과 같아야 함
+	 */
+	public ExcelSheetPartWriter(List<T> data, Class<T> type, DataFormatDecider dataFormatDecider) {
+		this.type = type;
+		this.layout = computeLayout(type, dataFormatDecider);
+		addRows(data);
+	}
+
+	/**
+	 * 합치는 쪽과 같은 방식(빈 워크북에 템플릿을 적용)으로 열 순서와 스타일 인덱스를 계산합니다.
+	 * 스타일 인덱스는 워크북에 스타일을 만든 순서로 정해지므로 같은 타입과 DataFormatDecider면 항상 같습니다.
+	 */
+	static SheetPartFormat.Layout computeLayout(Class<?> type, DataFormatDecider dataFormatDecider) {
+		ExcelSXSSFWorkbook wb = new ExcelSXSSFWorkbook();
+		try {
+			ExcelRenderResource resource = ExcelRenderResourceFactory.getTemplate(type)
+					.materialize(new CellStylePool(wb), dataFormatDecider);
+			return SheetPartFormat.Layout.of(type, resource);
+		} finally {
+			wb.dispose();
+		}
+	}
+
+	/**
+	 * List 값을 문자열로 변환할 때 사용할 구분자를 설정합니다. 행을 추가하기 전에 설정해야 합니다.
+	 */
+	public void setListSeparator(String separator) {
+		if (rowWriter != null) {
+			throw new IllegalStateException("List separator should be set before rows are added");
+		}
+		this.listSeparator = separator != null ? separator : ", ";
+	}
+
+	@Override
+	public void addRows(List<T> data) {
+		if (data.isEmpty()) {
+			return;
+		}
+		try {
+			if (rowWriter == null) {
+				openBody();
+			}
+			for (T row : data) {
+				if (rowCount == MAX_ROWS) {
+					throw new IllegalArgumentException(String.format("Sheet part does not support over %s rows", MAX_ROWS));
+				}
+				rowWriter.writeRow(bodyWriter, rowCount++, row);
+			}
+		} catch (IOException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * @return 지금까지 추가한 행 수
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	/**
+	 * 조각 파일을 쓰고 임시 파일을 정리합니다.
+	 *
+	 * @param stream 조각을 쓸 OutputStream 객체, 쓰기 후 닫음
+	 */
+	@Override
+	public void write(OutputStream stream) throws IOException {
+		try {
+			if (rowWriter == null) {
+				openBody();
+			}
+			bodyWriter.close();
+			SheetPartFormat.writeHeader(stream, layout);
+			Files.copy(bodyFile, stream);
+			SheetPartFormat.writeTrailer(stream, rowCount, rowWriter.getMaxDisplayWidths());
+		} finally {
+			try {
+				releaseBody();
+			} finally {
+				stream.close();
+			}
+		}
+	}
+
+	/**
+	 * 조각을 쓰지 않고 임시 파일을 정리합니다. 렌더링 중 실패한 경우 사용합니다.
+	 */
+	public void discard() throws IOException {
+		if (rowWriter == null) {
+			return;
+		}
+		try {
+			if (bodyWriter != null) {
+				bodyWriter.close();
+			}
+		} finally {
+			releaseBody();
+		}
+	}
+
+	// openBody가 중간에 실패하면 deflater나 임시 파일이 없을 수 있음
+	private void releaseBody() throws IOException {
+		if (deflater != null) {
+			deflater.end();
+		}
+		if (bodyFile != null) {
+			Files.deleteIfExists(bodyFile);
+		}
+	}
+
+	private void openBody() throws IOException {
+		rowWriter = new SheetRowXmlWriter(type, layout.leafFieldPaths(), COLUMN_START_INDEX,
+				layout.styleIndexArray(), listSeparator);
+		rowWriter.trackColumnWidths();
+		bodyFile = Files.createTempFile("excel-sheet-part-", ".deflate");
+		deflater = new Deflater(Deflater.BEST_SPEED, true);
+		bodyWriter = new BufferedWriter(new OutputStreamWriter(
+				new DeflaterOutputStream(Files.newOutputStream(bodyFile), deflater), StandardCharsets.UTF_8),
+				WRITER_BUFFER_SIZE);
+	}
+
+}
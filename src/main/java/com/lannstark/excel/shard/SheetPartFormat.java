@@ -0,0 +1,146 @@
+package com.lannstark.excel.shard;
+
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.ExcelRenderLocation;
+import com.lannstark.resource.ExcelRenderResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시트 조각(sheet part) 파일 형식
+ *  - 머리: MAGIC, VERSION, 레이아웃 길이, 레이아웃(타입 이름, 열별 말단 필드 경로와 본문 셀 스타일 인덱스)
+ *  - 본문: 1행부터 번호를 매긴 row 요소 XML을 raw deflate로 압축한 바이트
+ *  - 꼬리: 행 수, 열별 최대 표시 너비, MAGIC (열 수를 알면 파일 끝에서 바로 읽을 수 있음)
+ */
+final class SheetPartFormat {
+
+	static final int MAGIC = 0x584C5350; // "XLSP"
+	static final int VERSION = 1;
+
+	private SheetPartFormat() {
+	}
+
+	/**
+	 * 조각을 만든 쪽과 합치는 쪽이 같은 열 순서와 스타일 인덱스를 사용하는지 확인하기 위한 레이아웃
+	 */
+	record Layout(String typeName, List<String> leafFieldPaths, List<Integer> styleIndexes) {
+
+		static Layout of(Class<?> type, ExcelRenderResource resource) {
+			List<String> leafFieldPaths = resource.getLeafFieldPaths();
+			List<Integer> styleIndexes = new ArrayList<>();
+			for (String leafFieldPath : leafFieldPaths) {
+				styleIndexes.add((int) resource.getCellStyle(leafFieldPath, ExcelRenderLocation.BODY).getIndex());
+			}
+			return new Layout(type.getName(), List.copyOf(leafFieldPaths), List.copyOf(styleIndexes));
+		}
+
+		int[] styleIndexArray() {
+			return styleIndexes.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		int columnCount() {
+			return leafFieldPaths.size();
+		}
+	}
+
+	/**
+	 * 조각 파일의 머리와 꼬리 정보
+	 */
+	record PartInfo(Path file, Layout layout, long bodyStart, int rowCount, int[] maxDisplayWidths) {
+	}
+
+	static void writeHeader(OutputStream out, Layout layout) throws IOException {
+		ByteArrayOutputStream layoutBytes = new ByteArrayOutputStream();
+		DataOutputStream layoutOut = new DataOutputStream(layoutBytes);
+		layoutOut.writeUTF(layout.typeName());
+		layoutOut.writeInt(layout.columnCount());
+		for (int i = 0; i < layout.columnCount(); i++) {
+			layoutOut.writeUTF(layout.leafFieldPaths().get(i));
+			layoutOut.writeInt(layout.styleIndexes().get(i));
+		}
+
+		DataOutputStream dataOut = new DataOutputStream(out);
+		dataOut.writeInt(MAGIC);
+		dataOut.writeInt(VERSION);
+		dataOut.writeInt(layoutBytes.size());
+		layoutBytes.writeTo(dataOut);
+		dataOut.flush();
+	}
+
+	static void writeTrailer(OutputStream out, int rowCount, int[] maxDisplayWidths) throws IOException {
+		DataOutputStream dataOut = new DataOutputStream(out);
+		dataOut.writeInt(rowCount);
+		for (int width : maxDisplayWidths) {
+			dataOut.writeInt(width);
+		}
+		dataOut.writeInt(MAGIC);
+		dataOut.flush();
+	}
+
+	/**
+	 * 조각 파일의 머리와 꼬리를 읽습니다. 본문은 읽지 않습니다.
+	 */
+	static PartInfo read(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file)) {
+			ByteBuffer prefix = readFully(channel, 0, 12);
+			if (prefix.getInt() != MAGIC) {
+				throw new ExcelInternalException(String.format("%s is not a sheet part", file), null);
+			}
+			int version = prefix.getInt();
+			if (version != VERSION) {
+				throw new ExcelInternalException(String.format("Unsupported sheet part version %s of %s", version, file), null);
+			}
+			int layoutLength = prefix.getInt();
+			Layout layout = readLayout(readFully(channel, 12, layoutLength));
+
+			int trailerLength = Integer.BYTES * (layout.columnCount() + 2);
+			ByteBuffer trailer = readFully(channel, channel.size() - trailerLength, trailerLength);
+			int rowCount = trailer.getInt();
+			int[] maxDisplayWidths = new int[layout.columnCount()];
+			for (int i = 0; i < maxDisplayWidths.length; i++) {
+				maxDisplayWidths[i] = trailer.getInt();
+			}
+			if (trailer.getInt() != MAGIC) {
+				throw new ExcelInternalException(String.format("Sheet part %s is incomplete", file), null);
+			}
+			return new PartInfo(file, layout, 12L + layoutLength, rowCount, maxDisplayWidths);
+		}
+	}
+
+	private static Layout readLayout(ByteBuffer buffer) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.array(), 0, buffer.limit()));
+		String typeName = in.readUTF();
+		int columnCount = in.readInt();
+		List<String> leafFieldPaths = new ArrayList<>(columnCount);
+		List<Integer> styleIndexes = new ArrayList<>(columnCount);
+		for (int i = 0; i < columnCount; i++) {
+			leafFieldPaths.add(in.readUTF());
+			styleIndexes.add(in.readInt());
+		}
+		return new Layout(typeName, List.copyOf(leafFieldPaths), List.copyOf(styleIndexes));
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+		if (length < 0 || position < 0 || position + length > channel.size()) {
+			throw new ExcelInternalException("Sheet part is truncated", null);
+		}
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0) {
+				throw new ExcelInternalException("Sheet part is truncated", null);
+			}
+		}
+		return buffer.flip();
+	}
+
+}
@@ -0,0 +1,318 @@
+package com.lannstark.excel.sort;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 렌더링 전에 행을 정렬하는 외부 정렬 단계입니다.
+ * 정렬할 수 없는 데이터 소스(여러 소스를 합친 데이터, 정렬되지 않은 스트림)를 힙 사용량을 제한하면서 정렬합니다.
+ *
+ * <pre>
+ * try (ExcelExternalSorter&lt;EmployeeDto&gt; sorter =
+ *         new ExcelExternalSorter&lt;&gt;(EmployeeDto.class, ExcelSortOptions.by("deptInfo,deptName"))) {
+ *     sorter.addAll(rows);
+ *     sorter.sortInto(excelFile);
+ * }
+ * </pre>
+ *
+ * - 행은 렌더링되는 말단 필드 값 배열로만 보관하고, maxRowsInMemory개가 모이면 정렬하여 압축된 run 파일로 내려 씁니다.
+ * - sortInto에서 run들을 k-way 병합하며 ExcelFile에 바로 추가합니다. run이 하나도 없으면 메모리에서 정렬합니다.
+ * - 같은 키의 행은 입력 순서를 유지합니다. (안정 정렬)
+ * - 정렬된 행은 기본 생성자로 다시 만든 DTO이며, @ExcelColumn이 아닌 필드는 채워지지 않습니다.
+ *
+ * @param <T> 정렬할 데이터 타입
+ */
+public class ExcelExternalSorter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ADD_ROWS_BATCH_SIZE = 1000;
+
+    private final ExcelSortOptions options;
+    private final ExcelRowCodec<T> codec;
+    private final Comparator<Object[]> rowComparator;
+
+    private List<Object[]> buffer = new ArrayList<>();
+    private final List<Run> runs = new ArrayList<>();
+
+    public ExcelExternalSorter(Class<T> type, ExcelSortOptions options) {
+        List<String> leafFieldPaths = ExcelRenderResourceFactory.getTemplate(type).getLeafFieldPaths();
+        int[] keyIndexes = options.getFieldPaths().stream()
+                .mapToInt(fieldPath -> {
+                    int index = leafFieldPaths.indexOf(fieldPath);
+                    if (index < 0) {
+                        throw new IllegalArgumentException(String.format(
+                                "Sort field path %s is not an @ExcelColumn field of %s", fieldPath, type));
+                    }
+                    return index;
+                })
+                .toArray();
+
+        this.options = options;
+        this.codec = new ExcelRowCodec<>(type, leafFieldPaths);
+        this.rowComparator = rowComparator(keyIndexes, options.isDescending());
+    }
+
+    public void add(T row) {
+        buffer.add(codec.extract(row));
+        if (buffer.size() >= options.getMaxRowsInMemory()) {
+            spillBuffer();
+        }
+    }
+
+    public void addAll(Iterable<? extends T> rows) {
+        for (T row : rows) {
+            add(row);
+        }
+    }
+
+    /**
+     * 정렬된 순서로 행을 ExcelFile에 추가합니다. 호출 후 run 파일은 삭제되며 sorter는 다시 사용할 수 없습니다.
+     *
+     * @param excelFile 행을 추가할 ExcelFile
+     * @return 전달받은 excelFile
+     */
+    public <F extends ExcelFile<T>> F sortInto(F excelFile) {
+        try {
+            if (runs.isEmpty()) {
+                buffer.sort(rowComparator);
+                List<T> batch = new ArrayList<>(ADD_ROWS_BATCH_SIZE);
+                for (Object[] values : buffer) {
+                    emit(values, batch, excelFile);
+                }
+                flush(batch, excelFile);
+                return excelFile;
+            }
+
+            spillBuffer();
+            List<Run> mergeRuns = new ArrayList<>(runs);
+            while (mergeRuns.size() > options.getMaxMergeFanIn()) {
+                mergeRuns = mergePass(mergeRuns);
+            }
+            mergeInto(mergeRuns, excelFile);
+            return excelFile;
+        } catch (IOException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * 남은 run 파일을 삭제합니다.
+     */
+    @Override
+    public void close() {
+        buffer = new ArrayList<>();
+        for (Run run : runs) {
+            run.file().toFile().delete();
+        }
+        runs.clear();
+    }
+
+    /**
+     * @return 지금까지 임시 파일로 내려 쓴 run 수
+     */
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    private void spillBuffer() {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        buffer.sort(rowComparator);
+        try {
+            Path file = Files.createTempFile(options.getTempDirectory(), "excel-sort-", ".run");
+            Run run = new Run(file, buffer.size());
+            runs.add(run);
+            try (RunWriter writer = new RunWriter(file)) {
+                for (Object[] values : buffer) {
+                    writer.write(values);
+                }
+            }
+        } catch (IOException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+        buffer = new ArrayList<>();
+    }
+
+    /**
+     * run을 maxMergeFanIn개씩 병합하여 run 수를 줄입니다.
+     */
+    private List<Run> mergePass(List<Run> mergeRuns) throws IOException {
+        List<Run> mergedRuns = new ArrayList<>();
+        for (int from = 0; from < mergeRuns.size(); from += options.getMaxMergeFanIn()) {
+            List<Run> group = mergeRuns.subList(from, Math.min(mergeRuns.size(), from + options.getMaxMergeFanIn()));
+            if (group.size() == 1) {
+                mergedRuns.add(group.get(0));
+                continue;
+            }
+            Path file = Files.createTempFile(options.getTempDirectory(), "excel-sort-", ".run");
+            long rowCount = group.stream().mapToLong(Run::rowCount).sum();
+            Run mergedRun = new Run(file, rowCount);
+            runs.add(mergedRun);
+            try (RunWriter writer = new RunWriter(file)) {
+                merge(group, writer::write);
+            }
+            for (Run run : group) {
+                run.file().toFile().delete();
+            }
+            mergedRuns.add(mergedRun);
+        }
+        return mergedRuns;
+    }
+
+    private void mergeInto(List<Run> mergeRuns, ExcelFile<T> excelFile) throws IOException {
+        List<T> batch = new ArrayList<>(ADD_ROWS_BATCH_SIZE);
+        merge(mergeRuns, values -> emit(values, batch, excelFile));
+        flush(batch, excelFile);
+    }
+
+    /**
+     * run들을 k-way 병합합니다. 키가 같으면 앞선 run의 행을 먼저 내보내 입력 순서를 유지합니다.
+     */
+    private void merge(List<Run> mergeRuns, RowConsumer consumer) throws IOException {
+        List<RunReader> readers = new ArrayList<>();
+        try {
+            PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator
+                    .comparing((RunReader reader) -> reader.current, rowComparator)
+                    .thenComparingInt(reader -> reader.order));
+            for (Run run : mergeRuns) {
+                RunReader reader = new RunReader(run, readers.size());
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                consumer.accept(reader.current);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private void emit(Object[] values, List<T> batch, ExcelFile<T> excelFile) {
+        batch.add(codec.toObject(values));
+        if (batch.size() == ADD_ROWS_BATCH_SIZE) {
+            flush(batch, excelFile);
+        }
+    }
+
+    private void flush(List<T> batch, ExcelFile<T> excelFile) {
+        if (!batch.isEmpty()) {
+            excelFile.addRows(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+    /**
+     * 정렬 키 값을 차례로 비교합니다. 값은 Comparable이어야 하며 null은 정렬 방향과 관계없이 마지막입니다.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Object[]> rowComparator(int[] keyIndexes, boolean descending) {
+        return (left, right) -> {
+            for (int keyIndex : keyIndexes) {
+                Object leftValue = left[keyIndex];
+                Object rightValue = right[keyIndex];
+                if (leftValue == null || rightValue == null) {
+                    if (leftValue != rightValue) {
+                        return leftValue == null ? 1 : -1;
+                    }
+                    continue;
+                }
+                int result = ((Comparable) leftValue).compareTo(rightValue);
+                if (result != 0) {
+                    return descending ? -result : result;
+                }
+            }
+            return 0;
+        };
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(Object[] values) throws IOException;
+    }
+
+    private record Run(Path file, long rowCount) {
+    }
+
+    private final class RunWriter implements Closeable {
+
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final DataOutputStream out;
+
+        private RunWriter(Path file) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    new DeflaterOutputStream(Files.newOutputStream(file), deflater), BUFFER_SIZE));
+        }
+
+        private void write(Object[] values) throws IOException {
+            codec.write(out, values);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.close();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+    private final class RunReader implements Closeable {
+
+        private final int order;
+        private final DataInputStream in;
+        private long remaining;
+        private Object[] current;
+
+        private RunReader(Run run, int order) throws IOException {
+            this.order = order;
+            this.remaining = run.rowCount();
+            this.in = new DataInputStream(new BufferedInputStream(
+                    new InflaterInputStream(Files.newInputStream(run.file())), BUFFER_SIZE));
+        }
+
+        private boolean next() throws IOException {
+            if (remaining == 0) {
+                current = null;
+                return false;
+            }
+            current = codec.read(in);
+            remaining--;
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+package com.lannstark.excel.sort;
+
+import com.lannstark.exception.ExcelInternalException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static com.lannstark.utils.SuperClassReflectionUtils.getValue;
+import static com.lannstark.utils.SuperClassReflectionUtils.resolveFieldChain;
+
+/**
+ * 정렬 run 파일의 행 형식입니다. DTO 전체가 아니라 렌더링되는 말단 필드 값만 열 순서대로 저장합니다.
+ * 값마다 1바이트 타입 태그 뒤에 값을 쓰며, 자주 쓰는 타입은 고정 길이 또는 길이+UTF-8로 저장하고
+ * 그 외의 Serializable 값만 Java 직렬화를 사용합니다.
+ *
+ * 읽을 때는 SAXExcelReader와 같이 기본 생성자로 DTO와 중첩 DTO를 만들어 말단 필드를 채웁니다.
+ */
+final class ExcelRowCodec<T> {
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte INT = 2;
+    private static final byte LONG = 3;
+    private static final byte DOUBLE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte SHORT = 6;
+    private static final byte BYTE = 7;
+    private static final byte BOOLEAN = 8;
+    private static final byte CHAR = 9;
+    private static final byte BIG_DECIMAL = 10;
+    private static final byte BIG_INTEGER = 11;
+    private static final byte LOCAL_DATE = 12;
+    private static final byte LOCAL_DATE_TIME = 13;
+    private static final byte ENUM = 14;
+    private static final byte SERIALIZED = 15;
+
+    private final Class<T> type;
+    private final Field[][] fieldChains;
+
+    ExcelRowCodec(Class<T> type, List<String> leafFieldPaths) {
+        this.type = type;
+        this.fieldChains = new Field[leafFieldPaths.size()][];
+        for (int i = 0; i < leafFieldPaths.size(); i++) {
+            fieldChains[i] = resolveFieldChain(type, leafFieldPaths.get(i));
+        }
+    }
+
+    int getColumnCount() {
+        return fieldChains.length;
+    }
+
+    /**
+     * DTO에서 열 순서의 말단 필드 값을 꺼냅니다. 중간 객체가 null이면 값도 null입니다.
+     */
+    Object[] extract(T data) {
+        Object[] values = new Object[fieldChains.length];
+        for (int columnIndex = 0; columnIndex < fieldChains.length; columnIndex++) {
+            values[columnIndex] = getValue(data, fieldChains[columnIndex]);
+        }
+        return values;
+    }
+
+    /**
+     * 말단 필드 값으로 DTO를 만듭니다.
+     */
+    T toObject(Object[] values) {
+        try {
+            T result = newInstance(type);
+            for (int columnIndex = 0; columnIndex < fieldChains.length; columnIndex++) {
+                if (values[columnIndex] != null) {
+                    setValue(result, fieldChains[columnIndex], values[columnIndex]);
+                }
+            }
+            return result;
+        } catch (ReflectiveOperationException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+    }
+
+    void write(DataOutput out, Object[] values) throws IOException {
+        for (Object value : values) {
+            writeValue(out, value);
+        }
+    }
+
+    Object[] read(DataInput in) throws IOException {
+        Object[] values = new Object[fieldChains.length];
+        for (int columnIndex = 0; columnIndex < fieldChains.length; columnIndex++) {
+            Field leafField = fieldChains[columnIndex][fieldChains[columnIndex].length - 1];
+            values[columnIndex] = readValue(in, leafField.getType());
+        }
+        return values;
+    }
+
+    private static void writeValue(DataOutput out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String stringValue) {
+            out.writeByte(STRING);
+            writeString(out, stringValue);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(INT);
+            out.writeInt(intValue);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Float floatValue) {
+            out.writeByte(FLOAT);
+            out.writeFloat(floatValue);
+        } else if (value instanceof Short shortValue) {
+            out.writeByte(SHORT);
+            out.writeShort(shortValue);
+        } else if (value instanceof Byte byteValue) {
+            out.writeByte(BYTE);
+            out.writeByte(byteValue);
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else if (value instanceof Character charValue) {
+            out.writeByte(CHAR);
+            out.writeChar(charValue);
+        } else if (value instanceof BigDecimal bigDecimalValue) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, bigDecimalValue.toString());
+        } else if (value instanceof BigInteger bigIntegerValue) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, bigIntegerValue.toString());
+        } else if (value instanceof LocalDate localDate) {
+            out.writeByte(LOCAL_DATE);
+            out.writeLong(localDate.toEpochDay());
+        } else if (value instanceof LocalDateTime localDateTime) {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeLong(localDateTime.toLocalDate().toEpochDay());
+            out.writeLong(localDateTime.toLocalTime().toNanoOfDay());
+        } else if (value instanceof Enum<?> enumValue) {
+            out.writeByte(ENUM);
+            writeString(out, enumValue.name());
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectStream = new ObjectOutputStream(bytes)) {
+                objectStream.writeObject(value);
+            }
+            out.writeInt(bytes.size());
+            out.write(bytes.toByteArray());
+        } else {
+            throw new ExcelInternalException(String.format("Can not sort rows with a value of %s, "
+                    + "the value should be Serializable", value.getClass()), null);
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readValue(DataInput in, Class<?> fieldType) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case STRING -> readString(in);
+            case INT -> in.readInt();
+            case LONG -> in.readLong();
+            case DOUBLE -> in.readDouble();
+            case FLOAT -> in.readFloat();
+            case SHORT -> in.readShort();
+            case BYTE -> in.readByte();
+            case BOOLEAN -> in.readBoolean();
+            case CHAR -> in.readChar();
+            case BIG_DECIMAL -> new BigDecimal(readString(in));
+            case BIG_INTEGER -> new BigInteger(readString(in));
+            case LOCAL_DATE -> LocalDate.ofEpochDay(in.readLong());
+            case LOCAL_DATE_TIME -> LocalDateTime.of(LocalDate.ofEpochDay(in.readLong()),
+                    LocalTime.ofNanoOfDay(in.readLong()));
+            case ENUM -> Enum.valueOf((Class<? extends Enum>) fieldType, readString(in));
+            case SERIALIZED -> readSerialized(in);
+            default -> throw new ExcelInternalException(String.format("Unknown value tag %s in sort run", tag), null);
+        };
+    }
+
+    /**
+     * 길이를 가변 길이 정수로 쓰고 UTF-8 바이트를 씁니다. (DataOutput.writeUTF의 64KB 제한 없음)
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            out.writeByte((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Object readSerialized(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try (ObjectInputStream objectStream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return objectStream.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+    }
+
+    private static void setValue(Object root, Field[] fieldChain, Object value) throws ReflectiveOperationException {
+        Object target = root;
+        for (int depth = 0; depth < fieldChain.length - 1; depth++) {
+            Field field = fieldChain[depth];
+            Object child = field.get(target);
+            if (child == null) {
+                child = newInstance(field.getType());
+                field.set(target, child);
+            }
+            target = child;
+        }
+        fieldChain[fieldChain.length - 1].set(target, value);
+    }
+
+    private static <R> R newInstance(Class<R> clazz) throws ReflectiveOperationException {
+        Constructor<R> constructor = clazz.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.lannstark.excel.sort;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 렌더링 전에 행을 정렬하는 기준과 메모리 사용량을 지정합니다.
+ *  - fieldPaths: 정렬 기준 필드 경로, @ExcelColumn 말단 필드여야 합니다. (예: "deptInfo,deptName")
+ *  - descending: 내림차순 여부, null 값은 항상 마지막
+ *  - maxRowsInMemory: 메모리에서 정렬할 최대 행 수, 넘으면 정렬한 run을 임시 파일로 내려 씀
+ *  - maxMergeFanIn: 한 번에 병합할 최대 run 수, 넘으면 run을 단계적으로 병합
+ *  - tempDirectory: run 임시 파일을 저장할 디렉토리
+ */
+@Getter
+public class ExcelSortOptions {
+
+    private List<String> fieldPaths = List.of();
+    private boolean descending;
+    private int maxRowsInMemory = 100_000;
+    private int maxMergeFanIn = 64;
+    private Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    public static ExcelSortOptions by(String... fieldPaths) {
+        if (fieldPaths.length == 0) {
+            throw new IllegalArgumentException("At least one field path is needed to sort");
+        }
+        ExcelSortOptions options = new ExcelSortOptions();
+        options.fieldPaths = List.of(fieldPaths);
+        return options;
+    }
+
+    public ExcelSortOptions descending() {
+        this.descending = true;
+        return this;
+    }
+
+    public ExcelSortOptions maxRowsInMemory(int maxRowsInMemory) {
+        if (maxRowsInMemory < 1) {
+            throw new IllegalArgumentException("maxRowsInMemory should be at least 1");
+        }
+        this.maxRowsInMemory = maxRowsInMemory;
+        return this;
+    }
+
+    public ExcelSortOptions maxMergeFanIn(int maxMergeFanIn) {
+        if (maxMergeFanIn < 2) {
+            throw new IllegalArgumentException("maxMergeFanIn should be at least 2");
+        }
+        this.maxMergeFanIn = maxMergeFanIn;
+        return this;
+    }
+
+    public ExcelSortOptions tempDirectory(Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+        return this;
+    }
+
+}
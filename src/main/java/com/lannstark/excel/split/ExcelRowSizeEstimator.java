@@ -0,0 +1,144 @@
+package com.lannstark.excel.split;
+
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.ExcelRenderTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 데이터 일부를 시트 XML로 변환하고 압축해서 행당 압축 후 바이트 수를 추정합니다.
+ * 전체 데이터에서 고르게 뽑은 샘플을 사용하므로 앞쪽 데이터만 짧거나 긴 경우에도 추정이 크게 어긋나지 않습니다.
+ */
+public final class ExcelRowSizeEstimator {
+
+    private static final int DEFAULT_SAMPLE_ROWS = 1000;
+
+    private ExcelRowSizeEstimator() {
+
+    }
+
+    public static double estimateCompressedBytesPerRow(Class<?> type, List<?> data) {
+        return estimateCompressedBytesPerRow(type, data, Deflater.DEFAULT_COMPRESSION, ", ");
+    }
+
+    /**
+     * @param type 렌더링할 데이터 타입
+     * @param data 전체 데이터
+     * @param compressionLevel 실제 파일에 사용할 DEFLATE 압축 레벨
+     * @param listSeparator List 값 구분자
+     * @return 행당 압축 후 예상 바이트 수, 데이터가 없으면 0
+     */
+    public static double estimateCompressedBytesPerRow(Class<?> type, List<?> data, int compressionLevel,
+                                                       String listSeparator) {
+        return measure(type, data, compressionLevel, listSeparator).compressedBytesPerRow();
+    }
+
+    /**
+     * 샘플 행을 시트 XML로 쓰고 압축하여 행당 크기와 시간을 측정합니다.
+     * 시간은 JIT 컴파일 전의 비용이 섞이지 않도록 같은 샘플을 한 번 더 쓴 결과를 사용합니다.
+     *
+     * @param type 렌더링할 데이터 타입
+     * @param data 전체 데이터 또는 샘플
+     * @param compressionLevel 실제 파일에 사용할 DEFLATE 압축 레벨
+     * @param listSeparator List 값 구분자
+     * @return 행당 크기와 시간, 데이터가 없으면 모두 0
+     */
+    public static RowSize measure(Class<?> type, List<?> data, int compressionLevel, String listSeparator) {
+        if (data.isEmpty()) {
+            return new RowSize(0, 0, 0);
+        }
+
+        ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(type);
+        int[] styleIndexes = new int[template.getLeafFieldPaths().size()];
+        // 실제 스타일 인덱스와 자릿수가 비슷하도록 1 이상의 값 사용
+        Arrays.fill(styleIndexes, 1);
+        SheetRowXmlWriter rowWriter = new SheetRowXmlWriter(type, template.getLeafFieldPaths(), 0, styleIndexes,
+                listSeparator);
+
+        int sampleRows = Math.min(DEFAULT_SAMPLE_ROWS, data.size());
+        writeSample(rowWriter, template, data, sampleRows, compressionLevel);
+        long start = System.nanoTime();
+        long[] counts = writeSample(rowWriter, template, data, sampleRows, compressionLevel);
+        long elapsed = System.nanoTime() - start;
+        return new RowSize((double) counts[0] / sampleRows, (double) counts[1] / sampleRows,
+                (double) elapsed / sampleRows);
+    }
+
+    /**
+     * @return {압축 전 바이트 수, 압축 후 바이트 수}
+     */
+    private static long[] writeSample(SheetRowXmlWriter rowWriter, ExcelRenderTemplate template, List<?> data,
+                                      int sampleRows, int compressionLevel) {
+        double stride = (double) data.size() / sampleRows;
+        CountingOutputStream compressed = new CountingOutputStream();
+        Deflater deflater = new Deflater(compressionLevel, true);
+        CountingOutputStream uncompressed = new CountingOutputStream(new DeflaterOutputStream(compressed, deflater));
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(uncompressed, StandardCharsets.UTF_8))) {
+            for (int i = 0; i < sampleRows; i++) {
+                int rowIndex = (int) (i * stride);
+                rowWriter.writeRow(writer, rowIndex + template.getHeaderHeight(), data.get(rowIndex));
+            }
+        } catch (IOException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        } finally {
+            deflater.end();
+        }
+        return new long[]{uncompressed.count, compressed.count};
+    }
+
+    /**
+     * 샘플로 측정한 행당 크기와 시간
+     *
+     * @param uncompressedBytesPerRow 행당 시트 XML 바이트 수 (SXSSF 임시 파일에 쓰이는 크기)
+     * @param compressedBytesPerRow 행당 압축 후 바이트 수
+     * @param writeNanosPerRow 행당 시트 XML 변환과 압축 시간
+     */
+    public record RowSize(double uncompressedBytesPerRow, double compressedBytesPerRow, double writeNanosPerRow) {
+    }
+
+    /**
+     * 지나간 바이트 수를 세는 OutputStream, 감싼 스트림이 없으면 버림
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private long count;
+
+        private CountingOutputStream() {
+            this(OutputStream.nullOutputStream());
+        }
+
+        private CountingOutputStream(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+}
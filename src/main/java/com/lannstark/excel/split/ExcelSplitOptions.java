@@ -0,0 +1,55 @@
+package com.lannstark.excel.split;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * 엑셀 파일을 여러 파일로 나누는 기준을 지정합니다. 두 기준을 모두 지정하면 먼저 도달하는 기준으로 나눕니다.
+ *  - maxRowsPerFile: 파일당 최대 본문 행 수
+ *  - maxBytesPerFile: 파일당 최대 크기 (압축 후 예상 바이트, 샘플 행을 압축해서 추정)
+ *  - parallelism: 동시에 렌더링할 파일 수
+ *  - tempDirectory: ZIP으로 보낼 때 렌더링한 파일을 잠시 저장할 디렉토리
+ */
+@Getter
+public class ExcelSplitOptions {
+
+    private int maxRowsPerFile = Integer.MAX_VALUE;
+    private long maxBytesPerFile = Long.MAX_VALUE;
+    private int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private Path tempDirectory = Path.of(System.getProperty("java.io.tmpdir"));
+
+    public static ExcelSplitOptions defaults() {
+        return new ExcelSplitOptions();
+    }
+
+    public ExcelSplitOptions maxRowsPerFile(int maxRowsPerFile) {
+        if (maxRowsPerFile < 1) {
+            throw new IllegalArgumentException("maxRowsPerFile should be at least 1");
+        }
+        this.maxRowsPerFile = maxRowsPerFile;
+        return this;
+    }
+
+    public ExcelSplitOptions maxBytesPerFile(long maxBytesPerFile) {
+        if (maxBytesPerFile < 1) {
+            throw new IllegalArgumentException("maxBytesPerFile should be at least 1");
+        }
+        this.maxBytesPerFile = maxBytesPerFile;
+        return this;
+    }
+
+    public ExcelSplitOptions parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ExcelSplitOptions tempDirectory(Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+        return this;
+    }
+
+}
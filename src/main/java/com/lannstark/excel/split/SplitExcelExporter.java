@@ -0,0 +1,212 @@
+package com.lannstark.excel.split;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.sxssf.multiplesheet.MultiSheetExcelFile;
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.ZipEntry;
+
+/**
+ * 데이터를 행 수 또는 예상 파일 크기 기준으로 나누어 여러 엑셀 파일로 만듭니다.
+ * 각 파일은 자신의 헤더를 가지며, 나눈 파일들은 동시에 렌더링됩니다.
+ * 결과는 디렉토리의 파일 목록으로 받거나, 엑셀 파일들을 담은 ZIP으로 스트리밍할 수 있습니다.
+ *
+ * @param <T> 렌더링할 데이터 타입
+ */
+public class SplitExcelExporter<T> {
+
+    // 파일마다 고정으로 들어가는 파트(styles.xml, 헤더, 메타데이터 등)의 예상 크기
+    private static final long FILE_OVERHEAD_BYTES = 8 * 1024;
+
+    private final Class<T> type;
+    private final Function<List<T>, ? extends ExcelFile<T>> fileFactory;
+    private ExcelSplitOptions options = ExcelSplitOptions.defaults();
+
+    public SplitExcelExporter(Class<T> type) {
+        this(type, data -> new MultiSheetExcelFile<>(data, type));
+    }
+
+    /**
+     * @param type 렌더링할 데이터 타입
+     * @param fileFactory 나눈 데이터로 ExcelFile을 만드는 함수, 파일마다 별도의 스레드에서 호출됩니다.
+     */
+    public SplitExcelExporter(Class<T> type, Function<List<T>, ? extends ExcelFile<T>> fileFactory) {
+        this.type = type;
+        this.fileFactory = fileFactory;
+    }
+
+    public void setSplitOptions(ExcelSplitOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * 파일당 본문 행 수를 계산합니다. 크기 기준은 샘플 행을 압축해서 추정한 행당 크기를 사용합니다.
+     *
+     * @param data 전체 데이터
+     * @return 파일당 본문 행 수
+     */
+    public int getRowsPerFile(List<T> data) {
+        long rowsPerFile = options.getMaxRowsPerFile();
+        if (options.getMaxBytesPerFile() != Long.MAX_VALUE && !data.isEmpty()) {
+            double bytesPerRow = ExcelRowSizeEstimator.estimateCompressedBytesPerRow(type, data);
+            long bytesForRows = Math.max(0, options.getMaxBytesPerFile() - FILE_OVERHEAD_BYTES);
+            rowsPerFile = Math.min(rowsPerFile, (long) (bytesForRows / Math.max(bytesPerRow, 1)));
+        }
+        return (int) Math.max(1, rowsPerFile);
+    }
+
+    /**
+     * 나눈 엑셀 파일들을 디렉토리에 씁니다. 파일 이름은 baseName-1.xlsx, baseName-2.xlsx, ... 이고,
+     * 이름 순으로 정렬되도록 번호는 전체 파일 개수의 자릿수만큼 0으로 채웁니다. (예: 12개면 baseName-01.xlsx)
+     *
+     * @param data 전체 데이터
+     * @param directory 파일을 쓸 디렉토리
+     * @param baseName 파일 이름
+     * @return 순서대로 정렬된 파일 경로
+     */
+    public List<Path> writeFiles(List<T> data, Path directory, String baseName) throws IOException {
+        Files.createDirectories(directory);
+        List<List<T>> chunks = split(data);
+        ExecutorService executor = newExecutor(chunks.size());
+        try {
+            List<Future<RenderedPart>> futures = new ArrayList<>();
+            for (int i = 0; i < chunks.size(); i++) {
+                Path file = directory.resolve(fileName(baseName, i, chunks.size()));
+                List<T> chunk = chunks.get(i);
+                futures.add(executor.submit(() -> render(chunk, file)));
+            }
+
+            List<Path> files = new ArrayList<>();
+            for (Future<RenderedPart> future : futures) {
+                files.add(await(future).file());
+            }
+            return files;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 나눈 엑셀 파일들을 ZIP으로 묶어서 출력 스트림에 씁니다. 출력 스트림은 닫지 않습니다.
+     * 파일은 동시에 렌더링되고, 앞 순서의 파일부터 렌더링이 끝나는 대로 ZIP에 추가됩니다.
+     * xlsx는 이미 압축되어 있으므로 ZIP에는 다시 압축하지 않고 저장합니다.
+     *
+     * @param data 전체 데이터
+     * @param baseName ZIP 안의 파일 이름. 번호를 붙이는 규칙은 {@link #writeFiles}와 같습니다.
+     * @param out 출력 스트림
+     */
+    public void writeZip(List<T> data, String baseName, OutputStream out) throws IOException {
+        List<List<T>> chunks = split(data);
+        ExecutorService executor = newExecutor(chunks.size());
+        List<Future<RenderedPart>> futures = new ArrayList<>();
+        List<Path> tempFiles = new ArrayList<>();
+        try {
+            for (List<T> chunk : chunks) {
+                Path tempFile = Files.createTempFile(options.getTempDirectory(), "split-", ".xlsx");
+                tempFiles.add(tempFile);
+                futures.add(executor.submit(() -> render(chunk, tempFile)));
+            }
+
+            // 출력 스트림을 닫지 않도록 close 없이 finish만 호출
+            ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out);
+            zip.setUseZip64(Zip64Mode.AsNeeded);
+            for (int i = 0; i < futures.size(); i++) {
+                RenderedPart part = await(futures.get(i));
+                try {
+                    ZipArchiveEntry entry = new ZipArchiveEntry(fileName(baseName, i, futures.size()));
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(part.size());
+                    entry.setCompressedSize(part.size());
+                    entry.setCrc(part.crc());
+                    try (InputStream partStream = Files.newInputStream(part.file())) {
+                        zip.addRawArchiveEntry(entry, partStream);
+                    }
+                } finally {
+                    Files.deleteIfExists(part.file());
+                }
+            }
+            zip.finish();
+            out.flush();
+        } finally {
+            executor.shutdownNow();
+            for (Path tempFile : tempFiles) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private List<List<T>> split(List<T> data) {
+        int rowsPerFile = getRowsPerFile(data);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < data.size(); from += rowsPerFile) {
+            chunks.add(data.subList(from, Math.min(data.size(), from + rowsPerFile)));
+        }
+        // 데이터가 없어도 헤더만 있는 파일 하나는 생성
+        if (chunks.isEmpty()) {
+            chunks.add(List.of());
+        }
+        return chunks;
+    }
+
+    /**
+     * 파일 하나를 렌더링합니다. ZIP에 저장할 때 필요한 크기와 CRC를 쓰면서 함께 계산합니다.
+     */
+    private RenderedPart render(List<T> chunk, Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        ExcelFile<T> excelFile = fileFactory.apply(chunk);
+        excelFile.write(new CheckedOutputStream(Files.newOutputStream(file), crc));
+        return new RenderedPart(file, Files.size(file), crc.getValue());
+    }
+
+    private RenderedPart await(Future<RenderedPart> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelInternalException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof ExcelInternalException internalException) {
+                throw internalException;
+            }
+            throw new ExcelInternalException(cause.getMessage(), cause);
+        }
+    }
+
+    private ExecutorService newExecutor(int fileCount) {
+        return Executors.newFixedThreadPool(Math.min(options.getParallelism(), fileCount), runnable -> {
+            Thread thread = new Thread(runnable, "excel-split");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static String fileName(String baseName, int index, int fileCount) {
+        int digits = Integer.toString(fileCount).length();
+        return String.format("%s-%0" + digits + "d.xlsx", baseName, index + 1);
+    }
+
+    private record RenderedPart(Path file, long size, long crc) {
+    }
+
+}
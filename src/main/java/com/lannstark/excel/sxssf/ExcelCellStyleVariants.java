@@ -0,0 +1,97 @@
+package com.lannstark.excel.sxssf;
+
+import com.lannstark.resource.ExcelRenderLocation;
+import com.lannstark.resource.ExcelRenderResource;
+import com.lannstark.style.ExcelCellStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 본문 셀 값에 따라 열의 기본 스타일 대신 변형 스타일을 적용합니다. (예: 음수 금액, 기한이 지난 날짜)
+ * 변형 스타일은 (열, 변형 번호) 배열에 처음 사용될 때 한 번만 만들고, 기본 스타일과 변형 정의가 같으면
+ * 워크북의 CellStyle을 공유하므로 셀마다 CellStyle을 만들지 않습니다.
+ * 규칙이 없는 열은 배열 조회 한 번으로 기본 스타일을 반환합니다.
+ */
+public final class ExcelCellStyleVariants {
+
+	// 파일 하나에 지정할 수 있는 변형 스타일 수, 엑셀의 셀 스타일 수 제한(64,000)보다 충분히 작게 유지
+	public static final int MAX_VARIANTS = 1024;
+
+	private static final Rule[] NO_RULES = new Rule[0];
+
+	private final ExcelRenderResource resource;
+	private final List<String> leafFieldPaths;
+	private final CellStyle[] baseStyles;
+	private final Rule[][] rules;
+	private final CellStyle[][] variantStyles;
+	private int variantCount;
+
+	public ExcelCellStyleVariants(ExcelRenderResource resource) {
+		this.resource = resource;
+		this.leafFieldPaths = resource.getLeafFieldPaths();
+		int columnCount = leafFieldPaths.size();
+		this.baseStyles = new CellStyle[columnCount];
+		this.rules = new Rule[columnCount][];
+		this.variantStyles = new CellStyle[columnCount][];
+		for (int i = 0; i < columnCount; i++) {
+			baseStyles[i] = resource.getCellStyle(leafFieldPaths.get(i), ExcelRenderLocation.BODY);
+			rules[i] = NO_RULES;
+		}
+	}
+
+	/**
+	 * 열에 규칙을 추가합니다. 먼저 추가한 규칙이 우선하며, 규칙의 번호가 변형 번호가 됩니다.
+	 * @param columnIndex 말단 필드 기준 열 인덱스
+	 * @param condition null이 아닌 셀 값에 대해 평가할 조건
+	 * @param style 기본 스타일 위에 덧씌울 스타일
+	 */
+	public void addRule(int columnIndex, Predicate<Object> condition, ExcelCellStyle style) {
+		if (variantCount >= MAX_VARIANTS) {
+			throw new IllegalStateException(String.format("Style variants can not exceed %s", MAX_VARIANTS));
+		}
+		Rule[] columnRules = Arrays.copyOf(rules[columnIndex], rules[columnIndex].length + 1);
+		columnRules[columnRules.length - 1] = new Rule(condition, style);
+		rules[columnIndex] = columnRules;
+		variantStyles[columnIndex] = variantStyles[columnIndex] == null
+				? new CellStyle[1]
+				: Arrays.copyOf(variantStyles[columnIndex], columnRules.length);
+		variantCount++;
+	}
+
+	/**
+	 * @return 셀 값에 맞는 변형 스타일, 맞는 규칙이 없거나 값이 null이면 열의 기본 스타일
+	 */
+	public CellStyle resolve(int columnIndex, Object cellValue) {
+		Rule[] columnRules = rules[columnIndex];
+		if (columnRules.length == 0 || cellValue == null) {
+			return baseStyles[columnIndex];
+		}
+		for (int variantId = 0; variantId < columnRules.length; variantId++) {
+			if (columnRules[variantId].condition().test(cellValue)) {
+				return getVariant(columnIndex, variantId);
+			}
+		}
+		return baseStyles[columnIndex];
+	}
+
+	public int getVariantCount() {
+		return variantCount;
+	}
+
+	private CellStyle getVariant(int columnIndex, int variantId) {
+		CellStyle cellStyle = variantStyles[columnIndex][variantId];
+		if (cellStyle == null) {
+			cellStyle = resource.getCellStyleVariant(leafFieldPaths.get(columnIndex), ExcelRenderLocation.BODY,
+					rules[columnIndex][variantId].style());
+			variantStyles[columnIndex][variantId] = cellStyle;
+		}
+		return cellStyle;
+	}
+
+	private record Rule(Predicate<Object> condition, ExcelCellStyle style) {
+	}
+
+}
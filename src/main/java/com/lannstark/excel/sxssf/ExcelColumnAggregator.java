@@ -0,0 +1,102 @@
+package com.lannstark.excel.sxssf;
+
+import com.lannstark.ExcelAggregate;
+
+import java.util.Arrays;
+
+/**
+ * 본문을 렌더링하면서 열별 footer 집계 값을 계산합니다.
+ * 행마다 객체를 만들지 않도록 열별 상태를 primitive 배열로 보관하며, 시트마다 reset하여 다시 사용합니다.
+ */
+public final class ExcelColumnAggregator {
+
+	private final ExcelAggregate[] aggregates;
+	private final long[] counts;
+	private final long[] numericCounts;
+	private final double[] sums;
+	private final double[] mins;
+	private final double[] maxs;
+	private boolean active;
+
+	public ExcelColumnAggregator(int columnCount) {
+		this.aggregates = new ExcelAggregate[columnCount];
+		Arrays.fill(aggregates, ExcelAggregate.NONE);
+		this.counts = new long[columnCount];
+		this.numericCounts = new long[columnCount];
+		this.sums = new double[columnCount];
+		this.mins = new double[columnCount];
+		this.maxs = new double[columnCount];
+		reset();
+	}
+
+	public void setAggregate(int columnIndex, ExcelAggregate aggregate) {
+		aggregates[columnIndex] = aggregate != null ? aggregate : ExcelAggregate.NONE;
+		active = Arrays.stream(aggregates).anyMatch(value -> value != ExcelAggregate.NONE);
+	}
+
+	public ExcelAggregate getAggregate(int columnIndex) {
+		return aggregates[columnIndex];
+	}
+
+	public int getColumnCount() {
+		return aggregates.length;
+	}
+
+	/**
+	 * @return 집계할 열이 하나라도 있는 경우 true
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * 열 값 하나를 집계합니다.
+	 *
+	 * @param columnIndex 0부터 시작하는 말단 필드 순서
+	 * @param value 셀 값
+	 */
+	public void accept(int columnIndex, Object value) {
+		if (value == null || aggregates[columnIndex] == ExcelAggregate.NONE) {
+			return;
+		}
+		counts[columnIndex]++;
+		if (value instanceof Number numberValue) {
+			double doubleValue = numberValue.doubleValue();
+			numericCounts[columnIndex]++;
+			sums[columnIndex] += doubleValue;
+			if (doubleValue < mins[columnIndex]) {
+				mins[columnIndex] = doubleValue;
+			}
+			if (doubleValue > maxs[columnIndex]) {
+				maxs[columnIndex] = doubleValue;
+			}
+		}
+	}
+
+	/**
+	 * @return 집계 결과, 숫자 값이 없어 AVERAGE, MIN, MAX를 계산할 수 없으면 NaN
+	 */
+	public double getResult(int columnIndex) {
+		long numericCount = numericCounts[columnIndex];
+		return switch (aggregates[columnIndex]) {
+			case SUM -> sums[columnIndex];
+			case COUNT -> counts[columnIndex];
+			case AVERAGE -> numericCount == 0 ? Double.NaN : sums[columnIndex] / numericCount;
+			case MIN -> numericCount == 0 ? Double.NaN : mins[columnIndex];
+			case MAX -> numericCount == 0 ? Double.NaN : maxs[columnIndex];
+			case NONE -> Double.NaN;
+		};
+	}
+
+	/**
+	 * 다음 시트를 위해 집계 값을 초기화합니다.
+	 */
+	public void reset() {
+		Arrays.fill(counts, 0);
+		Arrays.fill(numericCounts, 0);
+		Arrays.fill(sums, 0);
+		Arrays.fill(mins, Double.POSITIVE_INFINITY);
+		Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.lannstark.excel.sxssf;
+
+import com.lannstark.resource.ExcelHeader;
+import com.lannstark.resource.ExcelHeaderCell;
+import com.lannstark.resource.ExcelRenderLocation;
+import com.lannstark.resource.ExcelRenderResource;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시트에 헤더 행을 렌더링합니다. 워크북마다 하나씩 사용합니다.
+ * 병합된 헤더 셀의 테두리 스타일은 워크북 단위로 캐시되어,
+ * 새 시트(MultiSheetExcelFile의 다음 시트, 다른 타입의 시트 등)를 만들 때마다 다시 생성하지 않습니다.
+ */
+public class ExcelHeaderRenderer {
+
+	private static final int BORDER_TOP = 1;
+	private static final int BORDER_BOTTOM = 1 << 1;
+	private static final int BORDER_LEFT = 1 << 2;
+	private static final int BORDER_RIGHT = 1 << 3;
+
+	private final Workbook wb;
+
+	// 병합된 헤더 셀의 테두리 스타일 캐시 (기존 스타일 인덱스, 테두리 위치)
+	private final Map<Long, CellStyle> mergedBorderStyles = new HashMap<>();
+
+	public ExcelHeaderRenderer(Workbook wb) {
+		this.wb = wb;
+	}
+
+    /**
+     * 주어진 시트에 헤더를 생성하고 렌더링합니다.
+     * 헤더의 셀 병합 및 스타일 지정 작업도 이 메서드에서 수행됩니다.
+     *
+     * @param sheet 헤더를 생성할 대상 시트
+     * @param resource 시트에 렌더링할 타입의 렌더링 리소스
+     * @param rowIndex 시작 행 인덱스
+     * @param columnStartIndex 시작 열 인덱스
+     */
+	public void render(Sheet sheet, ExcelRenderResource resource, int rowIndex, int columnStartIndex) {
+        ExcelHeader excelHeader = resource.getExcelHeader();
+
+        // 헤더 전체 높이
+        int headerHeight = excelHeader.getHeaderHeight();
+        // 헤더 전체 높이만큼 Row 생성
+        for(int rowDepth = 0; rowDepth < headerHeight; rowDepth++){
+            if(sheet.getLastRowNum() < rowIndex + rowDepth){
+                sheet.createRow(rowIndex + rowDepth);
+            }
+        }
+
+        // 헤더 Cell 생성
+        // 헤더 레이아웃은 공유되므로 변경하지 않고 시작 위치만 더해서 사용
+        List<CellRangeAddress> mergedRegions = new ArrayList<>();
+        for(String fieldPath : resource.getFieldPaths()){
+            ExcelHeaderCell excelHeaderCell = excelHeader.getExcelHeaderCell(fieldPath);
+            int firstRow = excelHeaderCell.getFirstRow() + rowIndex;
+            int firstColumn = excelHeaderCell.getFirstColumn() + columnStartIndex;
+
+            Row row = sheet.getRow(firstRow);
+            Cell cell = row.createCell(firstColumn);
+
+            cell.setCellValue(excelHeaderCell.getHeaderName());
+            cell.setCellStyle(resource.getCellStyle(fieldPath, ExcelRenderLocation.HEADER));
+
+            // 하나 이상 셀이 있는 경우 셀 병합
+            if(excelHeaderCell.isMoreThanOneCell()){
+                CellRangeAddress rangeAddress = new CellRangeAddress(firstRow, excelHeaderCell.getLastRow() + rowIndex,
+                        firstColumn, excelHeaderCell.getLastColumn() + columnStartIndex);
+                sheet.addMergedRegion(rangeAddress);
+                mergedRegions.add(rangeAddress);
+            }
+        }
+
+        // 병합한 셀 테두리 Border THIN 설정
+        for (CellRangeAddress rangeAddress : mergedRegions) {
+            setBordersToMergedCell(sheet, rangeAddress);
+        }
+	}
+
+    /**
+     * 병합된 셀 영역의 테두리를 설정합니다.
+     * 테두리는 상단, 좌측, 우측, 하단 모두 얇은(BorderStyle.THIN) 스타일로 지정됩니다.
+     * 영역 안의 각 셀은 기존 스타일에 해당 위치의 테두리를 더한 스타일을 사용하며,
+     * 이 스타일은 워크북 단위로 캐시되어 새 시트를 만들 때마다 다시 생성하지 않습니다.
+     *
+     * @param sheet 테두리를 설정할 병합된 셀이 포함된 시트
+     * @param rangeAddress 병합된 셀 영역
+     */
+    private void setBordersToMergedCell(Sheet sheet, CellRangeAddress rangeAddress) {
+        for (int rowIndex = rangeAddress.getFirstRow(); rowIndex <= rangeAddress.getLastRow(); rowIndex++) {
+            Row row = sheet.getRow(rowIndex);
+            for (int columnIndex = rangeAddress.getFirstColumn(); columnIndex <= rangeAddress.getLastColumn(); columnIndex++) {
+                Cell cell = row.getCell(columnIndex);
+                if (cell == null) {
+                    cell = row.createCell(columnIndex);
+                }
+
+                int borderEdges = (rowIndex == rangeAddress.getFirstRow() ? BORDER_TOP : 0)
+                        | (rowIndex == rangeAddress.getLastRow() ? BORDER_BOTTOM : 0)
+                        | (columnIndex == rangeAddress.getFirstColumn() ? BORDER_LEFT : 0)
+                        | (columnIndex == rangeAddress.getLastColumn() ? BORDER_RIGHT : 0);
+                cell.setCellStyle(getMergedBorderStyle(cell.getCellStyle(), borderEdges));
+            }
+        }
+    }
+
+    private CellStyle getMergedBorderStyle(CellStyle baseStyle, int borderEdges) {
+        long key = ((long) baseStyle.getIndex() << 4) | borderEdges;
+        return mergedBorderStyles.computeIfAbsent(key, k -> {
+            CellStyle borderStyle = wb.createCellStyle();
+            borderStyle.cloneStyleFrom(baseStyle);
+            if ((borderEdges & BORDER_TOP) != 0) borderStyle.setBorderTop(BorderStyle.THIN);
+            if ((borderEdges & BORDER_BOTTOM) != 0) borderStyle.setBorderBottom(BorderStyle.THIN);
+            if ((borderEdges & BORDER_LEFT) != 0) borderStyle.setBorderLeft(BorderStyle.THIN);
+            if ((borderEdges & BORDER_RIGHT) != 0) borderStyle.setBorderRight(BorderStyle.THIN);
+            return borderStyle;
+        });
+    }
+
+}
@@ -0,0 +1,110 @@
+package com.lannstark.excel.sxssf;
+
+import com.lannstark.ExcelAggregate;
+import com.lannstark.exception.ExcelInternalException;
+
+import java.lang.reflect.Field;
+import java.util.Objects;
+import java.util.function.Function;
+
+import static com.lannstark.utils.SuperClassReflectionUtils.getValue;
+import static com.lannstark.utils.SuperClassReflectionUtils.resolveFieldChain;
+
+/**
+ * 정렬된 입력에서 그룹 키가 바뀌는 지점을 찾아 소계 행을 만들기 위한 상태입니다.
+ * 현재 그룹의 키와 집계 값만 보관하므로 그룹 크기와 관계없이 메모리 사용량이 일정합니다.
+ */
+final class ExcelSubtotal {
+
+	private final Field[] keyFieldChain;
+	private final Function<Object, String> labelFunction;
+	private final int groupColumnIndex;
+	private final ExcelColumnAggregator aggregator;
+
+	// setAggregate가 소계 지정 이후에 호출될 수 있으므로 첫 소계 행을 쓸 때 정함
+	private Integer labelColumnIndex;
+
+	private boolean groupOpen;
+	private Object currentKey;
+
+	/**
+	 * @param type 렌더링할 타입
+	 * @param groupFieldPath 그룹 키 필드 경로 (예: "deptInfo,deptCode")
+	 * @param labelFunction 그룹 키로 소계 행의 이름을 만드는 함수
+	 * @param groupColumnIndex 그룹 키 필드의 열 순서, 렌더링되지 않으면 -1
+	 * @param aggregator 그룹별 집계
+	 */
+	ExcelSubtotal(Class<?> type, String groupFieldPath, Function<Object, String> labelFunction,
+				  int groupColumnIndex, ExcelColumnAggregator aggregator) {
+		try {
+			this.keyFieldChain = resolveFieldChain(type, groupFieldPath);
+		} catch (ExcelInternalException e) {
+			// 그룹 키 경로는 호출하는 쪽에서 지정하므로 잘못된 인자로 알림
+			throw new IllegalArgumentException(e.getMessage(), e.getCause());
+		}
+		this.labelFunction = labelFunction;
+		this.groupColumnIndex = groupColumnIndex;
+		this.aggregator = aggregator;
+	}
+
+	ExcelColumnAggregator getAggregator() {
+		return aggregator;
+	}
+
+	/**
+	 * 그룹 키 열에 이름을 쓰고, 그룹 키 열이 집계 열이거나 렌더링되지 않으면 첫 번째 집계하지 않는 열에 씁니다.
+	 * 집계 방식은 본문 행을 렌더링한 뒤에는 바뀌지 않으므로 처음 호출될 때 한 번만 정합니다.
+	 *
+	 * @return 소계 행 이름을 쓸 열 순서, 집계하지 않는 열이 없으면 -1
+	 */
+	int getLabelColumnIndex() {
+		if (labelColumnIndex == null) {
+			labelColumnIndex = resolveLabelColumnIndex();
+		}
+		return labelColumnIndex;
+	}
+
+	private int resolveLabelColumnIndex() {
+		if (groupColumnIndex >= 0 && aggregator.getAggregate(groupColumnIndex) == ExcelAggregate.NONE) {
+			return groupColumnIndex;
+		}
+		for (int i = 0; i < aggregator.getColumnCount(); i++) {
+			if (aggregator.getAggregate(i) == ExcelAggregate.NONE) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 행의 그룹 키를 확인하고 현재 그룹을 끝내야 하는지 반환합니다.
+	 * 새 그룹이 시작되는 경우 키를 바꾸는 것은 소계 행을 쓴 뒤 {@link #open(Object)}로 합니다.
+	 *
+	 * @return 열린 그룹이 있고 키가 다른 경우 true
+	 */
+	boolean isBoundary(Object key) {
+		return groupOpen && !Objects.equals(currentKey, key);
+	}
+
+	void open(Object key) {
+		this.currentKey = key;
+		this.groupOpen = true;
+	}
+
+	boolean isGroupOpen() {
+		return groupOpen;
+	}
+
+	/**
+	 * 현재 그룹을 닫고 소계 행의 이름을 반환합니다.
+	 */
+	String close() {
+		groupOpen = false;
+		return labelFunction.apply(currentKey);
+	}
+
+	Object keyOf(Object data) {
+		return getValue(data, keyFieldChain);
+	}
+
+}
@@ -1,23 +1,37 @@
 package com.lannstark.excel.sxssf;
 
+import com.lannstark.ExcelAggregate;
 import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.ExcelWriteProgressListener;
+import com.lannstark.excel.encrypt.ExcelPasswordEncryptor;
+import com.lannstark.excel.io.AsynchronousFileChannelOutputStream;
+import com.lannstark.excel.io.ProgressOutputStream;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ExcelSXSSFWorkbook;
 import com.lannstark.exception.ExcelInternalException;
 import com.lannstark.resource.*;
+import com.lannstark.style.ExcelCellStyle;
 import lombok.Getter;
 import org.apache.poi.ss.SpreadsheetVersion;
-import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.ss.util.RegionUtil;
 import org.apache.poi.xssf.streaming.SXSSFSheet;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.lannstark.utils.SuperClassReflectionUtils.getField;
@@ -37,9 +51,25 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
 	@Getter
     private String listSeparator = ", ";
 
-	protected SXSSFWorkbook wb;
+    // writeAsync 실행에 사용할 Executor
+    private Executor writeExecutor = ForkJoinPool.commonPool();
+
+    // 출력 파일 암호화, setPassword로 지정
+    private ExcelPasswordEncryptor passwordEncryptor;
+
+	protected ExcelSXSSFWorkbook wb;
 	protected Sheet sheet;
 	protected ExcelRenderResource resource;
+	// 워크북 단위 헤더 렌더러 - 병합된 헤더 셀의 테두리 스타일을 MultiSheet의 새 시트에서 재사용
+	protected ExcelHeaderRenderer headerRenderer;
+	// 시트별 footer 집계, @ExcelColumn(aggregate) 또는 setAggregate로 지정
+	protected ExcelColumnAggregator aggregator;
+	// 그룹 키가 바뀔 때 쓰는 소계 행, setSubtotal로 지정
+	private ExcelSubtotal subtotal;
+	// 셀 값에 따른 본문 셀 스타일, addStyleRule로 지정
+	private ExcelCellStyleVariants bodyStyles;
+	private Class<T> type;
+	private boolean bodyRendered;
 
 	/**
 	 *SXSSFExcelFile
@@ -65,9 +95,29 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
 	 * @param dataFormatDecider Custom DataFormatDecider
 	 */
 	public SXSSFExcelFile(List<T> data, Class<T> type, DataFormatDecider dataFormatDecider) {
+		this(data, type, dataFormatDecider, null);
+	}
+
+	/**
+	 * SXSSFExcelFile
+	 * @param data List Data to render an Excel file. Data should have at least one @ExcelColumn on fields
+	 * @param type Class type to be rendered
+	 * @param dataFormatDecider Custom DataFormatDecider
+	 * @param projection Field paths to be rendered, all @ExcelColumn fields if null
+	 */
+	public SXSSFExcelFile(List<T> data, Class<T> type, DataFormatDecider dataFormatDecider,
+						  ExcelColumnProjection projection) {
 		validateData(data);
-		this.wb = new SXSSFWorkbook();
-		this.resource = ExcelRenderResourceFactory.prepareRenderResource(type, wb, dataFormatDecider);
+		this.wb = new ExcelSXSSFWorkbook();
+		this.type = type;
+		ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(type, projection);
+		this.resource = template.materialize(wb, dataFormatDecider);
+		this.headerRenderer = new ExcelHeaderRenderer(wb);
+		this.bodyStyles = new ExcelCellStyleVariants(resource);
+		this.aggregator = new ExcelColumnAggregator(resource.getLeafFieldPaths().size());
+		template.getAggregates()
+				.forEach((fieldPath, aggregate) -> aggregator.setAggregate(
+						resource.getLeafFieldPaths().indexOf(fieldPath), aggregate));
 		renderExcel(data);
 	}
 
@@ -86,6 +136,118 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
         this.listSeparator = separator != null ? separator : ", ";
     }
 
+    /**
+     * 워크북 파트의 압축 방식을 설정합니다. write 호출 전에 설정해야 합니다.
+     * 큰 시트 파트는 블록 단위로 병렬 압축되며, store()를 지정하면 압축하지 않습니다.
+     * @param compressionOptions 압축 레벨, 병렬 압축 스레드 수 등
+     */
+    public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+        wb.setCompressionOptions(compressionOptions);
+    }
+
+    /**
+     * 파일 메타데이터(docProps 생성/수정 시각)와 zip 엔트리 시간을 고정합니다.
+     * 같은 데이터로 생성한 파일이 항상 같은 바이트가 되어야 하는 경우(캐시 등)에 사용합니다.
+     * @param fixedTimestamp 고정할 시각, null인 경우 현재 시각 사용
+     */
+    public void setFixedTimestamp(Instant fixedTimestamp) {
+        wb.setFixedTimestamp(fixedTimestamp);
+    }
+
+    /**
+     * 열의 footer 집계 방식을 지정합니다. @ExcelColumn(aggregate) 설정보다 우선합니다.
+     * 집계는 렌더링하면서 계산하므로 본문 행을 추가하기 전에 지정해야 합니다.
+     * @param fieldPath 말단 필드 경로 (예: "deptInfo,salary")
+     * @param aggregate 집계 방식, NONE인 경우 집계하지 않음
+     */
+    public void setAggregate(String fieldPath, ExcelAggregate aggregate) {
+        int columnIndex = resource.getLeafFieldPaths().indexOf(fieldPath);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("%s is not a leaf field path", fieldPath));
+        }
+        if (bodyRendered) {
+            throw new IllegalStateException("Aggregate should be set before rows are rendered");
+        }
+        aggregator.setAggregate(columnIndex, aggregate);
+        if (subtotal != null) {
+            subtotal.getAggregator().setAggregate(columnIndex, aggregate);
+        }
+    }
+
+    /**
+     * 그룹 키가 바뀔 때마다 소계 행을 추가하고, 그룹의 본문 행은 접을 수 있도록 outline level 1로 지정합니다.
+     * 입력은 그룹 키로 정렬되어 있어야 하며, 소계는 집계(aggregate)를 지정한 열에 대해 계산합니다.
+     * 현재 그룹의 키와 집계 값만 보관하므로 그룹 크기와 관계없이 메모리 사용량이 일정합니다.
+     * 본문 행을 추가하기 전에 지정해야 합니다.
+     * @param groupFieldPath 그룹 키 필드 경로 (예: "deptInfo,deptCode")
+     */
+    public void setSubtotal(String groupFieldPath) {
+        setSubtotal(groupFieldPath, key -> key + " Subtotal");
+    }
+
+    /**
+     * @param groupFieldPath 그룹 키 필드 경로 (예: "deptInfo,deptCode")
+     * @param labelFunction 그룹 키로 소계 행의 이름을 만드는 함수
+     * @see #setSubtotal(String)
+     */
+    public void setSubtotal(String groupFieldPath, Function<Object, String> labelFunction) {
+        if (bodyRendered) {
+            throw new IllegalStateException("Subtotal should be set before rows are rendered");
+        }
+        List<String> leafFieldPaths = resource.getLeafFieldPaths();
+        ExcelColumnAggregator groupAggregator = new ExcelColumnAggregator(leafFieldPaths.size());
+        for (int i = 0; i < leafFieldPaths.size(); i++) {
+            groupAggregator.setAggregate(i, aggregator.getAggregate(i));
+        }
+
+        this.subtotal = new ExcelSubtotal(type, groupFieldPath, labelFunction,
+                leafFieldPaths.indexOf(groupFieldPath), groupAggregator);
+    }
+
+    /**
+     * 셀 값이 조건을 만족하면 열의 본문 스타일 위에 주어진 스타일을 덧씌웁니다. (예: 음수 금액을 빨간 배경으로 표시)
+     * 먼저 추가한 규칙이 우선하며, 조건은 null이 아닌 셀 값에 대해서만 평가합니다.
+     * 변형 스타일은 처음 사용될 때 한 번만 만들어 재사용하므로 셀 수와 관계없이 스타일 수가 늘지 않습니다.
+     * 규칙을 추가한 뒤 렌더링하는 행부터 적용됩니다.
+     * @param fieldPath 말단 필드 경로 (예: "deptInfo,salary")
+     * @param condition 셀 값에 대한 조건, 값 타입이 맞지 않으면 렌더링 중 ExcelInternalException 발생
+     * @param style 조건을 만족할 때 덧씌울 스타일
+     */
+    @SuppressWarnings("unchecked")
+    public <V> void addStyleRule(String fieldPath, Predicate<V> condition, ExcelCellStyle style) {
+        int columnIndex = resource.getLeafFieldPaths().indexOf(fieldPath);
+        if (columnIndex < 0) {
+            throw new IllegalArgumentException(String.format("%s is not a leaf field path", fieldPath));
+        }
+        bodyStyles.addRule(columnIndex, (Predicate<Object>) condition, style);
+    }
+
+    /**
+     * @return 소계 행을 사용하는 경우 true
+     */
+    protected boolean isSubtotalEnabled() {
+        return subtotal != null;
+    }
+
+    /**
+     * 출력 파일을 비밀번호로 암호화합니다. (AES-256 Agile 암호화)
+     * 워크북을 세그먼트 단위로 암호화하면서 쓰므로 메모리 사용량은 파일 크기와 관계없습니다.
+     * 임시 디렉토리 등을 지정하려면 {@link ExcelPasswordEncryptor#write(ExcelFile, OutputStream)}를 사용합니다.
+     * @param password 파일을 열 때 입력할 비밀번호, null인 경우 암호화하지 않음
+     */
+    public void setPassword(String password) {
+        this.passwordEncryptor = password != null ? new ExcelPasswordEncryptor(password) : null;
+    }
+
+    /**
+     * writeAsync를 실행할 Executor를 설정합니다.
+     * 쓰기는 압축과 I/O를 포함하므로 대용량 파일은 별도의 Executor 사용을 권장합니다.
+     * @param writeExecutor writeAsync 실행에 사용할 Executor
+     */
+    public void setWriteExecutor(Executor writeExecutor) {
+        this.writeExecutor = writeExecutor != null ? writeExecutor : ForkJoinPool.commonPool();
+    }
+
     /**
      * 제공된 데이터를 바탕으로 Excel 파일을 렌더링합니다.
      *
@@ -109,37 +271,7 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
         // Auto Size 설정해도 컬럼 너비가 정확하지 않은 경우가 있어 추가 너비 세팅
         ((SXSSFSheet) sheet).setArbitraryExtraWidth(COLUMN_WIDTH_PADDING);
 
-        ExcelHeader excelHeader = resource.getExcelHeader();
-
-        // 헤더 전체 높이
-        int headerHeight = excelHeader.getHeaderHeight();
-        // 헤더 전체 높이만큼 Row 생성
-        for(int rowDepth = 0; rowDepth < headerHeight; rowDepth++){
-            if(sheet.getLastRowNum() < rowIndex + rowDepth){
-                sheet.createRow(rowIndex + rowDepth);
-            }
-        }
-
-        // 헤더 Cell 생성
-        for(String fieldPath : resource.getFieldPaths()){
-            ExcelHeaderCell excelHeaderCell = excelHeader.getExcelHeaderCell(fieldPath);
-            excelHeaderCell.adjustCellRange(rowIndex, columnStartIndex);
-
-            Row row = sheet.getRow(excelHeaderCell.getFirstRow());
-            Cell cell = row.createCell(excelHeaderCell.getFirstColumn());
-
-            cell.setCellValue(excelHeaderCell.getHeaderName());
-            cell.setCellStyle(resource.getCellStyle(fieldPath, ExcelRenderLocation.HEADER));
-
-            // 하나 이상 셀이 있는 경우 셀 병합
-            if(excelHeaderCell.isMoreThanOneCell()){
-                sheet.addMergedRegion(new CellRangeAddress(excelHeaderCell.getFirstRow(), excelHeaderCell.getLastRow(),
-                        excelHeaderCell.getFirstColumn(), excelHeaderCell.getLastColumn()));
-            }
-        }
-
-        // 병합한 셀 테두리 Border THIN 설정
-        setBordersToMergedCells(sheet);
+        headerRenderer.render(sheet, resource, rowIndex, columnStartIndex);
 	}
 
     /**
@@ -152,24 +284,118 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
      */
 	protected void renderBody(Object data, int rowIndex, int columnStartIndex) {
         Row row = sheet.createRow(rowIndex);
-        int columnIndex = columnStartIndex;
+        List<String> leafFieldPaths = resource.getLeafFieldPaths();
+        bodyRendered = true;
 
-        for(String fieldPath : resource.getFieldPaths()){
-            if(!resource.getLeafFieldPaths().contains(fieldPath)){
-               continue;
-            }
-            Cell cell = row.createCell(columnIndex++);
+        for (int i = 0; i < leafFieldPaths.size(); i++) {
+            Cell cell = row.createCell(columnStartIndex + i);
             try{
-                Object cellValue = getDataValueByFieldPath(fieldPath, data);
+                Object cellValue = getDataValueByFieldPath(leafFieldPaths.get(i), data);
 
-                cell.setCellStyle(resource.getCellStyle(fieldPath, ExcelRenderLocation.BODY));
+                cell.setCellStyle(bodyStyles.resolve(i, cellValue));
                 renderCellValue(cell, cellValue);
+                aggregator.accept(i, cellValue);
+                if (subtotal != null) {
+                    subtotal.getAggregator().accept(i, cellValue);
+                }
             }catch (Exception e){
                 throw new ExcelInternalException(e.getMessage(), e);
             }
         }
 	}
 
+    /**
+     * 본문 행 하나를 렌더링합니다. 소계를 사용하는 경우 그룹 키가 바뀌면 먼저 이전 그룹의 소계 행을 쓰고,
+     * 본문 행을 outline level 1로 지정합니다.
+     *
+     * @param data 본문에 렌더링할 데이터 객체
+     * @param rowIndex 렌더링이 시작될 행 인덱스
+     * @param columnStartIndex 렌더링이 시작될 열 인덱스
+     * @return 다음 행 인덱스 (소계 행을 쓴 경우 2 증가)
+     */
+    protected int renderRow(Object data, int rowIndex, int columnStartIndex) {
+        if (subtotal == null) {
+            renderBody(data, rowIndex, columnStartIndex);
+            return rowIndex + 1;
+        }
+
+        Object key = subtotal.keyOf(data);
+        if (subtotal.isBoundary(key)) {
+            rowIndex = closeSubtotalGroup(rowIndex, columnStartIndex);
+        }
+        subtotal.open(key);
+        renderBody(data, rowIndex, columnStartIndex);
+        ((SXSSFSheet) sheet).setRowOutlineLevel(rowIndex, 1);
+        return rowIndex + 1;
+    }
+
+    /**
+     * 열린 그룹이 있으면 소계 행을 쓰고 그룹을 닫습니다. 시트를 바꾸거나 쓰기 전에 호출합니다.
+     *
+     * @param rowIndex 소계 행 인덱스
+     * @param columnStartIndex 렌더링이 시작될 열 인덱스
+     * @return 다음 행 인덱스
+     */
+    protected int closeSubtotalGroup(int rowIndex, int columnStartIndex) {
+        if (subtotal == null || !subtotal.isGroupOpen()) {
+            return rowIndex;
+        }
+        Row row = sheet.createRow(rowIndex);
+        renderAggregates(row, subtotal.getAggregator(), columnStartIndex);
+        String label = subtotal.close();
+        int labelColumnIndex = subtotal.getLabelColumnIndex();
+        if (labelColumnIndex >= 0) {
+            Cell cell = row.createCell(columnStartIndex + labelColumnIndex);
+            cell.setCellStyle(resource.getCellStyle(resource.getLeafFieldPaths().get(labelColumnIndex),
+                    ExcelRenderLocation.FOOTER, String.class));
+            cell.setCellValue(label);
+        }
+        return rowIndex + 1;
+    }
+
+    /**
+     * 현재 시트의 footer 행에 집계 값을 렌더링하고 다음 시트를 위해 집계를 초기화합니다.
+     * 집계 값은 수식이 아닌 셀 값으로 쓰므로 파일을 열 때 재계산하지 않습니다.
+     * 집계할 열이 없으면 아무것도 하지 않습니다.
+     *
+     * @param rowIndex footer 행 인덱스 (마지막 본문 행 다음)
+     * @param columnStartIndex 렌더링이 시작될 열 인덱스
+     */
+    protected void renderFooter(int rowIndex, int columnStartIndex) {
+        if (!aggregator.isActive() || sheet == null) {
+            return;
+        }
+        renderAggregates(sheet.createRow(rowIndex), aggregator, columnStartIndex);
+    }
+
+    /**
+     * 집계할 열에 집계 값을 쓰고 집계를 초기화합니다.
+     */
+    private void renderAggregates(Row row, ExcelColumnAggregator columnAggregator, int columnStartIndex) {
+        List<String> leafFieldPaths = resource.getLeafFieldPaths();
+        for (int i = 0; i < leafFieldPaths.size(); i++) {
+            ExcelAggregate aggregate = columnAggregator.getAggregate(i);
+            if (aggregate == ExcelAggregate.NONE) {
+                continue;
+            }
+            Cell cell = row.createCell(columnStartIndex + i);
+            cell.setCellStyle(aggregate.getResultType() == null
+                    ? resource.getCellStyle(leafFieldPaths.get(i), ExcelRenderLocation.FOOTER)
+                    : resource.getCellStyle(leafFieldPaths.get(i), ExcelRenderLocation.FOOTER, aggregate.getResultType()));
+            double result = columnAggregator.getResult(i);
+            if (!Double.isNaN(result)) {
+                cell.setCellValue(result);
+            }
+        }
+        columnAggregator.reset();
+    }
+
+    /**
+     * 워크북을 쓰기 직전에 호출됩니다. 마지막 시트의 footer처럼 쓰기 전에 렌더링할 내용이 있는 경우 재정의합니다.
+     * 후크 메서드 - 구체적인 구현을 하위 클래스에 위임
+     */
+    protected void beforeWrite() {}
+
     /**
      * 주어진 셀(Cell)에 값을 렌더링합니다. 값은 다양한 타입(Number, List, 기타 객체 등)에 따라
      * 적절한 형태로 변환된 후 셀에 설정됩니다.
@@ -196,16 +422,107 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
 
     /**
      * 주어진 OutputStream에 엑셀 데이터를 쓰고, 관련 리소스를 정리합니다.
+     * 클라이언트 연결이 끊기는 등 쓰기에 실패해도 임시 파일을 정리합니다.
      *
      * @param stream 데이터를 작성할 OutputStream 객체
      * @throws IOException 출력 과정에서 입출력 오류가 발생할 경우
      */
 	public void write(OutputStream stream) throws IOException {
-        wb.write(stream);
-		wb.close();
-		stream.close();
+        try {
+            beforeWrite();
+            writeWorkbook(stream);
+        } finally {
+            wb.dispose();
+            wb.close();
+            stream.close();
+        }
 	}
 
+    /**
+     * 주어진 채널에 엑셀 데이터를 비동기로 씁니다. 채널은 닫지 않습니다.
+     *
+     * @param channel 데이터를 작성할 채널 (FileChannel, SocketChannel 등)
+     * @return 쓰기가 끝나면 출력한 바이트 수로 완료되는 CompletableFuture
+     */
+    public CompletableFuture<Long> writeAsync(WritableByteChannel channel) {
+        return writeAsync(channel, ExcelWriteProgressListener.NONE);
+    }
+
+    /**
+     * 주어진 채널에 엑셀 데이터를 비동기로 쓰면서 진행 상황을 전달합니다. 채널은 닫지 않습니다.
+     *
+     * @param channel 데이터를 작성할 채널 (FileChannel, SocketChannel 등)
+     * @param listener 출력한 바이트 수를 전달받을 리스너
+     * @return 쓰기가 끝나면 출력한 바이트 수로 완료되는 CompletableFuture
+     */
+    public CompletableFuture<Long> writeAsync(WritableByteChannel channel, ExcelWriteProgressListener listener) {
+        return CompletableFuture.supplyAsync(() -> writeAndClose(Channels.newOutputStream(channel), listener),
+                writeExecutor);
+    }
+
+    /**
+     * 주어진 비동기 파일 채널의 처음 위치부터 엑셀 데이터를 비동기로 씁니다. 채널은 닫지 않습니다.
+     * 채널에 기존 내용이 있으면 출력한 길이로 잘라냅니다.
+     *
+     * @param channel 데이터를 작성할 AsynchronousFileChannel
+     * @return 쓰기가 끝나면 출력한 바이트 수로 완료되는 CompletableFuture
+     */
+    public CompletableFuture<Long> writeAsync(AsynchronousFileChannel channel) {
+        return writeAsync(channel, ExcelWriteProgressListener.NONE);
+    }
+
+    /**
+     * 주어진 비동기 파일 채널의 처음 위치부터 엑셀 데이터를 비동기로 쓰면서 진행 상황을 전달합니다.
+     * 압축된 데이터를 채우는 동안 이전 버퍼를 채널에 쓰므로 렌더링과 파일 I/O가 겹쳐서 진행됩니다.
+     * 채널에 기존 내용이 있으면 출력한 길이로 잘라냅니다.
+     *
+     * @param channel 데이터를 작성할 AsynchronousFileChannel
+     * @param listener 출력한 바이트 수를 전달받을 리스너
+     * @return 쓰기가 끝나면 출력한 바이트 수로 완료되는 CompletableFuture
+     */
+    public CompletableFuture<Long> writeAsync(AsynchronousFileChannel channel, ExcelWriteProgressListener listener) {
+        return CompletableFuture.supplyAsync(() -> {
+            long bytesWritten = writeAndClose(new AsynchronousFileChannelOutputStream(channel, 0), listener);
+            try {
+                // 더 긴 기존 파일에 쓴 경우 남은 뒷부분을 제거
+                channel.truncate(bytesWritten);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return bytesWritten;
+        }, writeExecutor);
+    }
+
+    /**
+     * 워크북을 쓰고 임시 파일을 정리합니다. 대상 스트림은 flush만 하고 닫지 않습니다.
+     */
+    private long writeAndClose(OutputStream target, ExcelWriteProgressListener listener) {
+        ProgressOutputStream stream = new ProgressOutputStream(target, listener);
+        try {
+            beforeWrite();
+            writeWorkbook(stream);
+            stream.close();
+            return stream.getBytesWritten();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            wb.dispose();
+            try {
+                wb.close();
+            } catch (IOException e) {
+                // 이미 쓰기가 끝났으므로 워크북 정리 실패는 무시
+            }
+        }
+    }
+
+    private void writeWorkbook(OutputStream stream) throws IOException {
+        if (passwordEncryptor != null) {
+            passwordEncryptor.encrypt(wb::write, stream);
+        } else {
+            wb.write(stream);
+        }
+    }
+
     /**
      * List 값을 설정된 구분자로 포맷팅합니다.
      * @param listValue 포맷팅할 List
@@ -257,27 +574,15 @@ public abstract class SXSSFExcelFile<T> implements ExcelFile<T> {
 
         while(!fieldNameQueue.isEmpty()){
             String fieldName = fieldNameQueue.poll();
-            field = getField(data.getClass(), fieldName);
+            // 중첩 필드는 상위 필드 값의 클래스에서 찾음, 상위 값이 null이면 빈 값
+            if (result == null) {
+                return null;
+            }
+            field = getField(result.getClass(), fieldName);
             field.setAccessible(true);
             result = field.get(result);
         }
 
         return result;
     }
-
-    /**
-     * 주어진 시트에서 병합된 모든 셀 영역의 테두리를 설정합니다.
-     * 테두리는 상단, 좌측, 우측, 하단 모두 얇은(BorderStyle.THIN) 스타일로 지정됩니다.
-     *
-     * @param sheet 테두리를 설정할 병합된 셀이 포함된 시트
-     */
-    private void setBordersToMergedCells(Sheet sheet) {
-        List<CellRangeAddress> mergedRegions = sheet.getMergedRegions();
-        for (CellRangeAddress rangeAddress : mergedRegions) {
-            RegionUtil.setBorderTop(BorderStyle.THIN, rangeAddress, sheet);
-            RegionUtil.setBorderLeft(BorderStyle.THIN, rangeAddress, sheet);
-            RegionUtil.setBorderRight(BorderStyle.THIN, rangeAddress, sheet);
-            RegionUtil.setBorderBottom(BorderStyle.THIN, rangeAddress, sheet);
-        }
-    }
 }
@@ -2,9 +2,11 @@ package com.lannstark.excel.sxssf.multiplesheet;
 
 import com.lannstark.excel.sxssf.SXSSFExcelFile;
 import com.lannstark.resource.DataFormatDecider;
-import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelColumnProjection;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -20,30 +22,48 @@ public class MultiSheetExcelFile<T> extends SXSSFExcelFile<T> {
 	private static final int maxRowCanBeRendered = supplyExcelVersion.getMaxRows() - 1;
 	private static final int ROW_START_INDEX = 0;
 	private static final int COLUMN_START_INDEX = 0;
-	private int currentRowIndex = ROW_START_INDEX;
+	// 상위 생성자에서 렌더링하는 동안 값이 정해지므로 필드 초기화 식을 두지 않음 (기본값 0 = ROW_START_INDEX)
+	private int currentRowIndex;
 
     private String baseSheetName;
     private int sheetIndex;
 
+	/*
+	 * Zip64Mode.Always is not needed for huge data any more.
+	 * ParallelDeflateZipOutputStream writes every part with known sizes, so Zip64 is used only for parts over 4GB
+	 * see http://apache-poi.1045710.n5.nabble.com/Bug-62872-New-Writing-large-files-with-800k-rows-gives-java-io-IOException-This-archive-contains-unc-td5732006.html
+	 */
 	public MultiSheetExcelFile(Class<T> type) {
 		super(type);
-		wb.setZip64Mode(Zip64Mode.Always);
 		initializeFields();
 	}
 
-	/*
-	 * If you use SXSSF with hug data, you need to set zip mode
-	 * see http://apache-poi.1045710.n5.nabble.com/Bug-62872-New-Writing-large-files-with-800k-rows-gives-java-io-IOException-This-archive-contains-unc-td5732006.html
-	 */
 	public MultiSheetExcelFile(List<T> data, Class<T> type) {
 		super(data, type);
-		wb.setZip64Mode(Zip64Mode.Always);
 		initializeFields();
 	}
 
 	public MultiSheetExcelFile(List<T> data, Class<T> type, DataFormatDecider dataFormatDecider) {
 		super(data, type, dataFormatDecider);
-		wb.setZip64Mode(Zip64Mode.Always);
+		initializeFields();
+	}
+
+	/**
+	 * 선택한 필드 경로만 렌더링합니다. 헤더 병합 범위는 선택한 열 기준으로 다시 계산됩니다.
+	 * @param type 렌더링할 타입
+	 * @param projection 렌더링할 필드 경로
+	 */
+	public MultiSheetExcelFile(Class<T> type, ExcelColumnProjection projection) {
+		this(Collections.emptyList(), type, new DefaultDataFormatDecider(), projection);
+	}
+
+	public MultiSheetExcelFile(List<T> data, Class<T> type, ExcelColumnProjection projection) {
+		this(data, type, new DefaultDataFormatDecider(), projection);
+	}
+
+	public MultiSheetExcelFile(List<T> data, Class<T> type, DataFormatDecider dataFormatDecider,
+					ExcelColumnProjection projection) {
+		super(data, type, dataFormatDecider, projection);
 		initializeFields();
 	}
 
@@ -84,12 +104,15 @@ public class MultiSheetExcelFile<T> extends SXSSFExcelFile<T> {
      */
 	@Override
 	public void addRows(List<T> data) {
+		// 소계를 사용하면 한 행에 소계 행이 더해질 수 있고, 시트를 닫을 때 소계 행과 footer 행이 필요하므로 2행을 남김
+		int lastRowIndex = isSubtotalEnabled() ? maxRowCanBeRendered - 2 : maxRowCanBeRendered;
 		for (Object renderedData : data) {
-			renderBody(renderedData, currentRowIndex++, COLUMN_START_INDEX);
+			currentRowIndex = renderRow(renderedData, currentRowIndex, COLUMN_START_INDEX);
 
-			if (currentRowIndex == maxRowCanBeRendered) {
+			if (currentRowIndex >= lastRowIndex) {
+				finishCurrentSheet();
 				autoSizeCurrentSheet();
-				currentRowIndex = 1;
+				currentRowIndex = ROW_START_INDEX;
 				createNewSheetWithHeader();
 			}
 		}
@@ -98,13 +121,30 @@ public class MultiSheetExcelFile<T> extends SXSSFExcelFile<T> {
 		autoSizeCurrentSheet();
 	}
 
+    /**
+     * 마지막 시트의 소계 행과 footer 집계 행을 렌더링합니다.
+     */
+    @Override
+    protected void beforeWrite() {
+        finishCurrentSheet();
+    }
+
+    /**
+     * 현재 시트의 열린 그룹 소계 행과 footer 집계 행을 렌더링합니다.
+     * 그룹이 다음 시트로 이어지는 경우 다음 시트에서 나머지 행의 소계를 다시 씁니다.
+     */
+    private void finishCurrentSheet() {
+        currentRowIndex = closeSubtotalGroup(currentRowIndex, COLUMN_START_INDEX);
+        renderFooter(currentRowIndex, COLUMN_START_INDEX);
+    }
+
     /**
      * 새 시트를 생성하고 헤더를 렌더링합니다.
      * 현재 워크북에 새로운 시트를 추가하며, 시트 이름은 기본 시트 이름과
      * 시트 인덱스를 조합하여 설정됩니다. 이후, 새롭게 생성된 시트의 지정된
      * 행 시작 인덱스와 열 시작 인덱스 위치에 헤더를 렌더링합니다.
      * 또한, 현재 행 인덱스를 초기화하거나 다음 데이터 추가 작업을
-     * 준비하기 위해 1 증가시킵니다.
+     * 준비하기 위해 헤더 높이만큼 증가시킵니다.
      * 이 메서드는 데이터가 없는 경우 헤더만 생성하고 렌더링하거나,
      * 현재 시트의 최대 행 제한을 초과한 경우 새 시트를 생성하며 사용됩니다.
      */
@@ -112,7 +152,7 @@ public class MultiSheetExcelFile<T> extends SXSSFExcelFile<T> {
 		sheet = wb.createSheet(baseSheetName + sheetIndex++);
 
 		renderHeadersWithNewSheet(sheet, ROW_START_INDEX, COLUMN_START_INDEX);
-		currentRowIndex++;
+		currentRowIndex += resource.getExcelHeader().getHeaderHeight();
 	}
 
     /**
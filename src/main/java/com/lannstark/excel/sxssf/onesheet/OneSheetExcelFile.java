@@ -2,8 +2,11 @@ package com.lannstark.excel.sxssf.onesheet;
 
 import com.lannstark.excel.sxssf.SXSSFExcelFile;
 import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelColumnProjection;
 import org.apache.commons.lang3.StringUtils;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,7 +20,8 @@ public final class OneSheetExcelFile<T> extends SXSSFExcelFile<T> {
 
 	private static final int ROW_START_INDEX = 0;
 	private static final int COLUMN_START_INDEX = 0;
-	private int currentRowIndex = ROW_START_INDEX;
+	// 상위 생성자에서 렌더링하는 동안 값이 정해지므로 필드 초기화 식을 두지 않음 (기본값 0 = ROW_START_INDEX)
+	private int currentRowIndex;
 
     private String sheetName;
 
@@ -36,6 +40,25 @@ public final class OneSheetExcelFile<T> extends SXSSFExcelFile<T> {
         initializeFields();
 	}
 
+	/**
+	 * 선택한 필드 경로만 렌더링합니다. 헤더 병합 범위는 선택한 열 기준으로 다시 계산됩니다.
+	 * @param type 렌더링할 타입
+	 * @param projection 렌더링할 필드 경로
+	 */
+	public OneSheetExcelFile(Class<T> type, ExcelColumnProjection projection) {
+		this(Collections.emptyList(), type, new DefaultDataFormatDecider(), projection);
+	}
+
+	public OneSheetExcelFile(List<T> data, Class<T> type, ExcelColumnProjection projection) {
+		this(data, type, new DefaultDataFormatDecider(), projection);
+	}
+
+	public OneSheetExcelFile(List<T> data, Class<T> type, DataFormatDecider dataFormatDecider,
+					ExcelColumnProjection projection) {
+		super(data, type, dataFormatDecider, projection);
+        initializeFields();
+	}
+
     /**
      * 필드를 초기화합니다.
      */
@@ -71,17 +94,19 @@ public final class OneSheetExcelFile<T> extends SXSSFExcelFile<T> {
         // 1. Create Sheet and renderHeader
 		sheet = wb.createSheet(sheetName);
 
-        renderHeadersWithNewSheet(sheet, currentRowIndex++, COLUMN_START_INDEX);
+        renderHeadersWithNewSheet(sheet, currentRowIndex, COLUMN_START_INDEX);
+        currentRowIndex += resource.getExcelHeader().getHeaderHeight();
 
         if (data.isEmpty()) {
             return;
         }
 
         // 2. Render Body
-        int bodyStartRowIndex = currentRowIndex + resource.getExcelHeader().getHeaderHeight() - 1;
+        int bodyStartRowIndex = currentRowIndex;
         for (Object renderedData : data) {
-            renderBody(renderedData, bodyStartRowIndex++, COLUMN_START_INDEX);
+            bodyStartRowIndex = renderRow(renderedData, bodyStartRowIndex, COLUMN_START_INDEX);
         }
+        currentRowIndex = bodyStartRowIndex;
 
         // 3. Auto size columns
         autoSizeCurrentSheet();
@@ -95,10 +120,19 @@ public final class OneSheetExcelFile<T> extends SXSSFExcelFile<T> {
     public void addRows(List<T> data) {
         if (currentRowIndex == 0) currentRowIndex = 1;
         for (Object renderedData : data) {
-            renderBody(renderedData, currentRowIndex++, COLUMN_START_INDEX);
+            currentRowIndex = renderRow(renderedData, currentRowIndex, COLUMN_START_INDEX);
         }
     }
 
+    /**
+     * 마지막 그룹의 소계 행과 footer 집계 행을 렌더링합니다.
+     */
+    @Override
+    protected void beforeWrite() {
+        currentRowIndex = closeSubtotalGroup(currentRowIndex, COLUMN_START_INDEX);
+        renderFooter(currentRowIndex, COLUMN_START_INDEX);
+    }
+
     /**
      * Excel 시트의 이름을 설정합니다. 주어진 시트 이름이 비어 있지 않은 경우에만 설정되며,
      * 비어 있을 경우 기본값이 유지됩니다.
@@ -0,0 +1,447 @@
+package com.lannstark.excel.sxssf.partition;
+
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.sxssf.ExcelHeaderRenderer;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ExcelSXSSFWorkbook;
+import com.lannstark.excel.xml.SheetBodySplicer;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import com.lannstark.resource.ExcelRenderLocation;
+import com.lannstark.resource.ExcelRenderResource;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 키 추출 함수로 행마다 시트를 골라 렌더링하는 Excel 파일입니다. (예: 부서별 시트, 월별 시트)
+ * 입력 데이터는 정렬되어 있지 않아도 되며, 시트는 키가 처음 나온 순서로 배치됩니다.
+ *
+ * 수천 개의 키에서도 메모리 사용량이 일정하도록
+ * - 키(파티션)마다 본문 행을 시트 XML로 압축하여 버퍼에 쓰고
+ * - 열려 있는 파티션 writer는 최근에 사용한 maxOpenPartitions개만 유지하며 (LRU)
+ * - 오래 사용하지 않았거나 버퍼가 커진 파티션은 압축된 구간(segment)을 하나의 임시 파일에 내려 씁니다.
+ * write 시점에 시트와 헤더를 만들고, 시트마다 구간을 풀어 SheetBodySplicer로 시트 파트에 이어 붙입니다.
+ *
+ * 한 키의 행이 시트의 최대 행 수를 넘으면 MultiSheetExcelFile과 같이 같은 헤더의 시트를 추가합니다. ("부서A (2)")
+ *
+ * @param <T> Excel에 렌더링할 데이터의 제네릭 타입
+ */
+public class PartitionedSheetExcelFile<T> implements ExcelFile<T> {
+
+	private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+	private static final int MAX_SHEET_NAME_LENGTH = 31;
+	private static final int COLUMN_START_INDEX = 0;
+	private static final int COLUMN_WIDTH_PADDING = 512;
+	private static final int MAX_COLUMN_WIDTH = 255 * 256;
+	private static final int DEFAULT_MAX_OPEN_PARTITIONS = 32;
+	private static final int SEGMENT_BUFFER_SIZE = 256 * 1024;
+	private static final String EMPTY_SHEET_NAME = "Sheet1";
+
+	private final Class<T> type;
+	private final Function<? super T, ?> keyExtractor;
+	private final ExcelSXSSFWorkbook wb = new ExcelSXSSFWorkbook();
+	private final ExcelRenderResource resource;
+	private final int[] styleIndexes;
+	private final int headerHeight;
+	// 모든 파티션이 공유하는 행 writer, 열 너비도 전체 시트 기준으로 계산
+	private SheetRowXmlWriter rowWriter;
+
+	// 키가 처음 나온 순서의 전체 파티션
+	private final Map<Object, Partition> partitions = new LinkedHashMap<>();
+	// 본문 writer가 열려 있는 파티션, 접근 순서(LRU)
+	private final LinkedHashMap<Object, Partition> openPartitions = new LinkedHashMap<>(16, 0.75f, true);
+
+	private Function<Object, String> sheetNameFunction = String::valueOf;
+	private String listSeparator = ", ";
+	private int maxOpenPartitions = DEFAULT_MAX_OPEN_PARTITIONS;
+	private int maxRowsPerSheet = MAX_ROWS;
+	private ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults();
+	private Instant fixedTimestamp;
+
+	private Path spillFile;
+	private FileChannel spillChannel;
+
+	/**
+	 * @param type 렌더링할 타입
+	 * @param keyExtractor 행이 들어갈 시트를 정하는 키 추출 함수 (예: dto -> dto.getDeptInfo().getDeptCode())
+	 */
+	public PartitionedSheetExcelFile(Class<T> type, Function<? super T, ?> keyExtractor) {
+		this(Collections.emptyList(), type, keyExtractor, new DefaultDataFormatDecider());
+	}
+
+	public PartitionedSheetExcelFile(List<T> data, Class<T> type, Function<? super T, ?> keyExtractor) {
+		this(data, type, keyExtractor, new DefaultDataFormatDecider());
+	}
+
+	public PartitionedSheetExcelFile(List<T> data, Class<T> type, Function<? super T, ?> keyExtractor,
+									 DataFormatDecider dataFormatDecider) {
+		this.type = type;
+		this.keyExtractor = keyExtractor;
+		this.resource = ExcelRenderResourceFactory.prepareRenderResource(type, wb, dataFormatDecider);
+		this.headerHeight = resource.getExcelHeader().getHeaderHeight();
+
+		List<String> leafFieldPaths = resource.getLeafFieldPaths();
+		this.styleIndexes = new int[leafFieldPaths.size()];
+		for (int i = 0; i < leafFieldPaths.size(); i++) {
+			styleIndexes[i] = resource.getCellStyle(leafFieldPaths.get(i), ExcelRenderLocation.BODY).getIndex();
+		}
+		addRows(data);
+	}
+
+	/**
+	 * 키를 시트 이름으로 바꾸는 함수를 설정합니다. 기본값은 String.valueOf 입니다.
+	 * 시트 이름에 사용할 수 없는 문자는 바뀌고, 31자를 넘으면 잘리며, 중복되면 번호가 붙습니다.
+	 */
+	public void setSheetNameFunction(Function<Object, String> sheetNameFunction) {
+		this.sheetNameFunction = sheetNameFunction != null ? sheetNameFunction : String::valueOf;
+	}
+
+	/**
+	 * 본문 writer를 열어둘 최대 파티션 수를 설정합니다. 열린 파티션마다 압축 버퍼(최대 약 256KB)를 사용합니다.
+	 */
+	public void setMaxOpenPartitions(int maxOpenPartitions) {
+		if (maxOpenPartitions < 1) {
+			throw new IllegalArgumentException("maxOpenPartitions should be at least 1");
+		}
+		this.maxOpenPartitions = maxOpenPartitions;
+	}
+
+	/**
+	 * 시트당 최대 행 수(헤더 포함)를 설정합니다. 기본값은 Excel의 최대 행 수입니다.
+	 */
+	public void setMaxRowsPerSheet(int maxRowsPerSheet) {
+		if (maxRowsPerSheet <= headerHeight || maxRowsPerSheet > MAX_ROWS) {
+			throw new IllegalArgumentException(String.format("maxRowsPerSheet should be between %s and %s",
+					headerHeight + 1, MAX_ROWS));
+		}
+		this.maxRowsPerSheet = maxRowsPerSheet;
+	}
+
+	/**
+	 * List 값을 문자열로 변환할 때 사용할 구분자를 설정합니다. 행을 추가하기 전에 설정해야 합니다.
+	 */
+	public void setListSeparator(String separator) {
+		this.listSeparator = separator != null ? separator : ", ";
+	}
+
+	public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+		this.compressionOptions = compressionOptions != null ? compressionOptions : ExcelCompressionOptions.defaults();
+	}
+
+	public void setFixedTimestamp(Instant fixedTimestamp) {
+		this.fixedTimestamp = fixedTimestamp;
+		wb.setFixedTimestamp(fixedTimestamp);
+	}
+
+	/**
+	 * @return 지금까지 나온 키(파티션) 수
+	 */
+	public int getPartitionCount() {
+		return partitions.size();
+	}
+
+	/**
+	 * 행마다 키를 추출하여 해당 파티션의 현재 시트에 씁니다.
+	 *
+	 * @param data Excel 파일에 추가할 데이터 목록
+	 */
+	@Override
+	public void addRows(List<T> data) {
+		try {
+			for (T row : data) {
+				Object key = keyExtractor.apply(row);
+				Partition partition = partitions.computeIfAbsent(key, Partition::new);
+				partition.writeRow(row);
+			}
+		} catch (IOException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * 파티션별 시트를 만들고 본문을 이어 붙여 워크북을 쓴 뒤, 관련 리소스를 정리합니다.
+	 *
+	 * @param stream 데이터를 작성할 OutputStream 객체
+	 */
+	@Override
+	public void write(OutputStream stream) throws IOException {
+		try {
+			for (Partition partition : new ArrayList<>(openPartitions.values())) {
+				partition.close();
+			}
+
+			List<SheetBodySplicer.SheetBody> bodies = new ArrayList<>();
+			ExcelHeaderRenderer headerRenderer = new ExcelHeaderRenderer(wb);
+			Set<String> usedSheetNames = new HashSet<>();
+			for (Partition partition : partitions.values()) {
+				String baseName = WorkbookUtil.createSafeSheetName(String.valueOf(sheetNameFunction.apply(partition.key)));
+				for (int i = 0; i < partition.sheets.size(); i++) {
+					String sheetName = uniqueSheetName(i == 0 ? baseName : baseName + " (" + (i + 1) + ")",
+							usedSheetNames);
+					createSheet(sheetName, headerRenderer);
+					bodies.add(partition.sheets.get(i));
+				}
+			}
+			if (bodies.isEmpty()) {
+				createSheet(EMPTY_SHEET_NAME, headerRenderer);
+				bodies.add(new PartitionSheet());
+			}
+
+			new SheetBodySplicer(compressionOptions, fixedTimestamp).write(wb, bodies, stream);
+		} finally {
+			if (spillChannel != null) {
+				spillChannel.close();
+				Files.deleteIfExists(spillFile);
+			}
+			wb.dispose();
+			wb.close();
+			stream.close();
+		}
+	}
+
+	private void createSheet(String sheetName, ExcelHeaderRenderer headerRenderer) {
+		Sheet sheet = wb.createSheet(sheetName);
+		int[] maxDisplayWidths = rowWriter != null ? rowWriter.getMaxDisplayWidths() : new int[styleIndexes.length];
+		headerRenderer.render(sheet, resource, 0, COLUMN_START_INDEX);
+
+		List<String> leafFieldPaths = resource.getLeafFieldPaths();
+		for (int i = 0; i < leafFieldPaths.size(); i++) {
+			String headerName = resource.getExcelHeader().getExcelHeaderCell(leafFieldPaths.get(i)).getHeaderName();
+			int width = Math.max(SheetRowXmlWriter.displayWidth(headerName), maxDisplayWidths[i]);
+			sheet.setColumnWidth(COLUMN_START_INDEX + i, Math.min(MAX_COLUMN_WIDTH, width * 256 + COLUMN_WIDTH_PADDING));
+		}
+	}
+
+	/**
+	 * 31자 제한과 대소문자를 구분하지 않는 중복 검사를 적용한 시트 이름을 반환합니다.
+	 */
+	private static String uniqueSheetName(String sheetName, Set<String> usedSheetNames) {
+		String candidate = truncate(sheetName, "");
+		for (int suffix = 2; !usedSheetNames.add(candidate.toLowerCase(Locale.ROOT)); suffix++) {
+			candidate = truncate(sheetName, "~" + suffix);
+		}
+		return candidate;
+	}
+
+	private static String truncate(String sheetName, String suffix) {
+		int length = Math.min(sheetName.length(), MAX_SHEET_NAME_LENGTH - suffix.length());
+		return sheetName.substring(0, length) + suffix;
+	}
+
+	/**
+	 * 압축된 구간을 임시 파일 끝에 쓰고 위치를 반환합니다.
+	 */
+	private long spill(ByteArrayOutputStream segment) throws IOException {
+		if (spillChannel == null) {
+			spillFile = Files.createTempFile("excel-partition-", ".spill");
+			spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+		long position = spillChannel.size();
+		ByteBuffer buffer = ByteBuffer.wrap(segment.toByteArray());
+		long writePosition = position;
+		while (buffer.hasRemaining()) {
+			writePosition += spillChannel.write(buffer, writePosition);
+		}
+		return position;
+	}
+
+	/**
+	 * 파티션의 writer를 연 상태로 표시하고, 열린 파티션 수가 넘치면 가장 오래 사용하지 않은 파티션을 닫습니다.
+	 */
+	private void touch(Partition partition) throws IOException {
+		if (openPartitions.put(partition.key, partition) != null) {
+			return;
+		}
+		if (openPartitions.size() > maxOpenPartitions) {
+			Iterator<Partition> iterator = openPartitions.values().iterator();
+			Partition eldest = iterator.next();
+			iterator.remove();
+			eldest.flushSegment();
+		}
+	}
+
+	/**
+	 * 키 하나의 시트들과 본문 writer
+	 */
+	private final class Partition {
+
+		private final Object key;
+		private final List<PartitionSheet> sheets = new ArrayList<>();
+		private int rowIndex;
+
+		// 열려 있는 경우에만 존재하는 압축 버퍼
+		private ByteArrayOutputStream segment;
+		private Deflater deflater;
+		private Writer writer;
+
+		private Partition(Object key) {
+			this.key = key;
+			if (rowWriter == null) {
+				rowWriter = new SheetRowXmlWriter(type, resource.getLeafFieldPaths(), COLUMN_START_INDEX,
+						styleIndexes, listSeparator);
+				rowWriter.trackColumnWidths();
+			}
+			startSheet();
+		}
+
+		private void writeRow(T row) throws IOException {
+			if (rowIndex == maxRowsPerSheet) {
+				flushSegment();
+				startSheet();
+			}
+			if (writer == null) {
+				segment = new ByteArrayOutputStream();
+				deflater = new Deflater(Deflater.BEST_SPEED);
+				writer = new OutputStreamWriter(new DeflaterOutputStream(segment, deflater), StandardCharsets.UTF_8);
+			}
+			touch(this);
+
+			PartitionSheet sheet = sheets.get(sheets.size() - 1);
+			rowWriter.writeRow(writer, rowIndex, row);
+			sheet.lastRowIndex = rowIndex++;
+
+			// 압축 버퍼가 커지면 구간을 임시 파일로 내려 씀 (writer는 다음 행에서 다시 열림)
+			if (segment.size() >= SEGMENT_BUFFER_SIZE) {
+				flushSegment();
+				openPartitions.remove(key);
+			}
+		}
+
+		private void startSheet() {
+			sheets.add(new PartitionSheet());
+			rowIndex = headerHeight;
+		}
+
+		/**
+		 * 압축을 마치고 구간을 임시 파일로 내려 씁니다. 열린 상태 표시는 호출한 쪽에서 정리합니다.
+		 */
+		private void flushSegment() throws IOException {
+			if (writer == null) {
+				return;
+			}
+			try {
+				writer.close();
+				long position = spill(segment);
+				sheets.get(sheets.size() - 1).addSegment(position, segment.size());
+			} finally {
+				deflater.end();
+				writer = null;
+				deflater = null;
+				segment = null;
+			}
+		}
+
+		private void close() throws IOException {
+			flushSegment();
+			openPartitions.remove(key);
+		}
+	}
+
+	/**
+	 * 파티션의 시트 하나, 임시 파일에 내려 쓴 압축 구간들로 구성됩니다.
+	 */
+	private final class PartitionSheet implements SheetBodySplicer.SheetBody {
+
+		private final List<long[]> segments = new ArrayList<>();
+		private int lastRowIndex = headerHeight - 1;
+
+		private void addSegment(long position, long length) {
+			segments.add(new long[]{position, length});
+		}
+
+		@Override
+		public int lastColumnIndex() {
+			return COLUMN_START_INDEX + styleIndexes.length - 1;
+		}
+
+		@Override
+		public int lastRowIndex() {
+			return lastRowIndex;
+		}
+
+		@Override
+		public void writeTo(OutputStream out) throws IOException {
+			for (long[] segment : segments) {
+				InputStream segmentStream = Channels.newInputStream(spillChannel.position(segment[0]));
+				try (InputStream rowStream = new InflaterInputStream(new BoundedInputStream(segmentStream, segment[1]))) {
+					rowStream.transferTo(out);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 임시 파일의 한 구간만 읽는 스트림, 닫아도 임시 파일 채널은 닫지 않습니다.
+	 */
+	private static final class BoundedInputStream extends InputStream {
+
+		private final InputStream in;
+		private long remaining;
+
+		private BoundedInputStream(InputStream in, long length) {
+			this.in = in;
+			this.remaining = length;
+		}
+
+		@Override
+		public int read() throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int value = in.read();
+			if (value >= 0) {
+				remaining--;
+			}
+			return value;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (remaining <= 0) {
+				return -1;
+			}
+			int read = in.read(b, off, (int) Math.min(len, remaining));
+			if (read > 0) {
+				remaining -= read;
+			}
+			return read;
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.lannstark.excel.sxssf.zip;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * zip 엔트리 하나의 압축된 데이터를 보관하는 버퍼입니다.
+ * 작은 엔트리는 메모리에 두고, 기준 크기를 넘으면 임시 파일로 옮겨서 이어 씁니다.
+ */
+class EntrySpillBuffer implements Closeable {
+
+    private static final int MEMORY_THRESHOLD = 4 * 1024 * 1024;
+
+    private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+    private Path spillFile;
+    private OutputStream spillStream;
+    private long length;
+
+    void write(byte[] b, int off, int len) throws IOException {
+        if (spillStream == null && memory.size() + len > MEMORY_THRESHOLD) {
+            spillFile = Files.createTempFile("excel-zip-entry", ".tmp");
+            spillStream = Files.newOutputStream(spillFile);
+            memory.writeTo(spillStream);
+            memory = null;
+        }
+
+        if (spillStream != null) {
+            spillStream.write(b, off, len);
+        } else {
+            memory.write(b, off, len);
+        }
+        length += len;
+    }
+
+    long length() {
+        return length;
+    }
+
+    InputStream openStream() throws IOException {
+        if (spillStream == null) {
+            return new ByteArrayInputStream(memory.toByteArray());
+        }
+        spillStream.close();
+        return Files.newInputStream(spillFile);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spillStream != null) {
+            spillStream.close();
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.lannstark.excel.sxssf.zip;
+
+import lombok.Getter;
+
+import java.util.zip.Deflater;
+
+/**
+ * 워크북 파트(zip 엔트리)의 압축 방식을 지정합니다.
+ *  - level: DEFLATE 압축 레벨 (0 ~ 9, 기본값 {@link Deflater#DEFAULT_COMPRESSION})
+ *  - store: 압축하지 않고 그대로 저장 (내부 전송용)
+ *  - parallelism: 큰 파트를 블록 단위로 동시에 압축할 스레드 수
+ *  - blockSize: 병렬 압축 블록 크기 (바이트)
+ */
+@Getter
+public class ExcelCompressionOptions {
+
+    private static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+    private static final int MIN_BLOCK_SIZE = 32 * 1024;
+
+    private int level = Deflater.DEFAULT_COMPRESSION;
+    private boolean store = false;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+
+    public static ExcelCompressionOptions defaults() {
+        return new ExcelCompressionOptions();
+    }
+
+    public ExcelCompressionOptions level(int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException(String.format("Wrong compression level(%s)", level));
+        }
+        this.level = level;
+        this.store = false;
+        return this;
+    }
+
+    public ExcelCompressionOptions store() {
+        this.store = true;
+        return this;
+    }
+
+    public ExcelCompressionOptions parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public ExcelCompressionOptions blockSize(int blockSize) {
+        if (blockSize < MIN_BLOCK_SIZE) {
+            throw new IllegalArgumentException(String.format("blockSize should be at least %s", MIN_BLOCK_SIZE));
+        }
+        this.blockSize = blockSize;
+        return this;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.lannstark.excel.sxssf.zip;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.ooxml.POIXMLProperties;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+/**
+ * 워크북 파트를 쓸 때 ParallelDeflateZipOutputStream을 사용하는 SXSSFWorkbook입니다.
+ * 압축 레벨, 저장(store) 여부, 병렬 압축 스레드 수는 ExcelCompressionOptions로 지정합니다.
+ * 고정 시각(fixedTimestamp)을 지정하면 docProps의 생성/수정 시각과 zip 엔트리 시간을 고정하여
+ * 같은 데이터로 항상 같은 바이트의 파일을 생성합니다.
+ */
+public class ExcelSXSSFWorkbook extends SXSSFWorkbook {
+
+    private ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults();
+    private Instant fixedTimestamp;
+
+    public ExcelSXSSFWorkbook() {
+        super();
+    }
+
+    public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+        this.compressionOptions = compressionOptions != null ? compressionOptions : ExcelCompressionOptions.defaults();
+    }
+
+    public void setFixedTimestamp(Instant fixedTimestamp) {
+        this.fixedTimestamp = fixedTimestamp;
+    }
+
+    @Override
+    public void write(OutputStream stream) throws IOException {
+        if (fixedTimestamp != null) {
+            POIXMLProperties.CoreProperties coreProperties = getXSSFWorkbook().getProperties().getCoreProperties();
+            coreProperties.setCreated(Optional.of(Date.from(fixedTimestamp)));
+            coreProperties.setModified(Optional.of(Date.from(fixedTimestamp)));
+        }
+        super.write(stream);
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        ParallelDeflateZipOutputStream zos = new ParallelDeflateZipOutputStream(out, compressionOptions);
+        if (fixedTimestamp != null) {
+            zos.setFixedEntryTime(fixedTimestamp.toEpochMilli());
+        }
+        return zos;
+    }
+
+}
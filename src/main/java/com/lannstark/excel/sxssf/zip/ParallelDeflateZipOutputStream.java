@@ -0,0 +1,268 @@
+package com.lannstark.excel.sxssf.zip;
+
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * 워크북 파트를 블록 단위로 병렬 압축하여 쓰는 ZipArchiveOutputStream입니다. (pigz 방식)
+ *
+ * 엔트리 데이터를 blockSize 단위 블록으로 나누어 각 블록을 별도의 Deflater로 동시에 압축합니다.
+ * 마지막 블록이 아닌 블록은 SYNC_FLUSH로 끝내고, 이전 블록의 마지막 32KB를 사전(dictionary)으로 사용하므로
+ * 압축된 블록을 순서대로 이어 붙이면 하나의 올바른 DEFLATE 스트림이 되며 압축률도 거의 유지됩니다.
+ *
+ * 엔트리를 닫을 때 크기와 CRC를 모두 알고 있는 상태로 raw 엔트리를 추가하기 때문에
+ * Zip64 확장은 실제로 4GB를 넘는 경우에만 사용됩니다.
+ */
+public class ParallelDeflateZipOutputStream extends ZipArchiveOutputStream {
+
+    // DEFLATE 최대 참조 거리
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int OUTPUT_BUFFER_SIZE = 16 * 1024;
+
+    private final ExcelCompressionOptions options;
+    private ExecutorService executor;
+
+    // 지정된 경우 모든 엔트리의 수정 시간을 고정 (같은 입력이면 같은 바이트의 파일 생성)
+    private Long fixedEntryTime;
+
+    private ZipArchiveEntry currentEntry;
+    private EntryEncoder encoder;
+
+    public ParallelDeflateZipOutputStream(OutputStream out, ExcelCompressionOptions options) {
+        super(out);
+        this.options = options;
+        setUseZip64(Zip64Mode.AsNeeded);
+    }
+
+    public void setFixedEntryTime(Long fixedEntryTime) {
+        this.fixedEntryTime = fixedEntryTime;
+    }
+
+    @Override
+    public void putArchiveEntry(ZipArchiveEntry entry) throws IOException {
+        if (currentEntry != null) {
+            closeArchiveEntry();
+        }
+        currentEntry = entry;
+        encoder = new EntryEncoder();
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int length) throws IOException {
+        if (encoder == null) {
+            throw new IllegalStateException("No current entry");
+        }
+        encoder.write(b, offset, length);
+    }
+
+    @Override
+    public void closeArchiveEntry() throws IOException {
+        if (currentEntry == null) {
+            return;
+        }
+
+        try (EntrySpillBuffer encoded = encoder.finish()) {
+            ZipArchiveEntry rawEntry = new ZipArchiveEntry(currentEntry.getName());
+            rawEntry.setTime(resolveEntryTime(currentEntry));
+            rawEntry.setMethod(options.isStore() ? ZipEntry.STORED : ZipEntry.DEFLATED);
+            rawEntry.setSize(encoder.size);
+            rawEntry.setCompressedSize(encoded.length());
+            rawEntry.setCrc(encoder.crc.getValue());
+
+            try (InputStream rawStream = encoded.openStream()) {
+                addRawArchiveEntry(rawEntry, rawStream);
+            }
+        } finally {
+            currentEntry = null;
+            encoder = null;
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            if (currentEntry != null) {
+                closeArchiveEntry();
+            }
+            super.finish();
+        } finally {
+            shutdownExecutor();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            shutdownExecutor();
+        }
+    }
+
+    /**
+     * 엔트리의 수정 시간을 결정합니다.
+     * 고정 시간이 지정되지 않았고 원본 엔트리에 시간이 없으면 현재 시간을 사용합니다.
+     */
+    private long resolveEntryTime(ZipArchiveEntry entry) {
+        if (fixedEntryTime != null) {
+            return fixedEntryTime;
+        }
+        return entry.getTime() >= 0 ? entry.getTime() : System.currentTimeMillis();
+    }
+
+    private ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(options.getParallelism(), runnable -> {
+                Thread thread = new Thread(runnable, "excel-deflate");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    private void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * 엔트리 하나의 데이터를 블록으로 나누어 압축하고, 압축이 끝난 블록을 순서대로 버퍼에 씁니다.
+     * 대기 중인 블록 수를 parallelism의 두 배로 제한하여 메모리 사용량을 일정하게 유지합니다.
+     */
+    private final class EntryEncoder {
+
+        private final CRC32 crc = new CRC32();
+        private final EntrySpillBuffer output = new EntrySpillBuffer();
+        private final Deque<Future<byte[]>> pendingBlocks = new ArrayDeque<>();
+
+        private byte[] block = new byte[options.getBlockSize()];
+        private int blockLength;
+        private byte[] previousBlock;
+        private int previousBlockLength;
+        private long size;
+
+        void write(byte[] b, int offset, int length) throws IOException {
+            crc.update(b, offset, length);
+            size += length;
+
+            if (options.isStore()) {
+                output.write(b, offset, length);
+                return;
+            }
+
+            while (length > 0) {
+                int chunk = Math.min(length, block.length - blockLength);
+                System.arraycopy(b, offset, block, blockLength, chunk);
+                blockLength += chunk;
+                offset += chunk;
+                length -= chunk;
+
+                if (blockLength == block.length) {
+                    submitBlock(false);
+                }
+            }
+        }
+
+        EntrySpillBuffer finish() throws IOException {
+            if (!options.isStore()) {
+                submitBlock(true);
+                while (!pendingBlocks.isEmpty()) {
+                    drainBlock();
+                }
+            }
+            return output;
+        }
+
+        private void submitBlock(boolean last) throws IOException {
+            byte[] input = block;
+            int inputLength = blockLength;
+            byte[] dictionary = previousBlock;
+            int dictionaryLength = previousBlockLength;
+
+            // 압축 중인 블록은 다음 블록의 사전으로 사용되므로 새 배열에 이어서 씀
+            previousBlock = input;
+            previousBlockLength = inputLength;
+            block = new byte[options.getBlockSize()];
+            blockLength = 0;
+
+            // 블록이 하나뿐인 작은 엔트리는 현재 스레드에서 바로 압축
+            if (options.getParallelism() == 1 || (last && pendingBlocks.isEmpty())) {
+                pendingBlocks.add(CompletableFuture.completedFuture(
+                        deflateBlock(input, inputLength, dictionary, dictionaryLength, last)));
+            } else {
+                pendingBlocks.add(executor().submit(
+                        () -> deflateBlock(input, inputLength, dictionary, dictionaryLength, last)));
+            }
+
+            while (pendingBlocks.size() > options.getParallelism() * 2) {
+                drainBlock();
+            }
+        }
+
+        private void drainBlock() throws IOException {
+            try {
+                byte[] compressed = pendingBlocks.poll().get();
+                output.write(compressed, 0, compressed.length);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException(e.getMessage());
+            } catch (ExecutionException e) {
+                throw new ExcelInternalException(e.getCause().getMessage(), e.getCause());
+            }
+        }
+
+        private byte[] deflateBlock(byte[] input, int inputLength, byte[] dictionary, int dictionaryLength,
+                                    boolean last) {
+            Deflater deflater = new Deflater(options.getLevel(), true);
+            try {
+                if (dictionary != null) {
+                    int dictionarySize = Math.min(DICTIONARY_SIZE, dictionaryLength);
+                    deflater.setDictionary(dictionary, dictionaryLength - dictionarySize, dictionarySize);
+                }
+                deflater.setInput(input, 0, inputLength);
+
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(inputLength / 4 + 64);
+                byte[] buffer = new byte[OUTPUT_BUFFER_SIZE];
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        int length = deflater.deflate(buffer);
+                        compressed.write(buffer, 0, length);
+                    }
+                } else {
+                    // 출력 버퍼를 가득 채운 경우 남은 출력이 있으므로 다시 호출
+                    int length;
+                    do {
+                        length = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                        compressed.write(buffer, 0, length);
+                    } while (length == buffer.length);
+                }
+                return compressed.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+    }
+
+}
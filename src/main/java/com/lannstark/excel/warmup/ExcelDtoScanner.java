@@ -0,0 +1,123 @@
+package com.lannstark.excel.warmup;
+
+import com.lannstark.ExcelColumn;
+import com.lannstark.exception.ExcelInternalException;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+/**
+ * 클래스패스에서 주어진 패키지(하위 패키지 포함)의 클래스 중 {@link ExcelColumn} 필드가 있는 클래스를 찾습니다.
+ * 디렉터리와 jar 클래스패스를 지원하며, 클래스는 초기화하지 않고 읽습니다.
+ * 읽을 수 없는 클래스(의존성 누락 등)는 건너뜁니다.
+ */
+public final class ExcelDtoScanner {
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	private ExcelDtoScanner() {
+	}
+
+	public static List<Class<?>> scan(ClassLoader classLoader, String... packageNames) {
+		Set<String> classNames = new TreeSet<>();
+		try {
+			for (String packageName : packageNames) {
+				String packagePath = packageName.replace('.', '/');
+				Enumeration<URL> resources = classLoader.getResources(packagePath);
+				while (resources.hasMoreElements()) {
+					URL resource = resources.nextElement();
+					if ("file".equals(resource.getProtocol())) {
+						collectFromDirectory(Path.of(resource.toURI()), packageName, classNames);
+					} else if ("jar".equals(resource.getProtocol())) {
+						collectFromJar(resource, packagePath, classNames);
+					}
+				}
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+
+		List<Class<?>> types = new ArrayList<>();
+		for (String className : classNames) {
+			Class<?> type = load(classLoader, className);
+			try {
+				if (type != null && isExcelDto(type)) {
+					types.add(type);
+				}
+			} catch (LinkageError e) {
+				// 필드 타입을 읽을 수 없는 클래스는 건너뜀
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * ExcelRenderResourceFactory와 같이 클래스에 직접 선언된 필드만 확인합니다.
+	 */
+	static boolean isExcelDto(Class<?> type) {
+		if (type.isInterface() || type.isAnnotation() || type.isEnum() || Modifier.isAbstract(type.getModifiers())) {
+			return false;
+		}
+		for (Field field : type.getDeclaredFields()) {
+			if (field.isAnnotationPresent(ExcelColumn.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void collectFromDirectory(Path directory, String packageName, Set<String> classNames) throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.filter(file -> file.getFileName().toString().endsWith(CLASS_SUFFIX)).forEach(file -> {
+				String relative = directory.relativize(file).toString().replace(file.getFileSystem().getSeparator(), ".");
+				addClassName(packageName + "." + relative, classNames);
+			});
+		}
+	}
+
+	private static void collectFromJar(URL resource, String packagePath, Set<String> classNames) throws IOException {
+		JarURLConnection connection = (JarURLConnection) resource.openConnection();
+		connection.setUseCaches(false);
+		try (JarFile jar = connection.getJarFile()) {
+			Enumeration<JarEntry> entries = jar.entries();
+			while (entries.hasMoreElements()) {
+				String name = entries.nextElement().getName();
+				if (name.startsWith(packagePath + "/") && name.endsWith(CLASS_SUFFIX)) {
+					addClassName(name.replace('/', '.'), classNames);
+				}
+			}
+		}
+	}
+
+	private static void addClassName(String fileName, Set<String> classNames) {
+		String className = fileName.substring(0, fileName.length() - CLASS_SUFFIX.length());
+		// package-info, module-info와 익명 클래스 제외
+		if (className.endsWith("-info") || className.matches(".*\\$\\d+.*")) {
+			return;
+		}
+		classNames.add(className);
+	}
+
+	private static Class<?> load(ClassLoader classLoader, String className) {
+		try {
+			return Class.forName(className, false, classLoader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,126 @@
+package com.lannstark.excel.warmup;
+
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 애플리케이션 시작 시 엑셀 다운로드 경로를 미리 실행하여, 배포 후 첫 다운로드가 느려지지 않도록 합니다. (opt-in)
+ *  1. 주어진 패키지에서 {@link com.lannstark.ExcelColumn} 필드가 있는 DTO를 찾습니다.
+ *  2. DTO마다 렌더링 템플릿(어노테이션 해석, 헤더 레이아웃, 스타일 정의)을 만들어 ExcelRenderResourceFactory에 캐시합니다.
+ *  3. 임의 값으로 채운 행을 OneSheetExcelFile로 여러 번 렌더링하여 버리는 스트림에 씁니다.
+ *     POI 클래스 로딩, 스타일 생성, zip 압축 경로와 행 렌더링 코드의 JIT 컴파일이 이 시점에 일어납니다.
+ *
+ * <pre>
+ * ExcelWarmUpReport report = ExcelWarmUp.forPackages("com.example.excel.dto").run();
+ * log.info(report.summary());
+ * </pre>
+ */
+public class ExcelWarmUp {
+
+	private final List<String> packageNames;
+	private final Set<Class<?>> types = new LinkedHashSet<>();
+	private ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+	private int syntheticRows = 1_000;
+	private int iterations = 5;
+
+	private ExcelWarmUp(List<String> packageNames) {
+		this.packageNames = packageNames;
+	}
+
+	/**
+	 * @param packageNames DTO를 찾을 패키지, 하위 패키지 포함
+	 */
+	public static ExcelWarmUp forPackages(String... packageNames) {
+		return new ExcelWarmUp(List.of(packageNames));
+	}
+
+	/**
+	 * 패키지 탐색 없이 주어진 DTO만 예열합니다.
+	 */
+	public static ExcelWarmUp forTypes(Class<?>... types) {
+		ExcelWarmUp warmUp = new ExcelWarmUp(List.of());
+		Collections.addAll(warmUp.types, types);
+		return warmUp;
+	}
+
+	public ExcelWarmUp classLoader(ClassLoader classLoader) {
+		this.classLoader = classLoader;
+		return this;
+	}
+
+	/**
+	 * 렌더링마다 쓸 임의 행 수, 기본값 1,000
+	 */
+	public ExcelWarmUp syntheticRows(int syntheticRows) {
+		if (syntheticRows < 0) {
+			throw new IllegalArgumentException("syntheticRows should not be negative");
+		}
+		this.syntheticRows = syntheticRows;
+		return this;
+	}
+
+	/**
+	 * DTO별 렌더링 횟수, 기본값 5
+	 */
+	public ExcelWarmUp iterations(int iterations) {
+		if (iterations < 1) {
+			throw new IllegalArgumentException("iterations should be at least 1");
+		}
+		this.iterations = iterations;
+		return this;
+	}
+
+	/**
+	 * 예열을 실행합니다. 실패한 DTO는 결과에 기록하고 나머지 DTO를 계속 예열합니다.
+	 */
+	public ExcelWarmUpReport run() {
+		long start = System.nanoTime();
+		Set<Class<?>> targets = new LinkedHashSet<>(types);
+		if (!packageNames.isEmpty()) {
+			targets.addAll(ExcelDtoScanner.scan(classLoader, packageNames.toArray(new String[0])));
+		}
+		Duration scanDuration = Duration.ofNanos(System.nanoTime() - start);
+
+		List<ExcelWarmUpReport.TypeResult> results = new ArrayList<>();
+		List<ExcelWarmUpReport.Failure> failures = new ArrayList<>();
+		for (Class<?> type : targets) {
+			try {
+				results.add(warmUp(type));
+			} catch (Exception | LinkageError e) {
+				failures.add(new ExcelWarmUpReport.Failure(type, String.valueOf(e.getMessage())));
+			}
+		}
+		return new ExcelWarmUpReport(List.copyOf(results), List.copyOf(failures), scanDuration,
+				Duration.ofNanos(System.nanoTime() - start));
+	}
+
+	private <T> ExcelWarmUpReport.TypeResult warmUp(Class<T> type) throws IOException {
+		long start = System.nanoTime();
+		ExcelRenderResourceFactory.getTemplate(type);
+		Duration templateDuration = Duration.ofNanos(System.nanoTime() - start);
+
+		Object row = SyntheticRowFactory.create(type);
+		List<T> rows = row != null ? Collections.nCopies(syntheticRows, type.cast(row)) : List.of();
+		Duration firstRender = null;
+		Duration lastRender = null;
+		for (int i = 0; i < iterations; i++) {
+			long renderStart = System.nanoTime();
+			new OneSheetExcelFile<>(rows, type).write(OutputStream.nullOutputStream());
+			lastRender = Duration.ofNanos(System.nanoTime() - renderStart);
+			if (firstRender == null) {
+				firstRender = lastRender;
+			}
+		}
+		return new ExcelWarmUpReport.TypeResult(type, rows.size(), templateDuration, firstRender, lastRender);
+	}
+
+}
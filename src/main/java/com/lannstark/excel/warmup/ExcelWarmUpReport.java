@@ -0,0 +1,52 @@
+package com.lannstark.excel.warmup;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 예열 결과
+ *  - types: 예열한 DTO별 결과, 예열한 순서
+ *  - failures: 템플릿을 만들거나 렌더링하지 못한 DTO
+ *  - scanDuration: 클래스패스 탐색 시간
+ *  - totalDuration: 탐색을 포함한 전체 예열 시간
+ *
+ * 첫 DTO의 첫 렌더링에는 POI 클래스 로딩과 JIT 컴파일 전의 비용이 모두 포함되므로,
+ * firstExportLatency()와 warmExportLatency()의 차이가 예열하지 않았을 때 첫 다운로드가 추가로 기다리는 시간입니다.
+ */
+public record ExcelWarmUpReport(List<TypeResult> types, List<Failure> failures, Duration scanDuration,
+								Duration totalDuration) {
+
+	/**
+	 * @param syntheticRows 렌더링한 임의 행 수, 인스턴스를 만들 수 없으면 0 (헤더만 렌더링)
+	 * @param templateDuration 템플릿(어노테이션 해석, 스타일 정의) 계산 시간
+	 * @param firstRender 첫 렌더링 시간
+	 * @param warmRender 마지막 렌더링 시간
+	 */
+	public record TypeResult(Class<?> type, int syntheticRows, Duration templateDuration, Duration firstRender,
+							 Duration warmRender) {
+	}
+
+	public record Failure(Class<?> type, String message) {
+	}
+
+	/**
+	 * @return 예열하지 않은 프로세스의 첫 다운로드에 해당하는 렌더링 시간, 예열한 DTO가 없으면 Duration.ZERO
+	 */
+	public Duration firstExportLatency() {
+		return types.isEmpty() ? Duration.ZERO : types.get(0).templateDuration().plus(types.get(0).firstRender());
+	}
+
+	/**
+	 * @return 예열 후 같은 DTO의 렌더링 시간, 예열한 DTO가 없으면 Duration.ZERO
+	 */
+	public Duration warmExportLatency() {
+		return types.isEmpty() ? Duration.ZERO : types.get(0).warmRender();
+	}
+
+	public String summary() {
+		return String.format("Excel warm-up: %d types (%d failed) in %d ms (scan %d ms), first export %d ms -> %d ms after warm-up",
+				types.size(), failures.size(), totalDuration.toMillis(), scanDuration.toMillis(),
+				firstExportLatency().toMillis(), warmExportLatency().toMillis());
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.lannstark.excel.warmup;
+
+import com.lannstark.ExcelColumn;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 예열 렌더링에 사용할 DTO 인스턴스를 만듭니다.
+ * 기본 생성자로 만든 뒤 {@link ExcelColumn} 필드에 타입별 임의 값을 채우며, 중첩 DTO 필드도 같은 방식으로 채웁니다.
+ * 기본 생성자가 없거나 값을 채울 수 없는 타입은 null을 반환하고, 이 경우 헤더만 렌더링합니다.
+ */
+final class SyntheticRowFactory {
+
+	private static final int MAX_DEPTH = 8;
+	private static final LocalDate SAMPLE_DATE = LocalDate.of(2024, 1, 1);
+
+	private static final Map<Class<?>, Object> SAMPLE_VALUES = Map.ofEntries(
+			Map.entry(String.class, "warm-up <&>"),
+			Map.entry(int.class, 1234), Map.entry(Integer.class, 1234),
+			Map.entry(long.class, 1234567L), Map.entry(Long.class, 1234567L),
+			Map.entry(short.class, (short) 12), Map.entry(Short.class, (short) 12),
+			Map.entry(byte.class, (byte) 1), Map.entry(Byte.class, (byte) 1),
+			Map.entry(double.class, 0.25), Map.entry(Double.class, 0.25),
+			Map.entry(float.class, 0.5f), Map.entry(Float.class, 0.5f),
+			Map.entry(boolean.class, true), Map.entry(Boolean.class, true),
+			Map.entry(char.class, 'A'), Map.entry(Character.class, 'A'),
+			Map.entry(BigDecimal.class, new BigDecimal("1234.5678")),
+			Map.entry(BigInteger.class, BigInteger.valueOf(1234567)),
+			Map.entry(LocalDate.class, SAMPLE_DATE),
+			Map.entry(LocalDateTime.class, SAMPLE_DATE.atTime(12, 30))
+	);
+
+	private SyntheticRowFactory() {
+	}
+
+	static Object create(Class<?> type) {
+		return create(type, 0);
+	}
+
+	private static Object create(Class<?> type, int depth) {
+		if (depth > MAX_DEPTH) {
+			return null;
+		}
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			Object instance = constructor.newInstance();
+			for (Field field : type.getDeclaredFields()) {
+				if (!field.isAnnotationPresent(ExcelColumn.class) || Modifier.isStatic(field.getModifiers())
+						|| Modifier.isFinal(field.getModifiers())) {
+					continue;
+				}
+				Object value = sampleValue(field.getType(), depth);
+				if (value != null) {
+					field.setAccessible(true);
+					field.set(instance, value);
+				}
+			}
+			return instance;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static Object sampleValue(Class<?> fieldType, int depth) {
+		Object value = SAMPLE_VALUES.get(fieldType);
+		if (value != null) {
+			return value;
+		}
+		if (fieldType.isEnum()) {
+			Object[] constants = fieldType.getEnumConstants();
+			return constants.length > 0 ? constants[0] : null;
+		}
+		return ExcelDtoScanner.isExcelDto(fieldType) ? create(fieldType, depth + 1) : null;
+	}
+
+}
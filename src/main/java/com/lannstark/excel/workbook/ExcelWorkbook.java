@@ -0,0 +1,220 @@
+package com.lannstark.excel.workbook;
+
+import com.lannstark.excel.sxssf.ExcelHeaderRenderer;
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ExcelSXSSFWorkbook;
+import com.lannstark.excel.xml.OffHeapRowBuffer;
+import com.lannstark.excel.xml.SheetBodySplicer;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.ExcelRenderLocation;
+import com.lannstark.resource.ExcelRenderResource;
+import com.lannstark.resource.ExcelRenderResourceFactory;
+import com.lannstark.resource.ExcelRenderTemplate;
+import com.lannstark.resource.collection.CellStylePool;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 서로 다른 타입의 시트로 구성된 워크북입니다. {@link #builder()}로 생성합니다.
+ *
+ * 헤더와 스타일은 하나의 SXSSF 워크북에 순서대로 만들고, 모든 시트가 하나의 CellStylePool을 공유하므로
+ * 시트 타입이 달라도 같은 스타일은 styles.xml에 한 번만 들어갑니다.
+ * 시트 본문은 시트마다 별도의 스레드에서 데이터를 조회하면서 시트 XML 바이트로 direct 버퍼에 인코딩하여 임시 파일에 쓰고,
+ * write 시점에 SheetBodySplicer로 헤더만 있는 워크북의 각 시트 파트에 본문을 이어 붙입니다.
+ * 열 너비는 헤더와 본문 값의 표시 너비로 계산합니다.
+ */
+public class ExcelWorkbook {
+
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+    private static final int COLUMN_START_INDEX = 0;
+    private static final int COLUMN_WIDTH_PADDING = 512;
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+
+    private final ExcelSXSSFWorkbook wb = new ExcelSXSSFWorkbook();
+    private final List<PreparedSheet> preparedSheets = new ArrayList<>();
+    private final List<Future<RenderedBody>> renderedBodies = new ArrayList<>();
+    private ExcelCompressionOptions compressionOptions = ExcelCompressionOptions.defaults();
+    private Instant fixedTimestamp;
+
+    ExcelWorkbook(List<SheetDefinition<?>> sheets, DataFormatDecider dataFormatDecider, String listSeparator,
+                  int parallelism) {
+        CellStylePool cellStylePool = new CellStylePool(wb);
+        ExcelHeaderRenderer headerRenderer = new ExcelHeaderRenderer(wb);
+
+        // 1. 워크북 구조(스타일, 시트, 헤더)는 선언 순서대로 한 스레드에서 생성
+        for (SheetDefinition<?> definition : sheets) {
+            ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(definition.type());
+            ExcelRenderResource resource = template.materialize(cellStylePool, dataFormatDecider);
+            Sheet sheet = wb.createSheet(definition.name());
+            headerRenderer.render(sheet, resource, 0, COLUMN_START_INDEX);
+
+            List<String> leafFieldPaths = resource.getLeafFieldPaths();
+            int[] styleIndexes = new int[leafFieldPaths.size()];
+            for (int i = 0; i < leafFieldPaths.size(); i++) {
+                styleIndexes[i] = resource.getCellStyle(leafFieldPaths.get(i), ExcelRenderLocation.BODY).getIndex();
+            }
+            SheetRowXmlWriter rowWriter = new SheetRowXmlWriter(definition.type(), leafFieldPaths, COLUMN_START_INDEX,
+                    styleIndexes, listSeparator);
+            preparedSheets.add(new PreparedSheet(definition, resource, rowWriter));
+        }
+
+        // 2. 시트 본문은 시트마다 동시에 렌더링
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, sheets.size()), runnable -> {
+            Thread thread = new Thread(runnable, "excel-workbook-sheet");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (PreparedSheet preparedSheet : preparedSheets) {
+            renderedBodies.add(executor.submit(() -> renderBody(preparedSheet)));
+        }
+        executor.shutdown();
+    }
+
+    public static ExcelWorkbookBuilder builder() {
+        return new ExcelWorkbookBuilder();
+    }
+
+    public void setCompressionOptions(ExcelCompressionOptions compressionOptions) {
+        this.compressionOptions = compressionOptions != null ? compressionOptions : ExcelCompressionOptions.defaults();
+    }
+
+    public void setFixedTimestamp(Instant fixedTimestamp) {
+        this.fixedTimestamp = fixedTimestamp;
+        wb.setFixedTimestamp(fixedTimestamp);
+    }
+
+    /**
+     * 모든 시트의 렌더링이 끝나면 워크북을 출력 스트림에 쓰고, 관련 리소스를 정리합니다.
+     *
+     * @param stream 데이터를 작성할 OutputStream 객체
+     */
+    public void write(OutputStream stream) throws IOException {
+        List<RenderedBody> bodies = new ArrayList<>();
+        try {
+            for (Future<RenderedBody> renderedBody : renderedBodies) {
+                bodies.add(await(renderedBody));
+            }
+
+            for (int i = 0; i < preparedSheets.size(); i++) {
+                applyColumnWidths(wb.getSheetAt(i), preparedSheets.get(i).resource(), bodies.get(i).maxDisplayWidths());
+            }
+            new SheetBodySplicer(compressionOptions, fixedTimestamp).write(wb, bodies, stream);
+        } finally {
+            for (Future<RenderedBody> renderedBody : renderedBodies) {
+                renderedBody.cancel(true);
+                deleteRenderedBody(renderedBody);
+            }
+            wb.dispose();
+            wb.close();
+            stream.close();
+        }
+    }
+
+    /**
+     * 시트 하나의 본문을 시트 XML로 임시 파일에 씁니다. 시트마다 별도의 스레드에서 실행됩니다.
+     */
+    private RenderedBody renderBody(PreparedSheet preparedSheet) throws IOException {
+        SheetRowXmlWriter rowWriter = preparedSheet.rowWriter();
+        rowWriter.trackColumnWidths();
+        int headerHeight = preparedSheet.resource().getExcelHeader().getHeaderHeight();
+
+        Path file = Files.createTempFile("excel-sheet-", ".xml");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE);
+             OffHeapRowBuffer rowBuffer = new OffHeapRowBuffer(rowWriter, channel)) {
+            int rowIndex = headerHeight;
+            for (Object data : preparedSheet.definition().dataSource().get()) {
+                if (rowIndex == MAX_ROWS) {
+                    throw new IllegalArgumentException(String.format("Sheet %s does not support over %s rows",
+                            preparedSheet.definition().name(), MAX_ROWS - headerHeight));
+                }
+                rowBuffer.writeRow(rowIndex++, data);
+            }
+            rowBuffer.flush();
+            int lastColumnIndex = COLUMN_START_INDEX + rowWriter.getColumnCount() - 1;
+            return new RenderedBody(file, lastColumnIndex, rowIndex - 1, rowWriter.getMaxDisplayWidths());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private void applyColumnWidths(Sheet sheet, ExcelRenderResource resource, int[] maxDisplayWidths) {
+        List<String> leafFieldPaths = resource.getLeafFieldPaths();
+        for (int i = 0; i < leafFieldPaths.size(); i++) {
+            String headerName = resource.getExcelHeader().getExcelHeaderCell(leafFieldPaths.get(i)).getHeaderName();
+            int width = Math.max(SheetRowXmlWriter.displayWidth(headerName), maxDisplayWidths[i]);
+            ((SXSSFSheet) sheet).setColumnWidth(COLUMN_START_INDEX + i,
+                    Math.min(MAX_COLUMN_WIDTH, width * 256 + COLUMN_WIDTH_PADDING));
+        }
+    }
+
+    /**
+     * 렌더링이 끝난 본문의 임시 파일을 삭제합니다. 다른 시트가 실패한 경우에도 정리되도록 결과를 직접 확인합니다.
+     */
+    private static void deleteRenderedBody(Future<RenderedBody> renderedBody) {
+        if (!renderedBody.isDone() || renderedBody.isCancelled()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(renderedBody.get().file());
+        } catch (Exception e) {
+            // 렌더링에 실패한 시트는 renderBody에서 임시 파일을 삭제함
+        }
+    }
+
+    private static RenderedBody await(Future<RenderedBody> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExcelInternalException(e.getMessage(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ExcelInternalException(cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * 빌더에서 추가한 시트 정의
+     */
+    record SheetDefinition<T>(String name, Class<T> type, Supplier<? extends Iterable<? extends T>> dataSource) {
+    }
+
+    private record PreparedSheet(SheetDefinition<?> definition, ExcelRenderResource resource,
+                                 SheetRowXmlWriter rowWriter) {
+    }
+
+    private record RenderedBody(Path file, int lastColumnIndex, int lastRowIndex, int[] maxDisplayWidths)
+            implements SheetBodySplicer.SheetBody {
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            Files.copy(file, out);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.lannstark.excel.workbook;
+
+import com.lannstark.resource.DataFormatDecider;
+import com.lannstark.resource.DefaultDataFormatDecider;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 서로 다른 타입의 시트로 구성된 워크북을 만듭니다.
+ *
+ * <pre>
+ * ExcelWorkbook workbook = ExcelWorkbook.builder()
+ *         .sheet("직원", EmployeeDto.class, () -> employeeRepository.findAll())
+ *         .sheet("부서", DeptDto.class, () -> deptRepository.findAll())
+ *         .sheet("요약", SummaryDto.class, summaries)
+ *         .build();
+ * workbook.write(outputStream);
+ * </pre>
+ *
+ * 시트는 추가한 순서대로 배치되며, build 시점에 각 시트의 데이터 조회와 렌더링이 동시에 시작됩니다.
+ */
+public class ExcelWorkbookBuilder {
+
+    private final List<ExcelWorkbook.SheetDefinition<?>> sheets = new ArrayList<>();
+    private final Set<String> sheetNames = new HashSet<>();
+    private DataFormatDecider dataFormatDecider = new DefaultDataFormatDecider();
+    private String listSeparator = ", ";
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    ExcelWorkbookBuilder() {
+    }
+
+    /**
+     * 시트를 추가합니다. 데이터 조회는 시트마다 별도의 스레드에서 실행됩니다.
+     *
+     * @param sheetName 시트 이름
+     * @param type 시트에 렌더링할 타입, @ExcelColumn 필드가 있어야 합니다.
+     * @param dataSource 시트 데이터를 조회하는 함수
+     */
+    public <T> ExcelWorkbookBuilder sheet(String sheetName, Class<T> type,
+                                          Supplier<? extends Iterable<? extends T>> dataSource) {
+        if (StringUtils.isEmpty(sheetName) || !sheetNames.add(sheetName)) {
+            throw new IllegalArgumentException(String.format("Sheet name(%s) is empty or duplicated", sheetName));
+        }
+        sheets.add(new ExcelWorkbook.SheetDefinition<>(sheetName, type, dataSource));
+        return this;
+    }
+
+    /**
+     * 이미 조회한 데이터로 시트를 추가합니다.
+     */
+    public <T> ExcelWorkbookBuilder sheet(String sheetName, Class<T> type, List<? extends T> data) {
+        return sheet(sheetName, type, () -> data);
+    }
+
+    public ExcelWorkbookBuilder dataFormatDecider(DataFormatDecider dataFormatDecider) {
+        this.dataFormatDecider = dataFormatDecider;
+        return this;
+    }
+
+    public ExcelWorkbookBuilder listSeparator(String listSeparator) {
+        this.listSeparator = listSeparator != null ? listSeparator : ", ";
+        return this;
+    }
+
+    /**
+     * 동시에 렌더링할 최대 시트 수를 설정합니다.
+     */
+    public ExcelWorkbookBuilder parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism should be at least 1");
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * 헤더와 스타일을 준비하고 시트 렌더링을 시작합니다.
+     */
+    public ExcelWorkbook build() {
+        if (sheets.isEmpty()) {
+            throw new IllegalArgumentException("Workbook should have at least one sheet");
+        }
+        return new ExcelWorkbook(List.copyOf(sheets), dataFormatDecider, listSeparator, parallelism);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.lannstark.excel.xml;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 행을 시트 XML 바이트로 direct ByteBuffer 세그먼트에 바로 인코딩하고, 세그먼트가 차면 채널로 내보냅니다.
+ * SXSSFRow/SXSSFCell이나 셀 문자열을 만들지 않으므로 대용량 출력 중에도 행마다 힙 할당이 거의 없습니다.
+ * 세그먼트는 프로세스 단위 풀에서 빌려 쓰고 close 시 반납하므로 출력할 때마다 direct 메모리를 새로 할당하지 않습니다.
+ * FileChannel로 내보내는 경우 direct 버퍼에서 바로 쓰므로 힙 복사도 없습니다.
+ */
+public final class OffHeapRowBuffer implements Closeable {
+
+	public static final int SEGMENT_SIZE = 256 * 1024;
+	// 풀에 보관하는 세그먼트 수, 동시에 렌더링하는 시트 수보다 많으면 나머지는 GC로 정리
+	private static final int MAX_POOLED_SEGMENTS = 16;
+	private static final BlockingQueue<ByteBuffer> SEGMENTS = new ArrayBlockingQueue<>(MAX_POOLED_SEGMENTS);
+
+	private final SheetRowXmlWriter rowWriter;
+	private final WritableByteChannel channel;
+	private ByteBuffer segment;
+	private long bytesWritten;
+
+	/**
+	 * @param rowWriter 행을 인코딩할 SheetRowXmlWriter
+	 * @param channel 세그먼트를 내보낼 채널, close 시 닫지 않음
+	 */
+	public OffHeapRowBuffer(SheetRowXmlWriter rowWriter, WritableByteChannel channel) {
+		this(rowWriter, channel, SEGMENT_SIZE);
+	}
+
+	/**
+	 * @param segmentSize 세그먼트 크기, 기본 크기가 아닌 세그먼트는 풀에 반납하지 않음
+	 */
+	public OffHeapRowBuffer(SheetRowXmlWriter rowWriter, WritableByteChannel channel, int segmentSize) {
+		this.rowWriter = rowWriter;
+		this.channel = channel;
+		this.segment = segmentSize == SEGMENT_SIZE ? acquire() : ByteBuffer.allocateDirect(segmentSize);
+	}
+
+	/**
+	 * 한 행을 씁니다. 세그먼트에 공간이 부족하면 세그먼트를 내보낸 뒤 다시 쓰고,
+	 * 행 하나가 세그먼트보다 크면 세그먼트를 키웁니다.
+	 */
+	public void writeRow(int rowIndex, Object data) throws IOException {
+		int rowStart = segment.position();
+		try {
+			rowWriter.writeRow(segment, rowIndex, data);
+			return;
+		} catch (BufferOverflowException e) {
+			segment.position(rowStart);
+		}
+
+		flush();
+		while (true) {
+			try {
+				rowWriter.writeRow(segment, rowIndex, data);
+				return;
+			} catch (BufferOverflowException e) {
+				ByteBuffer oversized = ByteBuffer.allocateDirect(segment.capacity() * 2);
+				release(segment);
+				segment = oversized;
+			}
+		}
+	}
+
+	/**
+	 * 세그먼트에 쌓인 바이트를 모두 채널로 내보냅니다.
+	 */
+	public void flush() throws IOException {
+		segment.flip();
+		while (segment.hasRemaining()) {
+			bytesWritten += channel.write(segment);
+		}
+		segment.clear();
+	}
+
+	/**
+	 * @return 채널로 내보낸 바이트 수
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * 세그먼트를 풀에 반납합니다. 내보내지 않은 바이트는 버려지므로 먼저 flush를 호출해야 합니다.
+	 */
+	@Override
+	public void close() {
+		if (segment != null) {
+			release(segment);
+			segment = null;
+		}
+	}
+
+	private static ByteBuffer acquire() {
+		ByteBuffer pooled = SEGMENTS.poll();
+		return pooled != null ? pooled : ByteBuffer.allocateDirect(SEGMENT_SIZE);
+	}
+
+	private static void release(ByteBuffer segment) {
+		if (segment.capacity() == SEGMENT_SIZE) {
+			segment.clear();
+			SEGMENTS.offer(segment);
+		}
+	}
+
+}
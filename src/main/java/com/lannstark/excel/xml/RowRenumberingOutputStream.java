@@ -0,0 +1,113 @@
+package com.lannstark.excel.xml;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * row 요소 XML을 그대로 옮기면서 행 번호(&lt;row r="N"&gt;, &lt;c r="AN"&gt;)에 offset을 더합니다.
+ * 따로 렌더링한 본문 조각을 한 시트에 이어 붙일 때 XML을 파싱하지 않고 바이트 단위로 바꿉니다.
+ * SheetRowXmlWriter가 쓴 XML은 텍스트의 '&lt;'를 escape하므로 셀 값 안의 문자열과 혼동되지 않습니다.
+ * close()는 버퍼를 비우기만 하고 감싼 스트림은 닫지 않습니다.
+ */
+public class RowRenumberingOutputStream extends FilterOutputStream {
+
+	private static final byte[] ROW_REFERENCE = XmlPartScanner.marker("<row r=\"");
+	private static final byte[] CELL_REFERENCE = XmlPartScanner.marker("<c r=\"");
+
+	private static final int SCANNING = 0;
+	private static final int COLUMN_LETTERS = 1;
+	private static final int ROW_DIGITS = 2;
+
+	private final long offset;
+	private final byte[] numberBytes = new byte[XmlNumberFormat.MAX_LENGTH];
+	private int state = SCANNING;
+	private int rowMatched;
+	private int cellMatched;
+	private long rowNumber;
+	private int digitCount;
+
+	/**
+	 * @param out 바뀐 XML을 쓸 스트림
+	 * @param offset 행 번호에 더할 값
+	 */
+	public RowRenumberingOutputStream(OutputStream out, long offset) {
+		super(out);
+		this.offset = offset;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		write(new byte[]{(byte) b}, 0, 1);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		int end = off + len;
+		// 그대로 옮길 구간의 시작, 행 번호 숫자는 구간에서 빼고 바꾼 값을 씀
+		int runStart = off;
+		for (int i = off; i < end; i++) {
+			byte c = b[i];
+			if (state == SCANNING) {
+				scan(c);
+				if (state == ROW_DIGITS) {
+					out.write(b, runStart, i + 1 - runStart);
+					runStart = i + 1;
+				}
+				continue;
+			}
+			if (state == COLUMN_LETTERS) {
+				if (c >= 'A' && c <= 'Z') {
+					continue;
+				}
+				out.write(b, runStart, i - runStart);
+				runStart = i;
+				state = ROW_DIGITS;
+			}
+			if (c >= '0' && c <= '9') {
+				rowNumber = rowNumber * 10 + (c - '0');
+				digitCount++;
+				runStart = i + 1;
+				continue;
+			}
+			writeRowNumber();
+			runStart = i;
+			scan(c);
+		}
+		if (runStart < end) {
+			out.write(b, runStart, end - runStart);
+		}
+	}
+
+	/**
+	 * 행 번호 앞부분("&lt;row r=\"", "&lt;c r=\"")과 맞는지 확인합니다. 두 패턴 모두 '&lt;'로만 시작하므로 부분 일치를 되돌릴 필요가 없습니다.
+	 */
+	private void scan(byte c) {
+		rowMatched = c == ROW_REFERENCE[rowMatched] ? rowMatched + 1 : (c == '<' ? 1 : 0);
+		cellMatched = c == CELL_REFERENCE[cellMatched] ? cellMatched + 1 : (c == '<' ? 1 : 0);
+		if (rowMatched == ROW_REFERENCE.length) {
+			state = ROW_DIGITS;
+		} else if (cellMatched == CELL_REFERENCE.length) {
+			state = COLUMN_LETTERS;
+		} else {
+			return;
+		}
+		rowMatched = 0;
+		cellMatched = 0;
+		rowNumber = 0;
+		digitCount = 0;
+	}
+
+	private void writeRowNumber() throws IOException {
+		if (digitCount > 0) {
+			out.write(numberBytes, 0, XmlNumberFormat.formatLong(rowNumber + offset, numberBytes, 0));
+		}
+		state = SCANNING;
+	}
+
+	@Override
+	public void close() throws IOException {
+		flush();
+	}
+
+}
@@ -0,0 +1,129 @@
+package com.lannstark.excel.xml;
+
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ParallelDeflateZipOutputStream;
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 헤더만 렌더링한 워크북(skeleton)의 시트 파트에 따로 만든 본문 행 XML을 이어 붙여 워크북을 씁니다.
+ * 시트 본문을 SXSSF 밖에서 (다른 스레드, 임시 파일 등) 만든 경우 사용합니다.
+ *
+ * skeleton 워크북은 메모리에 쓴 뒤 시트 파트가 아닌 엔트리는 압축된 그대로 복사하고,
+ * 시트 파트는 dimension을 바꾸고 sheetData 끝(헤더 행 뒤)에 본문을 넣어 다시 압축합니다.
+ */
+public final class SheetBodySplicer {
+
+    /**
+     * 시트 하나의 본문 행 XML
+     */
+    public interface SheetBody {
+
+        /**
+         * @return 0부터 시작하는 마지막 열 인덱스
+         */
+        int lastColumnIndex();
+
+        /**
+         * @return 0부터 시작하는 마지막 행 인덱스 (헤더 포함)
+         */
+        int lastRowIndex();
+
+        /**
+         * row 요소들을 UTF-8로 씁니다.
+         */
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    private final ExcelCompressionOptions compressionOptions;
+    private final Instant fixedTimestamp;
+
+    public SheetBodySplicer(ExcelCompressionOptions compressionOptions, Instant fixedTimestamp) {
+        this.compressionOptions = compressionOptions != null ? compressionOptions : ExcelCompressionOptions.defaults();
+        this.fixedTimestamp = fixedTimestamp;
+    }
+
+    /**
+     * skeleton 워크북을 쓰면서 시트 순서대로 본문을 이어 붙입니다. 출력 스트림은 닫지 않습니다.
+     *
+     * @param skeleton 헤더만 렌더링한 워크북, 쓰기 후 다시 사용할 수 없음
+     * @param bodies 시트 인덱스 순서의 본문
+     * @param out 워크북을 쓸 출력 스트림
+     */
+    public void write(SXSSFWorkbook skeleton, List<? extends SheetBody> bodies, OutputStream out) throws IOException {
+        if (bodies.size() != skeleton.getNumberOfSheets()) {
+            throw new IllegalArgumentException(String.format("Expected %s sheet bodies but was %s",
+                    skeleton.getNumberOfSheets(), bodies.size()));
+        }
+        Map<String, SheetBody> sheetEntries = new HashMap<>();
+        for (int i = 0; i < bodies.size(); i++) {
+            String partName = skeleton.getXSSFWorkbook().getSheetAt(i).getPackagePart().getPartName().getName();
+            sheetEntries.put(partName.substring(1), bodies.get(i));
+        }
+
+        // 헤더만 있는 워크북은 작으므로 메모리에 씀
+        ByteArrayOutputStream skeletonBytes = new ByteArrayOutputStream();
+        skeleton.write(skeletonBytes);
+
+        try (ZipFile zipFile = ZipFile.builder()
+                .setSeekableByteChannel(new SeekableInMemoryByteChannel(skeletonBytes.toByteArray())).get()) {
+            // 출력 스트림을 닫지 않도록 close 없이 finish만 호출
+            ParallelDeflateZipOutputStream zip = new ParallelDeflateZipOutputStream(out, compressionOptions);
+            if (fixedTimestamp != null) {
+                zip.setFixedEntryTime(fixedTimestamp.toEpochMilli());
+            }
+            for (ZipArchiveEntry entry : Collections.list(zipFile.getEntries())) {
+                SheetBody body = sheetEntries.get(entry.getName());
+                if (body == null) {
+                    try (InputStream rawStream = zipFile.getRawInputStream(entry)) {
+                        zip.addRawArchiveEntry(entry, rawStream);
+                    }
+                    continue;
+                }
+                writeSheetPart(zipFile, entry, zip, body);
+            }
+            zip.finish();
+            out.flush();
+        }
+    }
+
+    /**
+     * 헤더만 있는 시트 파트를 복사하면서 sheetData 끝에 본문을 이어 붙이고 dimension을 바꿉니다.
+     */
+    private void writeSheetPart(ZipFile zipFile, ZipArchiveEntry entry, ParallelDeflateZipOutputStream zip,
+                                SheetBody body) throws IOException {
+        zip.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+        try (InputStream sheetStream = zipFile.getInputStream(entry)) {
+            XmlPartScanner scanner = new XmlPartScanner(sheetStream);
+
+            ByteArrayOutputStream prefix = new ByteArrayOutputStream();
+            if (!scanner.copyUntil(SheetXml.SHEET_DATA_START, prefix)) {
+                throw new ExcelInternalException(String.format("%s has no sheetData", entry.getName()), null);
+            }
+            zip.write(SheetXml.replaceDimension(prefix.toString(StandardCharsets.UTF_8), body.lastColumnIndex(),
+                    body.lastRowIndex()).getBytes(StandardCharsets.UTF_8));
+            zip.write(SheetXml.SHEET_DATA_START);
+
+            scanner.copyUntil(SheetXml.SHEET_DATA_END, zip);
+            body.writeTo(zip);
+            zip.write(SheetXml.SHEET_DATA_END);
+            scanner.copyRemaining(zip);
+        }
+        zip.closeArchiveEntry();
+    }
+
+}
@@ -0,0 +1,391 @@
+package com.lannstark.excel.xml;
+
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.poi.ss.util.CellReference;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.lannstark.utils.SuperClassReflectionUtils.getValue;
+import static com.lannstark.utils.SuperClassReflectionUtils.resolveFieldChain;
+
+/**
+ * DTO 한 건을 시트 XML의 row 요소로 직접 씁니다.
+ * SXSSF가 시트 파트를 쓰는 형식(문자열은 inlineStr, 숫자는 t="n")과 같으므로
+ * 이 라이브러리가 만든 시트 파트에 행을 이어 붙이거나, 워크북 없이 시트 파트를 만들 때 사용합니다.
+ * 숫자는 {@link XmlNumberFormat}으로 씁니다. (정수는 ".0" 없이, 그 외에는 가장 짧은 10진수)
+ * 셀 값은 SXSSFExcelFile과 같은 규칙으로 변환합니다. (Number는 숫자, List는 구분자로 연결, null은 빈 문자열)
+ * 스레드에 안전하지 않으므로 스레드마다 별도의 인스턴스를 사용합니다.
+ */
+public final class SheetRowXmlWriter {
+
+    private static final byte[] ROW_START = ascii("<row r=\"");
+    private static final byte[] ROW_END = ascii("</row>\n");
+    private static final byte[] NUMBER_START = ascii(" t=\"n\"><v>");
+    private static final byte[] NUMBER_END = ascii("</v></c>");
+    private static final byte[] INLINE_STRING_START = ascii(" t=\"inlineStr\"><is><t");
+    private static final byte[] PRESERVE_SPACE = ascii(" xml:space=\"preserve\"");
+    private static final byte[] INLINE_STRING_END = ascii("</t></is></c>");
+    private static final byte[] ESCAPED_LT = ascii("&lt;");
+    private static final byte[] ESCAPED_GT = ascii("&gt;");
+    private static final byte[] ESCAPED_AMP = ascii("&amp;");
+    private static final byte[] ESCAPED_QUOT = ascii("&quot;");
+    private static final byte[] ESCAPED_TAB = ascii("&#x9;");
+    private static final byte[] ESCAPED_LF = ascii("&#xa;");
+    private static final byte[] ESCAPED_CR = ascii("&#xd;");
+    private static final byte[] ESCAPED_NBSP = ascii("&#xa0;");
+
+    private final Field[][] fieldChains;
+    private final String[] columnNames;
+    private final int[] styleIndexes;
+    private final String listSeparator;
+
+    // ByteBuffer 출력용으로 미리 인코딩한 셀 앞부분("<c r=\"A")과 행 번호 뒷부분("\" s=\"3\"")
+    private final byte[][] cellStarts;
+    private final byte[][] cellStyleAttributes;
+    // 말단 필드가 primitive 숫자인 열, boxing 없이 getDouble로 읽음
+    private final boolean[] primitiveNumbers;
+    private final byte[] rowNumberDigits = new byte[10];
+    private final byte[] numberBytes = new byte[XmlNumberFormat.MAX_LENGTH];
+    private final char[] numberChars = new char[XmlNumberFormat.MAX_LENGTH];
+
+    // 열별 최대 표시 너비 (한글 등 전각 문자는 2), trackColumnWidths 호출 시에만 계산
+    private int[] maxDisplayWidths;
+
+    /**
+     * @param type 렌더링할 DTO 타입
+     * @param leafFieldPaths 열 순서의 말단 필드 경로
+     * @param columnStartIndex 시작 열 인덱스
+     * @param styleIndexes 열별 셀 스타일 인덱스 (styles.xml의 cellXfs 인덱스)
+     * @param listSeparator List 값 구분자
+     */
+    public SheetRowXmlWriter(Class<?> type, List<String> leafFieldPaths, int columnStartIndex,
+                             int[] styleIndexes, String listSeparator) {
+        if (styleIndexes.length != leafFieldPaths.size()) {
+            throw new IllegalArgumentException(String.format("Expected %s style indexes but was %s",
+                    leafFieldPaths.size(), styleIndexes.length));
+        }
+        this.fieldChains = new Field[leafFieldPaths.size()][];
+        this.columnNames = new String[leafFieldPaths.size()];
+        for (int i = 0; i < leafFieldPaths.size(); i++) {
+            fieldChains[i] = resolveFieldChain(type, leafFieldPaths.get(i));
+            columnNames[i] = columnName(columnStartIndex + i);
+        }
+        this.styleIndexes = styleIndexes.clone();
+        this.listSeparator = listSeparator;
+
+        this.cellStarts = new byte[fieldChains.length][];
+        this.cellStyleAttributes = new byte[fieldChains.length][];
+        this.primitiveNumbers = new boolean[fieldChains.length];
+        for (int i = 0; i < fieldChains.length; i++) {
+            cellStarts[i] = ascii("<c r=\"" + columnNames[i]);
+            cellStyleAttributes[i] = ascii(styleIndexes[i] != 0 ? "\" s=\"" + styleIndexes[i] + "\"" : "\"");
+            Class<?> leafType = fieldChains[i][fieldChains[i].length - 1].getType();
+            primitiveNumbers[i] = leafType.isPrimitive() && leafType != boolean.class && leafType != char.class;
+        }
+    }
+
+    public int getColumnCount() {
+        return fieldChains.length;
+    }
+
+    /**
+     * 열 너비를 정할 수 있도록 이후에 쓰는 값의 열별 최대 표시 너비를 기록합니다.
+     * 워크북 없이 시트 파트를 만드는 경우 SXSSF의 auto size 대신 사용합니다.
+     */
+    public void trackColumnWidths() {
+        this.maxDisplayWidths = new int[fieldChains.length];
+    }
+
+    /**
+     * @return 열별 최대 표시 너비, trackColumnWidths를 호출하지 않은 경우 null
+     */
+    public int[] getMaxDisplayWidths() {
+        return maxDisplayWidths == null ? null : maxDisplayWidths.clone();
+    }
+
+    /**
+     * 문자열의 표시 너비를 계산합니다. 한글, 한자 등 전각 문자는 2로 계산합니다.
+     */
+    public static int displayWidth(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            width += text.charAt(i) >= 0x1100 ? 2 : 1;
+        }
+        return width;
+    }
+
+    /**
+     * 한 행을 씁니다.
+     *
+     * @param out 시트 XML 출력 (UTF-8)
+     * @param rowIndex 0부터 시작하는 행 인덱스
+     * @param data 렌더링할 데이터
+     */
+    public void writeRow(Writer out, int rowIndex, Object data) throws IOException {
+        String rowNumber = Integer.toString(rowIndex + 1);
+        out.write("<row r=\"");
+        out.write(rowNumber);
+        out.write("\">");
+        for (int columnIndex = 0; columnIndex < fieldChains.length; columnIndex++) {
+            Object cellValue = getValue(data, fieldChains[columnIndex]);
+
+            out.write("<c r=\"");
+            out.write(columnNames[columnIndex]);
+            out.write(rowNumber);
+            out.write('"');
+            if (styleIndexes[columnIndex] != 0) {
+                out.write(" s=\"");
+                out.write(Integer.toString(styleIndexes[columnIndex]));
+                out.write('"');
+            }
+
+            if (cellValue instanceof Number numberValue) {
+                int length = XmlNumberFormat.format(numberValue.doubleValue(), numberBytes, 0);
+                for (int i = 0; i < length; i++) {
+                    numberChars[i] = (char) numberBytes[i];
+                }
+                out.write(" t=\"n\"><v>");
+                out.write(numberChars, 0, length);
+                out.write("</v></c>");
+                trackWidth(columnIndex, length);
+                continue;
+            }
+
+            String text = toText(cellValue);
+            if (maxDisplayWidths != null) {
+                trackWidth(columnIndex, displayWidth(text));
+            }
+            out.write(" t=\"inlineStr\"><is><t");
+            if (hasLeadingOrTrailingSpace(text)) {
+                out.write(" xml:space=\"preserve\"");
+            }
+            out.write('>');
+            writeEscaped(out, text);
+            out.write("</t></is></c>");
+        }
+        out.write("</row>\n");
+    }
+
+    /**
+     * 한 행을 UTF-8 바이트로 버퍼에 바로 씁니다. {@link #writeRow(Writer, int, Object)}와 같은 바이트를 쓰지만
+     * 행 번호, 문자열 셀, primitive 숫자 필드에 대해 힙에 객체를 만들지 않습니다.
+     * 버퍼에 공간이 부족하면 BufferOverflowException이 발생하며, 이때 버퍼의 position은 행 중간일 수 있으므로
+     * 호출한 쪽에서 행 시작 위치로 되돌린 뒤 버퍼를 비우고 다시 써야 합니다. ({@link OffHeapRowBuffer} 참고)
+     *
+     * @param out 시트 XML 출력 버퍼
+     * @param rowIndex 0부터 시작하는 행 인덱스
+     * @param data 렌더링할 데이터
+     */
+    public void writeRow(ByteBuffer out, int rowIndex, Object data) {
+        int digitCount = toDigits(rowIndex + 1);
+        out.put(ROW_START);
+        out.put(rowNumberDigits, rowNumberDigits.length - digitCount, digitCount);
+        out.put((byte) '"');
+        out.put((byte) '>');
+        for (int columnIndex = 0; columnIndex < fieldChains.length; columnIndex++) {
+            out.put(cellStarts[columnIndex]);
+            out.put(rowNumberDigits, rowNumberDigits.length - digitCount, digitCount);
+            out.put(cellStyleAttributes[columnIndex]);
+
+            if (primitiveNumbers[columnIndex]) {
+                Object owner = getOwner(data, fieldChains[columnIndex]);
+                if (owner != null) {
+                    putNumber(out, columnIndex, getDouble(owner, fieldChains[columnIndex]));
+                    continue;
+                }
+            }
+
+            Object cellValue = primitiveNumbers[columnIndex] ? null : getValue(data, fieldChains[columnIndex]);
+            if (cellValue instanceof Number numberValue) {
+                putNumber(out, columnIndex, numberValue.doubleValue());
+                continue;
+            }
+
+            String text = toText(cellValue);
+            if (maxDisplayWidths != null) {
+                trackWidth(columnIndex, displayWidth(text));
+            }
+            out.put(INLINE_STRING_START);
+            if (hasLeadingOrTrailingSpace(text)) {
+                out.put(PRESERVE_SPACE);
+            }
+            out.put((byte) '>');
+            putEscaped(out, text);
+            out.put(INLINE_STRING_END);
+        }
+        out.put(ROW_END);
+    }
+
+    /**
+     * 0부터 시작하는 열 인덱스를 열 이름(A, B, ..., AA)으로 변환합니다.
+     */
+    public static String columnName(int columnIndex) {
+        return CellReference.convertNumToColString(columnIndex);
+    }
+
+    /**
+     * XML 텍스트와 속성 값에 사용할 수 있도록 문자열을 escape하여 씁니다.
+     * XML에서 허용되지 않는 제어 문자는 SXSSF와 같이 '?'로 바꿉니다.
+     */
+    public static void writeEscaped(Writer out, String text) throws IOException {
+        int length = text.length();
+        int start = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\t' -> "&#x9;";
+                case '\n' -> "&#xa;";
+                case '\r' -> "&#xd;";
+                case '\u00A0' -> "&#xa0;";
+                default -> isInvalidXmlChar(c) ? "?" : null;
+            };
+            if (replacement != null) {
+                out.write(text, start, i - start);
+                out.write(replacement);
+                start = i + 1;
+            }
+        }
+        out.write(text, start, length - start);
+    }
+
+    /**
+     * {@link #writeEscaped(Writer, String)}와 같은 규칙으로 escape하면서 UTF-8로 인코딩하여 버퍼에 씁니다.
+     * 짝이 맞지 않는 surrogate는 OutputStreamWriter와 같이 '?'로 바꿉니다.
+     */
+    public static void putEscaped(ByteBuffer out, String text) {
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            // 한글 음절, 한자 등 3바이트 문자가 이어지는 구간은 escape 확인 없이 바로 인코딩
+            if (c >= 0x800 && c < Character.MIN_SURROGATE) {
+                do {
+                    out.put((byte) (0xE0 | (c >> 12)));
+                    out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                    out.put((byte) (0x80 | (c & 0x3F)));
+                } while (++i < length && (c = text.charAt(i)) >= 0x800 && c < Character.MIN_SURROGATE);
+                continue;
+            }
+            switch (c) {
+                case '<' -> out.put(ESCAPED_LT);
+                case '>' -> out.put(ESCAPED_GT);
+                case '&' -> out.put(ESCAPED_AMP);
+                case '"' -> out.put(ESCAPED_QUOT);
+                case '\t' -> out.put(ESCAPED_TAB);
+                case '\n' -> out.put(ESCAPED_LF);
+                case '\r' -> out.put(ESCAPED_CR);
+                case '\u00A0' -> out.put(ESCAPED_NBSP);
+                default -> {
+                    if (isInvalidXmlChar(c)) {
+                        out.put((byte) '?');
+                    } else if (c < 0x80) {
+                        out.put((byte) c);
+                    } else if (c < 0x800) {
+                        out.put((byte) (0xC0 | (c >> 6)));
+                        out.put((byte) (0x80 | (c & 0x3F)));
+                    } else if (Character.isSurrogate(c)) {
+                        if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                            int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                            out.put((byte) (0xF0 | (codePoint >> 18)));
+                            out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                            out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                            out.put((byte) (0x80 | (codePoint & 0x3F)));
+                        } else {
+                            out.put((byte) '?');
+                        }
+                    } else {
+                        out.put((byte) (0xE0 | (c >> 12)));
+                        out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                        out.put((byte) (0x80 | (c & 0x3F)));
+                    }
+                }
+            }
+            i++;
+        }
+    }
+
+    private void putNumber(ByteBuffer out, int columnIndex, double value) {
+        int length = XmlNumberFormat.format(value, numberBytes, 0);
+        out.put(NUMBER_START);
+        out.put(numberBytes, 0, length);
+        out.put(NUMBER_END);
+        trackWidth(columnIndex, length);
+    }
+
+    /**
+     * 행 번호를 rowNumberDigits 끝에 채우고 자릿수를 반환합니다.
+     */
+    private int toDigits(int value) {
+        int position = rowNumberDigits.length;
+        do {
+            rowNumberDigits[--position] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        return rowNumberDigits.length - position;
+    }
+
+    private void trackWidth(int columnIndex, int width) {
+        if (maxDisplayWidths != null && maxDisplayWidths[columnIndex] < width) {
+            maxDisplayWidths[columnIndex] = width;
+        }
+    }
+
+    private String toText(Object cellValue) {
+        if (cellValue == null) {
+            return "";
+        }
+        if (cellValue instanceof List<?> listValue) {
+            return listValue.stream()
+                    .map(item -> item == null ? "" : item.toString())
+                    .collect(Collectors.joining(listSeparator));
+        }
+        return cellValue.toString();
+    }
+
+    /**
+     * @return 말단 필드를 가진 객체, 중간 값이 null이면 null
+     */
+    private static Object getOwner(Object data, Field[] fieldChain) {
+        try {
+            Object result = data;
+            for (int depth = 0; depth < fieldChain.length - 1 && result != null; depth++) {
+                result = fieldChain[depth].get(result);
+            }
+            return result;
+        } catch (IllegalAccessException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+    }
+
+    private static double getDouble(Object owner, Field[] fieldChain) {
+        try {
+            return fieldChain[fieldChain.length - 1].getDouble(owner);
+        } catch (IllegalAccessException e) {
+            throw new ExcelInternalException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean hasLeadingOrTrailingSpace(String text) {
+        return !text.isEmpty()
+                && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(text.length() - 1)));
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static boolean isInvalidXmlChar(char c) {
+        return (c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == 0xFFFE || c == 0xFFFF;
+    }
+
+}
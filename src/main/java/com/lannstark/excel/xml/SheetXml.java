@@ -0,0 +1,42 @@
+package com.lannstark.excel.xml;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 시트 파트(xl/worksheets/sheetN.xml)를 바이트 수준에서 다룰 때 사용하는 표식과 도움 메서드입니다.
+ */
+public final class SheetXml {
+
+    public static final byte[] SHEET_DATA_START = XmlPartScanner.marker("<sheetData>");
+    public static final byte[] SHEET_DATA_END = XmlPartScanner.marker("</sheetData>");
+    public static final byte[] ROW_END = XmlPartScanner.marker("</row>");
+
+    private static final Pattern DIMENSION = Pattern.compile("<dimension ref=\"[^\"]*\"\\s*/>");
+    private static final Pattern TAB_SELECTED = Pattern.compile("\\s+tabSelected=\"(1|true)\"");
+
+    private SheetXml() {
+
+    }
+
+    /**
+     * sheetData 앞부분의 dimension 요소를 A1부터 주어진 마지막 셀까지의 범위로 바꿉니다.
+     *
+     * @param prefixXml sheetData 이전의 시트 XML
+     * @param lastColumnIndex 0부터 시작하는 마지막 열 인덱스
+     * @param lastRowIndex 0부터 시작하는 마지막 행 인덱스
+     */
+    public static String replaceDimension(String prefixXml, int lastColumnIndex, int lastRowIndex) {
+        String dimension = String.format("<dimension ref=\"A1:%s%d\"/>",
+                SheetRowXmlWriter.columnName(lastColumnIndex), lastRowIndex + 1);
+        return DIMENSION.matcher(prefixXml).replaceFirst(Matcher.quoteReplacement(dimension));
+    }
+
+    /**
+     * 시트 선택 표시를 제거합니다. 복사한 시트가 첫 시트와 함께 선택된 상태로 열리지 않도록 합니다.
+     */
+    public static String removeTabSelected(String prefixXml) {
+        return TAB_SELECTED.matcher(prefixXml).replaceAll("");
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.lannstark.excel.xml;
+
+import java.math.BigInteger;
+
+/**
+ * 숫자 셀 값을 시트 XML의 값(&lt;v&gt;)으로 쓸 ASCII 바이트로 변환합니다. 호출한 쪽의 버퍼에 바로 쓰므로 힙 할당이 없습니다.
+ *  - 1e15 미만의 정수는 ".0" 없이 정수로 씁니다. (예: 1200)
+ *  - 그 외의 값은 다시 읽었을 때 같은 double이 되는 가장 짧은 10진수로 씁니다. (예: 0.3, 0.30000000000000004)
+ *  - 1e-3 이상 1e15 미만은 소수점 표기, 나머지는 지수 표기(예: 1.5E-5, 1E20)로 씁니다.
+ * 가장 짧은 10진수는 Schubfach 알고리즘(R. Giulietti, "The Schubfach way to render doubles", JDK 19 Double.toString)으로 구합니다.
+ */
+public final class XmlNumberFormat {
+
+	// "-1.2345678901234567E-308" 길이
+	public static final int MAX_LENGTH = 24;
+
+	private static final int P = 53;
+	private static final int Q_MIN = -1074;
+	private static final long C_MIN = 1L << (P - 1);
+	private static final long C_TINY = 3;
+	private static final long T_MASK = C_MIN - 1;
+	private static final int BQ_MASK = 0x7FF;
+	private static final long MASK_63 = (1L << 63) - 1;
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	private static final double MAX_PLAIN_INTEGER = 1e15;
+	private static final int MIN_PLAIN_EXPONENT = -3;
+	private static final int MAX_PLAIN_EXPONENT = 14;
+
+	private static final byte[] NAN = {'N', 'a', 'N'};
+	private static final byte[] INFINITY = {'I', 'n', 'f', 'i', 'n', 'i', 't', 'y'};
+
+	// 10^-k = β·2^r (2^125 ≤ β < 2^126)일 때 ⌊β⌋ + 1의 상위 63비트와 하위 63비트, k = K_MIN..K_MAX
+	private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+
+	static {
+		for (int k = K_MIN; k <= K_MAX; k++) {
+			int r = flog2pow10(-k) - 125;
+			BigInteger numerator = k < 0 ? BigInteger.TEN.pow(-k) : BigInteger.ONE;
+			BigInteger denominator = k > 0 ? BigInteger.TEN.pow(k) : BigInteger.ONE;
+			if (r < 0) {
+				numerator = numerator.shiftLeft(-r);
+			} else {
+				denominator = denominator.shiftLeft(r);
+			}
+			BigInteger g = numerator.divide(denominator).add(BigInteger.ONE);
+			G[(k - K_MIN) << 1] = g.shiftRight(63).longValueExact();
+			G[(k - K_MIN) << 1 | 1] = g.longValue() & MASK_63;
+		}
+	}
+
+	private XmlNumberFormat() {
+	}
+
+	/**
+	 * @param value 변환할 값
+	 * @param buffer 출력 버퍼, offset부터 MAX_LENGTH 바이트 이상 남아 있어야 함
+	 * @param offset 쓰기 시작 위치
+	 * @return 마지막으로 쓴 바이트 다음 위치
+	 */
+	public static int format(double value, byte[] buffer, int offset) {
+		long integer = (long) value;
+		if (integer == value && Math.abs(value) < MAX_PLAIN_INTEGER) {
+			return formatLong(integer, buffer, offset);
+		}
+
+		long bits = Double.doubleToRawLongBits(value);
+		long t = bits & T_MASK;
+		int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+		if (bq == BQ_MASK) {
+			if (t != 0) {
+				return copy(NAN, buffer, offset);
+			}
+			if (bits < 0) {
+				buffer[offset++] = '-';
+			}
+			return copy(INFINITY, buffer, offset);
+		}
+
+		if (bits < 0) {
+			buffer[offset++] = '-';
+		}
+		if (bq != 0) {
+			// 정규화 수, mq = -q
+			int mq = -Q_MIN + 1 - bq;
+			long c = C_MIN | t;
+			if (0 < mq && mq < P) {
+				long f = c >> mq;
+				if (f << mq == c) {
+					return toChars(f, 0, buffer, offset);
+				}
+			}
+			return toDecimal(-mq, c, 0, buffer, offset);
+		}
+		// 비정규화 수 (0은 정수 경로에서 처리)
+		return t < C_TINY
+				? toDecimal(Q_MIN, 10 * t, -1, buffer, offset)
+				: toDecimal(Q_MIN, t, 0, buffer, offset);
+	}
+
+	/**
+	 * 정수를 10진수 ASCII로 씁니다.
+	 * @return 마지막으로 쓴 바이트 다음 위치
+	 */
+	public static int formatLong(long value, byte[] buffer, int offset) {
+		if (value == Long.MIN_VALUE) {
+			return copy(Long.toString(value).getBytes(), buffer, offset);
+		}
+		if (value < 0) {
+			buffer[offset++] = '-';
+			value = -value;
+		}
+		int end = offset + digitCount(value);
+		int position = end;
+		do {
+			buffer[--position] = (byte) ('0' + value % 10);
+			value /= 10;
+		} while (value > 0);
+		return end;
+	}
+
+	/**
+	 * c·2^q를 구간 안에서 가장 짧은 f·10^e로 바꿔 씁니다.
+	 */
+	private static int toDecimal(int q, long c, int dk, byte[] buffer, int offset) {
+		int out = (int) c & 0x1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl;
+		int k;
+		if (c != C_MIN || q == Q_MIN) {
+			cbl = cb - 2;
+			k = flog10pow2(q);
+		} else {
+			cbl = cb - 1;
+			k = flog10threeQuartersPow2(q);
+		}
+		int h = q + flog2pow10(-k) + 2;
+
+		long g1 = G[(k - K_MIN) << 1];
+		long g0 = G[(k - K_MIN) << 1 | 1];
+
+		long vb = rop(g1, g0, cb << h);
+		long vbl = rop(g1, g0, cbl << h);
+		long vbr = rop(g1, g0, cbr << h);
+
+		long s = vb >> 2;
+		if (s >= 100) {
+			// s·10 / 10의 후보를 먼저 확인, 115_292_150_460_684_698 << 4 = ⌈2^64 / 10⌉
+			long sp10 = 10 * Math.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) {
+				return toChars(upin ? sp10 : tp10, k, buffer, offset);
+			}
+		}
+
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) {
+			return toChars(uin ? s : t, k + dk, buffer, offset);
+		}
+		long cmp = vb - ((s + t) << 1);
+		return toChars(cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t, k + dk, buffer, offset);
+	}
+
+	/**
+	 * f·10^e를 소수점 또는 지수 표기로 씁니다.
+	 */
+	private static int toChars(long f, int e, byte[] buffer, int offset) {
+		while (f % 10 == 0) {
+			f /= 10;
+			e++;
+		}
+		int length = digitCount(f);
+		int exponent = length + e - 1;
+
+		if (exponent < MIN_PLAIN_EXPONENT || exponent > MAX_PLAIN_EXPONENT) {
+			// d.dddE±n
+			int digitsEnd = formatLong(f, buffer, offset + 1);
+			buffer[offset] = buffer[offset + 1];
+			if (length > 1) {
+				buffer[offset + 1] = '.';
+				offset = digitsEnd;
+			} else {
+				offset++;
+			}
+			buffer[offset++] = 'E';
+			return formatLong(exponent, buffer, offset);
+		}
+		if (e >= 0) {
+			offset = formatLong(f, buffer, offset);
+			for (int i = 0; i < e; i++) {
+				buffer[offset++] = '0';
+			}
+			return offset;
+		}
+		if (exponent >= 0) {
+			// 정수부 자리에 소수점을 끼워 넣음
+			int digitsEnd = formatLong(f, buffer, offset);
+			int pointPosition = offset + exponent + 1;
+			System.arraycopy(buffer, pointPosition, buffer, pointPosition + 1, digitsEnd - pointPosition);
+			buffer[pointPosition] = '.';
+			return digitsEnd + 1;
+		}
+		buffer[offset++] = '0';
+		buffer[offset++] = '.';
+		for (int i = -1; i > exponent; i--) {
+			buffer[offset++] = '0';
+		}
+		return formatLong(f, buffer, offset);
+	}
+
+	private static long rop(long g1, long g0, long cp) {
+		long x1 = Math.multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = Math.multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+	}
+
+	private static int digitCount(long value) {
+		int count = 1;
+		while (value >= 10) {
+			value /= 10;
+			count++;
+		}
+		return count;
+	}
+
+	private static int copy(byte[] source, byte[] buffer, int offset) {
+		System.arraycopy(source, 0, buffer, offset, source.length);
+		return offset + source.length;
+	}
+
+	// ⌊e·log10(2)⌋
+	private static int flog10pow2(int e) {
+		return (int) (e * 661_971_961_083L >> 41);
+	}
+
+	// ⌊log10(3/4·2^e)⌋
+	private static int flog10threeQuartersPow2(int e) {
+		return (int) (e * 661_971_961_083L + -274_743_187_321L >> 41);
+	}
+
+	// ⌊e·log2(10)⌋
+	private static int flog2pow10(int e) {
+		return (int) (e * 913_124_641_741L >> 38);
+	}
+
+}
@@ -0,0 +1,89 @@
+package com.lannstark.excel.xml;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * XML 파트를 파싱하지 않고 바이트 그대로 복사하면서 지정한 표식(marker)을 찾습니다.
+ * 수백 MB의 시트 파트에서 sheetData 경계처럼 몇 군데만 바꾸면 되는 경우 DOM/SAX 없이 스트리밍으로 처리합니다.
+ *
+ * 표식은 첫 바이트('&lt;')가 표식 안에서 다시 나오지 않아야 합니다. (예: "&lt;/sheetData&gt;", "&lt;/row&gt;")
+ */
+public final class XmlPartScanner {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    public XmlPartScanner(InputStream in) {
+        this.in = in;
+    }
+
+    public static byte[] marker(String marker) {
+        return marker.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 표식 직전까지의 바이트를 out에 복사하고 표식은 건너뜁니다.
+     *
+     * @param marker 찾을 표식
+     * @param out 복사할 대상
+     * @return 표식을 찾은 경우 true, 표식 없이 파트가 끝난 경우 false (남은 바이트는 모두 복사됨)
+     */
+    public boolean copyUntil(byte[] marker, OutputStream out) throws IOException {
+        int matched = 0;
+        // 이전 버퍼에서 표식의 일부로 보류된 바이트 수
+        int carried = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                out.write(marker, 0, carried);
+                return false;
+            }
+
+            int segmentStart = position;
+            while (position < limit) {
+                byte b = buffer[position++];
+                if (b == marker[matched]) {
+                    matched++;
+                    if (matched == marker.length) {
+                        out.write(buffer, segmentStart, position - segmentStart - (matched - carried));
+                        return true;
+                    }
+                } else if (matched > 0) {
+                    // 보류했던 표식 앞부분을 먼저 내보내고 현재 바이트부터 다시 비교
+                    out.write(marker, 0, carried);
+                    carried = 0;
+                    matched = b == marker[0] ? 1 : 0;
+                }
+            }
+            out.write(buffer, segmentStart, limit - segmentStart - (matched - carried));
+            carried = matched;
+        }
+    }
+
+    /**
+     * 남은 바이트를 모두 out에 복사합니다.
+     */
+    public void copyRemaining(OutputStream out) throws IOException {
+        do {
+            out.write(buffer, position, limit - position);
+            position = limit;
+        } while (fill());
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+}
@@ -24,6 +24,10 @@ public final class ExcelCellKey {
 		this.excelRenderLocation = excelRenderLocation;
 	}
 
+	public String getFieldPath() {
+		return fieldPath;
+	}
+
 	public static ExcelCellKey of(String fieldPath, ExcelRenderLocation excelRenderLocation) {
 		assert excelRenderLocation != null;
 		return new ExcelCellKey(fieldPath, excelRenderLocation);
@@ -0,0 +1,66 @@
+package com.lannstark.resource;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 렌더링할 필드 경로의 부분 집합입니다. 같은 DTO에서 역할별로 다른 열만 내보낼 때 사용합니다.
+ * 중간 필드 경로를 지정하면 그 아래의 모든 말단 필드가 포함됩니다. (예: "deptInfo")
+ *
+ * 필드 경로는 정렬, 중복 제거하여 보관하므로 지정 순서와 관계없이 같은 집합이면 같은 projection이며,
+ * 클래스별 렌더링 템플릿 캐시의 키로 사용됩니다. 열 순서는 항상 DTO에 선언된 순서입니다.
+ */
+public final class ExcelColumnProjection {
+
+	private final List<String> fieldPaths;
+
+	private ExcelColumnProjection(List<String> fieldPaths) {
+		this.fieldPaths = fieldPaths;
+	}
+
+	public static ExcelColumnProjection of(String... fieldPaths) {
+		return of(Arrays.asList(fieldPaths));
+	}
+
+	public static ExcelColumnProjection of(Collection<String> fieldPaths) {
+		if (fieldPaths.isEmpty()) {
+			throw new IllegalArgumentException("Projection should have at least one field path");
+		}
+		return new ExcelColumnProjection(fieldPaths.stream().distinct().sorted().toList());
+	}
+
+	public List<String> getFieldPaths() {
+		return fieldPaths;
+	}
+
+	/**
+	 * @return 필드 경로가 projection에 포함되는지, 선택한 경로이거나 선택한 경로의 하위 경로인 경우 true
+	 */
+	public boolean includes(String fieldPath) {
+		for (String selected : fieldPaths) {
+			if (fieldPath.equals(selected) || fieldPath.startsWith(selected + ",")) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (o == null || getClass() != o.getClass()) return false;
+		return fieldPaths.equals(((ExcelColumnProjection) o).fieldPaths);
+	}
+
+	@Override
+	public int hashCode() {
+		return fieldPaths.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return fieldPaths.toString();
+	}
+
+}
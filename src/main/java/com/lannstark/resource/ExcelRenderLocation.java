@@ -2,6 +2,6 @@ package com.lannstark.resource;
 
 public enum ExcelRenderLocation {
 
-	HEADER, BODY
+	HEADER, BODY, FOOTER
 
 }
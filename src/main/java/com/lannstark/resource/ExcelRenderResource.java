@@ -1,6 +1,7 @@
 package com.lannstark.resource;
 
 import com.lannstark.resource.collection.PreCalculatedCellStyleMap;
+import com.lannstark.style.ExcelCellStyle;
 import lombok.Getter;
 import org.apache.poi.ss.usermodel.CellStyle;
 
@@ -42,4 +43,18 @@ public class ExcelRenderResource {
         return styleMap.get(ExcelCellKey.of(fieldPath, excelRenderLocation));
     }
 
+    /**
+     * 필드 타입 대신 주어진 값 타입의 데이터 포맷을 적용한 셀 스타일을 반환합니다.
+     */
+    public CellStyle getCellStyle(String fieldPath, ExcelRenderLocation excelRenderLocation, Class<?> valueType) {
+        return styleMap.get(ExcelCellKey.of(fieldPath, excelRenderLocation), valueType);
+    }
+
+    /**
+     * 셀 스타일 위에 변형 스타일을 덧씌운 셀 스타일을 반환합니다. 데이터 포맷은 그대로 유지합니다.
+     */
+    public CellStyle getCellStyleVariant(String fieldPath, ExcelRenderLocation excelRenderLocation, ExcelCellStyle variantStyle) {
+        return styleMap.getVariant(ExcelCellKey.of(fieldPath, excelRenderLocation), variantStyle);
+    }
+
 }
@@ -2,11 +2,11 @@ package com.lannstark.resource;
 
 import com.lannstark.DefaultBodyStyle;
 import com.lannstark.DefaultHeaderStyle;
+import com.lannstark.ExcelAggregate;
 import com.lannstark.ExcelColumn;
 import com.lannstark.ExcelColumnStyle;
 import com.lannstark.exception.InvalidExcelCellStyleException;
 import com.lannstark.exception.NoExcelColumnAnnotationsException;
-import com.lannstark.resource.collection.PreCalculatedCellStyleMap;
 import com.lannstark.style.ExcelCellStyle;
 import com.lannstark.style.NoExcelCellStyle;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -14,17 +14,65 @@ import org.apache.poi.ss.usermodel.Workbook;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.lannstark.utils.SuperClassReflectionUtils.getAnnotation;
 
 public final class ExcelRenderResourceFactory {
 
+	// 클래스별 렌더링 템플릿 캐시, 어노테이션 탐색은 클래스마다 한 번만 수행
+	private static final Map<Class<?>, ExcelRenderTemplate> TEMPLATES = new ConcurrentHashMap<>();
+	// 클래스와 projection별 렌더링 템플릿 캐시, 역할별로 반복되는 부분 열 내보내기에서 헤더 재계산을 생략
+	private static final Map<ProjectionKey, ExcelRenderTemplate> PROJECTED_TEMPLATES = new ConcurrentHashMap<>();
+	// 요청마다 다른 projection이 들어와도 캐시가 계속 커지지 않도록 제한, 넘으면 캐시하지 않고 계산
+	private static final int MAX_PROJECTED_TEMPLATES = 1024;
+	// 같은 스타일 정의는 클래스가 달라도 같은 인스턴스를 사용하여 워크북에서 CellStyle이 중복 생성되지 않도록 함
+	private static final Map<ExcelColumnStyle, ExcelCellStyle> CELL_STYLES = new ConcurrentHashMap<>();
+
 	public static ExcelRenderResource prepareRenderResource(Class<?> type, Workbook wb,
 															DataFormatDecider dataFormatDecider) {
-		PreCalculatedCellStyleMap styleMap = new PreCalculatedCellStyleMap(dataFormatDecider);
+		return getTemplate(type).materialize(wb, dataFormatDecider);
+	}
+
+	/**
+	 * 클래스별로 캐시된 렌더링 템플릿을 반환합니다. 처음 요청된 클래스는 이 시점에 계산합니다.
+	 *
+	 * @param type 렌더링 대상 클래스
+	 * @return 헤더 레이아웃과 셀 스타일 정의를 담은 템플릿
+	 */
+	public static ExcelRenderTemplate getTemplate(Class<?> type) {
+		return TEMPLATES.computeIfAbsent(type, ExcelRenderResourceFactory::compileTemplate);
+	}
+
+	/**
+	 * projection을 적용한 템플릿을 반환합니다. 클래스와 projection(정렬된 필드 경로 집합)별로 캐시됩니다.
+	 *
+	 * @param type 렌더링 대상 클래스
+	 * @param projection 렌더링할 필드 경로, null인 경우 모든 필드
+	 * @return 선택한 필드만 렌더링하도록 헤더를 다시 계산한 템플릿
+	 */
+	public static ExcelRenderTemplate getTemplate(Class<?> type, ExcelColumnProjection projection) {
+		if (projection == null) {
+			return getTemplate(type);
+		}
+		ProjectionKey key = new ProjectionKey(type, projection);
+		ExcelRenderTemplate template = PROJECTED_TEMPLATES.get(key);
+		if (template != null) {
+			return template;
+		}
+		template = getTemplate(type).project(projection);
+		if (PROJECTED_TEMPLATES.size() < MAX_PROJECTED_TEMPLATES) {
+			PROJECTED_TEMPLATES.putIfAbsent(key, template);
+		}
+		return template;
+	}
+
+	private static ExcelRenderTemplate compileTemplate(Class<?> type) {
+		List<ExcelRenderTemplate.StyleDefinition> styleDefinitions = new ArrayList<>();
         ExcelHeader excelHeader = new ExcelHeader();
         List<String> fieldPaths = new ArrayList<>();
         List<String> leafFieldPaths = new ArrayList<>();
+        Map<String, ExcelAggregate> aggregates = new LinkedHashMap<>();
 
         // 재귀를 활용하여 전체 헤더 높이 계산하여 재활용
         // max 값이 엑셀 파일의 헤더 높이 결정에 기준이 됨
@@ -69,30 +117,41 @@ public final class ExcelRenderResourceFactory {
                 // FieldPath 목록에 추가
                 fieldPaths.add(currFieldPath);
 
+                // ExcelColumn 어노테이션
+                ExcelColumn annotation = currField.getAnnotation(ExcelColumn.class);
+
                 // 추가 탐색할 게 없는 경우에 추가
                 if(childFieldInfos.isEmpty()){
                     leafFieldPaths.add(currFieldPath);
+                    if (annotation.aggregate() != ExcelAggregate.NONE) {
+                        aggregates.put(currFieldPath, annotation.aggregate());
+                    }
                 }
 
-                // ExcelColumn 어노테이션
-                ExcelColumn annotation = currField.getAnnotation(ExcelColumn.class);
-
-                // styleMap에 header 정보 추가
-                styleMap.put(
+                // header 스타일 정의 추가
+                styleDefinitions.add(new ExcelRenderTemplate.StyleDefinition(
                         String.class,
                         ExcelCellKey.of(currFieldPath, ExcelRenderLocation.HEADER),
-                        getCellStyle(decideAppliedStyleAnnotation(classDefinedHeaderStyle, annotation.headerStyle())),
-                        wb
-                );
+                        CELL_STYLES.computeIfAbsent(decideAppliedStyleAnnotation(classDefinedHeaderStyle, annotation.headerStyle()),
+                                ExcelRenderResourceFactory::getCellStyle)
+                ));
 
-                // styleMap에 body 정보 추가
+                // body 스타일 정의 추가
                 Class<?> currFieldType = currField.getType();
-                styleMap.put(
+                ExcelColumnStyle bodyStyle = decideAppliedStyleAnnotation(classDefinedBodyStyle, annotation.bodyStyle());
+                styleDefinitions.add(new ExcelRenderTemplate.StyleDefinition(
                         currFieldType,
                         ExcelCellKey.of(currFieldPath, ExcelRenderLocation.BODY),
-                        getCellStyle(decideAppliedStyleAnnotation(classDefinedBodyStyle, annotation.bodyStyle())),
-                        wb
-                );
+                        CELL_STYLES.computeIfAbsent(bodyStyle, ExcelRenderResourceFactory::getCellStyle)
+                ));
+
+                // footer 스타일 정의 추가, 지정하지 않으면 body 스타일 사용
+                styleDefinitions.add(new ExcelRenderTemplate.StyleDefinition(
+                        currFieldType,
+                        ExcelCellKey.of(currFieldPath, ExcelRenderLocation.FOOTER),
+                        CELL_STYLES.computeIfAbsent(decideAppliedStyleAnnotation(bodyStyle, annotation.footerStyle()),
+                                ExcelRenderResourceFactory::getCellStyle)
+                ));
 
                 // 현재 기준으로 자식 노드 갯수
                 int childHeaderCount = childFieldInfos.size();
@@ -125,11 +184,11 @@ public final class ExcelRenderResourceFactory {
             currDepth++;
         }
 
-        if(styleMap.isEmpty()){
+        if(styleDefinitions.isEmpty()){
             throw new NoExcelColumnAnnotationsException(String.format("Class %s has not @ExcelColumn at all", type));
         }
 
-        return new ExcelRenderResource(styleMap, excelHeader, fieldPaths, leafFieldPaths);
+        return new ExcelRenderTemplate(excelHeader, fieldPaths, leafFieldPaths, styleDefinitions, aggregates);
     }
 
 	private static ExcelColumnStyle getHeaderExcelColumnStyle(Class<?> clazz) {
@@ -239,4 +298,8 @@ public final class ExcelRenderResourceFactory {
             return new FieldPathInfo(field.getName(), field);
         }
     }
+
+	private record ProjectionKey(Class<?> type, ExcelColumnProjection projection) {
+	}
+
 }
@@ -0,0 +1,153 @@
+package com.lannstark.resource;
+
+import com.lannstark.ExcelAggregate;
+import com.lannstark.resource.collection.CellStylePool;
+import com.lannstark.resource.collection.PreCalculatedCellStyleMap;
+import com.lannstark.style.ExcelCellStyle;
+import lombok.Getter;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ExcelRenderTemplate 클래스는 렌더링 대상 클래스별로 한 번만 계산되는 렌더링 정보입니다.
+ * 어노테이션 탐색, 헤더 레이아웃, 셀 스타일 정의는 워크북과 무관하므로 클래스마다 미리 계산해두고,
+ * 워크북마다 {@link #materialize(Workbook, DataFormatDecider)}로 CellStyle만 생성하여 사용합니다.
+ *
+ * 주요 구성 요소:
+ * - {@code excelHeader}: 헤더 레이아웃 원본, 워크북마다 복사하여 전달
+ * - {@code fieldPaths}, {@code leafFieldPaths}: 렌더링 대상 필드 경로
+ * - {@code styleDefinitions}: 필드 경로와 렌더링 위치별 셀 스타일 정의
+ * - {@code aggregates}: @ExcelColumn(aggregate)로 지정한 footer 집계 방식
+ */
+public final class ExcelRenderTemplate {
+
+	private final ExcelHeader excelHeader;
+	@Getter
+	private final List<String> fieldPaths;
+	@Getter
+	private final List<String> leafFieldPaths;
+	private final List<StyleDefinition> styleDefinitions;
+	// 말단 필드 경로별 footer 집계 방식, 말단 필드 순서
+	@Getter
+	private final Map<String, ExcelAggregate> aggregates;
+
+	ExcelRenderTemplate(ExcelHeader excelHeader, List<String> fieldPaths, List<String> leafFieldPaths,
+						List<StyleDefinition> styleDefinitions, Map<String, ExcelAggregate> aggregates) {
+		this.excelHeader = excelHeader;
+		this.fieldPaths = List.copyOf(fieldPaths);
+		this.leafFieldPaths = List.copyOf(leafFieldPaths);
+		this.styleDefinitions = List.copyOf(styleDefinitions);
+		this.aggregates = Collections.unmodifiableMap(new LinkedHashMap<>(aggregates));
+	}
+
+	public int getHeaderHeight() {
+		return excelHeader.getHeaderHeight();
+	}
+
+	/**
+	 * 주어진 워크북에 셀 스타일을 생성하여 렌더링 리소스를 만듭니다.
+	 * 헤더 정보는 워크북마다 복사하므로 리소스 간에 공유되지 않습니다.
+	 *
+	 * @param wb 셀 스타일을 생성할 워크북
+	 * @param dataFormatDecider 필드 타입별 데이터 포맷 결정
+	 * @return 워크북 전용 렌더링 리소스
+	 */
+	public ExcelRenderResource materialize(Workbook wb, DataFormatDecider dataFormatDecider) {
+		return materialize(new CellStylePool(wb), dataFormatDecider);
+	}
+
+	/**
+	 * 공유 CellStylePool을 사용하여 렌더링 리소스를 만듭니다.
+	 * 여러 타입의 시트가 있는 워크북에서 같은 스타일의 CellStyle이 중복 생성되지 않도록 합니다.
+	 *
+	 * @param cellStylePool 워크북의 CellStyle 풀
+	 * @param dataFormatDecider 필드 타입별 데이터 포맷 결정
+	 * @return 워크북 전용 렌더링 리소스
+	 */
+	public ExcelRenderResource materialize(CellStylePool cellStylePool, DataFormatDecider dataFormatDecider) {
+		Workbook wb = cellStylePool.getWorkbook();
+		PreCalculatedCellStyleMap styleMap = new PreCalculatedCellStyleMap(dataFormatDecider, cellStylePool);
+		for (StyleDefinition styleDefinition : styleDefinitions) {
+			styleMap.put(styleDefinition.fieldType(), styleDefinition.excelCellKey(),
+					styleDefinition.excelCellStyle(), wb);
+		}
+		return new ExcelRenderResource(styleMap, copyHeader(), fieldPaths, leafFieldPaths);
+	}
+
+	/**
+	 * 선택한 필드 경로만 렌더링하는 템플릿을 만듭니다.
+	 * 남은 말단 필드를 기준으로 헤더 높이와 병합 범위(ExcelHeaderCell)를 다시 계산합니다.
+	 * 말단 필드가 모두 빠진 중간 필드는 헤더에서 제외됩니다.
+	 *
+	 * @param projection 렌더링할 필드 경로
+	 * @return projection을 적용한 템플릿
+	 */
+	ExcelRenderTemplate project(ExcelColumnProjection projection) {
+		for (String selected : projection.getFieldPaths()) {
+			if (!fieldPaths.contains(selected)) {
+				throw new IllegalArgumentException(String.format("Field path %s has no @ExcelColumn", selected));
+			}
+		}
+
+		List<String> projectedLeafFieldPaths = leafFieldPaths.stream().filter(projection::includes).toList();
+		// 남은 말단 필드의 상위 경로까지 포함, 선언 순서(BFS) 유지
+		List<String> projectedFieldPaths = fieldPaths.stream()
+				.filter(fieldPath -> projectedLeafFieldPaths.stream().anyMatch(leaf ->
+						leaf.equals(fieldPath) || leaf.startsWith(fieldPath + ",")))
+				.toList();
+
+		int headerHeight = projectedLeafFieldPaths.stream().mapToInt(ExcelRenderTemplate::depthOf).max().orElse(1);
+		ExcelHeader projectedHeader = new ExcelHeader(headerHeight, new HashMap<>());
+		for (String fieldPath : projectedFieldPaths) {
+			int depth = depthOf(fieldPath);
+			boolean leaf = projectedLeafFieldPaths.contains(fieldPath);
+			int firstColumn = -1;
+			int lastColumn = -1;
+			for (int i = 0; i < projectedLeafFieldPaths.size(); i++) {
+				String leafFieldPath = projectedLeafFieldPaths.get(i);
+				if (leafFieldPath.equals(fieldPath) || leafFieldPath.startsWith(fieldPath + ",")) {
+					firstColumn = firstColumn < 0 ? i : firstColumn;
+					lastColumn = i;
+				}
+			}
+			projectedHeader.put(fieldPath, new ExcelHeaderCell(excelHeader.getExcelHeaderCell(fieldPath).getHeaderName(),
+					depth - 1, leaf ? headerHeight - 1 : depth - 1, firstColumn, lastColumn));
+		}
+
+		List<StyleDefinition> projectedStyleDefinitions = styleDefinitions.stream()
+				.filter(styleDefinition -> projectedFieldPaths.contains(styleDefinition.excelCellKey().getFieldPath()))
+				.toList();
+		Map<String, ExcelAggregate> projectedAggregates = new LinkedHashMap<>();
+		aggregates.forEach((fieldPath, aggregate) -> {
+			if (projectedLeafFieldPaths.contains(fieldPath)) {
+				projectedAggregates.put(fieldPath, aggregate);
+			}
+		});
+		return new ExcelRenderTemplate(projectedHeader, projectedFieldPaths, projectedLeafFieldPaths,
+				projectedStyleDefinitions, projectedAggregates);
+	}
+
+	private static int depthOf(String fieldPath) {
+		return fieldPath.split(",").length;
+	}
+
+	private ExcelHeader copyHeader() {
+		Map<String, ExcelHeaderCell> headerCellMap = new HashMap<>();
+		excelHeader.getHeaderCellMap().forEach((fieldPath, cell) -> headerCellMap.put(fieldPath,
+				new ExcelHeaderCell(cell.getHeaderName(), cell.getFirstRow(), cell.getLastRow(),
+						cell.getFirstColumn(), cell.getLastColumn())));
+		return new ExcelHeader(excelHeader.getHeaderHeight(), headerCellMap);
+	}
+
+	/**
+	 * 필드 경로와 렌더링 위치별 셀 스타일 정의
+	 */
+	record StyleDefinition(Class<?> fieldType, ExcelCellKey excelCellKey, ExcelCellStyle excelCellStyle) {
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.lannstark.resource.collection;
+
+import com.lannstark.style.ExcelCellStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 일급 컬렉션 활용
+ * CellStylePool 클래스는 워크북 하나에서 생성한 CellStyle을 스타일 정의와 데이터 포맷 기준으로 모아둡니다.
+ * 스타일 정의와 데이터 포맷이 같으면 필드나 렌더링 타입이 달라도 같은 CellStyle을 사용하므로 styles.xml이 커지지 않습니다.
+ * 여러 타입의 시트가 있는 워크북에서는 하나의 풀을 공유합니다.
+ */
+public class CellStylePool {
+
+	private final Workbook wb;
+	private final Map<List<Object>, CellStyle> cellStyles = new HashMap<>();
+
+	public CellStylePool(Workbook wb) {
+		this.wb = wb;
+	}
+
+	public CellStyle get(ExcelCellStyle excelCellStyle, short dataFormat) {
+		return cellStyles.computeIfAbsent(List.of(excelCellStyle, dataFormat), key -> {
+			CellStyle cellStyle = wb.createCellStyle();
+			cellStyle.setDataFormat(dataFormat);
+			excelCellStyle.apply(cellStyle);
+			return cellStyle;
+		});
+	}
+
+	public Workbook getWorkbook() {
+		return wb;
+	}
+
+	public int size() {
+		return cellStyles.size();
+	}
+
+}
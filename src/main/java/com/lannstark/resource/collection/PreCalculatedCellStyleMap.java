@@ -15,31 +15,79 @@ import java.util.Map;
  * PreCalculatedCellStyleMap 클래스는 Excel의 셀 스타일을 사전에 계산하고 저장하는 역할을 합니다.
  * 주어진 필드 타입과 키 값을 기반으로 CellStyle 객체를 생성하여 맵에 저장하고,
  * 이후 동일한 키를 사용하여 저장된 CellStyle을 빠르게 조회할 수 있습니다.
+ * CellStyle은 {@link CellStylePool}에서 가져오므로 스타일 정의와 데이터 포맷이 같은 셀은 하나의 CellStyle을 공유합니다.
  */
 public class PreCalculatedCellStyleMap {
 
 	private final DataFormatDecider dataFormatDecider;
 
     private final Map<ExcelCellKey, CellStyle> cellStyleMap = new HashMap<>();
+    private final Map<ExcelCellKey, ExcelCellStyle> excelCellStyleMap = new HashMap<>();
+    private CellStylePool cellStylePool;
 
 	public PreCalculatedCellStyleMap(DataFormatDecider dataFormatDecider) {
 		this.dataFormatDecider = dataFormatDecider;
 	}
 
+	public PreCalculatedCellStyleMap(DataFormatDecider dataFormatDecider, CellStylePool cellStylePool) {
+		this.dataFormatDecider = dataFormatDecider;
+		this.cellStylePool = cellStylePool;
+	}
+
 	public void put(Class<?> fieldType, ExcelCellKey excelCellKey, ExcelCellStyle excelCellStyle, Workbook wb) {
-		CellStyle cellStyle = wb.createCellStyle();
+		if (cellStylePool == null) {
+			cellStylePool = new CellStylePool(wb);
+		}
 		DataFormat dataFormat = wb.createDataFormat();
-		cellStyle.setDataFormat(dataFormatDecider.getDataFormat(dataFormat, fieldType));
-		excelCellStyle.apply(cellStyle);
-		cellStyleMap.put(excelCellKey, cellStyle);
+		short format = dataFormatDecider.getDataFormat(dataFormat, fieldType);
+		cellStyleMap.put(excelCellKey, cellStylePool.get(excelCellStyle, format));
+		excelCellStyleMap.put(excelCellKey, excelCellStyle);
 	}
 
 	public CellStyle get(ExcelCellKey excelCellKey) {
 		return cellStyleMap.get(excelCellKey);
 	}
 
+	/**
+	 * 같은 스타일 정의에 다른 값 타입의 데이터 포맷을 적용한 CellStyle을 반환합니다.
+	 * (예: 정수 필드의 평균 값)
+	 */
+	public CellStyle get(ExcelCellKey excelCellKey, Class<?> valueType) {
+		ExcelCellStyle excelCellStyle = excelCellStyleMap.get(excelCellKey);
+		if (excelCellStyle == null) {
+			return null;
+		}
+		Workbook wb = cellStylePool.getWorkbook();
+		short format = dataFormatDecider.getDataFormat(wb.createDataFormat(), valueType);
+		return cellStylePool.get(excelCellStyle, format);
+	}
+
+	/**
+	 * 스타일 정의 위에 변형 스타일을 덧씌우고 원래 데이터 포맷을 적용한 CellStyle을 반환합니다.
+	 * 스타일 정의와 변형 스타일이 같으면 필드가 달라도 같은 CellStyle을 사용합니다.
+	 * (예: 음수 금액을 빨간 배경으로 표시)
+	 */
+	public CellStyle getVariant(ExcelCellKey excelCellKey, ExcelCellStyle variantStyle) {
+		ExcelCellStyle excelCellStyle = excelCellStyleMap.get(excelCellKey);
+		if (excelCellStyle == null) {
+			return null;
+		}
+		short format = cellStyleMap.get(excelCellKey).getDataFormat();
+		return cellStylePool.get(new LayeredExcelCellStyle(excelCellStyle, variantStyle), format);
+	}
+
 	public boolean isEmpty() {
 		return cellStyleMap.isEmpty();
 	}
 
+	private record LayeredExcelCellStyle(ExcelCellStyle base, ExcelCellStyle variant) implements ExcelCellStyle {
+
+		@Override
+		public void apply(CellStyle cellStyle) {
+			base.apply(cellStyle);
+			variant.apply(cellStyle);
+		}
+
+	}
+
 }
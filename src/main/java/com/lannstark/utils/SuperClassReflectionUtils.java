@@ -1,5 +1,7 @@
 package com.lannstark.utils;
 
+import com.lannstark.exception.ExcelInternalException;
+
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
@@ -42,6 +44,47 @@ public final class SuperClassReflectionUtils {
 		throw new NoSuchFieldException();
 	}
 
+	/**
+	 * ","로 구분한 필드 경로를 최상위 필드부터 말단 필드까지의 배열로 바꾸고, 값을 읽고 쓸 수 있도록 접근을 허용합니다.
+	 *
+	 * @param type 경로의 최상위 타입
+	 * @param fieldPath 필드 경로 (예: "deptInfo,deptCode")
+	 */
+	public static Field[] resolveFieldChain(Class<?> type, String fieldPath) {
+		String[] fieldNames = fieldPath.split(",");
+		Field[] fieldChain = new Field[fieldNames.length];
+		Class<?> currentType = type;
+		try {
+			for (int depth = 0; depth < fieldNames.length; depth++) {
+				Field field = getField(currentType, fieldNames[depth]);
+				field.setAccessible(true);
+				fieldChain[depth] = field;
+				currentType = field.getType();
+			}
+		} catch (Exception e) {
+			throw new ExcelInternalException(String.format("Can not resolve field path %s of %s", fieldPath, type), e);
+		}
+		return fieldChain;
+	}
+
+	/**
+	 * @return resolveFieldChain으로 만든 경로의 말단 필드 값, 중간 값이 null이면 null
+	 */
+	public static Object getValue(Object data, Field[] fieldChain) {
+		try {
+			Object result = data;
+			for (Field field : fieldChain) {
+				if (result == null) {
+					return null;
+				}
+				result = field.get(result);
+			}
+			return result;
+		} catch (IllegalAccessException e) {
+			throw new ExcelInternalException(e.getMessage(), e);
+		}
+	}
+
 	private static List<Class<?>> getAllClassesIncludingSuperClasses(Class<?> clazz, boolean fromSuper) {
 		List<Class<?>> classes = new ArrayList<>();
 		while (clazz != null) {
@@ -0,0 +1,117 @@
+package com.lannstark.append;
+
+import com.lannstark.ExcelAggregate;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.append.ExcelAppender;
+import com.lannstark.excel.reader.SAXExcelReader;
+import com.lannstark.excel.sxssf.multiplesheet.MultiSheetExcelFile;
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExcelAppenderTest {
+
+    @Test
+    @DisplayName("기존 파일의 마지막 행 뒤에 이어 쓰기")
+    public void appendToLastSheetTest() throws Exception {
+        // given
+        Path file = writeTempFile(List.of(
+                new SalesDto("David", "DEPT-0001", 100L, 0.1),
+                new SalesDto("김철수", "DEPT-0002", 200L, 0.2)
+        ));
+
+        // when
+        new ExcelAppender<>(SalesDto.class).append(file, List.of(
+                new SalesDto("이영희", "DEPT-0003", 300L, 0.3)
+        ));
+
+        // then
+        List<SalesDto> result = new SAXExcelReader<>(SalesDto.class).read(file.toFile());
+        assertThat(result).extracting(SalesDto::getName).containsExactly("David", "김철수", "이영희");
+        assertThat(result.get(2).getAmount()).isEqualTo(300L);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(file.toFile())) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(1);
+            assertThat(workbook.getSheetAt(0).getRow(3).getCell(2).getCellStyle().getIndex())
+                    .isEqualTo(workbook.getSheetAt(0).getRow(1).getCell(2).getCellStyle().getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("시트 최대 행 수를 넘으면 새 시트에 이어 쓰기")
+    public void appendWithRolloverTest() throws Exception {
+        // given
+        Path file = writeTempFile(List.of(
+                new SalesDto("A", "DEPT-0001", 100L, 0.1),
+                new SalesDto("B", "DEPT-0001", 200L, 0.2)
+        ));
+        ExcelAppender<SalesDto> appender = new ExcelAppender<>(SalesDto.class);
+        appender.setMaxRowsPerSheet(4);
+
+        // when
+        appender.append(file, List.of(
+                new SalesDto("C", "DEPT-0002", 300L, 0.3),
+                new SalesDto("D", "DEPT-0002", 400L, 0.4),
+                new SalesDto("E", "DEPT-0003", 500L, 0.5),
+                new SalesDto("F", "DEPT-0003", 600L, 0.6),
+                new SalesDto("G", "DEPT-0004", 700L, 0.7)
+        ));
+
+        // then
+        try (XSSFWorkbook workbook = new XSSFWorkbook(file.toFile())) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+            assertThat(workbook.getSheetName(1)).isEqualTo("Sheet2");
+            assertThat(workbook.getSheetAt(1).getRow(0).getCell(0).getStringCellValue()).isEqualTo("담당자");
+            assertThat(workbook.getSheetAt(2).getLastRowNum()).isEqualTo(1);
+        }
+        List<SalesDto> result = new SAXExcelReader<>(SalesDto.class).read(file.toFile());
+        assertThat(result).extracting(SalesDto::getName).containsExactly("A", "B", "C", "D", "E", "F", "G");
+    }
+
+    @Test
+    @DisplayName("footer나 소계 행이 있는 파일에는 이어 쓰지 않음")
+    public void rejectSummaryRowsTest() throws Exception {
+        // given
+        List<SalesDto> data = List.of(
+                new SalesDto("David", "DEPT-0001", 100L, 0.1),
+                new SalesDto("김철수", "DEPT-0002", 200L, 0.2)
+        );
+        MultiSheetExcelFile<SalesDto> footerFile = new MultiSheetExcelFile<>(SalesDto.class);
+        footerFile.setAggregate("amount", ExcelAggregate.SUM);
+        footerFile.addRows(data);
+        Path footerPath = writeTempFile(footerFile);
+        MultiSheetExcelFile<SalesDto> subtotalFile = new MultiSheetExcelFile<>(SalesDto.class);
+        subtotalFile.setAggregate("amount", ExcelAggregate.SUM);
+        subtotalFile.setSubtotal("deptCode");
+        subtotalFile.addRows(data);
+        Path subtotalPath = writeTempFile(subtotalFile);
+        byte[] original = Files.readAllBytes(footerPath);
+        ExcelAppender<SalesDto> appender = new ExcelAppender<>(SalesDto.class);
+        List<SalesDto> rows = List.of(new SalesDto("이영희", "DEPT-0003", 300L, 0.3));
+
+        // when, then
+        assertThatThrownBy(() -> appender.append(footerPath, rows))
+                .isInstanceOf(ExcelInternalException.class);
+        assertThatThrownBy(() -> appender.append(subtotalPath, rows))
+                .isInstanceOf(ExcelInternalException.class);
+        assertThat(Files.readAllBytes(footerPath)).isEqualTo(original);
+    }
+
+    private Path writeTempFile(List<SalesDto> data) throws Exception {
+        return writeTempFile(new MultiSheetExcelFile<>(data, SalesDto.class));
+    }
+
+    private Path writeTempFile(MultiSheetExcelFile<SalesDto> excelFile) throws Exception {
+        Path file = Files.createTempFile("append-test", ".xlsx");
+        file.toFile().deleteOnExit();
+        excelFile.write(Files.newOutputStream(file));
+        return file;
+    }
+}
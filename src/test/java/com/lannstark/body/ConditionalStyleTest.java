@@ -0,0 +1,99 @@
+package com.lannstark.body;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import com.lannstark.exception.ExcelInternalException;
+import com.lannstark.style.BlueHeaderStyle;
+import com.lannstark.style.RedBodyStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConditionalStyleTest {
+
+    @Test
+    @DisplayName("조건을 만족하는 셀에만 변형 스타일을 적용하고 스타일은 한 번만 생성")
+    public void styleRuleTest() throws Exception {
+        // given
+        List<SalesDto> data = IntStream.rangeClosed(1, 100)
+                .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + i, i % 2 == 0 ? -i : i, i / 100.0))
+                .toList();
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(SalesDto.class);
+        excelFile.addStyleRule("amount", (Long amount) -> amount < 0, new RedBodyStyle());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.addRows(data);
+        excelFile.write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            XSSFCellStyle positive = (XSSFCellStyle) sheet.getRow(1).getCell(2).getCellStyle();
+            XSSFCellStyle negative = (XSSFCellStyle) sheet.getRow(2).getCell(2).getCellStyle();
+            assertThat(negative.getIndex()).isNotEqualTo(positive.getIndex());
+            assertThat(negative.getFillForegroundXSSFColor().getRGB()).containsExactly(255, 199, 206);
+            // 변형 스타일은 기본 스타일의 데이터 포맷을 유지
+            assertThat(negative.getDataFormat()).isEqualTo(positive.getDataFormat());
+            assertThat(sheet.getRow(4).getCell(2).getCellStyle().getIndex()).isEqualTo(negative.getIndex());
+            assertThat(sheet.getRow(4).getCell(0).getCellStyle().getIndex())
+                    .isEqualTo(sheet.getRow(3).getCell(0).getCellStyle().getIndex());
+        }
+    }
+
+    @Test
+    @DisplayName("먼저 추가한 규칙을 우선 적용")
+    public void styleRuleOrderTest() throws Exception {
+        // given
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(SalesDto.class);
+        excelFile.addStyleRule("rate", (Double rate) -> rate >= 1.0, new BlueHeaderStyle());
+        excelFile.addStyleRule("rate", (Double rate) -> rate >= 0.5, new RedBodyStyle());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.addRows(List.of(
+                new SalesDto("가", "A", 1, 1.2),
+                new SalesDto("나", "A", 1, 0.7),
+                new SalesDto("다", "A", 1, 0.1)));
+        excelFile.write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertThat(((XSSFCellStyle) sheet.getRow(1).getCell(3).getCellStyle())
+                    .getFillForegroundXSSFColor().getRGB()).containsExactly(223, 235, 246);
+            assertThat(((XSSFCellStyle) sheet.getRow(2).getCell(3).getCellStyle())
+                    .getFillForegroundXSSFColor().getRGB()).containsExactly(255, 199, 206);
+            assertThat(sheet.getRow(3).getCell(3).getCellStyle().getFillPattern()).isEqualTo(FillPatternType.NO_FILL);
+        }
+    }
+
+    @Test
+    @DisplayName("값 타입이 맞지 않는 규칙은 렌더링 중 예외 발생")
+    public void styleRuleTypeMismatchTest() {
+        // given
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(SalesDto.class);
+        Predicate<String> isEmpty = String::isEmpty;
+        excelFile.addStyleRule("amount", isEmpty, new RedBodyStyle());
+
+        // when, then
+        assertThatThrownBy(() -> excelFile.addRows(List.of(new SalesDto("가", "A", 1, 0.1))))
+                .isInstanceOf(ExcelInternalException.class);
+        assertThatThrownBy(() -> excelFile.addStyleRule("unknown", isEmpty, new RedBodyStyle()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.lannstark.cache;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.cache.ExcelExportCache;
+import com.lannstark.excel.cache.ExcelExportKey;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelExportCacheTest {
+
+    private static final int FILE_SIZE = 1000;
+    private static final Duration TTL = Duration.ofHours(1);
+
+    private static final List<SalesDto> DATA = IntStream.range(0, 500)
+            .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + i % 7, i * 10L, i / 4.0))
+            .toList();
+
+    @Test
+    @DisplayName("ttl이 지난 파일은 사용하지 않고 삭제")
+    public void ttlTest() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("excel-cache-test");
+        TestClock clock = new TestClock(Instant.now());
+        ExcelExportCache cache = new ExcelExportCache(directory, FILE_SIZE * 10L, TTL, clock);
+        ExcelExportKey key = key("a");
+        cache.store(key, sourceFile(directory.getParent()));
+
+        // when
+        clock.advance(TTL);
+        boolean hitBeforeExpiry = cache.write(key, new ByteArrayOutputStream());
+        clock.advance(Duration.ofSeconds(1));
+        boolean hitAfterExpiry = cache.write(key, new ByteArrayOutputStream());
+
+        // then
+        assertThat(hitBeforeExpiry).isTrue();
+        assertThat(hitAfterExpiry).isFalse();
+        assertThat(cache.getTotalBytes()).isZero();
+        assertThat(fileCount(directory)).isZero();
+    }
+
+    @Test
+    @DisplayName("maxBytes를 넘으면 가장 오래 사용하지 않은 파일부터 삭제")
+    public void lruEvictionTest() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("excel-cache-test");
+        Path source = sourceFile(directory.getParent());
+        ExcelExportCache cache = new ExcelExportCache(directory, FILE_SIZE * 3L, TTL, new TestClock(Instant.now()));
+        cache.store(key("a"), source);
+        cache.store(key("b"), source);
+        cache.store(key("c"), source);
+
+        // when
+        try (InputStream ignored = cache.open(key("a"))) {
+            // a를 사용하면 b가 가장 오래 사용하지 않은 파일이 됨
+        }
+        cache.store(key("d"), source);
+
+        // then
+        assertThat(cache.getTotalBytes()).isEqualTo(FILE_SIZE * 3L);
+        assertThat(cache.write(key("b"), new ByteArrayOutputStream())).isFalse();
+        assertThat(cache.write(key("a"), new ByteArrayOutputStream())).isTrue();
+        assertThat(cache.write(key("c"), new ByteArrayOutputStream())).isTrue();
+        assertThat(cache.write(key("d"), new ByteArrayOutputStream())).isTrue();
+        assertThat(fileCount(directory)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("같은 디렉토리로 다시 만들면 남은 파일을 수정 시각 순으로 등록하고 중단된 임시 파일은 삭제")
+    public void reopenTest() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("excel-cache-test");
+        Path source = sourceFile(directory.getParent());
+        Instant now = Instant.now();
+        ExcelExportCache cache = new ExcelExportCache(directory, FILE_SIZE * 10L, TTL, new TestClock(now));
+        cache.store(key("old"), source);
+        cache.store(key("new"), source);
+        Files.setLastModifiedTime(directory.resolve(key("old").getFingerprint() + ".xlsx"),
+                FileTime.from(now.minusSeconds(60)));
+        Files.setLastModifiedTime(directory.resolve(key("new").getFingerprint() + ".xlsx"),
+                FileTime.from(now.minusSeconds(30)));
+        Files.createTempFile(directory, "render-", ".tmp");
+
+        // when
+        ExcelExportCache reopened = new ExcelExportCache(directory, FILE_SIZE * 10L, TTL, new TestClock(now));
+        long reopenedBytes = reopened.getTotalBytes();
+        long reopenedFileCount = fileCount(directory);
+        ExcelExportCache smaller = new ExcelExportCache(directory, FILE_SIZE, TTL, new TestClock(now));
+
+        // then
+        assertThat(reopenedBytes).isEqualTo(FILE_SIZE * 2L);
+        assertThat(reopenedFileCount).isEqualTo(2);
+        assertThat(smaller.getTotalBytes()).isEqualTo(FILE_SIZE);
+        assertThat(smaller.write(key("new"), new ByteArrayOutputStream())).isTrue();
+        assertThat(smaller.write(key("old"), new ByteArrayOutputStream())).isFalse();
+        assertThat(fileCount(directory)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 데이터를 다시 렌더링하면 같은 바이트")
+    public void deterministicRenderTest() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("excel-cache-test");
+        ExcelExportCache cache = new ExcelExportCache(directory, Long.MAX_VALUE, TTL);
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        // when
+        cache.write(key("a"), () -> new OneSheetExcelFile<>(DATA, SalesDto.class), first);
+        Thread.sleep(1100);
+        cache.invalidate(key("a"));
+        cache.write(key("a"), () -> new OneSheetExcelFile<>(DATA, SalesDto.class), second);
+
+        // then
+        assertThat(first.size()).isPositive();
+        assertThat(second.toByteArray()).isEqualTo(first.toByteArray());
+    }
+
+    @Test
+    @DisplayName("maxBytes보다 큰 파일은 캐시에 저장하지 않고 바로 보냄")
+    public void oversizedRenderTest() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("excel-cache-test");
+        ExcelExportCache cache = new ExcelExportCache(directory, 100, TTL);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        cache.write(key("a"), () -> new OneSheetExcelFile<>(DATA, SalesDto.class), out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(wb.getSheetAt(0).getLastRowNum()).isEqualTo(DATA.size());
+        }
+        assertThat(cache.write(key("a"), new ByteArrayOutputStream())).isFalse();
+        assertThat(cache.getTotalBytes()).isZero();
+        assertThat(fileCount(directory)).isZero();
+    }
+
+    private static ExcelExportKey key(String dept) {
+        return ExcelExportKey.builder(SalesDto.class).param("dept", dept).build();
+    }
+
+    private static Path sourceFile(Path directory) throws Exception {
+        Path source = Files.createTempFile(directory, "excel-cache-source", ".xlsx");
+        source.toFile().deleteOnExit();
+        return Files.write(source, new byte[FILE_SIZE]);
+    }
+
+    private static long fileCount(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    /**
+     * 테스트에서 시간을 앞으로 돌릴 수 있는 Clock
+     */
+    private static class TestClock extends Clock {
+
+        private Instant instant;
+
+        private TestClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+}
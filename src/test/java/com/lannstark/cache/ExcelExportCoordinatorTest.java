@@ -0,0 +1,149 @@
+package com.lannstark.cache;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.cache.ExcelExportCache;
+import com.lannstark.excel.cache.ExcelExportCoordinator;
+import com.lannstark.excel.cache.ExcelExportKey;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExcelExportCoordinatorTest {
+
+    @Test
+    @DisplayName("같은 키의 동시 요청은 한 번만 렌더링")
+    public void singleFlightTest() throws Exception {
+        // given
+        int requestCount = 8;
+        Path spillDirectory = Files.createTempDirectory("excel-spill");
+        ExcelExportCoordinator coordinator = new ExcelExportCoordinator(spillDirectory);
+        ExcelExportKey key = ExcelExportKey.builder(SalesDto.class).param("dept", "DEPT-0001").build();
+        List<SalesDto> data = List.of(
+                new SalesDto("David", "DEPT-0001", 1200000L, 0.5),
+                new SalesDto("김철수", "DEPT-0001", 300L, 1.25)
+        );
+        AtomicInteger renderCount = new AtomicInteger();
+        ExecutorService requests = Executors.newFixedThreadPool(requestCount);
+
+        // when
+        List<Future<byte[]>> results = new ArrayList<>();
+        for (int i = 0; i < requestCount; i++) {
+            results.add(requests.submit(() -> {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                coordinator.write(key, () -> {
+                    renderCount.incrementAndGet();
+                    // 모든 요청이 진행 중인 렌더링에 합류할 때까지 렌더링을 멈춤
+                    awaitJoined(coordinator, key, requestCount);
+                    return new OneSheetExcelFile<>(data, SalesDto.class);
+                }, out);
+                return out.toByteArray();
+            }));
+        }
+
+        // then
+        byte[] first = results.get(0).get();
+        for (Future<byte[]> result : results) {
+            assertThat(result.get()).isEqualTo(first);
+        }
+        requests.shutdown();
+        coordinator.close();
+        assertThat(renderCount.get()).isEqualTo(1);
+        assertThat(first).startsWith((byte) 'P', (byte) 'K');
+    }
+
+    @Test
+    @DisplayName("닫은 뒤에는 새 요청을 받지 않음")
+    public void closeTest() throws Exception {
+        // given
+        ExcelExportCoordinator coordinator = new ExcelExportCoordinator(Files.createTempDirectory("excel-spill"));
+        ExcelExportKey key = ExcelExportKey.builder(SalesDto.class).build();
+
+        // when
+        coordinator.close();
+
+        // then
+        assertThatThrownBy(() -> coordinator.write(key, () -> new OneSheetExcelFile<>(SalesDto.class),
+                new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("실행기가 렌더링을 거절하면 요청을 실패로 끝내고 진행 중인 렌더링과 spill 파일을 남기지 않음")
+    public void rejectedRenderTest() throws Exception {
+        // given
+        Path spillDirectory = Files.createTempDirectory("excel-spill");
+        ExcelExportCoordinator coordinator = new ExcelExportCoordinator(spillDirectory, null, runnable -> {
+            throw new RejectedExecutionException("shut down");
+        });
+        ExcelExportKey key = ExcelExportKey.builder(SalesDto.class).build();
+
+        // when, then
+        assertThatThrownBy(() -> coordinator.write(key, () -> new OneSheetExcelFile<>(SalesDto.class),
+                new ByteArrayOutputStream()))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(coordinator.getInFlightCount()).isZero();
+        assertThat(spillDirectory.toFile().list()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("캐시 저장에 실패해도 렌더링한 결과는 요청에 온전히 전달")
+    public void cacheStoreFailureTest() throws Exception {
+        // given
+        ExcelExportCache cache = new ExcelExportCache(Files.createTempDirectory("excel-cache"), 1024 * 1024,
+                Duration.ofMinutes(1)) {
+            @Override
+            public void store(ExcelExportKey key, Path renderedFile) throws IOException {
+                throw new IOException("No space left on device");
+            }
+        };
+        ExcelExportCoordinator coordinator = new ExcelExportCoordinator(Files.createTempDirectory("excel-spill"), cache);
+        ExcelExportKey key = ExcelExportKey.builder(SalesDto.class).build();
+        List<SalesDto> data = List.of(new SalesDto("David", "DEPT-0001", 1200000L, 0.5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        coordinator.write(key, () -> new OneSheetExcelFile<>(data, SalesDto.class), out);
+        coordinator.close();
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(wb.getSheetAt(0).getRow(1).getCell(0).getStringCellValue()).isEqualTo("David");
+        }
+    }
+
+    private static void awaitJoined(ExcelExportCoordinator coordinator, ExcelExportKey key, int requestCount) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (coordinator.getJoinedRequestCount(key) < requestCount) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Requests did not join the in-flight export");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
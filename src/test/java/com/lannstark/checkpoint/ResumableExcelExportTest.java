@@ -0,0 +1,144 @@
+package com.lannstark.checkpoint;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.dto.ScoreDto;
+import com.lannstark.excel.checkpoint.ExcelPageSource;
+import com.lannstark.excel.checkpoint.ResumableExcelExport;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ResumableExcelExportTest {
+
+    private static final int TOTAL_ROWS = 1000;
+    private static final Instant TIMESTAMP = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    @DisplayName("중간에 실패한 내보내기를 체크포인트부터 이어서 한 번에 내보낸 것과 같은 파일 만들기")
+    public void resumeTest() throws Exception {
+        // given
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        newExport(Files.createTempDirectory("checkpoint-test")).export(source(new AtomicInteger(), Integer.MAX_VALUE), expected);
+
+        Path checkpointDirectory = Files.createTempDirectory("checkpoint-test");
+        AtomicInteger fetchCount = new AtomicInteger();
+        assertThatThrownBy(() -> newExport(checkpointDirectory).export(source(fetchCount, 5), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("evicted");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        AtomicInteger resumedFetchCount = new AtomicInteger();
+        newExport(checkpointDirectory).export(source(resumedFetchCount, Integer.MAX_VALUE), out);
+
+        // then
+        assertThat(out.toByteArray()).isEqualTo(expected.toByteArray());
+        // 페이지 50행, 체크포인트 120행 간격이므로 150행(3페이지)까지 확정되고 4페이지부터 마지막 빈 페이지까지 다시 읽음
+        assertThat(resumedFetchCount.get()).isEqualTo(TOTAL_ROWS / 50 + 1 - 3);
+        assertThat(checkpointDirectory.toFile().list()).isEmpty();
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(wb.getNumberOfSheets()).isEqualTo(4);
+            assertThat(wb.getSheetName(3)).isEqualTo("Sheet4");
+            Sheet lastSheet = wb.getSheetAt(3);
+            assertThat(lastSheet.getLastRowNum()).isEqualTo(TOTAL_ROWS - 3 * 300);
+            assertThat(lastSheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("담당자<900>");
+        }
+    }
+
+    @Test
+    @DisplayName("타임스탬프를 지정하지 않으면 처음 시작한 시각으로 이어서 내보낸 파일과 한 번에 내보낸 파일이 같음")
+    public void resumeWithoutFixedTimestampTest() throws Exception {
+        // given
+        Path checkpointDirectory = Files.createTempDirectory("checkpoint-test");
+        assertThatThrownBy(() -> newExport(checkpointDirectory, null).export(source(new AtomicInteger(), 5), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("evicted");
+        Properties checkpoint = new Properties();
+        try (InputStream in = Files.newInputStream(checkpointDirectory.resolve("checkpoint.properties"))) {
+            checkpoint.load(in);
+        }
+        Instant createdAt = Instant.ofEpochMilli(Long.parseLong(checkpoint.getProperty("createdAt")));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        newExport(Files.createTempDirectory("checkpoint-test"), createdAt)
+                .export(source(new AtomicInteger(), Integer.MAX_VALUE), expected);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        newExport(checkpointDirectory, null).export(source(new AtomicInteger(), Integer.MAX_VALUE), out);
+
+        // then
+        assertThat(out.toByteArray()).isEqualTo(expected.toByteArray());
+    }
+
+    @Test
+    @DisplayName("시트당 본문 행 수는 시트의 마지막 행을 비워 둔 기본값까지만 설정 가능")
+    public void maxRowsPerSheetBoundTest() {
+        // given
+        ResumableExcelExport<SalesDto> export = new ResumableExcelExport<>(SalesDto.class, Path.of("unused"));
+        int maxRows = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+        // when, then
+        export.setMaxRowsPerSheet(maxRows - 2);
+        assertThatThrownBy(() -> export.setMaxRowsPerSheet(maxRows - 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("다른 설정으로 저장된 체크포인트는 이어서 내보내지 않음")
+    public void checkpointMismatchTest() throws Exception {
+        // given
+        Path checkpointDirectory = Files.createTempDirectory("checkpoint-test");
+        assertThatThrownBy(() -> newExport(checkpointDirectory).export(source(new AtomicInteger(), 1), new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+
+        // when, then
+        assertThatThrownBy(() -> new ResumableExcelExport<>(ScoreDto.class, checkpointDirectory)
+                .export(cursor -> null, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining(SalesDto.class.getName());
+    }
+
+    private ResumableExcelExport<SalesDto> newExport(Path checkpointDirectory) {
+        return newExport(checkpointDirectory, TIMESTAMP);
+    }
+
+    private ResumableExcelExport<SalesDto> newExport(Path checkpointDirectory, Instant fixedTimestamp) {
+        ResumableExcelExport<SalesDto> export = new ResumableExcelExport<>(SalesDto.class, checkpointDirectory);
+        export.setCheckpointInterval(120);
+        export.setMaxRowsPerSheet(300);
+        export.setFixedTimestamp(fixedTimestamp);
+        return export;
+    }
+
+    /**
+     * 50행씩 읽는 데이터 소스, failAfter 페이지를 읽은 뒤에는 실패함
+     */
+    private ExcelPageSource<SalesDto> source(AtomicInteger fetchCount, int failAfter) {
+        return ExcelPageSource.ofOffset(50, (offset, limit) -> {
+            if (fetchCount.getAndIncrement() == failAfter) {
+                throw new IllegalStateException("evicted");
+            }
+            return LongStream.range(offset, Math.min(TOTAL_ROWS, offset + limit))
+                    .mapToObj(i -> new SalesDto("담당자<" + i + ">", "DEPT-" + i % 7, i * 10L, i / 4.0))
+                    .toList();
+        });
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.lannstark.csv;
+
+import com.lannstark.dto.PriceDto;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.csv.CsvExcelFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CsvExcelFileTest {
+
+    @Test
+    @DisplayName("정수와 BigDecimal은 double로 바꾸지 않고 값 그대로 쓰기")
+    public void exactNumberTest() throws Exception {
+        // given
+        List<PriceDto> data = List.of(
+                new PriceDto(9007199254740993L, new BigDecimal("0.10"), 0.1),
+                new PriceDto(1L, new BigDecimal("1E+3"), null));
+        CsvExcelFile<PriceDto> csvFile = new CsvExcelFile<>(data, PriceDto.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        csvFile.write(out);
+
+        // then
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("\uFEFF상품 번호,단가,할인율\r\n9007199254740993,0.10,0.1\r\n1,1000,\r\n");
+    }
+
+    @Test
+    @DisplayName("수식으로 실행될 수 있는 문자열 값은 앞에 '를 붙이고 따옴표로 감싸기")
+    public void formulaInjectionTest() throws Exception {
+        // given
+        List<SalesDto> data = List.of(
+                new SalesDto("=HYPERLINK(\"http://evil\")", "+1", -5L, -0.5),
+                new SalesDto("@SUM(A1)", "\tDEPT", 0L, 0),
+                new SalesDto("a=b", "-", 1L, 1));
+        CsvExcelFile<SalesDto> csvFile = new CsvExcelFile<>(data, SalesDto.class);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        csvFile.write(out);
+
+        // then
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("\uFEFF담당자,부서 코드,매출,달성률\r\n"
+                        + "\"'=HYPERLINK(\"\"http://evil\"\")\",\"'+1\",-5,-0.5\r\n"
+                        + "\"'@SUM(A1)\",\"'\tDEPT\",0,0\r\n"
+                        + "a=b,\"'-\",1,1\r\n");
+    }
+
+}
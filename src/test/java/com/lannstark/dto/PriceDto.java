@@ -0,0 +1,22 @@
+package com.lannstark.dto;
+
+import com.lannstark.ExcelColumn;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceDto {
+    @ExcelColumn(headerName = "상품 번호")
+    private long productId;
+    @ExcelColumn(headerName = "단가")
+    private BigDecimal unitPrice;
+    @ExcelColumn(headerName = "할인율")
+    private Double discountRate;
+}
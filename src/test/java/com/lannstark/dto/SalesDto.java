@@ -0,0 +1,22 @@
+package com.lannstark.dto;
+
+import com.lannstark.ExcelColumn;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesDto {
+    @ExcelColumn(headerName = "담당자")
+    private String name;
+    @ExcelColumn(headerName = "부서 코드")
+    private String deptCode;
+    @ExcelColumn(headerName = "매출")
+    private long amount;
+    @ExcelColumn(headerName = "달성률")
+    private double rate;
+}
@@ -0,0 +1,21 @@
+package com.lannstark.dto;
+
+import com.lannstark.ExcelAggregate;
+import com.lannstark.ExcelColumn;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreDto {
+    @ExcelColumn(headerName = "이름", aggregate = ExcelAggregate.COUNT)
+    private String name;
+    @ExcelColumn(headerName = "점수", aggregate = ExcelAggregate.SUM)
+    private int score;
+    @ExcelColumn(headerName = "최고 점수", aggregate = ExcelAggregate.MAX)
+    private Integer bestScore;
+}
@@ -0,0 +1,160 @@
+package com.lannstark.encrypt;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.encrypt.ExcelPasswordEncryptor;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.apache.poi.poifs.crypt.Decryptor;
+import org.apache.poi.poifs.crypt.EncryptionInfo;
+import org.apache.poi.poifs.crypt.EncryptionMode;
+import org.apache.poi.poifs.crypt.agile.AgileEncryptionHeader;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelPasswordEncryptorTest {
+
+    private static final String PASSWORD = "비밀번호1234";
+    private static final int HASH_SIZE = 64;
+    private static final int DIFAT_SECTOR_COUNT_OFFSET = 0x48;
+    private static final byte[] INTEGRITY_KEY_BLOCK = {0x5f, (byte) 0xb2, (byte) 0xad, 0x01, 0x0c, (byte) 0xb9, (byte) 0xe1, (byte) 0xf6};
+    private static final byte[] INTEGRITY_VALUE_BLOCK = {(byte) 0xa0, 0x67, 0x7f, 0x02, (byte) 0xb2, 0x2c, (byte) 0x84, 0x33};
+
+    @Test
+    @DisplayName("비밀번호를 지정하면 Agile 암호화된 파일을 쓰고, 비밀번호로 열 수 있음")
+    public void setPasswordTest() throws Exception {
+        // given
+        List<SalesDto> data = IntStream.range(0, 3_000)
+                .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + i % 7, i * 10L, i / 4.0))
+                .toList();
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(data, SalesDto.class);
+        excelFile.setPassword(PASSWORD);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.write(out);
+
+        // then
+        try (POIFSFileSystem fs = new POIFSFileSystem(new ByteArrayInputStream(out.toByteArray()))) {
+            EncryptionInfo info = new EncryptionInfo(fs);
+            assertThat(info.getEncryptionMode()).isEqualTo(EncryptionMode.agile);
+            Decryptor decryptor = Decryptor.getInstance(info);
+            assertThat(decryptor.verifyPassword("wrong")).isFalse();
+            assertThat(decryptor.verifyPassword(PASSWORD)).isTrue();
+            try (InputStream in = decryptor.getDataStream(fs); Workbook wb = new XSSFWorkbook(in)) {
+                Sheet sheet = wb.getSheetAt(0);
+                assertThat(sheet.getLastRowNum()).isEqualTo(data.size());
+                assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("담당자");
+                assertThat(sheet.getRow(3_000).getCell(0).getStringCellValue()).isEqualTo("담당자2999");
+                assertThat(sheet.getRow(3_000).getCell(2).getNumericCellValue()).isEqualTo(29_990.0);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("세그먼트 경계와 관계없이 원래 패키지로 복호화되고 임시 파일이 남지 않음")
+    public void segmentBoundaryTest() throws Exception {
+        // given
+        Path tempDirectory = Files.createTempDirectory("excel-encrypt-test");
+        ExcelPasswordEncryptor encryptor = new ExcelPasswordEncryptor(PASSWORD)
+                .spinCount(1_000)
+                .tempDirectory(tempDirectory);
+        Random random = new Random(42);
+
+        for (int size : new int[]{1, 4_095, 4_096, 4_097, 1_000_000}) {
+            byte[] plain = new byte[size];
+            random.nextBytes(plain);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+            // when
+            encryptor.encrypt(stream -> stream.write(plain), out);
+
+            // then
+            try (POIFSFileSystem fs = new POIFSFileSystem(new ByteArrayInputStream(out.toByteArray()))) {
+                Decryptor decryptor = Decryptor.getInstance(new EncryptionInfo(fs));
+                assertThat(decryptor.verifyPassword(PASSWORD)).isTrue();
+                try (InputStream in = decryptor.getDataStream(fs)) {
+                    assertThat(in.readAllBytes()).isEqualTo(plain);
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertThat(files.count()).isZero();
+        }
+        Files.delete(tempDirectory);
+    }
+
+    @Test
+    @DisplayName("FAT 섹터가 DIFAT으로 넘어가는 큰 패키지도 복호화되고, dataIntegrity의 HMAC이 EncryptedPackage 스트림과 일치함")
+    public void largePackageIntegrityTest() throws Exception {
+        // given
+        // FAT 섹터 하나가 64KB를 가리키므로 헤더의 FAT 목록 109개(약 7MB)를 넘는 크기
+        byte[] plain = new byte[8 * 1024 * 1024];
+        new Random(42).nextBytes(plain);
+        ExcelPasswordEncryptor encryptor = new ExcelPasswordEncryptor(PASSWORD).spinCount(1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        encryptor.encrypt(stream -> stream.write(plain), out);
+
+        // then
+        byte[] file = out.toByteArray();
+        assertThat(ByteBuffer.wrap(file).order(ByteOrder.LITTLE_ENDIAN).getInt(DIFAT_SECTOR_COUNT_OFFSET)).isPositive();
+        try (POIFSFileSystem fs = new POIFSFileSystem(new ByteArrayInputStream(file))) {
+            EncryptionInfo info = new EncryptionInfo(fs);
+            Decryptor decryptor = Decryptor.getInstance(info);
+            assertThat(decryptor.verifyPassword(PASSWORD)).isTrue();
+            try (InputStream in = decryptor.getDataStream(fs)) {
+                assertThat(in.readAllBytes()).isEqualTo(plain);
+            }
+
+            AgileEncryptionHeader header = (AgileEncryptionHeader) info.getHeader();
+            SecretKey secretKey = decryptor.getSecretKey();
+            byte[] hmacKey = decryptBlock(secretKey, header.getKeySalt(), INTEGRITY_KEY_BLOCK, header.getEncryptedHmacKey());
+            byte[] hmacValue = decryptBlock(secretKey, header.getKeySalt(), INTEGRITY_VALUE_BLOCK, header.getEncryptedHmacValue());
+            byte[] encryptedPackage;
+            try (InputStream in = fs.createDocumentInputStream("EncryptedPackage")) {
+                encryptedPackage = in.readAllBytes();
+            }
+            Mac mac = Mac.getInstance("HmacSHA512");
+            mac.init(new SecretKeySpec(hmacKey, "HmacSHA512"));
+            assertThat(hmacValue).isEqualTo(mac.doFinal(encryptedPackage));
+        }
+    }
+
+    /**
+     * dataIntegrity 값을 패키지 키로 복호화합니다. IV는 H(keyDataSalt + blockKey)의 앞 16바이트입니다.
+     */
+    private byte[] decryptBlock(SecretKey secretKey, byte[] keySalt, byte[] blockKey, byte[] encrypted) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-512");
+        digest.update(keySalt);
+        byte[] iv = Arrays.copyOf(digest.digest(blockKey), 16);
+        Cipher cipher = Cipher.getInstance("AES/CBC/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(secretKey.getEncoded(), "AES"), new IvParameterSpec(iv));
+        return Arrays.copyOf(cipher.doFinal(encrypted), HASH_SIZE);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.lannstark.estimate;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.estimate.ExcelAutoExportOptions;
+import com.lannstark.excel.estimate.ExcelAutoExporter;
+import com.lannstark.excel.estimate.ExcelEngine;
+import com.lannstark.excel.estimate.ExcelExportPlan;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelAutoExporterTest {
+
+    private static final List<SalesDto> DATA = IntStream.range(0, 500)
+            .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + i % 7, i * 10L, i / 4.0))
+            .toList();
+
+    @Test
+    @DisplayName("작은 데이터는 한 시트로 쓰고 Content-Length를 먼저 알려줌")
+    public void oneSheetWithContentLengthTest() throws Exception {
+        // given
+        ExcelAutoExporter<SalesDto> exporter = new ExcelAutoExporter<>(SalesDto.class);
+        ExcelExportPlan plan = exporter.plan(DATA);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicLong contentLength = new AtomicLong(-1);
+
+        // when
+        exporter.write(plan, DATA, out, contentLength::set);
+
+        // then
+        assertThat(plan.engine()).isEqualTo(ExcelEngine.ONE_SHEET);
+        assertThat(plan.spooled()).isTrue();
+        assertThat(plan.compressionOptions().getParallelism()).isEqualTo(1);
+        assertThat(contentLength.get()).isEqualTo(out.size());
+        // 예상 크기는 실제 크기와 같은 자릿수
+        assertThat(plan.estimate().compressedBytes()).isBetween(out.size() / 4L, out.size() * 4L);
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(wb.getSheetAt(0).getLastRowNum()).isEqualTo(DATA.size());
+        }
+    }
+
+    @Test
+    @DisplayName("예상 행 수에 따라 여러 시트, 파일 나누기, CSV 선택")
+    public void engineSelectionTest() {
+        // given
+        ExcelAutoExporter<SalesDto> exporter = new ExcelAutoExporter<>(SalesDto.class,
+                ExcelAutoExportOptions.defaults().maxTempDiskBytes(Long.MAX_VALUE).maxSheets(4));
+        ExcelAutoExporter<SalesDto> sizeLimitedExporter = new ExcelAutoExporter<>(SalesDto.class,
+                ExcelAutoExportOptions.defaults().maxTempDiskBytes(Long.MAX_VALUE).maxBytesPerFile(1024 * 1024));
+
+        // when
+        ExcelExportPlan multiSheet = exporter.plan(2_000_000, DATA);
+        ExcelExportPlan csv = exporter.plan(10_000_000, DATA);
+        ExcelExportPlan split = sizeLimitedExporter.plan(200_000, DATA);
+
+        // then
+        assertThat(multiSheet.engine()).isEqualTo(ExcelEngine.MULTI_SHEET);
+        assertThat(multiSheet.estimate().sheets()).isEqualTo(2);
+        assertThat(csv.engine()).isEqualTo(ExcelEngine.CSV);
+        assertThat(split.engine()).isEqualTo(ExcelEngine.SPLIT_ZIP);
+        assertThat(split.splitOptions().getMaxBytesPerFile()).isEqualTo(1024 * 1024);
+    }
+
+    @Test
+    @DisplayName("CSV는 헤더와 값을 RFC 4180 형식으로 씀")
+    public void csvTest() throws Exception {
+        // given
+        List<SalesDto> data = List.of(new SalesDto("David, \"Kim\"", "DEPT-1", 1200L, 0.5));
+        ExcelAutoExporter<SalesDto> exporter = new ExcelAutoExporter<>(SalesDto.class,
+                ExcelAutoExportOptions.defaults().maxTempDiskBytes(0));
+        ExcelExportPlan plan = exporter.plan(data);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        exporter.write(plan, data, out);
+
+        // then
+        assertThat(plan.engine()).isEqualTo(ExcelEngine.CSV);
+        assertThat(new String(out.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("\uFEFF담당자,부서 코드,매출,달성률\r\n\"David, \"\"Kim\"\"\",DEPT-1,1200,0.5\r\n");
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.lannstark.footer;
+
+import com.lannstark.ExcelAggregate;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.dto.ScoreDto;
+import com.lannstark.excel.sxssf.multiplesheet.MultiSheetExcelFile;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+public class FooterAggregateTest {
+
+    @Test
+    @DisplayName("런타임에 지정한 집계를 마지막 행에 값으로 쓰기")
+    public void runtimeAggregateTest() throws Exception {
+        // given
+        List<SalesDto> data = IntStream.rangeClosed(1, 4)
+                .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + i, i * 100L, i / 10.0))
+                .toList();
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(SalesDto.class);
+        excelFile.setAggregate("amount", ExcelAggregate.SUM);
+        excelFile.setAggregate("rate", ExcelAggregate.AVERAGE);
+        excelFile.setAggregate("name", ExcelAggregate.COUNT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.addRows(data);
+        excelFile.write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            Row footer = sheet.getRow(5);
+            assertThat(sheet.getLastRowNum()).isEqualTo(5);
+            assertThat(footer.getCell(0).getNumericCellValue()).isEqualTo(4);
+            assertThat(footer.getCell(1)).isNull();
+            assertThat(footer.getCell(2).getCellType()).isEqualTo(CellType.NUMERIC);
+            assertThat(footer.getCell(2).getNumericCellValue()).isEqualTo(1000);
+            assertThat(footer.getCell(3).getNumericCellValue()).isCloseTo(0.25, offset(1e-9));
+        }
+    }
+
+    @Test
+    @DisplayName("@ExcelColumn에 지정한 집계를 MultiSheet 마지막 시트에 쓰기")
+    public void annotationAggregateTest() throws Exception {
+        // given
+        List<ScoreDto> data = List.of(
+                new ScoreDto("가", 10, 30),
+                new ScoreDto("나", 20, null),
+                new ScoreDto(null, 30, 50));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        new MultiSheetExcelFile<>(data, ScoreDto.class).write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Row footer = wb.getSheetAt(0).getRow(4);
+            assertThat(footer.getCell(0).getNumericCellValue()).isEqualTo(2);
+            assertThat(footer.getCell(1).getNumericCellValue()).isEqualTo(60);
+            assertThat(footer.getCell(2).getNumericCellValue()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    @DisplayName("행을 렌더링한 뒤에는 집계를 지정할 수 없음")
+    public void aggregateAfterRowsTest() {
+        // given
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(
+                List.of(new SalesDto("담당자", "DEPT", 100L, 0.1)), SalesDto.class);
+
+        // when & then
+        assertThatThrownBy(() -> excelFile.setAggregate("amount", ExcelAggregate.SUM))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
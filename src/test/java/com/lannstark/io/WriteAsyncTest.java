@@ -0,0 +1,231 @@
+package com.lannstark.io;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.io.AsynchronousFileChannelOutputStream;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WriteAsyncTest {
+
+    private static final List<SalesDto> DATA = IntStream.range(0, 20_000)
+            .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + i % 7, i * 10L, i / 4.0))
+            .toList();
+
+    @Test
+    @DisplayName("FileChannel에 비동기로 쓰고 마지막 진행 상황이 파일 크기와 같음")
+    public void writeAsyncToFileChannelTest() throws Exception {
+        // given
+        Path file = Files.createTempFile("write-async-test", ".xlsx");
+        AtomicLong lastProgress = new AtomicLong();
+
+        // when
+        long bytesWritten;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            bytesWritten = new OneSheetExcelFile<>(DATA, SalesDto.class).writeAsync(channel, lastProgress::set).get();
+        }
+
+        // then
+        assertThat(bytesWritten).isEqualTo(Files.size(file));
+        assertThat(lastProgress.get()).isEqualTo(Files.size(file));
+        assertRows(file);
+        Files.delete(file);
+    }
+
+    @Test
+    @DisplayName("더 긴 기존 파일에 AsynchronousFileChannel로 쓰면 출력한 길이로 잘라냄")
+    public void writeAsyncToAsynchronousFileChannelTest() throws Exception {
+        // given
+        Path file = Files.createTempFile("write-async-test", ".xlsx");
+        byte[] garbage = new byte[8 * 1024 * 1024];
+        new Random(42).nextBytes(garbage);
+        Files.write(file, garbage);
+        AtomicLong lastProgress = new AtomicLong();
+
+        // when
+        long bytesWritten;
+        try (AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.WRITE)) {
+            bytesWritten = new OneSheetExcelFile<>(DATA, SalesDto.class).writeAsync(channel, lastProgress::set).get();
+        }
+
+        // then
+        assertThat(bytesWritten).isLessThan(garbage.length);
+        assertThat(Files.size(file)).isEqualTo(bytesWritten);
+        assertThat(lastProgress.get()).isEqualTo(bytesWritten);
+        assertRows(file);
+        Files.delete(file);
+    }
+
+    @Test
+    @DisplayName("채널이 요청보다 적게 써도 남은 부분을 이어서 순서대로 씀")
+    public void shortWriteTest() throws Exception {
+        // given
+        Path file = Files.createTempFile("write-async-test", ".bin");
+        byte[] data = new byte[300_000];
+        new Random(7).nextBytes(data);
+        Random chunkSizes = new Random(11);
+
+        // when
+        try (ShortWriteChannel channel = new ShortWriteChannel(FileChannel.open(file, StandardOpenOption.WRITE), 1000);
+             AsynchronousFileChannelOutputStream out = new AsynchronousFileChannelOutputStream(channel, 0)) {
+            int offset = 0;
+            while (offset < data.length) {
+                int length = Math.min(data.length - offset, chunkSizes.nextInt(100_000) + 1);
+                out.write(data, offset, length);
+                offset += length;
+            }
+            out.write(1);
+            out.close();
+
+            // then
+            assertThat(channel.writeCount.get()).isGreaterThan(data.length / 1000);
+        }
+        byte[] written = Files.readAllBytes(file);
+        assertThat(written).hasSize(data.length + 1);
+        assertThat(Arrays.copyOf(written, data.length)).isEqualTo(data);
+        assertThat(written[data.length]).isEqualTo((byte) 1);
+        Files.delete(file);
+    }
+
+    @Test
+    @DisplayName("짧은 쓰기를 반환하는 채널에 워크북을 써도 다시 열 수 있음")
+    public void writeAsyncWithShortWritesTest() throws Exception {
+        // given
+        Path file = Files.createTempFile("write-async-test", ".xlsx");
+        AtomicLong lastProgress = new AtomicLong();
+
+        // when
+        long bytesWritten;
+        try (ShortWriteChannel channel = new ShortWriteChannel(FileChannel.open(file, StandardOpenOption.WRITE), 4_000)) {
+            bytesWritten = new OneSheetExcelFile<>(DATA, SalesDto.class).writeAsync(channel, lastProgress::set).get();
+        }
+
+        // then
+        assertThat(Files.size(file)).isEqualTo(bytesWritten);
+        assertThat(lastProgress.get()).isEqualTo(bytesWritten);
+        assertRows(file);
+        Files.delete(file);
+    }
+
+    private void assertRows(Path file) throws Exception {
+        try (InputStream in = Files.newInputStream(file); Workbook wb = new XSSFWorkbook(in)) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(DATA.size());
+            assertThat(sheet.getRow(DATA.size()).getCell(0).getStringCellValue()).isEqualTo("담당자19999");
+        }
+    }
+
+    /**
+     * 한 번에 최대 maxWriteSize 바이트만 쓰고 완료되는 AsynchronousFileChannel
+     */
+    private static class ShortWriteChannel extends AsynchronousFileChannel {
+
+        private final FileChannel delegate;
+        private final int maxWriteSize;
+        private final AtomicInteger writeCount = new AtomicInteger();
+
+        private ShortWriteChannel(FileChannel delegate, int maxWriteSize) {
+            this.delegate = delegate;
+            this.maxWriteSize = maxWriteSize;
+        }
+
+        @Override
+        public Future<Integer> write(ByteBuffer src, long position) {
+            writeCount.incrementAndGet();
+            return CompletableFuture.supplyAsync(() -> {
+                ByteBuffer slice = src.duplicate();
+                slice.limit(slice.position() + Math.min(slice.remaining(), maxWriteSize));
+                try {
+                    int written = delegate.write(slice, position);
+                    src.position(src.position() + written);
+                    return written;
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            });
+        }
+
+        @Override
+        public <A> void write(ByteBuffer src, long position, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<Integer> read(ByteBuffer dst, long position) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <A> void read(ByteBuffer dst, long position, A attachment, CompletionHandler<Integer, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public AsynchronousFileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public <A> void lock(long position, long size, boolean shared, A attachment,
+                             CompletionHandler<FileLock, ? super A> handler) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Future<FileLock> lock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isOpen() {
+            return delegate.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.lannstark.job;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.job.ExcelExportJobService;
+import com.lannstark.excel.job.ExcelExportJobState;
+import com.lannstark.excel.job.ExcelExportPriority;
+import com.lannstark.excel.job.ExcelExportSpec;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExcelExportJobServiceTest {
+
+    private static final List<SalesDto> DATA = List.of(
+            new SalesDto("David", "DEPT-0001", 1200000L, 0.5),
+            new SalesDto("김철수", "DEPT-0002", 300L, 1.25)
+    );
+
+    @Test
+    @DisplayName("대량 작업이 실행 중이어도 작은 작업은 대기하지 않음")
+    public void smallJobDoesNotQueueBehindBulkJobTest() throws Exception {
+        // given
+        CountDownLatch bulkRelease = new CountDownLatch(1);
+        try (ExcelExportJobService service = new ExcelExportJobService(Files.createTempDirectory("excel-jobs"), 2)) {
+            String bulkJob = service.submit(ExcelExportSpec.builder(() -> {
+                awaitQuietly(bulkRelease);
+                return new OneSheetExcelFile<>(DATA, SalesDto.class);
+            }).estimatedRows(10_000_000).build());
+            String secondBulkJob = service.submit(ExcelExportSpec.builder(() -> new OneSheetExcelFile<>(DATA, SalesDto.class))
+                    .priority(ExcelExportPriority.BULK).build());
+
+            // when
+            String smallJob = service.submit(ExcelExportSpec.builder(() -> new OneSheetExcelFile<>(DATA, SalesDto.class))
+                    .estimatedRows(DATA.size()).build());
+            awaitFinished(service, smallJob);
+
+            // then
+            assertThat(service.getStatus(smallJob).state()).isEqualTo(ExcelExportJobState.COMPLETED);
+            assertThat(service.getStatus(smallJob).priority()).isEqualTo(ExcelExportPriority.INTERACTIVE);
+            assertThat(service.getStatus(bulkJob).state()).isEqualTo(ExcelExportJobState.RUNNING);
+            assertThat(service.getStatus(secondBulkJob).state()).isEqualTo(ExcelExportJobState.QUEUED);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            service.transferResult(smallJob, out);
+            assertThat(out.toByteArray()).startsWith((byte) 'P', (byte) 'K');
+            assertThat(service.getStatus(smallJob).bytesWritten()).isEqualTo(out.size());
+
+            bulkRelease.countDown();
+            awaitFinished(service, secondBulkJob);
+            assertThat(service.getStatus(secondBulkJob).state()).isEqualTo(ExcelExportJobState.COMPLETED);
+        }
+    }
+
+    @Test
+    @DisplayName("같은 우선순위에서는 tenant별로 번갈아 실행하고, 대기 중인 작업은 취소")
+    public void tenantFairShareTest() throws Exception {
+        // given
+        CountDownLatch firstRelease = new CountDownLatch(1);
+        List<String> startOrder = Collections.synchronizedList(new ArrayList<>());
+        try (ExcelExportJobService service = new ExcelExportJobService(Files.createTempDirectory("excel-jobs"), 1)) {
+            List<String> jobs = new ArrayList<>();
+            jobs.add(service.submit(ExcelExportSpec.builder(() -> {
+                startOrder.add("A1");
+                awaitQuietly(firstRelease);
+                return new OneSheetExcelFile<>(DATA, SalesDto.class);
+            }).tenant("A").build()));
+            for (String name : List.of("A2", "A3")) {
+                jobs.add(service.submit(ExcelExportSpec.builder(() -> {
+                    startOrder.add(name);
+                    return new OneSheetExcelFile<>(DATA, SalesDto.class);
+                }).tenant("A").build()));
+            }
+            jobs.add(service.submit(ExcelExportSpec.builder(() -> {
+                startOrder.add("B1");
+                return new OneSheetExcelFile<>(DATA, SalesDto.class);
+            }).tenant("B").build()));
+            String cancelledJob = service.submit(ExcelExportSpec.builder(() -> {
+                startOrder.add("A4");
+                return new OneSheetExcelFile<>(DATA, SalesDto.class);
+            }).tenant("A").build());
+
+            // when
+            service.cancel(cancelledJob);
+            firstRelease.countDown();
+            for (String job : jobs) {
+                awaitFinished(service, job);
+            }
+
+            // then
+            assertThat(startOrder).containsExactly("A1", "B1", "A2", "A3");
+            assertThat(service.getStatus(cancelledJob).state()).isEqualTo(ExcelExportJobState.CANCELLED);
+        }
+    }
+
+    @Test
+    @DisplayName("렌더링 함수가 끝나기 전에 취소하면 만든 ExcelFile을 쓰지 않고 정리")
+    public void cancelWhileRenderingTest() throws Exception {
+        // given
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        AtomicInteger writeCalls = new AtomicInteger();
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        try (ExcelExportJobService service = new ExcelExportJobService(Files.createTempDirectory("excel-jobs"), 1)) {
+            String jobId = service.submit(ExcelExportSpec.builder(() -> {
+                rendering.countDown();
+                awaitQuietly(cancelled);
+                return new ExcelFile<SalesDto>() {
+                    @Override
+                    public void write(OutputStream stream) throws IOException {
+                        writeCalls.incrementAndGet();
+                        stream.write('P');
+                        written.write('P');
+                    }
+
+                    @Override
+                    public void addRows(List<SalesDto> data) {
+                    }
+                };
+            }).build());
+
+            // when
+            rendering.await();
+            service.cancel(jobId);
+            cancelled.countDown();
+            awaitFinished(service, jobId);
+
+            // then
+            assertThat(service.getStatus(jobId).state()).isEqualTo(ExcelExportJobState.CANCELLED);
+            assertThat(writeCalls.get()).isEqualTo(1);
+            assertThat(written.size()).isZero();
+            assertThat(service.getStatus(jobId).bytesWritten()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 작업과 결과 파일은 다음 작업을 등록할 때 삭제")
+    public void retentionTest() throws Exception {
+        // given
+        Path storageDirectory = Files.createTempDirectory("excel-jobs");
+        try (ExcelExportJobService service = new ExcelExportJobService(storageDirectory, 1)) {
+            service.setRetention(Duration.ZERO);
+            String finishedJob = service.submit(ExcelExportSpec.builder(() -> new OneSheetExcelFile<>(DATA, SalesDto.class)).build());
+            awaitFinished(service, finishedJob);
+            Path resultFile = service.getResultFile(finishedJob);
+
+            // when
+            String nextJob = service.submit(ExcelExportSpec.builder(() -> new OneSheetExcelFile<>(DATA, SalesDto.class)).build());
+
+            // then
+            assertThatThrownBy(() -> service.getStatus(finishedJob)).isInstanceOf(IllegalArgumentException.class);
+            assertThat(resultFile).doesNotExist();
+            awaitFinished(service, nextJob);
+            assertThat(service.getStatus(nextJob).state()).isEqualTo(ExcelExportJobState.COMPLETED);
+        }
+    }
+
+    private static void awaitFinished(ExcelExportJobService service, String jobId) throws InterruptedException {
+        for (int i = 0; i < 1000 && !service.getStatus(jobId).state().isFinished(); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
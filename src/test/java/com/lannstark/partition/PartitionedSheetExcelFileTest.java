@@ -0,0 +1,79 @@
+package com.lannstark.partition;
+
+import com.lannstark.dto.DeptInfo;
+import com.lannstark.dto.EmployeeInfo;
+import com.lannstark.dto.EmployeeMainDto;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.reader.ExcelReadOptions;
+import com.lannstark.excel.reader.SAXExcelReader;
+import com.lannstark.excel.sxssf.partition.PartitionedSheetExcelFile;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionedSheetExcelFileTest {
+
+    @Test
+    @DisplayName("정렬되지 않은 데이터를 키별 시트로 나누고 키마다 시트 추가")
+    public void partitionWithRolloverTest() throws Exception {
+        // given
+        List<SalesDto> data = IntStream.rangeClosed(1, 12)
+                .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + (i % 3), i * 100L, i / 10.0))
+                .toList();
+        File file = Files.createTempFile("partition-test", ".xlsx").toFile();
+
+        // when
+        PartitionedSheetExcelFile<SalesDto> excelFile = new PartitionedSheetExcelFile<>(SalesDto.class,
+                SalesDto::getDeptCode);
+        excelFile.setMaxOpenPartitions(1);
+        excelFile.setMaxRowsPerSheet(3);
+        excelFile.addRows(data);
+        excelFile.write(new FileOutputStream(file));
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(file)) {
+            assertThat(IntStream.range(0, wb.getNumberOfSheets()).mapToObj(wb::getSheetName))
+                    .containsExactly("DEPT-1", "DEPT-1 (2)", "DEPT-2", "DEPT-2 (2)", "DEPT-0", "DEPT-0 (2)");
+        }
+        List<SalesDto> dept1 = new SAXExcelReader<>(SalesDto.class)
+                .read(file, new ExcelReadOptions().sheetName("DEPT-1"));
+        List<SalesDto> dept1Rest = new SAXExcelReader<>(SalesDto.class)
+                .read(file, new ExcelReadOptions().sheetName("DEPT-1 (2)"));
+        assertThat(dept1).extracting(SalesDto::getName).containsExactly("담당자1", "담당자4");
+        assertThat(dept1Rest).extracting(SalesDto::getName).containsExactly("담당자7", "담당자10");
+        file.delete();
+    }
+
+    @Test
+    @DisplayName("중첩 필드 값으로 부서별 시트 생성")
+    public void nestedKeyTest() throws Exception {
+        // given
+        List<EmployeeMainDto> data = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> new EmployeeMainDto(new EmployeeInfo("직원" + i, 20 + i),
+                        new DeptInfo("부서" + i % 4, "D" + i % 4, "본부")))
+                .toList();
+        File file = Files.createTempFile("partition-test", ".xlsx").toFile();
+
+        // when
+        PartitionedSheetExcelFile<EmployeeMainDto> excelFile = new PartitionedSheetExcelFile<>(data,
+                EmployeeMainDto.class, dto -> dto.getDeptInfo().getDeptCode());
+        excelFile.write(new FileOutputStream(file));
+
+        // then
+        assertThat(excelFile.getPartitionCount()).isEqualTo(4);
+        List<EmployeeMainDto> result = new SAXExcelReader<>(EmployeeMainDto.class)
+                .read(file, new ExcelReadOptions().sheetName("D0"));
+        assertThat(result).extracting(dto -> dto.getEmployInfo().getName())
+                .containsExactly("직원4", "직원8", "직원12", "직원16", "직원20");
+        file.delete();
+    }
+}
@@ -0,0 +1,142 @@
+package com.lannstark.reader;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.reader.ExcelReadOptions;
+import com.lannstark.excel.reader.SAXExcelReader;
+import com.lannstark.excel.sxssf.multiplesheet.MultiSheetExcelFile;
+import com.lannstark.excel.workbook.ExcelWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SAXExcelReaderTest {
+
+    @Test
+    @DisplayName("MultiSheetExcelFile로 생성한 파일 읽기")
+    public void readWrittenFileTest() throws Exception {
+        // given
+        List<SalesDto> data = List.of(
+                new SalesDto("David", "DEPT-0001", 1200000L, 0.5),
+                new SalesDto("김철수", "DEPT-0002", 0L, 1.25),
+                new SalesDto("이영희", "DEPT-0001", 987654321L, 0.0)
+        );
+        File file = writeTempFile(data);
+
+        // when
+        List<SalesDto> result = new SAXExcelReader<>(SalesDto.class).read(file);
+
+        // then
+        assertThat(result).hasSize(3);
+        assertThat(result.get(1).getName()).isEqualTo("김철수");
+        assertThat(result.get(1).getDeptCode()).isEqualTo("DEPT-0002");
+        assertThat(result.get(1).getRate()).isEqualTo(1.25);
+        assertThat(result.get(2).getAmount()).isEqualTo(987654321L);
+    }
+
+    @Test
+    @DisplayName("콜백으로 행 전달")
+    public void readWithCallbackTest() throws Exception {
+        // given
+        File file = writeTempFile(List.of(
+                new SalesDto("David", "DEPT-0001", 100L, 0.1),
+                new SalesDto("David", "DEPT-0001", 200L, 0.2)
+        ));
+        AtomicInteger rowCount = new AtomicInteger();
+
+        // when
+        new SAXExcelReader<>(SalesDto.class).read(file, (sheet, rowIndex, row) -> {
+            assertThat(sheet.getName()).isEqualTo("Sheet1");
+            rowCount.incrementAndGet();
+        });
+
+        // then
+        assertThat(rowCount.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("지정한 열과 행 범위만 읽기")
+    public void readProjectedRowRangeTest() throws Exception {
+        // given
+        File file = writeTempFile(List.of(
+                new SalesDto("A", "DEPT-0001", 100L, 0.1),
+                new SalesDto("B", "DEPT-0002", 200L, 0.2),
+                new SalesDto("C", "DEPT-0003", 300L, 0.3),
+                new SalesDto("D", "DEPT-0004", 400L, 0.4)
+        ));
+        ExcelReadOptions options = new ExcelReadOptions()
+                .fieldPaths("name", "amount")
+                .sheetIndex(0)
+                .rowRange(2, 3);
+
+        // when
+        List<SalesDto> result = new SAXExcelReader<>(SalesDto.class).read(file, options);
+
+        // then
+        assertThat(result).extracting(SalesDto::getName).containsExactly("B", "C");
+        assertThat(result).extracting(SalesDto::getAmount).containsExactly(200L, 300L);
+        assertThat(result).extracting(SalesDto::getDeptCode).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("여러 시트를 병렬로 읽어도 모든 행을 시트 순서대로 병합")
+    public void readMultipleSheetsInParallelTest() throws Exception {
+        // given
+        List<SalesDto> first = salesRows("A", 3_000);
+        List<SalesDto> second = salesRows("B", 2_000);
+        List<SalesDto> third = salesRows("C", 1_000);
+        File file = Files.createTempFile("reader-test", ".xlsx").toFile();
+        file.deleteOnExit();
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            ExcelWorkbook.builder()
+                    .sheet("첫번째", SalesDto.class, first)
+                    .sheet("두번째", SalesDto.class, second)
+                    .sheet("세번째", SalesDto.class, third)
+                    .build()
+                    .write(out);
+        }
+        SAXExcelReader<SalesDto> reader = new SAXExcelReader<>(SalesDto.class);
+        reader.setParallelism(3);
+        Map<String, AtomicInteger> rowCountsBySheet = new ConcurrentHashMap<>();
+
+        // when
+        List<SalesDto> result = reader.read(file);
+        reader.read(file, (sheet, rowIndex, row) ->
+                rowCountsBySheet.computeIfAbsent(sheet.getName(), name -> new AtomicInteger()).incrementAndGet());
+
+        // then
+        List<SalesDto> expected = new ArrayList<>(first);
+        expected.addAll(second);
+        expected.addAll(third);
+        assertThat(result).extracting(SalesDto::getName)
+                .containsExactlyElementsOf(expected.stream().map(SalesDto::getName).toList());
+        assertThat(result).extracting(SalesDto::getAmount)
+                .containsExactlyElementsOf(expected.stream().map(SalesDto::getAmount).toList());
+        assertThat(rowCountsBySheet.get("첫번째").get()).isEqualTo(3_000);
+        assertThat(rowCountsBySheet.get("두번째").get()).isEqualTo(2_000);
+        assertThat(rowCountsBySheet.get("세번째").get()).isEqualTo(1_000);
+    }
+
+    private List<SalesDto> salesRows(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new SalesDto(prefix + i, "DEPT-" + i % 7, i * 10L, i / 4.0))
+                .toList();
+    }
+
+    private File writeTempFile(List<SalesDto> data) throws Exception {
+        File file = Files.createTempFile("reader-test", ".xlsx").toFile();
+        file.deleteOnExit();
+        new MultiSheetExcelFile<>(data, SalesDto.class).write(Files.newOutputStream(file.toPath()));
+        return file;
+    }
+}
@@ -1,5 +1,6 @@
 package com.lannstark.resource;
 
+import com.lannstark.dto.EmployeeMainDto;
 import com.lannstark.dto.ExcelDto;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class ExcelRenderResourceFactoryTest {
 
@@ -28,6 +30,68 @@ public class ExcelRenderResourceFactoryTest {
         assertCenterThinCellStyle(resource.getCellStyle("age", ExcelRenderLocation.HEADER), (byte) 0, (byte) 0, (byte) 0);
     }
 
+    @Test
+    public void excelRenderTemplateReuseTest() {
+        // given
+        SXSSFWorkbook firstWorkbook = new SXSSFWorkbook();
+        SXSSFWorkbook secondWorkbook = new SXSSFWorkbook();
+        ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(ExcelDto.class);
+
+        // when
+        ExcelRenderResource first = ExcelRenderResourceFactory.prepareRenderResource(ExcelDto.class, firstWorkbook, new DefaultDataFormatDecider());
+        ExcelRenderResource second = ExcelRenderResourceFactory.prepareRenderResource(ExcelDto.class, secondWorkbook, new DefaultDataFormatDecider());
+
+        // then
+        assertThat(ExcelRenderResourceFactory.getTemplate(ExcelDto.class)).isSameAs(template);
+        assertThat(first.getExcelHeader()).isNotSameAs(second.getExcelHeader());
+        assertThat(first.getCellStyle("name", ExcelRenderLocation.HEADER).getIndex())
+                .isEqualTo(second.getCellStyle("name", ExcelRenderLocation.HEADER).getIndex());
+    }
+
+    @Test
+    public void excelColumnProjectionTest() {
+        // given
+        ExcelColumnProjection projection = ExcelColumnProjection.of("employInfo,name", "deptInfo,deptCode", "deptInfo,deptName");
+
+        // when
+        ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(EmployeeMainDto.class, projection);
+
+        // then
+        assertThat(template.getLeafFieldPaths())
+                .containsExactly("employInfo,name", "deptInfo,deptName", "deptInfo,deptCode");
+        assertThat(template.getFieldPaths())
+                .containsExactly("employInfo", "deptInfo", "employInfo,name", "deptInfo,deptName", "deptInfo,deptCode");
+        ExcelHeader header = template.materialize(new SXSSFWorkbook(), new DefaultDataFormatDecider()).getExcelHeader();
+        assertThat(header.getHeaderHeight()).isEqualTo(2);
+        assertHeaderCell(header.getExcelHeaderCell("employInfo"), 0, 0, 0, 0);
+        assertHeaderCell(header.getExcelHeaderCell("deptInfo"), 0, 0, 1, 2);
+        assertHeaderCell(header.getExcelHeaderCell("deptInfo,deptCode"), 1, 1, 2, 2);
+        assertThat(ExcelRenderResourceFactory.getTemplate(EmployeeMainDto.class,
+                ExcelColumnProjection.of("deptInfo,deptName", "employInfo,name", "deptInfo,deptCode")))
+                .isSameAs(template);
+    }
+
+    @Test
+    public void excelColumnProjectionParentFieldTest() {
+        // given & when
+        ExcelRenderTemplate template = ExcelRenderResourceFactory.getTemplate(EmployeeMainDto.class,
+                ExcelColumnProjection.of("deptInfo"));
+
+        // then
+        assertThat(template.getLeafFieldPaths())
+                .containsExactly("deptInfo,deptName", "deptInfo,deptCode", "deptInfo,upDeptName");
+        assertThatThrownBy(() -> ExcelRenderResourceFactory.getTemplate(EmployeeMainDto.class,
+                ExcelColumnProjection.of("salary")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertHeaderCell(ExcelHeaderCell cell, int firstRow, int lastRow, int firstColumn, int lastColumn) {
+        assertThat(cell.getFirstRow()).isEqualTo(firstRow);
+        assertThat(cell.getLastRow()).isEqualTo(lastRow);
+        assertThat(cell.getFirstColumn()).isEqualTo(firstColumn);
+        assertThat(cell.getLastColumn()).isEqualTo(lastColumn);
+    }
+
     private void assertCenterThinCellStyle(CellStyle cellStyle,
                                  byte red, byte green, byte blue) {
         assertThat(cellStyle.getAlignment()).isEqualTo(HorizontalAlignment.CENTER);
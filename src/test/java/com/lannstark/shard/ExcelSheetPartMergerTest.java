@@ -0,0 +1,83 @@
+package com.lannstark.shard;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.dto.ScoreDto;
+import com.lannstark.excel.shard.ExcelSheetPartMerger;
+import com.lannstark.excel.shard.ExcelSheetPartWriter;
+import com.lannstark.exception.ExcelInternalException;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExcelSheetPartMergerTest {
+
+    @Test
+    @DisplayName("여러 프로세스에서 만든 시트 조각을 행 번호를 바꿔 하나의 시트로 합치기")
+    public void mergeProcessPartsTest() throws Exception {
+        // given
+        Path tempDir = Files.createTempDirectory("sheet-part-test");
+        int[] bounds = {0, 1200, 1201, 3000};
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<Path> parts = new ArrayList<>();
+        List<Process> workers = new ArrayList<>();
+        for (int i = 0; i < bounds.length - 1; i++) {
+            Path part = tempDir.resolve("part-" + i + ".xlsp");
+            parts.add(part);
+            workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                    SheetPartWorker.class.getName(), String.valueOf(bounds[i]), String.valueOf(bounds[i + 1]),
+                    part.toString()).inheritIO().start());
+        }
+        for (Process worker : workers) {
+            assertThat(worker.waitFor(60, TimeUnit.SECONDS)).isTrue();
+            assertThat(worker.exitValue()).isZero();
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        new ExcelSheetPartMerger<>(SalesDto.class).merge(parts, out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(3000);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("담당자");
+            for (int rowIndex : new int[]{1, 1200, 1201, 1202, 3000}) {
+                int i = rowIndex - 1;
+                Row row = sheet.getRow(rowIndex);
+                assertThat(row.getCell(0).getStringCellValue()).isEqualTo("담당자<" + i + ">");
+                assertThat(row.getCell(2).getNumericCellValue()).isEqualTo(i * 10);
+                assertThat(row.getCell(3).getNumericCellValue()).isEqualTo(i / 4.0);
+                assertThat(row.getCell(3).getAddress().formatAsString()).isEqualTo("D" + (rowIndex + 1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("다른 타입으로 만든 조각은 합치지 않음")
+    public void layoutMismatchTest() throws Exception {
+        // given
+        Path part = Files.createTempFile("score-", ".xlsp");
+        new ExcelSheetPartWriter<>(List.of(new ScoreDto("가", 1, 2)), ScoreDto.class)
+                .write(Files.newOutputStream(part));
+
+        // when, then
+        assertThatThrownBy(() -> new ExcelSheetPartMerger<>(SalesDto.class)
+                .merge(List.of(part), new ByteArrayOutputStream()))
+                .isInstanceOf(ExcelInternalException.class);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.lannstark.shard;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.shard.ExcelSheetPartWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 별도 프로세스에서 [start, end) 구간의 행을 시트 조각으로 렌더링하는 워커
+ * 사용법: SheetPartWorker start end partFile
+ */
+public class SheetPartWorker {
+
+    public static void main(String[] args) throws Exception {
+        int start = Integer.parseInt(args[0]);
+        int end = Integer.parseInt(args[1]);
+        new ExcelSheetPartWriter<>(rows(start, end), SalesDto.class).write(Files.newOutputStream(Path.of(args[2])));
+    }
+
+    static List<SalesDto> rows(int start, int end) {
+        return IntStream.range(start, end)
+                .mapToObj(i -> new SalesDto("담당자<" + i + ">", "DEPT-" + i % 7, i * 10L, i / 4.0))
+                .toList();
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.lannstark.sort;
+
+import com.lannstark.dto.DeptInfo;
+import com.lannstark.dto.EmployeeInfo;
+import com.lannstark.dto.EmployeeMainDto;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.ExcelFile;
+import com.lannstark.excel.reader.SAXExcelReader;
+import com.lannstark.excel.sort.ExcelExternalSorter;
+import com.lannstark.excel.sort.ExcelSortOptions;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelExternalSorterTest {
+
+    @Test
+    @DisplayName("run 파일로 나누어 정렬하고 병합한 결과를 엑셀 파일에 쓰기")
+    public void externalSortTest() throws Exception {
+        // given
+        List<SalesDto> data = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-" + (i * 7 % 5), i * 100L, i / 10.0))
+                .toList();
+        File file = Files.createTempFile("sort-test", ".xlsx").toFile();
+        ExcelExternalSorter<SalesDto> sorter = new ExcelExternalSorter<>(SalesDto.class,
+                ExcelSortOptions.by("deptCode").maxRowsInMemory(3).maxMergeFanIn(2));
+
+        // when
+        sorter.addAll(data);
+        int runCount = sorter.getRunCount();
+        sorter.sortInto(new OneSheetExcelFile<>(SalesDto.class)).write(new FileOutputStream(file));
+
+        // then
+        List<SalesDto> expected = new ArrayList<>(data);
+        expected.sort((left, right) -> left.getDeptCode().compareTo(right.getDeptCode()));
+        List<SalesDto> result = new SAXExcelReader<>(SalesDto.class).read(file);
+        assertThat(runCount).isEqualTo(6);
+        assertThat(result).extracting(SalesDto::getName)
+                .containsExactlyElementsOf(expected.stream().map(SalesDto::getName).toList());
+        assertThat(result).extracting(SalesDto::getAmount)
+                .containsExactlyElementsOf(expected.stream().map(SalesDto::getAmount).toList());
+        file.delete();
+    }
+
+    @Test
+    @DisplayName("중첩 필드 경로로 내림차순 정렬, null은 마지막")
+    public void nestedFieldDescendingTest() {
+        // given
+        List<EmployeeMainDto> data = List.of(
+                new EmployeeMainDto(new EmployeeInfo("직원1", 30), new DeptInfo("개발팀", "D1", "본부")),
+                new EmployeeMainDto(new EmployeeInfo("직원2", 31), new DeptInfo(null, "D2", "본부")),
+                new EmployeeMainDto(new EmployeeInfo("직원3", 32), new DeptInfo("영업팀", "D3", "본부")),
+                new EmployeeMainDto(new EmployeeInfo("직원4", 33), new DeptInfo("기획팀", "D4", "본부")));
+        List<EmployeeMainDto> sorted = new ArrayList<>();
+        ExcelExternalSorter<EmployeeMainDto> sorter = new ExcelExternalSorter<>(EmployeeMainDto.class,
+                ExcelSortOptions.by("deptInfo,deptName").descending().maxRowsInMemory(2));
+
+        // when
+        sorter.addAll(data);
+        sorter.sortInto(new CollectingExcelFile(sorted));
+
+        // then
+        assertThat(sorted).extracting(dto -> dto.getEmployInfo().getName())
+                .containsExactly("직원3", "직원4", "직원1", "직원2");
+        assertThat(sorted.get(0).getEmployInfo().getAge()).isEqualTo(32);
+    }
+
+    private record CollectingExcelFile(List<EmployeeMainDto> rows)
+            implements ExcelFile<EmployeeMainDto> {
+
+        @Override
+        public void write(OutputStream stream) {
+        }
+
+        @Override
+        public void addRows(List<EmployeeMainDto> data) {
+            rows.addAll(data);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.lannstark.split;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.reader.SAXExcelReader;
+import com.lannstark.excel.split.ExcelSplitOptions;
+import com.lannstark.excel.split.SplitExcelExporter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SplitExcelExporterTest {
+
+    private final List<SalesDto> data = IntStream.rangeClosed(1, 10)
+            .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-000" + (i % 3), i * 100L, i / 10.0))
+            .toList();
+
+    @Test
+    @DisplayName("행 수 기준으로 나누어 디렉토리에 쓰기")
+    public void writeFilesTest() throws Exception {
+        // given
+        Path directory = Files.createTempDirectory("split-test");
+        SplitExcelExporter<SalesDto> exporter = new SplitExcelExporter<>(SalesDto.class);
+        exporter.setSplitOptions(ExcelSplitOptions.defaults().maxRowsPerFile(4).parallelism(2));
+
+        // when
+        List<Path> files = exporter.writeFiles(data, directory, "sales");
+
+        // then
+        assertThat(files).extracting(file -> file.getFileName().toString())
+                .containsExactly("sales-1.xlsx", "sales-2.xlsx", "sales-3.xlsx");
+        List<SalesDto> result = new ArrayList<>();
+        for (Path file : files) {
+            result.addAll(new SAXExcelReader<>(SalesDto.class).read(file.toFile()));
+        }
+        assertThat(result).extracting(SalesDto::getName)
+                .containsExactlyElementsOf(data.stream().map(SalesDto::getName).toList());
+    }
+
+    @Test
+    @DisplayName("나눈 파일을 ZIP으로 스트리밍")
+    public void writeZipTest() throws Exception {
+        // given
+        SplitExcelExporter<SalesDto> exporter = new SplitExcelExporter<>(SalesDto.class);
+        exporter.setSplitOptions(ExcelSplitOptions.defaults().maxRowsPerFile(5));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        exporter.writeZip(data, "sales", out);
+
+        // then
+        List<String> entryNames = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entryNames.add(entry.getName());
+                assertThat(zip.readAllBytes()).startsWith((byte) 'P', (byte) 'K');
+            }
+        }
+        assertThat(entryNames).containsExactly("sales-1.xlsx", "sales-2.xlsx");
+    }
+}
@@ -0,0 +1,12 @@
+package com.lannstark.style;
+
+import com.lannstark.style.configurer.ExcelCellStyleConfigurer;
+
+public class RedBodyStyle extends CustomExcelCellStyle {
+
+    @Override
+    public void configure(ExcelCellStyleConfigurer configurer) {
+        configurer.foregroundColor(255, 199, 206);
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.lannstark.subtotal;
+
+import com.lannstark.ExcelAggregate;
+import com.lannstark.dto.DeptInfo;
+import com.lannstark.dto.EmployeeInfo;
+import com.lannstark.dto.EmployeeMainDto;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.sxssf.multiplesheet.MultiSheetExcelFile;
+import com.lannstark.excel.sxssf.onesheet.OneSheetExcelFile;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubtotalTest {
+
+    @Test
+    @DisplayName("그룹 키가 바뀔 때 소계 행을 쓰고 본문 행을 outline으로 묶기")
+    public void subtotalTest() throws Exception {
+        // given
+        List<SalesDto> data = List.of(
+                new SalesDto("담당자1", "DEPT-A", 100L, 0.1),
+                new SalesDto("담당자2", "DEPT-A", 200L, 0.2),
+                new SalesDto("담당자3", "DEPT-B", 300L, 0.3),
+                new SalesDto("담당자4", "DEPT-B", 400L, 0.4),
+                new SalesDto("담당자5", "DEPT-B", 500L, 0.5));
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(SalesDto.class);
+        excelFile.setAggregate("amount", ExcelAggregate.SUM);
+        excelFile.setSubtotal("deptCode");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.addRows(data.subList(0, 3));
+        excelFile.addRows(data.subList(3, 5));
+        excelFile.write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            Row subtotalA = sheet.getRow(3);
+            Row subtotalB = sheet.getRow(7);
+            Row footer = sheet.getRow(8);
+            assertThat(subtotalA.getCell(1).getStringCellValue()).isEqualTo("DEPT-A Subtotal");
+            assertThat(subtotalA.getCell(2).getNumericCellValue()).isEqualTo(300);
+            assertThat(subtotalB.getCell(1).getStringCellValue()).isEqualTo("DEPT-B Subtotal");
+            assertThat(subtotalB.getCell(2).getNumericCellValue()).isEqualTo(1200);
+            assertThat(footer.getCell(2).getNumericCellValue()).isEqualTo(1500);
+            assertThat(sheet.getRow(1).getOutlineLevel()).isEqualTo((short) 1);
+            assertThat(sheet.getRow(6).getOutlineLevel()).isEqualTo((short) 1);
+            assertThat(subtotalA.getOutlineLevel()).isEqualTo((short) 0);
+        }
+    }
+
+    @Test
+    @DisplayName("소계 지정 뒤 그룹 키 열에 집계를 지정하면 소계 이름을 첫 번째 집계하지 않는 열에 쓰기")
+    public void aggregateOnGroupColumnAfterSubtotalTest() throws Exception {
+        // given
+        List<SalesDto> data = List.of(
+                new SalesDto("담당자1", "DEPT-A", 100L, 0.1),
+                new SalesDto("담당자2", "DEPT-A", 200L, 0.2),
+                new SalesDto("담당자3", "DEPT-B", 300L, 0.3));
+        OneSheetExcelFile<SalesDto> excelFile = new OneSheetExcelFile<>(SalesDto.class);
+        excelFile.setSubtotal("deptCode");
+        excelFile.setAggregate("deptCode", ExcelAggregate.COUNT);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.addRows(data);
+        excelFile.write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Row subtotalA = wb.getSheetAt(0).getRow(3);
+            assertThat(subtotalA.getCell(0).getStringCellValue()).isEqualTo("DEPT-A Subtotal");
+            assertThat(subtotalA.getCell(1).getNumericCellValue()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("중첩 필드 경로를 그룹 키로 사용하고 헤더 높이 다음 행부터 그룹 렌더링")
+    public void nestedGroupKeyTest() throws Exception {
+        // given
+        List<EmployeeMainDto> data = List.of(
+                new EmployeeMainDto(new EmployeeInfo("직원1", 30), new DeptInfo("개발팀", "D1", "본부")),
+                new EmployeeMainDto(new EmployeeInfo("직원2", 40), new DeptInfo("개발팀", "D1", "본부")),
+                new EmployeeMainDto(new EmployeeInfo("직원3", 50), new DeptInfo("영업팀", "D2", "본부")));
+        MultiSheetExcelFile<EmployeeMainDto> excelFile = new MultiSheetExcelFile<>(EmployeeMainDto.class);
+        excelFile.setAggregate("employInfo,age", ExcelAggregate.AVERAGE);
+        excelFile.setSubtotal("deptInfo,deptCode", key -> key + " 소계");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        excelFile.addRows(data);
+        excelFile.write(out);
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = wb.getSheetAt(0);
+            Row subtotalD1 = sheet.getRow(4);
+            assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("직원명");
+            assertThat(sheet.getRow(2).getCell(0).getStringCellValue()).isEqualTo("직원1");
+            assertThat(subtotalD1.getCell(3).getStringCellValue()).isEqualTo("D1 소계");
+            assertThat(subtotalD1.getCell(1).getNumericCellValue()).isEqualTo(35);
+            assertThat(sheet.getRow(6).getCell(3).getStringCellValue()).isEqualTo("D2 소계");
+            assertThat(sheet.getRow(7).getCell(1).getNumericCellValue()).isEqualTo(40);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.lannstark.warmup;
+
+import com.lannstark.dto.DeptInfo;
+import com.lannstark.dto.EmployeeMainDto;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.dto.ScoreDto;
+import com.lannstark.excel.warmup.ExcelWarmUp;
+import com.lannstark.excel.warmup.ExcelWarmUpReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelWarmUpTest {
+
+    @Test
+    @DisplayName("패키지에서 @ExcelColumn DTO를 찾아 예열하고 결과 보고")
+    public void warmUpPackageTest() {
+        // given
+        ExcelWarmUp warmUp = ExcelWarmUp.forPackages("com.lannstark.dto")
+                .syntheticRows(200)
+                .iterations(3);
+
+        // when
+        ExcelWarmUpReport report = warmUp.run();
+
+        // then
+        List<Class<?>> types = report.types().stream().map(ExcelWarmUpReport.TypeResult::type).toList();
+        assertThat(types).contains(SalesDto.class, ScoreDto.class, EmployeeMainDto.class, DeptInfo.class);
+        assertThat(report.failures()).isEmpty();
+        ExcelWarmUpReport.TypeResult sales = report.types().get(types.indexOf(SalesDto.class));
+        assertThat(sales.syntheticRows()).isEqualTo(200);
+        assertThat(sales.warmRender().toNanos()).isGreaterThan(0L);
+        assertThat(report.totalDuration().toNanos()).isGreaterThanOrEqualTo(report.scanDuration().toNanos());
+        assertThat(report.summary()).startsWith("Excel warm-up: " + types.size() + " types");
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.lannstark.workbook;
+
+import com.lannstark.dto.DeptInfo;
+import com.lannstark.dto.EmployeeInfo;
+import com.lannstark.dto.EmployeeMainDto;
+import com.lannstark.dto.SalesDto;
+import com.lannstark.excel.reader.ExcelReadOptions;
+import com.lannstark.excel.reader.SAXExcelReader;
+import com.lannstark.excel.workbook.ExcelWorkbook;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExcelWorkbookBuilderTest {
+
+    @Test
+    @DisplayName("타입이 다른 시트를 동시에 렌더링하여 하나의 워크북으로 쓰기")
+    public void heterogeneousSheetsTest() throws Exception {
+        // given
+        List<EmployeeMainDto> employees = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> new EmployeeMainDto(new EmployeeInfo("직원" + i, 20 + i),
+                        new DeptInfo("부서" + i % 5, "DEPT-" + i % 5, "본부")))
+                .toList();
+        List<SalesDto> sales = IntStream.rangeClosed(1, 30)
+                .mapToObj(i -> new SalesDto("담당자" + i, "DEPT-000" + (i % 3), i * 100L, i / 10.0))
+                .toList();
+        File file = Files.createTempFile("workbook-test", ".xlsx").toFile();
+
+        // when
+        ExcelWorkbook workbook = ExcelWorkbook.builder()
+                .sheet("직원", EmployeeMainDto.class, () -> employees)
+                .sheet("매출", SalesDto.class, sales)
+                .parallelism(2)
+                .build();
+        workbook.write(new FileOutputStream(file));
+
+        // then
+        try (Workbook wb = new XSSFWorkbook(file)) {
+            assertThat(wb.getNumberOfSheets()).isEqualTo(2);
+            assertThat(wb.getSheetName(0)).isEqualTo("직원");
+            assertThat(wb.getSheetName(1)).isEqualTo("매출");
+            assertThat(wb.getSheetAt(0).getLastRowNum()).isEqualTo(51);
+            assertThat(wb.getSheetAt(1).getLastRowNum()).isEqualTo(30);
+        }
+        List<EmployeeMainDto> readEmployees = new SAXExcelReader<>(EmployeeMainDto.class)
+                .read(file, new ExcelReadOptions().sheetName("직원"));
+        assertThat(readEmployees).extracting(dto -> dto.getEmployInfo().getName())
+                .containsExactlyElementsOf(employees.stream().map(dto -> dto.getEmployInfo().getName()).toList());
+        List<SalesDto> readSales = new SAXExcelReader<>(SalesDto.class)
+                .read(file, new ExcelReadOptions().sheetName("매출"));
+        assertThat(readSales).extracting(SalesDto::getName)
+                .containsExactlyElementsOf(sales.stream().map(SalesDto::getName).toList());
+        file.delete();
+    }
+}
@@ -0,0 +1,84 @@
+package com.lannstark.xml;
+
+import com.lannstark.dto.SalesDto;
+import com.lannstark.dto.ScoreDto;
+import com.lannstark.excel.xml.OffHeapRowBuffer;
+import com.lannstark.excel.xml.SheetRowXmlWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OffHeapRowBufferTest {
+
+    @Test
+    @DisplayName("direct 버퍼로 쓴 행은 Writer로 쓴 행과 같은 바이트")
+    public void sameBytesAsWriterTest() throws Exception {
+        // given
+        List<SalesDto> data = IntStream.range(0, 500)
+                .mapToObj(i -> new SalesDto(
+                        List.of("<김&\"민준>", " 앞 공백", "탭\t줄\n바꿈\r", "이모지 😀", "깨진 \uD800x", "제어\u0001", " ", "")
+                                .get(i % 8),
+                        i % 5 == 0 ? null : "DEPT-" + i, i * 1_000_003L, i / 7.0))
+                .toList();
+        List<String> leafFieldPaths = List.of("name", "deptCode", "amount", "rate");
+        int[] styleIndexes = {0, 3, 12, 0};
+
+        // when
+        SheetRowXmlWriter expectedWriter = new SheetRowXmlWriter(SalesDto.class, leafFieldPaths, 0, styleIndexes, ", ");
+        expectedWriter.trackColumnWidths();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(expected, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < data.size(); i++) {
+                expectedWriter.writeRow(writer, i + 1, data.get(i));
+            }
+        }
+
+        SheetRowXmlWriter actualWriter = new SheetRowXmlWriter(SalesDto.class, leafFieldPaths, 0, styleIndexes, ", ");
+        actualWriter.trackColumnWidths();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        // 작은 세그먼트로 세그먼트 교체와 확장을 함께 확인
+        try (OffHeapRowBuffer rowBuffer = new OffHeapRowBuffer(actualWriter, Channels.newChannel(actual), 128)) {
+            for (int i = 0; i < data.size(); i++) {
+                rowBuffer.writeRow(i + 1, data.get(i));
+            }
+            rowBuffer.flush();
+            assertThat(rowBuffer.getBytesWritten()).isEqualTo(expected.size());
+        }
+
+        // then
+        assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+        assertThat(actualWriter.getMaxDisplayWidths()).isEqualTo(expectedWriter.getMaxDisplayWidths());
+    }
+
+    @Test
+    @DisplayName("null인 박싱 숫자 필드는 빈 문자열 셀로 쓰기")
+    public void nullNumberTest() throws Exception {
+        // given
+        SheetRowXmlWriter rowWriter = new SheetRowXmlWriter(ScoreDto.class, List.of("name", "score", "bestScore"), 0,
+                new int[]{0, 0, 0}, ", ");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        try (OffHeapRowBuffer rowBuffer = new OffHeapRowBuffer(rowWriter, Channels.newChannel(out))) {
+            rowBuffer.writeRow(1, new ScoreDto("가", 10, null));
+            rowBuffer.flush();
+        }
+
+        // then
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("<row r=\"2\">"
+                + "<c r=\"A2\" t=\"inlineStr\"><is><t>가</t></is></c>"
+                + "<c r=\"B2\" t=\"n\"><v>10</v></c>"
+                + "<c r=\"C2\" t=\"inlineStr\"><is><t></t></is></c>"
+                + "</row>\n");
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.lannstark.xml;
+
+import com.lannstark.excel.xml.RowRenumberingOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RowRenumberingOutputStreamTest {
+
+    @Test
+    @DisplayName("바이트 경계와 관계없이 행과 셀 참조의 행 번호만 바꾸기")
+    public void renumberTest() throws Exception {
+        // given
+        byte[] xml = ("<row r=\"1\"><c r=\"A1\" s=\"2\" t=\"inlineStr\"><is><t>r=&quot;9&quot; &lt;c r=</t></is></c>"
+                + "<c r=\"AB1\" t=\"n\"><v>12</v></c></row>\n"
+                + "<row r=\"10\"><c r=\"A10\" t=\"n\"><v>3</v></c></row>\n").getBytes(StandardCharsets.UTF_8);
+
+        for (int chunk = 1; chunk <= xml.length; chunk++) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            RowRenumberingOutputStream renumbered = new RowRenumberingOutputStream(out, 99);
+
+            // when
+            for (int off = 0; off < xml.length; off += chunk) {
+                renumbered.write(xml, off, Math.min(chunk, xml.length - off));
+            }
+
+            // then
+            assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                    "<row r=\"100\"><c r=\"A100\" s=\"2\" t=\"inlineStr\"><is><t>r=&quot;9&quot; &lt;c r=</t></is></c>"
+                            + "<c r=\"AB100\" t=\"n\"><v>12</v></c></row>\n"
+                            + "<row r=\"109\"><c r=\"A109\" t=\"n\"><v>3</v></c></row>\n");
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.lannstark.xml;
+
+import com.lannstark.excel.xml.XmlNumberFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XmlNumberFormatTest {
+
+    @Test
+    @DisplayName("정수는 .0 없이, 소수는 가장 짧은 10진수로 쓰기")
+    public void formatTest() {
+        assertThat(format(0)).isEqualTo("0");
+        assertThat(format(1200)).isEqualTo("1200");
+        assertThat(format(-42)).isEqualTo("-42");
+        assertThat(format(0.1)).isEqualTo("0.1");
+        assertThat(format(0.1 + 0.2)).isEqualTo("0.30000000000000004");
+        assertThat(format(123.45)).isEqualTo("123.45");
+        assertThat(format(-0.001)).isEqualTo("-0.001");
+        assertThat(format(0.00099)).isEqualTo("9.9E-4");
+        assertThat(format(1e15)).isEqualTo("1E15");
+        assertThat(format(1.5e-5)).isEqualTo("1.5E-5");
+        assertThat(format(1e23)).isEqualTo("1E23");
+        assertThat(format(Double.MAX_VALUE)).isEqualTo("1.7976931348623157E308");
+        assertThat(format(Double.NaN)).isEqualTo("NaN");
+        assertThat(format(Double.NEGATIVE_INFINITY)).isEqualTo("-Infinity");
+    }
+
+    @Test
+    @DisplayName("임의의 double을 다시 읽으면 같은 값이고 유효 숫자 수가 가장 짧음")
+    public void roundTripTest() {
+        // given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100_000; i++) {
+            double value = i % 2 == 0
+                    ? Double.longBitsToDouble(random.nextLong())
+                    : random.nextDouble() * Math.pow(10, random.nextInt(30) - 15);
+            if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) < Double.MIN_NORMAL) {
+                continue;
+            }
+
+            // when
+            String formatted = format(value);
+
+            // then
+            assertThat(Double.parseDouble(formatted)).isEqualTo(value);
+            assertThat(significantDigits(formatted)).isEqualTo(shortestDigits(value));
+        }
+    }
+
+    private static String format(double value) {
+        byte[] buffer = new byte[XmlNumberFormat.MAX_LENGTH];
+        int length = XmlNumberFormat.format(value, buffer, 0);
+        return new String(buffer, 0, length, StandardCharsets.US_ASCII);
+    }
+
+    private static int significantDigits(String formatted) {
+        String digits = formatted.replace("-", "").split("E")[0].replace(".", "")
+                .replaceFirst("^0+", "").replaceFirst("0+$", "");
+        return Math.max(1, digits.length());
+    }
+
+    private static int shortestDigits(double value) {
+        BigDecimal exact = new BigDecimal(value);
+        for (int precision = 1; precision < 17; precision++) {
+            if (exact.round(new MathContext(precision, RoundingMode.HALF_EVEN)).doubleValue() == value) {
+                return precision;
+            }
+        }
+        return 17;
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.lannstark.zip;
+
+import com.lannstark.excel.sxssf.zip.ExcelCompressionOptions;
+import com.lannstark.excel.sxssf.zip.ParallelDeflateZipOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelDeflateZipOutputStreamTest {
+
+    @Test
+    @DisplayName("블록 단위 병렬 압축 결과가 올바른 DEFLATE 스트림인지 확인")
+    public void parallelDeflateTest() throws Exception {
+        byte[] sheetXml = createSheetXml(20000);
+        byte[] small = "<workbook/>".getBytes(StandardCharsets.UTF_8);
+
+        byte[] zip = writeZip(ExcelCompressionOptions.defaults().parallelism(4).blockSize(32 * 1024).level(6),
+                sheetXml, small);
+
+        assertThat(zip.length).isLessThan(sheetXml.length);
+        assertEntries(zip, ZipEntry.DEFLATED, sheetXml, small);
+    }
+
+    @Test
+    @DisplayName("store 옵션은 압축하지 않고 저장")
+    public void storeTest() throws Exception {
+        byte[] sheetXml = createSheetXml(1000);
+        byte[] small = "<workbook/>".getBytes(StandardCharsets.UTF_8);
+
+        byte[] zip = writeZip(ExcelCompressionOptions.defaults().store(), sheetXml, small);
+
+        assertEntries(zip, ZipEntry.STORED, sheetXml, small);
+    }
+
+    private byte[] writeZip(ExcelCompressionOptions options, byte[] sheetXml, byte[] small) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ParallelDeflateZipOutputStream zos = new ParallelDeflateZipOutputStream(out, options)) {
+            zos.putArchiveEntry(new ZipArchiveEntry("xl/worksheets/sheet1.xml"));
+            // POI처럼 작은 단위로 나누어 쓰기
+            for (int offset = 0; offset < sheetXml.length; offset += 8192) {
+                zos.write(sheetXml, offset, Math.min(8192, sheetXml.length - offset));
+            }
+            zos.closeArchiveEntry();
+
+            zos.putArchiveEntry(new ZipArchiveEntry("xl/workbook.xml"));
+            zos.write(small, 0, small.length);
+            zos.closeArchiveEntry();
+
+            zos.putArchiveEntry(new ZipArchiveEntry("xl/empty.xml"));
+            zos.closeArchiveEntry();
+        }
+        return out.toByteArray();
+    }
+
+    private void assertEntries(byte[] zip, int method, byte[] sheetXml, byte[] small) throws Exception {
+        try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry sheetEntry = zis.getNextEntry();
+            assertThat(sheetEntry.getName()).isEqualTo("xl/worksheets/sheet1.xml");
+            assertThat(sheetEntry.getMethod()).isEqualTo(method);
+            assertThat(zis.readAllBytes()).isEqualTo(sheetXml);
+
+            assertThat(zis.getNextEntry().getName()).isEqualTo("xl/workbook.xml");
+            assertThat(zis.readAllBytes()).isEqualTo(small);
+
+            assertThat(zis.getNextEntry().getName()).isEqualTo("xl/empty.xml");
+            assertThat(zis.readAllBytes()).isEmpty();
+        }
+    }
+
+    private byte[] createSheetXml(int rows) {
+        StringBuilder xml = new StringBuilder("<sheetData>");
+        for (int i = 1; i <= rows; i++) {
+            xml.append("<row r=\"").append(i).append("\"><c r=\"A").append(i).append("\" t=\"inlineStr\"><is><t>직원")
+                    .append(i % 97).append("</t></is></c><c r=\"B").append(i).append("\"><v>")
+                    .append(i * 31L % 100000).append("</v></c></row>");
+        }
+        return xml.append("</sheetData>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}